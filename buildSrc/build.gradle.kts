@@ -8,3 +8,8 @@ repositories {
     // Use the plugin portal to apply community plugins in convention plugins.
     gradlePluginPortal()
 }
+
+dependencies {
+    // JMH plugin for the benchmarks convention plugin
+    implementation("me.champeau.jmh:jmh-gradle-plugin:0.7.2")
+}
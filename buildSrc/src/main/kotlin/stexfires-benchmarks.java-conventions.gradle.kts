@@ -0,0 +1,44 @@
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+group = "stexfires"
+version = "0.1.0"
+
+repositories {
+    mavenCentral()
+}
+
+// Apply a specific Java toolchain to ease working on different environments.
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+        vendor.set(JvmVendorSpec.ADOPTIUM)
+    }
+}
+
+// Run all benchmarks with "gradlew :stexfires-benchmarks:jmh"
+// or a selection with "gradlew :stexfires-benchmarks:jmh -PjmhIncludes=SortModifier".
+jmh {
+    jmhVersion.set("1.37")
+    // The GC profiler adds the allocation rate ("gc.alloc.rate.norm") to the ops/s of every benchmark.
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("results/jmh/human.txt"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    val jmhIncludes = project.findProperty("jmhIncludes") as String?
+    if (jmhIncludes != null) {
+        includes.add(jmhIncludes)
+    }
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    // options.compilerArgs.add("--enable-preview")
+    // options.compilerArgs.add("-Xlint:preview")
+    // options.compilerArgs.add("-Xlint:unchecked")
+    // options.compilerArgs.add("-Xlint:deprecation")
+}
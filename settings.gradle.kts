@@ -12,6 +12,7 @@ plugins {
 
 rootProject.name = "stexfires"
 include(
+    "stexfires-benchmarks",
     "stexfires-data",
     "stexfires-examples",
     "stexfires-io",
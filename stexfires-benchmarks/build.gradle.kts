@@ -0,0 +1,11 @@
+plugins {
+    id("stexfires-benchmarks.java-conventions")
+}
+
+dependencies {
+    jmhImplementation(project(":stexfires-data"))
+    jmhImplementation(project(":stexfires-io"))
+    jmhImplementation(project(":stexfires-record"))
+    jmhImplementation(project(":stexfires-util"))
+    jmhImplementation("org.jspecify:jspecify:1.0.0")
+}
@@ -0,0 +1,154 @@
+package stexfires.benchmarks;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.consumer.WritableRecordFileSpec;
+import stexfires.record.KeyValueRecord;
+import stexfires.record.TextRecord;
+import stexfires.record.generator.CategoryGenerator;
+import stexfires.record.generator.GeneratorProducer;
+import stexfires.record.generator.RecordGenerator;
+import stexfires.record.generator.RecordIdGenerator;
+import stexfires.util.supplier.RandomNumberSuppliers;
+import stexfires.util.supplier.RandomStringSuppliers;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.*;
+import java.util.random.*;
+
+/**
+ * Deterministic synthetic data for the benchmarks.
+ * <p>
+ * The records are created by a {@link GeneratorProducer} with suppliers of {@link RandomNumberSuppliers}
+ * and {@link RandomStringSuppliers}.
+ * Every call creates a new {@link RandomGenerator} with the same seed,
+ * so that every benchmark iteration and every fork works on the same data.
+ * <p>
+ * The records of {@link #textRecords(int, int, boolean)} have {@link #FIELD_COUNT} fields:
+ * <ol start="0">
+ *     <li>a key out of {@code keyCount} keys ({@code "K0000"})</li>
+ *     <li>an integer number</li>
+ *     <li>a word</li>
+ *     <li>a word</li>
+ *     <li>a date ({@code "yyyy-MM-dd"})</li>
+ *     <li>a decimal number with two fraction digits</li>
+ * </ol>
+ *
+ * @since 0.1
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20240101L;
+    public static final int FIELD_COUNT = 6;
+    public static final int INDEX_KEY = 0;
+    public static final int INDEX_NUMBER = 1;
+    public static final int INDEX_WORD = 2;
+    public static final int INDEX_SECOND_WORD = 3;
+    public static final int INDEX_DATE = 4;
+    public static final int INDEX_DECIMAL = 5;
+
+    private static final char[] WORD_CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    /**
+     * Word characters, which must be quoted in a CSV file.
+     */
+    private static final char[] QUOTED_WORD_CHARACTERS = "abcdefghijklmnopqrstuvwxyz ,\"".toCharArray();
+    private static final int WORD_MIN_LENGTH = 3;
+    private static final int WORD_MAX_LENGTH = 13;
+    private static final int DATE_FIRST_EPOCH_DAY = (int) LocalDate.of(1970, 1, 1).toEpochDay();
+    private static final int DATE_LAST_EPOCH_DAY = (int) LocalDate.of(2099, 12, 31).toEpochDay();
+
+    private BenchmarkData() {
+    }
+
+    public static RandomGenerator newRandomGenerator() {
+        return new SplittableRandom(SEED);
+    }
+
+    /**
+     * @param recordCount           the number of records
+     * @param keyCount              the number of different keys in the field {@link #INDEX_KEY}
+     * @param withQuotingCharacters {@code true} if the words contain spaces, commas and quotation marks
+     * @return a new list of records with {@link #FIELD_COUNT} fields
+     */
+    public static List<TextRecord> textRecords(int recordCount, int keyCount, boolean withQuotingCharacters) {
+        if (recordCount < 0) {
+            throw new IllegalArgumentException("recordCount < 0");
+        }
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("keyCount <= 0");
+        }
+        RandomGenerator random = newRandomGenerator();
+        IntSupplier wordLength = RandomNumberSuppliers.randomPrimitiveInt(random, WORD_MIN_LENGTH, WORD_MAX_LENGTH);
+        char[] wordCharacters = withQuotingCharacters ? QUOTED_WORD_CHARACTERS : WORD_CHARACTERS;
+        Supplier<String> word = RandomStringSuppliers.characterConcatenation(random, wordLength, wordCharacters);
+        IntSupplier key = RandomNumberSuppliers.randomPrimitiveInt(random, 0, keyCount);
+        IntSupplier number = RandomNumberSuppliers.randomPrimitiveInt(random, -1_000_000, 1_000_000);
+        IntSupplier epochDay = RandomNumberSuppliers.randomPrimitiveInt(random, DATE_FIRST_EPOCH_DAY, DATE_LAST_EPOCH_DAY + 1);
+        IntSupplier cents = RandomNumberSuppliers.randomPrimitiveInt(random, 0, 10_000_000);
+
+        RecordGenerator<TextRecord> generator = RecordGenerator.textRecordOfSuppliers(
+                CategoryGenerator.constantNull(),
+                RecordIdGenerator.recordIndex(),
+                (Supplier<@Nullable String>) () -> "K%04d".formatted(key.getAsInt()),
+                (Supplier<@Nullable String>) () -> String.valueOf(number.getAsInt()),
+                word::get,
+                word::get,
+                (Supplier<@Nullable String>) () -> LocalDate.ofEpochDay(epochDay.getAsInt()).toString(),
+                (Supplier<@Nullable String>) () -> decimalText(cents.getAsInt()));
+        return GeneratorProducer.knownSize(generator, recordCount)
+                                .produceStream()
+                                .toList();
+    }
+
+    /**
+     * @param recordCount the number of records
+     * @return a new list of key-value records with unique keys ({@code "key.0000000"})
+     */
+    public static List<KeyValueRecord> keyValueRecords(int recordCount) {
+        if (recordCount < 0) {
+            throw new IllegalArgumentException("recordCount < 0");
+        }
+        RandomGenerator random = newRandomGenerator();
+        IntSupplier wordLength = RandomNumberSuppliers.randomPrimitiveInt(random, WORD_MIN_LENGTH, WORD_MAX_LENGTH);
+        Supplier<String> word = RandomStringSuppliers.characterConcatenation(random, wordLength, WORD_CHARACTERS);
+
+        RecordGenerator<KeyValueRecord> generator = RecordGenerator.keyValueRecord(
+                CategoryGenerator.constantNull(),
+                RecordIdGenerator.recordIndex(),
+                interimResult -> "key.%07d".formatted(interimResult.context().recordIndex()),
+                interimResult -> word.get() + " " + word.get());
+        return GeneratorProducer.knownSize(generator, recordCount)
+                                .produceStream()
+                                .toList();
+    }
+
+    /**
+     * Returns the texts of the records as an array, which can be used to construct records in a benchmark.
+     *
+     * @param records the records
+     * @return a new array with the texts of every record
+     */
+    public static @Nullable String[][] texts(List<? extends TextRecord> records) {
+        Objects.requireNonNull(records);
+        return records.stream()
+                      .map(record -> record.streamOfTexts().toArray(String[]::new))
+                      .toArray(String[][]::new);
+    }
+
+    /**
+     * Writes the records with a {@link WritableRecordFileSpec} into a {@code String},
+     * which can be read by the producer of the same file spec.
+     */
+    public static <T extends TextRecord> String writeIntoString(WritableRecordFileSpec<? super T, ?> fileSpec,
+                                                                List<T> records) {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(records);
+        return RecordIOStreams.writeStreamIntoString(fileSpec, false, records.stream());
+    }
+
+    private static String decimalText(int cents) {
+        return (cents / 100) + "." + ((cents % 100) < 10 ? "0" : "") + (cents % 100);
+    }
+
+}
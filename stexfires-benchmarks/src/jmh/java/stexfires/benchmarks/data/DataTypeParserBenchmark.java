@@ -0,0 +1,114 @@
+package stexfires.benchmarks.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.data.NumberDataTypeParser;
+import stexfires.data.TimeDataTypeParser;
+import stexfires.record.TextRecord;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of {@link NumberDataTypeParser} and {@link TimeDataTypeParser}.
+ * <p>
+ * The benchmarks with the suffix {@code Shared} use one parser in four threads.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DataTypeParserBenchmark {
+
+    private static final int KEY_COUNT = 100;
+    private static final int SHARED_THREADS = 4;
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private String[] numberTexts;
+    private String[] decimalTexts;
+    private String[] dateTexts;
+    private NumberDataTypeParser<Long> longParser;
+    private NumberDataTypeParser<BigDecimal> bigDecimalParser;
+    private TimeDataTypeParser<LocalDate> localDateParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<TextRecord> records = BenchmarkData.textRecords(recordCount, KEY_COUNT, false);
+        numberTexts = texts(records, BenchmarkData.INDEX_NUMBER);
+        decimalTexts = texts(records, BenchmarkData.INDEX_DECIMAL);
+        dateTexts = texts(records, BenchmarkData.INDEX_DATE);
+
+        longParser = new NumberDataTypeParser<>(NumberFormat.getIntegerInstance(Locale.ENGLISH),
+                NumberDataTypeParser::toLong, null, null);
+        DecimalFormat decimalFormat = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+        decimalFormat.setParseBigDecimal(true);
+        bigDecimalParser = new NumberDataTypeParser<>(decimalFormat,
+                NumberDataTypeParser::toBigDecimal, null, null);
+        localDateParser = new TimeDataTypeParser<>(DateTimeFormatter.ISO_LOCAL_DATE,
+                LocalDate::from, null, null);
+    }
+
+    private static String[] texts(List<TextRecord> records, int index) {
+        return records.stream()
+                      .map(record -> record.textAt(index))
+                      .filter(Objects::nonNull)
+                      .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void parseLong(Blackhole blackhole) {
+        for (String text : numberTexts) {
+            blackhole.consume(longParser.parse(text));
+        }
+    }
+
+    @Benchmark
+    @Threads(SHARED_THREADS)
+    public void parseLongShared(Blackhole blackhole) {
+        for (String text : numberTexts) {
+            blackhole.consume(longParser.parse(text));
+        }
+    }
+
+    @Benchmark
+    public void parseBigDecimal(Blackhole blackhole) {
+        for (String text : decimalTexts) {
+            blackhole.consume(bigDecimalParser.parse(text));
+        }
+    }
+
+    @Benchmark
+    public void parseLocalDate(Blackhole blackhole) {
+        for (String text : dateTexts) {
+            blackhole.consume(localDateParser.parse(text));
+        }
+    }
+
+    @Benchmark
+    @Threads(SHARED_THREADS)
+    public void parseLocalDateShared(Blackhole blackhole) {
+        for (String text : dateTexts) {
+            blackhole.consume(localDateParser.parse(text));
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package stexfires.benchmarks.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.delimited.csv.CsvFileSpec;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of {@link stexfires.io.delimited.csv.CsvProducer} and {@link stexfires.io.delimited.csv.CsvConsumer}
+ * compared with the {@link stexfires.io.delimited.simple.SimpleDelimitedProducer}.
+ * <p>
+ * With {@code quoted=false} the words contain no special characters, so that the CSV file has no quoted fields
+ * and the same text can be read by both producers.
+ * With {@code quoted=true} the words contain spaces, commas and quotation marks.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CsvBenchmark {
+
+    private static final int KEY_COUNT = 100;
+
+    @Param({"10000"})
+    public int recordCount;
+
+    @Param({"false", "true"})
+    public boolean quoted;
+
+    private List<TextRecord> records;
+    private CsvFileSpec csvProducerFileSpec;
+    private CsvFileSpec csvConsumerFileSpec;
+    private SimpleDelimitedFileSpec simpleProducerFileSpec;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = BenchmarkData.textRecords(recordCount, KEY_COUNT, quoted);
+        var fieldSpecs = CsvFileSpec.newFieldSpecs(BenchmarkData.FIELD_COUNT);
+        csvProducerFileSpec = CsvFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING, fieldSpecs);
+        csvConsumerFileSpec = CsvFileSpec.consumerFileSpec(CharsetCoding.UTF_8_REPORTING, LineSeparator.LF, fieldSpecs);
+        simpleProducerFileSpec = SimpleDelimitedFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING,
+                SimpleDelimitedFileSpec.FIELD_DELIMITER_COMMA,
+                SimpleDelimitedFileSpec.newFieldSpecs(BenchmarkData.FIELD_COUNT));
+        text = BenchmarkData.writeIntoString(csvConsumerFileSpec, records);
+    }
+
+    @Benchmark
+    public long produceCsv() {
+        return RecordIOStreams.readFromString(csvProducerFileSpec, text,
+                stream -> stream.mapToLong(TextRecord::size).sum());
+    }
+
+    /**
+     * Reads the same text with the {@link stexfires.io.delimited.simple.SimpleDelimitedProducer}.
+     * The records are only equal to the CSV records if the text contains no quoted fields.
+     */
+    @Benchmark
+    public long produceSimpleDelimited() {
+        return RecordIOStreams.readFromString(simpleProducerFileSpec, text,
+                stream -> stream.mapToLong(TextRecord::size).sum());
+    }
+
+    @Benchmark
+    public String consumeCsv() {
+        return BenchmarkData.writeIntoString(csvConsumerFileSpec, records);
+    }
+
+}
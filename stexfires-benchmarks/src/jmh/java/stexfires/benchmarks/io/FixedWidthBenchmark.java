@@ -0,0 +1,75 @@
+package stexfires.benchmarks.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.fixedwidth.FixedWidthFieldSpec;
+import stexfires.io.fixedwidth.FixedWidthFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.util.Alignment;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of {@link stexfires.io.fixedwidth.FixedWidthProducer} and {@link stexfires.io.fixedwidth.FixedWidthConsumer}.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FixedWidthBenchmark {
+
+    private static final int KEY_COUNT = 100;
+    private static final int RECORD_WIDTH = 72;
+    private static final Character FILL_CHARACTER = ' ';
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private List<TextRecord> records;
+    private FixedWidthFileSpec producerFileSpec;
+    private FixedWidthFileSpec consumerFileSpec;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = BenchmarkData.textRecords(recordCount, KEY_COUNT, false);
+        // The widths fit the longest texts of the generated fields.
+        var fieldSpecs = List.of(
+                new FixedWidthFieldSpec(0, 6),
+                new FixedWidthFieldSpec(6, 9),
+                new FixedWidthFieldSpec(15, 14),
+                new FixedWidthFieldSpec(29, 14),
+                new FixedWidthFieldSpec(43, 11),
+                new FixedWidthFieldSpec(54, 18));
+        producerFileSpec = FixedWidthFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING,
+                RECORD_WIDTH, Alignment.START, FILL_CHARACTER, fieldSpecs);
+        consumerFileSpec = FixedWidthFileSpec.consumerFileSpec(CharsetCoding.UTF_8_REPORTING,
+                RECORD_WIDTH, Alignment.START, FILL_CHARACTER, LineSeparator.LF, fieldSpecs);
+        text = BenchmarkData.writeIntoString(consumerFileSpec, records);
+    }
+
+    @Benchmark
+    public long produce() {
+        return RecordIOStreams.readFromString(producerFileSpec, text,
+                stream -> stream.mapToLong(TextRecord::size).sum());
+    }
+
+    @Benchmark
+    public String consume() {
+        return BenchmarkData.writeIntoString(consumerFileSpec, records);
+    }
+
+}
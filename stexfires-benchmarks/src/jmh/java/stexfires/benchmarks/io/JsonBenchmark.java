@@ -0,0 +1,89 @@
+package stexfires.benchmarks.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.json.JsonFieldSpec;
+import stexfires.io.json.JsonFileSpec;
+import stexfires.io.json.JsonStreamingFileSpec;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of {@link stexfires.io.json.JsonProducer} and {@link stexfires.io.json.JsonConsumer}
+ * with JSON Lines ({@link JsonStreamingFileSpec}).
+ * <p>
+ * The benchmark {@code produceJsonLinesTwoMembers} reads only two of the six members and skips the others.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private static final int KEY_COUNT = 100;
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private List<TextRecord> records;
+    private JsonStreamingFileSpec consumerFileSpec;
+    private JsonStreamingFileSpec producerFileSpec;
+    private JsonStreamingFileSpec producerFileSpecTwoMembers;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = BenchmarkData.textRecords(recordCount, KEY_COUNT, true);
+        List<JsonFieldSpec> fieldSpecs = new ArrayList<>(BenchmarkData.FIELD_COUNT);
+        for (int index = 0; index < BenchmarkData.FIELD_COUNT; index++) {
+            fieldSpecs.add(JsonFieldSpec.stringUnescapedType("field" + index, JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL));
+        }
+        consumerFileSpec = JsonStreamingFileSpec.consumerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false, false, fieldSpecs);
+        producerFileSpec = JsonStreamingFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false,
+                ProducerReadLineHandling.SKIP_BLANK_LINE, fieldSpecs);
+        producerFileSpecTwoMembers = JsonStreamingFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false,
+                ProducerReadLineHandling.SKIP_BLANK_LINE,
+                List.of(fieldSpecs.get(BenchmarkData.INDEX_KEY), fieldSpecs.get(BenchmarkData.INDEX_NUMBER)));
+        text = BenchmarkData.writeIntoString(consumerFileSpec, records);
+    }
+
+    @Benchmark
+    public long produceJsonLines() {
+        return RecordIOStreams.readFromString(producerFileSpec, text,
+                stream -> stream.mapToLong(TextRecord::size).sum());
+    }
+
+    @Benchmark
+    public long produceJsonLinesTwoMembers() {
+        return RecordIOStreams.readFromString(producerFileSpecTwoMembers, text,
+                stream -> stream.mapToLong(TextRecord::size).sum());
+    }
+
+    @Benchmark
+    public long produceJsonLinesInParallel() throws Exception {
+        try (var producer = producerFileSpec.producer(text)) {
+            return RecordIOStreams.readInParallel(producer, BATCH_SIZE,
+                    stream -> stream.mapToLong(TextRecord::size).sum());
+        }
+    }
+
+    @Benchmark
+    public String consumeJsonLines() {
+        return BenchmarkData.writeIntoString(consumerFileSpec, records);
+    }
+
+}
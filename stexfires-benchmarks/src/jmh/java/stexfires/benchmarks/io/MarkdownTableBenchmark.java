@@ -0,0 +1,58 @@
+package stexfires.benchmarks.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.io.markdown.table.MarkdownTableFieldSpec;
+import stexfires.io.markdown.table.MarkdownTableFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of {@link stexfires.io.markdown.table.MarkdownTableConsumer}.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MarkdownTableBenchmark {
+
+    private static final int KEY_COUNT = 100;
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private List<TextRecord> records;
+    private MarkdownTableFileSpec consumerFileSpec;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = BenchmarkData.textRecords(recordCount, KEY_COUNT, false);
+        consumerFileSpec = MarkdownTableFileSpec.consumerFileSpec(CharsetCoding.UTF_8_REPORTING, LineSeparator.LF,
+                List.of(
+                        new MarkdownTableFieldSpec("Key"),
+                        new MarkdownTableFieldSpec("Number"),
+                        new MarkdownTableFieldSpec("Word"),
+                        new MarkdownTableFieldSpec("Second word"),
+                        new MarkdownTableFieldSpec("Date"),
+                        new MarkdownTableFieldSpec("Decimal")));
+    }
+
+    @Benchmark
+    public String consume() {
+        return BenchmarkData.writeIntoString(consumerFileSpec, records);
+    }
+
+}
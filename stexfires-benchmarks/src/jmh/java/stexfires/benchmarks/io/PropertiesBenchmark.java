@@ -0,0 +1,54 @@
+package stexfires.benchmarks.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.properties.PropertiesFileSpec;
+import stexfires.record.KeyValueRecord;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of {@link stexfires.io.properties.PropertiesProducer}.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PropertiesBenchmark {
+
+    private static final CharsetCoding CHARSET_CODING = CharsetCoding.reportingErrors(StandardCharsets.ISO_8859_1);
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private PropertiesFileSpec producerFileSpec;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        producerFileSpec = PropertiesFileSpec.producerFileSpec(CHARSET_CODING);
+        var consumerFileSpec = PropertiesFileSpec.consumerFileSpec(CHARSET_CODING, LineSeparator.LF);
+        text = BenchmarkData.writeIntoString(consumerFileSpec, BenchmarkData.keyValueRecords(recordCount));
+    }
+
+    @Benchmark
+    public long produce() {
+        return RecordIOStreams.readFromString(producerFileSpec, text,
+                stream -> stream.map(KeyValueRecord::value)
+                                .count());
+    }
+
+}
@@ -0,0 +1,106 @@
+package stexfires.benchmarks.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of {@link stexfires.io.delimited.simple.SimpleDelimitedProducer},
+ * {@link stexfires.io.delimited.simple.SimpleDelimitedChunkedProducer}
+ * and {@link stexfires.io.delimited.simple.SimpleDelimitedConsumer}.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SimpleDelimitedBenchmark {
+
+    private static final int KEY_COUNT = 100;
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private List<TextRecord> records;
+    private SimpleDelimitedFileSpec producerFileSpec;
+    private SimpleDelimitedFileSpec consumerFileSpec;
+    private String text;
+    private Path filePath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        records = BenchmarkData.textRecords(recordCount, KEY_COUNT, false);
+        var fieldSpecs = SimpleDelimitedFileSpec.newFieldSpecs(BenchmarkData.FIELD_COUNT);
+        producerFileSpec = SimpleDelimitedFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING,
+                SimpleDelimitedFileSpec.FIELD_DELIMITER_COMMA, fieldSpecs);
+        consumerFileSpec = SimpleDelimitedFileSpec.consumerFileSpec(CharsetCoding.UTF_8_REPORTING,
+                SimpleDelimitedFileSpec.FIELD_DELIMITER_COMMA, LineSeparator.LF, fieldSpecs);
+        text = BenchmarkData.writeIntoString(consumerFileSpec, records);
+        filePath = Files.createTempFile("SimpleDelimitedBenchmark", ".csv");
+        Files.writeString(filePath, text, CharsetCoding.UTF_8_REPORTING.charset());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(filePath);
+    }
+
+    @Benchmark
+    public long produce() {
+        return RecordIOStreams.readFromString(producerFileSpec, text,
+                stream -> stream.mapToLong(TextRecord::size).sum());
+    }
+
+    @Benchmark
+    public long produceAndAccessOneField() {
+        return RecordIOStreams.readFromString(producerFileSpec, text,
+                stream -> stream.map(r -> r.textAt(BenchmarkData.INDEX_KEY))
+                                .filter(Objects::nonNull)
+                                .count());
+    }
+
+    @Benchmark
+    public long produceChunkedOrdered() throws IOException {
+        try (var producer = producerFileSpec.openFileAsChunkedProducer(filePath, true, false,
+                CHUNK_SIZE, ForkJoinPool.commonPool())) {
+            return RecordIOStreams.read(producer, stream -> stream.mapToLong(TextRecord::size).sum());
+        }
+    }
+
+    @Benchmark
+    public long produceChunkedLazyAndAccessOneField() throws IOException {
+        try (var producer = producerFileSpec.openFileAsChunkedProducer(filePath, false, true,
+                CHUNK_SIZE, ForkJoinPool.commonPool())) {
+            return RecordIOStreams.read(producer,
+                    stream -> stream.map(r -> r.textAt(BenchmarkData.INDEX_KEY))
+                                    .filter(Objects::nonNull)
+                                    .count());
+        }
+    }
+
+    @Benchmark
+    public String consume() {
+        return BenchmarkData.writeIntoString(consumerFileSpec, records);
+    }
+
+}
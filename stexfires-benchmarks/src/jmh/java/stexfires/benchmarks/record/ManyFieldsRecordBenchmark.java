@@ -0,0 +1,97 @@
+package stexfires.benchmarks.record;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.record.TextField;
+import stexfires.record.impl.ManyFieldsRecord;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of the construction of {@link ManyFieldsRecord} and of the access to its fields and texts.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ManyFieldsRecordBenchmark {
+
+    private static final int KEY_COUNT = 100;
+    private static final String CATEGORY = "category";
+
+    @Param({"10000"})
+    public int recordCount;
+
+    private String[][] texts;
+    private ManyFieldsRecord[] records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        texts = BenchmarkData.texts(BenchmarkData.textRecords(recordCount, KEY_COUNT, false));
+        records = Arrays.stream(texts)
+                        .map(recordTexts -> new ManyFieldsRecord(CATEGORY, null, recordTexts))
+                        .toArray(ManyFieldsRecord[]::new);
+    }
+
+    @Benchmark
+    public void construct(Blackhole blackhole) {
+        long recordId = 0L;
+        for (String[] recordTexts : texts) {
+            blackhole.consume(new ManyFieldsRecord(CATEGORY, recordId, recordTexts));
+            recordId++;
+        }
+    }
+
+    @Benchmark
+    public void textAt(Blackhole blackhole) {
+        for (ManyFieldsRecord record : records) {
+            for (int index = 0; index < BenchmarkData.FIELD_COUNT; index++) {
+                blackhole.consume(record.textAt(index));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fieldAt(Blackhole blackhole) {
+        for (ManyFieldsRecord record : records) {
+            for (int index = 0; index < BenchmarkData.FIELD_COUNT; index++) {
+                blackhole.consume(record.fieldAt(index));
+            }
+        }
+    }
+
+    @Benchmark
+    public void listOfFields(Blackhole blackhole) {
+        for (ManyFieldsRecord record : records) {
+            for (TextField field : record.listOfFields()) {
+                blackhole.consume(field.text());
+            }
+        }
+    }
+
+    @Benchmark
+    public void forEachField(Blackhole blackhole) {
+        for (ManyFieldsRecord record : records) {
+            record.forEachField(field -> blackhole.consume(field.text()));
+        }
+    }
+
+    @Benchmark
+    public void streamOfTexts(Blackhole blackhole) {
+        for (ManyFieldsRecord record : records) {
+            record.streamOfTexts().forEach(blackhole::consume);
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package stexfires.benchmarks.record;
+
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.record.TextRecord;
+import stexfires.record.comparator.RecordComparators;
+import stexfires.record.message.CompareMessageBuilder;
+import stexfires.record.message.TextMessage;
+import stexfires.record.modifier.CollectorGroupModifier;
+import stexfires.record.modifier.DistinctModifier;
+import stexfires.record.modifier.ExternalSortModifier;
+import stexfires.record.modifier.GroupCollectors;
+import stexfires.record.modifier.GroupModifier;
+import stexfires.record.modifier.HashDistinctModifier;
+import stexfires.record.modifier.JoinModifier;
+import stexfires.record.modifier.PivotModifier;
+import stexfires.record.modifier.RecordStreamModifier;
+import stexfires.record.modifier.SkipLimitModifier;
+import stexfires.record.modifier.SortModifier;
+import stexfires.record.modifier.TopNModifier;
+import stexfires.record.producer.RecordProducer;
+import stexfires.util.SortNulls;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Benchmarks of {@link GroupModifier}, {@link CollectorGroupModifier}, {@link PivotModifier}, {@link DistinctModifier},
+ * {@link HashDistinctModifier}, {@link SortModifier}, {@link ExternalSortModifier}, {@link TopNModifier}
+ * and {@link JoinModifier}.
+ * <p>
+ * The parameter {@code keyCount} is the number of groups or distinct records.
+ * The {@link ExternalSortModifier} writes ten runs into temporary files.
+ * The benchmarks {@code groupWithCollectorSortedInput} and {@code pivotSortedInput} use the records sorted by the group key.
+ * The benchmark {@code sortAndLimit} is the alternative to {@code topN}.
+ * The {@link JoinModifier} joins the records with {@code keyCount} build records by key.
+ * The benchmark {@code graceHashJoin} uses a small memory budget,
+ * which partitions the build records of the larger {@code keyCount} into temporary files.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ModifierBenchmark {
+
+    private static final String PIVOT_NULL_TEXT = "";
+    private static final int EXTERNAL_SORT_RUN_COUNT = 10;
+    private static final int TOP_N = 1000;
+    private static final long GRACE_HASH_JOIN_MEMORY_BUDGET = 64L * 1024L;
+
+    @Param({"100000"})
+    public int recordCount;
+
+    @Param({"100", "10000"})
+    public int keyCount;
+
+    private List<TextRecord> records;
+    private List<TextRecord> recordsSortedByKey;
+    private RecordStreamModifier<TextRecord, TextRecord> groupModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> collectorGroupModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> sortedInputGroupModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> pivotModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> sortedInputPivotModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> distinctModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> hashDistinctModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> sortModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> externalSortModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> sortAndLimitModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> topNModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> hashJoinModifier;
+    private RecordStreamModifier<TextRecord, TextRecord> graceHashJoinModifier;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = BenchmarkData.textRecords(recordCount, keyCount, false);
+        groupModifier = new GroupModifier<>(
+                GroupModifier.groupByTextAt(BenchmarkData.INDEX_KEY),
+                GroupModifier.aggregateToTexts(
+                        list -> List.<@Nullable String>of(
+                                list.getFirst().textAt(BenchmarkData.INDEX_KEY),
+                                String.valueOf(list.size()))));
+        Collector<TextRecord, ?, TextRecord> groupCollector = GroupCollectors.toTexts(List.of(
+                GroupCollectors.firstTextAt(BenchmarkData.INDEX_KEY),
+                GroupCollectors.count()));
+        collectorGroupModifier = new CollectorGroupModifier<>(
+                GroupModifier.groupByTextAt(BenchmarkData.INDEX_KEY), groupCollector);
+        sortedInputGroupModifier = new CollectorGroupModifier<>(
+                GroupModifier.groupByTextAt(BenchmarkData.INDEX_KEY), groupCollector, true);
+        recordsSortedByKey = records.stream()
+                                    .sorted(RecordComparators.textAt(BenchmarkData.INDEX_KEY,
+                                            Comparator.naturalOrder(), SortNulls.FIRST))
+                                    .toList();
+        pivotModifier = PivotModifier.pivotWithIndexes(BenchmarkData.INDEX_KEY,
+                recordCount / keyCount, PIVOT_NULL_TEXT,
+                BenchmarkData.INDEX_NUMBER, BenchmarkData.INDEX_WORD);
+        sortedInputPivotModifier = PivotModifier.pivotWithIndexes(BenchmarkData.INDEX_KEY,
+                recordCount / keyCount, PIVOT_NULL_TEXT,
+                List.of(BenchmarkData.INDEX_NUMBER, BenchmarkData.INDEX_WORD), true);
+        distinctModifier = new DistinctModifier<>(new CompareMessageBuilder().textAt(BenchmarkData.INDEX_KEY));
+        hashDistinctModifier = HashDistinctModifier.textsAt(List.of(BenchmarkData.INDEX_KEY));
+        Comparator<TextRecord> sortComparator = RecordComparators.textAt(BenchmarkData.INDEX_WORD,
+                Comparator.naturalOrder(), SortNulls.FIRST);
+        sortModifier = new SortModifier<>(sortComparator);
+        externalSortModifier = new ExternalSortModifier<>(sortComparator,
+                ExternalSortModifier.DEFAULT_MEMORY_BUDGET, recordCount / EXTERNAL_SORT_RUN_COUNT, null);
+        sortAndLimitModifier = RecordStreamModifier.concat(sortModifier, SkipLimitModifier.limit(TOP_N));
+        topNModifier = new TopNModifier<>(sortComparator, TOP_N);
+        List<TextRecord> buildRecords = BenchmarkData.textRecords(keyCount, keyCount, false);
+        hashJoinModifier = JoinModifier.inner(new TextMessage<>(BenchmarkData.INDEX_KEY),
+                RecordProducer.ofSupplier(buildRecords::stream), new TextMessage<>(BenchmarkData.INDEX_KEY),
+                JoinModifier.appendTextsAt(List.of(BenchmarkData.INDEX_WORD)));
+        graceHashJoinModifier = new JoinModifier<>(JoinModifier.JoinType.INNER, new TextMessage<>(BenchmarkData.INDEX_KEY),
+                RecordProducer.ofSupplier(buildRecords::stream), new TextMessage<>(BenchmarkData.INDEX_KEY),
+                JoinModifier.appendTextsAt(List.of(BenchmarkData.INDEX_WORD)), GRACE_HASH_JOIN_MEMORY_BUDGET, null);
+    }
+
+    @Benchmark
+    public long group() {
+        return groupModifier.modify(records.stream()).count();
+    }
+
+    @Benchmark
+    public long groupWithCollector() {
+        return collectorGroupModifier.modify(records.stream()).count();
+    }
+
+    @Benchmark
+    public long groupWithCollectorSortedInput() {
+        return sortedInputGroupModifier.modify(recordsSortedByKey.stream()).count();
+    }
+
+    @Benchmark
+    public long pivot() {
+        return pivotModifier.modify(records.stream()).count();
+    }
+
+    @Benchmark
+    public long pivotSortedInput() {
+        return sortedInputPivotModifier.modify(recordsSortedByKey.stream()).count();
+    }
+
+    @Benchmark
+    public long distinct() {
+        return distinctModifier.modify(records.stream()).count();
+    }
+
+    @Benchmark
+    public long hashDistinct() {
+        return hashDistinctModifier.modify(records.stream()).count();
+    }
+
+    @Benchmark
+    public long sort() {
+        return sortModifier.modify(records.stream())
+                           .mapToLong(TextRecord::size)
+                           .sum();
+    }
+
+    @Benchmark
+    public long externalSort() {
+        return externalSortModifier.modify(records.stream())
+                                   .mapToLong(TextRecord::size)
+                                   .sum();
+    }
+
+    @Benchmark
+    public long sortAndLimit() {
+        return sortAndLimitModifier.modify(records.stream())
+                                   .mapToLong(TextRecord::size)
+                                   .sum();
+    }
+
+    @Benchmark
+    public long topN() {
+        return topNModifier.modify(records.stream())
+                           .mapToLong(TextRecord::size)
+                           .sum();
+    }
+
+    @Benchmark
+    public long hashJoin() {
+        return hashJoinModifier.modify(records.stream()).count();
+    }
+
+    @Benchmark
+    public long hashJoinParallel() {
+        return hashJoinModifier.modify(records.parallelStream()).count();
+    }
+
+    @Benchmark
+    public long graceHashJoin() {
+        return graceHashJoinModifier.modify(records.stream()).count();
+    }
+
+}
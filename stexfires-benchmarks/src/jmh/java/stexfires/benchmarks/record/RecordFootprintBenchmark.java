@@ -0,0 +1,85 @@
+package stexfires.benchmarks.record;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import stexfires.benchmarks.BenchmarkData;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Heap footprint of {@link ManyFieldsRecord} compared with {@link ManyTextsRecord}.
+ * <p>
+ * Every operation creates one record from an existing array of texts, like a producer does.
+ * The texts are created during the setup and are not counted.
+ * The GC profiler reports the bytes per record as {@code gc.alloc.rate.norm}.
+ * For {@link ManyTextsRecord} it is the retained size of the record.
+ * For {@link ManyFieldsRecord} it additionally contains one temporary array with a reference for every field.
+ *
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RecordFootprintBenchmark {
+
+    private static final int RECORD_COUNT = 10_000;
+    private static final int KEY_COUNT = 100;
+
+    @Param({"6", "40"})
+    public int fieldCount;
+
+    private String[][] texts;
+    private TextRecord[] records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Repeat the generated fields up to the field count.
+        texts = Arrays.stream(BenchmarkData.texts(BenchmarkData.textRecords(RECORD_COUNT, KEY_COUNT, false)))
+                      .map(recordTexts -> {
+                          String[] repeatedTexts = new String[fieldCount];
+                          for (int index = 0; index < fieldCount; index++) {
+                              repeatedTexts[index] = recordTexts[index % recordTexts.length];
+                          }
+                          return repeatedTexts;
+                      })
+                      .toArray(String[][]::new);
+        records = new TextRecord[RECORD_COUNT];
+    }
+
+    /**
+     * The records are stored in an array, so that they escape and are allocated on the heap.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public TextRecord[] manyFieldsRecord() {
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            records[index] = new ManyFieldsRecord(null, (long) index, texts[index]);
+        }
+        return records;
+    }
+
+    /**
+     * The records are stored in an array, so that they escape and are allocated on the heap.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public TextRecord[] manyTextsRecord() {
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            records[index] = new ManyTextsRecord(null, (long) index, texts[index]);
+        }
+        return records;
+    }
+
+}
@@ -0,0 +1,80 @@
+package stexfires.data;
+
+import java.util.*;
+
+/**
+ * A batch of records decoded by a {@link DataSchema} into one {@link ColumnVector} per column.
+ *
+ * @see DataSchema#decode(List, boolean)
+ * @since 0.1
+ */
+public final class ColumnBatch {
+
+    private final DataSchema schema;
+    private final int rowCount;
+    private final List<ColumnVector> columns;
+
+    ColumnBatch(DataSchema schema, int rowCount, List<ColumnVector> columns) {
+        this.schema = schema;
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public DataSchema schema() {
+        return schema;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public List<ColumnVector> columns() {
+        return columns;
+    }
+
+    /**
+     * @param position the position of the column in the schema
+     */
+    public ColumnVector column(int position) {
+        return columns.get(position);
+    }
+
+    public ColumnVector.IntVector intColumn(int position) {
+        return column(position, ColumnVector.IntVector.class);
+    }
+
+    public ColumnVector.LongVector longColumn(int position) {
+        return column(position, ColumnVector.LongVector.class);
+    }
+
+    public ColumnVector.DoubleVector doubleColumn(int position) {
+        return column(position, ColumnVector.DoubleVector.class);
+    }
+
+    public ColumnVector.BooleanVector booleanColumn(int position) {
+        return column(position, ColumnVector.BooleanVector.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ColumnVector.ObjectVector<T> objectColumn(int position, Class<T> typeClass) {
+        Objects.requireNonNull(typeClass);
+        ColumnVector.ObjectVector<?> vector = column(position, ColumnVector.ObjectVector.class);
+        if (vector.typeClass() != typeClass) {
+            throw new IllegalArgumentException("Column " + position + " has the type class " + vector.typeClass().getName());
+        }
+        return (ColumnVector.ObjectVector<T>) vector;
+    }
+
+    private <V extends ColumnVector> V column(int position, Class<V> vectorClass) {
+        ColumnVector vector = columns.get(position);
+        if (!vectorClass.isInstance(vector)) {
+            throw new IllegalArgumentException("Column " + position + " is not a " + vectorClass.getSimpleName());
+        }
+        return vectorClass.cast(vector);
+    }
+
+}
@@ -0,0 +1,258 @@
+package stexfires.data;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * The decoded values of one column of a {@link ColumnBatch}.
+ * <p>
+ * The values of the primitive vectors are stored in primitive arrays and a null bitmap.
+ * The value of a {@code null} row is {@code 0}, {@code 0.0} or {@code false}.
+ * The vectors are immutable.
+ *
+ * @see DataSchema
+ * @since 0.1
+ */
+public sealed interface ColumnVector
+        permits ColumnVector.IntVector, ColumnVector.LongVector, ColumnVector.DoubleVector,
+        ColumnVector.BooleanVector, ColumnVector.ObjectVector {
+
+    int size();
+
+    boolean isNull(int row);
+
+    int nullCount();
+
+    /**
+     * Returns the boxed value of the row or {@code null}.
+     */
+    @Nullable Object valueAt(int row);
+
+    final class IntVector implements ColumnVector {
+
+        private final int[] values;
+        private final BitSet nulls;
+
+        IntVector(int[] values, BitSet nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            Objects.checkIndex(row, values.length);
+            return nulls.get(row);
+        }
+
+        @Override
+        public int nullCount() {
+            return nulls.cardinality();
+        }
+
+        @Override
+        public @Nullable Integer valueAt(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        public int intAt(int row) {
+            return values[row];
+        }
+
+        /**
+         * Returns the values of all not {@code null} rows.
+         */
+        public IntStream nonNullValues() {
+            return IntStream.range(0, values.length).filter(row -> !nulls.get(row)).map(row -> values[row]);
+        }
+
+    }
+
+    final class LongVector implements ColumnVector {
+
+        private final long[] values;
+        private final BitSet nulls;
+
+        LongVector(long[] values, BitSet nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            Objects.checkIndex(row, values.length);
+            return nulls.get(row);
+        }
+
+        @Override
+        public int nullCount() {
+            return nulls.cardinality();
+        }
+
+        @Override
+        public @Nullable Long valueAt(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        public long longAt(int row) {
+            return values[row];
+        }
+
+        /**
+         * Returns the values of all not {@code null} rows.
+         */
+        public LongStream nonNullValues() {
+            return IntStream.range(0, values.length).filter(row -> !nulls.get(row)).mapToLong(row -> values[row]);
+        }
+
+    }
+
+    final class DoubleVector implements ColumnVector {
+
+        private final double[] values;
+        private final BitSet nulls;
+
+        DoubleVector(double[] values, BitSet nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            Objects.checkIndex(row, values.length);
+            return nulls.get(row);
+        }
+
+        @Override
+        public int nullCount() {
+            return nulls.cardinality();
+        }
+
+        @Override
+        public @Nullable Double valueAt(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        public double doubleAt(int row) {
+            return values[row];
+        }
+
+        /**
+         * Returns the values of all not {@code null} rows.
+         */
+        public DoubleStream nonNullValues() {
+            return IntStream.range(0, values.length).filter(row -> !nulls.get(row)).mapToDouble(row -> values[row]);
+        }
+
+    }
+
+    final class BooleanVector implements ColumnVector {
+
+        private final int size;
+        private final BitSet values;
+        private final BitSet nulls;
+
+        BooleanVector(int size, BitSet values, BitSet nulls) {
+            this.size = size;
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            Objects.checkIndex(row, size);
+            return nulls.get(row);
+        }
+
+        @Override
+        public int nullCount() {
+            return nulls.cardinality();
+        }
+
+        @Override
+        public @Nullable Boolean valueAt(int row) {
+            return isNull(row) ? null : values.get(row);
+        }
+
+        public boolean booleanAt(int row) {
+            Objects.checkIndex(row, size);
+            return values.get(row);
+        }
+
+        /**
+         * Returns the number of rows with the value {@code true}.
+         */
+        public int trueCount() {
+            return values.cardinality();
+        }
+
+    }
+
+    final class ObjectVector<T> implements ColumnVector {
+
+        private final Class<T> typeClass;
+        private final @Nullable T[] values;
+        private final BitSet nulls;
+
+        ObjectVector(Class<T> typeClass, @Nullable T[] values, BitSet nulls) {
+            this.typeClass = typeClass;
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        public Class<T> typeClass() {
+            return typeClass;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isNull(int row) {
+            Objects.checkIndex(row, values.length);
+            return nulls.get(row);
+        }
+
+        @Override
+        public int nullCount() {
+            return nulls.cardinality();
+        }
+
+        @Override
+        public @Nullable T valueAt(int row) {
+            return values[row];
+        }
+
+        /**
+         * Returns the values of all not {@code null} rows.
+         */
+        public Stream<T> nonNullValues() {
+            return Arrays.stream(values).filter(Objects::nonNull);
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package stexfires.data;
+
+import stexfires.record.TextField;
+
+import java.util.*;
+
+/**
+ * Binds a {@link DataType} to the text at a field index of a record.
+ *
+ * @param index    the field index of the text
+ * @param dataType the data type of the text
+ * @see DataSchema
+ * @since 0.1
+ */
+public record DataColumn<T>(int index,
+                            DataType<T> dataType) {
+
+    public DataColumn {
+        Objects.requireNonNull(dataType);
+        if (index < TextField.FIRST_FIELD_INDEX) {
+            throw new IllegalArgumentException("Wrong 'index'! " + index);
+        }
+    }
+
+    public static <T> DataColumn<T> of(int index, DataType<T> dataType) {
+        return new DataColumn<>(index, dataType);
+    }
+
+}
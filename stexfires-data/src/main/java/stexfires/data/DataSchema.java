@@ -0,0 +1,134 @@
+package stexfires.data;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * A schema of {@link DataColumn}s, which decodes batches of {@link TextRecord}s into typed {@link ColumnVector}s.
+ * <p>
+ * Every text is parsed only once by the {@link DataType} of its column.
+ * The columns with the type class {@link Integer}, {@link Long}, {@link Double} and {@link Boolean}
+ * are stored in primitive arrays with a null bitmap, all other columns in object arrays.
+ * A missing text is parsed like a {@code null} text.
+ *
+ * @param columns the columns in the order of the decoded {@link ColumnBatch}
+ * @see ColumnBatch
+ * @since 0.1
+ */
+public record DataSchema(List<DataColumn<?>> columns) {
+
+    public DataSchema {
+        Objects.requireNonNull(columns);
+        columns = List.copyOf(columns);
+    }
+
+    public static DataSchema of(DataColumn<?>... columns) {
+        Objects.requireNonNull(columns);
+        return new DataSchema(List.of(columns));
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Decodes the records sequentially.
+     *
+     * @see #decode(List, boolean)
+     */
+    public ColumnBatch decode(List<? extends TextRecord> records) throws DataTypeConverterException {
+        return decode(records, false);
+    }
+
+    /**
+     * Decodes the records into one {@link ColumnVector} per column.
+     *
+     * @param records  the records of the batch. The list must not be changed during the decoding.
+     * @param parallel parse the columns in parallel
+     * @throws DataTypeConverterException if a text cannot be parsed
+     */
+    public ColumnBatch decode(List<? extends TextRecord> records, boolean parallel) throws DataTypeConverterException {
+        Objects.requireNonNull(records);
+        // Random access allows the columns to read the records independently.
+        List<? extends TextRecord> recordList = (records instanceof RandomAccess) ? records : new ArrayList<>(records);
+        IntStream columnPositions = IntStream.range(0, columns.size());
+        if (parallel) {
+            columnPositions = columnPositions.parallel();
+        }
+        List<ColumnVector> vectors = columnPositions.mapToObj(position -> decodeColumn(columns.get(position), recordList))
+                                                    .toList();
+        return new ColumnBatch(this, recordList.size(), vectors);
+    }
+
+    private static <T> ColumnVector decodeColumn(DataColumn<T> column, List<? extends TextRecord> records) {
+        int rowCount = records.size();
+        BitSet nulls = new BitSet(rowCount);
+        Class<T> typeClass = column.dataType().typeClass();
+        if (typeClass == Integer.class) {
+            int[] values = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                if (parse(column, records, row) instanceof Integer value) {
+                    values[row] = value;
+                } else {
+                    nulls.set(row);
+                }
+            }
+            return new ColumnVector.IntVector(values, nulls);
+        } else if (typeClass == Long.class) {
+            long[] values = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                if (parse(column, records, row) instanceof Long value) {
+                    values[row] = value;
+                } else {
+                    nulls.set(row);
+                }
+            }
+            return new ColumnVector.LongVector(values, nulls);
+        } else if (typeClass == Double.class) {
+            double[] values = new double[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                if (parse(column, records, row) instanceof Double value) {
+                    values[row] = value;
+                } else {
+                    nulls.set(row);
+                }
+            }
+            return new ColumnVector.DoubleVector(values, nulls);
+        } else if (typeClass == Boolean.class) {
+            BitSet values = new BitSet(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                if (parse(column, records, row) instanceof Boolean value) {
+                    values.set(row, value);
+                } else {
+                    nulls.set(row);
+                }
+            }
+            return new ColumnVector.BooleanVector(rowCount, values, nulls);
+        } else {
+            @SuppressWarnings("unchecked")
+            T[] values = (T[]) new Object[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                T value = parse(column, records, row);
+                if (value == null) {
+                    nulls.set(row);
+                } else {
+                    values[row] = value;
+                }
+            }
+            return new ColumnVector.ObjectVector<>(typeClass, values, nulls);
+        }
+    }
+
+    private static <T> @Nullable T parse(DataColumn<T> column, List<? extends TextRecord> records, int row) {
+        try {
+            return column.dataType().parse(records.get(row).textAt(column.index()));
+        } catch (DataTypeConverterException e) {
+            throw new DataTypeConverterException(DataTypeConverterException.Type.Parser,
+                    "Row " + row + " at index " + column.index() + ": " + e.getMessage(), e);
+        }
+    }
+
+}
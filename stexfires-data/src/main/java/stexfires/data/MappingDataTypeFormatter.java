@@ -6,17 +6,28 @@ import java.util.*;
 import java.util.function.*;
 
 /**
+ * A formatter, which maps the data values of a list of {@link MappingDataTypePair}s to their string values.
+ * <p>
+ * The data values are indexed in an immutable hash map at construction
+ * and must implement {@link Object#equals(Object)} and {@link Object#hashCode()} consistently.
+ * If a data value has several string values, the first one in the list is used.
+ *
+ * @see MappingDataTypeParser
  * @since 0.1
  */
 public final class MappingDataTypeFormatter<T> implements DataTypeFormatter<T> {
 
-    private final List<MappingDataTypePair<T>> pairList;
+    private final Map<T, String> stringValueMap;
     private final @Nullable Supplier<@Nullable String> nullSourceSupplier;
 
     public MappingDataTypeFormatter(List<MappingDataTypePair<T>> pairList,
                                     @Nullable Supplier<@Nullable String> nullSourceSupplier) {
         Objects.requireNonNull(pairList);
-        this.pairList = pairList;
+        Map<T, String> map = HashMap.newHashMap(pairList.size());
+        for (MappingDataTypePair<T> pair : pairList) {
+            map.putIfAbsent(pair.dataValue(), pair.stringValue());
+        }
+        this.stringValueMap = Map.copyOf(map);
         this.nullSourceSupplier = nullSourceSupplier;
     }
 
@@ -25,11 +36,11 @@ public final class MappingDataTypeFormatter<T> implements DataTypeFormatter<T> {
         if (source == null) {
             return handleNullSource(nullSourceSupplier);
         } else {
-            return pairList.stream()
-                           .filter(pair -> source.equals(pair.dataValue()))
-                           .findFirst()
-                           .orElseThrow(() -> new DataTypeConverterException(DataTypeConverterException.Type.Formatter, "Unsupported source: " + source))
-                           .stringValue();
+            String stringValue = stringValueMap.get(source);
+            if (stringValue == null) {
+                throw new DataTypeConverterException(DataTypeConverterException.Type.Formatter, "Unsupported source: " + source);
+            }
+            return stringValue;
         }
     }
 
@@ -6,23 +6,85 @@ import java.util.*;
 import java.util.function.*;
 
 /**
+ * A parser, which maps the string values of a list of {@link MappingDataTypePair}s to their data values.
+ * <p>
+ * The string values are indexed in an immutable hash map at construction.
+ * With a key operator the string values and the sources are compared by their keys,
+ * for example case-insensitive with {@link #caseFoldingOperator()}.
+ * The keys of the string values are computed only once at construction.
+ * A source, for which the key operator returns {@code null}, is unsupported.
+ * <p>
+ * Equal keys with different data values are conflicts and rejected at construction.
+ * Equal keys with equal data values are allowed.
+ *
+ * @see MappingDataTypeFormatter
  * @since 0.1
  */
 public final class MappingDataTypeParser<T> implements DataTypeParser<T> {
 
-    private final List<MappingDataTypePair<T>> pairList;
+    private final Map<String, T> dataValueMap;
+    private final @Nullable UnaryOperator<String> keyOperator;
     private final @Nullable Supplier<@Nullable T> nullSourceSupplier;
     private final @Nullable Supplier<@Nullable T> emptySourceSupplier;
 
     public MappingDataTypeParser(List<MappingDataTypePair<T>> pairList,
                                  @Nullable Supplier<@Nullable T> nullSourceSupplier,
                                  @Nullable Supplier<@Nullable T> emptySourceSupplier) {
+        this(pairList, null, nullSourceSupplier, emptySourceSupplier);
+    }
+
+    /**
+     * @param pairList            the pairs of data values and string values
+     * @param keyOperator         the operator for the keys of the string values and the sources
+     *                            or {@code null} for the unchanged string values and sources
+     * @param nullSourceSupplier  the supplier for a {@code null} source
+     * @param emptySourceSupplier the supplier for an empty source
+     * @throws IllegalArgumentException if two string values have equal keys and different data values
+     *                                  or if the key operator returns {@code null} for a string value
+     */
+    public MappingDataTypeParser(List<MappingDataTypePair<T>> pairList,
+                                 @Nullable UnaryOperator<String> keyOperator,
+                                 @Nullable Supplier<@Nullable T> nullSourceSupplier,
+                                 @Nullable Supplier<@Nullable T> emptySourceSupplier) {
         Objects.requireNonNull(pairList);
-        this.pairList = pairList;
+        Map<String, T> map = HashMap.newHashMap(pairList.size());
+        for (MappingDataTypePair<T> pair : pairList) {
+            String key = (keyOperator == null) ? pair.stringValue() : keyOperator.apply(pair.stringValue());
+            if (key == null) {
+                throw new IllegalArgumentException("The key operator returned null for the string value \"" + pair.stringValue() + "\"");
+            }
+            T existingDataValue = map.putIfAbsent(key, pair.dataValue());
+            if ((existingDataValue != null) && !existingDataValue.equals(pair.dataValue())) {
+                throw new IllegalArgumentException("Conflicting data values for the string value \"" + pair.stringValue()
+                        + "\": " + existingDataValue + " and " + pair.dataValue());
+            }
+        }
+        this.dataValueMap = Map.copyOf(map);
+        this.keyOperator = keyOperator;
         this.nullSourceSupplier = nullSourceSupplier;
         this.emptySourceSupplier = emptySourceSupplier;
     }
 
+    /**
+     * Returns a parser, which compares the string values and the sources case-insensitive.
+     *
+     * @see #caseFoldingOperator()
+     */
+    public static <T> MappingDataTypeParser<T> caseInsensitive(List<MappingDataTypePair<T>> pairList,
+                                                               @Nullable Supplier<@Nullable T> nullSourceSupplier,
+                                                               @Nullable Supplier<@Nullable T> emptySourceSupplier) {
+        return new MappingDataTypeParser<>(pairList, caseFoldingOperator(), nullSourceSupplier, emptySourceSupplier);
+    }
+
+    /**
+     * Returns an operator, which folds the case of a string independent of the locale.
+     * The string is converted to upper case and afterward to lower case,
+     * therefore for example "ß", "SS" and "ss" have the same key.
+     */
+    public static UnaryOperator<String> caseFoldingOperator() {
+        return s -> s.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public @Nullable T parse(@Nullable String source) throws DataTypeConverterException {
         if (source == null) {
@@ -30,11 +92,15 @@ public final class MappingDataTypeParser<T> implements DataTypeParser<T> {
         } else if (source.isEmpty()) {
             return handleEmptySource(emptySourceSupplier);
         } else {
-            return pairList.stream()
-                           .filter(pair -> source.equals(pair.stringValue()))
-                           .findFirst()
-                           .orElseThrow(() -> new DataTypeConverterException(DataTypeConverterException.Type.Parser, "Unsupported source: " + source))
-                           .dataValue();
+            String key = (keyOperator == null) ? source : keyOperator.apply(source);
+            if (key == null) {
+                throw new DataTypeConverterException(DataTypeConverterException.Type.Parser, "The key operator returned null for the source: " + source);
+            }
+            T dataValue = dataValueMap.get(key);
+            if (dataValue == null) {
+                throw new DataTypeConverterException(DataTypeConverterException.Type.Parser, "Unsupported source: " + source);
+            }
+            return dataValue;
         }
     }
 
@@ -7,18 +7,26 @@ import java.util.*;
 import java.util.function.*;
 
 /**
+ * A formatter for numbers with a {@link NumberFormat}.
+ * <p>
+ * The number format is cloned and later changes to it are not visible.
+ * The clones are pooled, therefore formatting is thread-safe without a lock.
+ * Integral numbers and {@link java.math.BigDecimal}s are formatted by a fast path
+ * without the number format, if it is a simple {@link java.text.DecimalFormat}.
+ *
  * @since 0.1
  */
 public final class NumberDataTypeFormatter<T extends Number> implements DataTypeFormatter<T> {
 
-    private final NumberFormat numberFormat;
+    private final NumberFormatPool numberFormatPool;
+    private final @Nullable PlainNumberFormat plainNumberFormat;
     private final @Nullable Supplier<@Nullable String> nullSourceSupplier;
-    private final Object lock = new Object();
 
     public NumberDataTypeFormatter(NumberFormat numberFormat,
                                    @Nullable Supplier<@Nullable String> nullSourceSupplier) {
         Objects.requireNonNull(numberFormat);
-        this.numberFormat = numberFormat;
+        this.numberFormatPool = new NumberFormatPool(numberFormat);
+        this.plainNumberFormat = PlainNumberFormat.of(numberFormatPool.prototype());
         this.nullSourceSupplier = nullSourceSupplier;
     }
 
@@ -27,12 +35,19 @@ public final class NumberDataTypeFormatter<T extends Number> implements DataType
         if (source == null) {
             return handleNullSource(nullSourceSupplier);
         } else {
-            try {
-                synchronized (lock) {
-                    return numberFormat.format(source);
+            if (plainNumberFormat != null) {
+                String plainResult = plainNumberFormat.format(source);
+                if (plainResult != null) {
+                    return plainResult;
                 }
+            }
+            NumberFormat numberFormat = numberFormatPool.borrow();
+            try {
+                return numberFormat.format(source);
             } catch (IllegalArgumentException e) {
                 throw new DataTypeConverterException(DataTypeConverterException.Type.Formatter, e);
+            } finally {
+                numberFormatPool.giveBack(numberFormat);
             }
         }
     }
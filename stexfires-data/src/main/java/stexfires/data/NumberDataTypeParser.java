@@ -11,15 +11,21 @@ import java.util.*;
 import java.util.function.*;
 
 /**
+ * A parser for numbers with a {@link NumberFormat}.
+ * <p>
+ * The number format is cloned and later changes to it are not visible.
+ * The clones are pooled, therefore parsing is thread-safe without a lock.
+ * Plain numbers of a simple {@link java.text.DecimalFormat} are parsed by a fast path without the number format.
+ *
  * @since 0.1
  */
 public final class NumberDataTypeParser<T extends Number> implements DataTypeParser<T> {
 
-    private final NumberFormat numberFormat;
+    private final NumberFormatPool numberFormatPool;
+    private final @Nullable PlainNumberFormat plainNumberFormat;
     private final Function<Number, @Nullable T> convertNumberFunction;
     private final @Nullable Supplier<@Nullable T> nullSourceSupplier;
     private final @Nullable Supplier<@Nullable T> emptySourceSupplier;
-    private final Object lock = new Object();
 
     public NumberDataTypeParser(NumberFormat numberFormat,
                                 Function<Number, @Nullable T> convertNumberFunction,
@@ -27,7 +33,8 @@ public final class NumberDataTypeParser<T extends Number> implements DataTypePar
                                 @Nullable Supplier<@Nullable T> emptySourceSupplier) {
         Objects.requireNonNull(numberFormat);
         Objects.requireNonNull(convertNumberFunction);
-        this.numberFormat = numberFormat;
+        this.numberFormatPool = new NumberFormatPool(numberFormat);
+        this.plainNumberFormat = PlainNumberFormat.of(numberFormatPool.prototype());
         this.convertNumberFunction = convertNumberFunction;
         this.nullSourceSupplier = nullSourceSupplier;
         this.emptySourceSupplier = emptySourceSupplier;
@@ -128,10 +135,19 @@ public final class NumberDataTypeParser<T extends Number> implements DataTypePar
         } else if (source.isEmpty()) {
             return handleEmptySource(emptySourceSupplier);
         } else {
+            if (plainNumberFormat != null) {
+                Number plainNumberResult = plainNumberFormat.parse(source);
+                if (plainNumberResult != null) {
+                    return convertNumberFunction.apply(plainNumberResult);
+                }
+            }
             ParsePosition parsePosition = new ParsePosition(0);
             Number numberResult;
-            synchronized (lock) {
+            NumberFormat numberFormat = numberFormatPool.borrow();
+            try {
                 numberResult = numberFormat.parse(source, parsePosition);
+            } finally {
+                numberFormatPool.giveBack(numberFormat);
             }
             // Check ParsePosition
             if (parsePosition.getErrorIndex() != -1) {
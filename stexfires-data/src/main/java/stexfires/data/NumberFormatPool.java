@@ -0,0 +1,65 @@
+package stexfires.data;
+
+import java.text.NumberFormat;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * A pool of clones of a {@link NumberFormat}, which is not thread-safe.
+ * Borrowing and giving back a clone are lock-free.
+ * <p>
+ * Every thread borrows its own clone for one operation and returns it afterward.
+ * In contrast to a {@link ThreadLocal} it does not create a clone for every short-lived virtual thread.
+ * The number of pooled clones is limited. Additional clones are created on demand and discarded afterward.
+ *
+ * @since 0.1
+ */
+final class NumberFormatPool {
+
+    private static final int MAX_POOLED_PER_PROCESSOR = 4;
+
+    private final NumberFormat prototype;
+    private final Queue<NumberFormat> pooled;
+    private final AtomicInteger pooledCount;
+    private final int maxPooled;
+
+    /**
+     * @param numberFormat the number format. It is cloned and later changes to it are not visible.
+     */
+    NumberFormatPool(NumberFormat numberFormat) {
+        Objects.requireNonNull(numberFormat);
+        prototype = (NumberFormat) numberFormat.clone();
+        pooled = new ConcurrentLinkedQueue<>();
+        pooledCount = new AtomicInteger();
+        maxPooled = Runtime.getRuntime().availableProcessors() * MAX_POOLED_PER_PROCESSOR;
+    }
+
+    /**
+     * Returns the prototype. It must not be used for parsing or formatting and must not be changed.
+     */
+    NumberFormat prototype() {
+        return prototype;
+    }
+
+    NumberFormat borrow() {
+        NumberFormat numberFormat = pooled.poll();
+        if (numberFormat == null) {
+            // Pool misses are rare. The lock guards the prototype against concurrent clones.
+            synchronized (prototype) {
+                return (NumberFormat) prototype.clone();
+            }
+        }
+        pooledCount.decrementAndGet();
+        return numberFormat;
+    }
+
+    void giveBack(NumberFormat numberFormat) {
+        if (pooledCount.incrementAndGet() <= maxPooled) {
+            pooled.offer(numberFormat);
+        } else {
+            pooledCount.decrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+package stexfires.data;
+
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+
+/**
+ * A fast path for plain numbers, which gives the same results as a simple {@link DecimalFormat}.
+ * <p>
+ * It is only available for a {@link DecimalFormat} without prefixes and suffixes
+ * (except the minus sign as negative prefix), without multiplier, without exponent and with ASCII digits.
+ * <p>
+ * It parses an optional minus sign, ASCII digits, grouping separators between digits
+ * and one decimal separator. The symbols are taken from the {@link DecimalFormatSymbols}.
+ * It formats integral numbers and {@link BigDecimal}s.
+ * For all other sources it returns {@code null} and the {@link DecimalFormat} must be used.
+ * <p>
+ * It is immutable and thread-safe.
+ *
+ * @since 0.1
+ */
+final class PlainNumberFormat {
+
+    private static final char EXPONENT_PATTERN_CHAR = 'E';
+    private static final char PLAIN_DECIMAL_SEPARATOR = '.';
+    private static final int LONG_RADIX = 10;
+
+    private final char minusSign;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final boolean groupingUsed;
+    private final int groupingSize;
+    private final boolean parseBigDecimal;
+    private final boolean parseIntegerOnly;
+    private final boolean formatSupported;
+    private final int minimumFractionDigits;
+    private final int maximumFractionDigits;
+    private final int maximumIntegerDigits;
+    private final RoundingMode roundingMode;
+
+    private PlainNumberFormat(DecimalFormat decimalFormat, char minusSign) {
+        DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        this.minusSign = minusSign;
+        decimalSeparator = symbols.getDecimalSeparator();
+        groupingSeparator = symbols.getGroupingSeparator();
+        groupingUsed = decimalFormat.isGroupingUsed();
+        groupingSize = decimalFormat.getGroupingSize();
+        parseBigDecimal = decimalFormat.isParseBigDecimal();
+        parseIntegerOnly = decimalFormat.isParseIntegerOnly();
+        formatSupported = !decimalFormat.isDecimalSeparatorAlwaysShown()
+                && (decimalFormat.getMinimumIntegerDigits() == 1);
+        minimumFractionDigits = decimalFormat.getMinimumFractionDigits();
+        maximumFractionDigits = decimalFormat.getMaximumFractionDigits();
+        maximumIntegerDigits = decimalFormat.getMaximumIntegerDigits();
+        roundingMode = decimalFormat.getRoundingMode();
+    }
+
+    /**
+     * Returns the fast path for the number format or {@code null}, if it is not available.
+     */
+    static @Nullable PlainNumberFormat of(NumberFormat numberFormat) {
+        // Subclasses can change the behavior.
+        if (!(numberFormat instanceof DecimalFormat decimalFormat) || (decimalFormat.getClass() != DecimalFormat.class)) {
+            return null;
+        }
+        DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        String negativePrefix = decimalFormat.getNegativePrefix();
+        if ((decimalFormat.getMultiplier() != 1)
+                || !decimalFormat.getPositivePrefix().isEmpty()
+                || !decimalFormat.getPositiveSuffix().isEmpty()
+                || !decimalFormat.getNegativeSuffix().isEmpty()
+                || (negativePrefix.length() != 1)
+                || (decimalFormat.toPattern().indexOf(EXPONENT_PATTERN_CHAR) >= 0)
+                || (symbols.getZeroDigit() != '0')) {
+            return null;
+        }
+        char minusSign = negativePrefix.charAt(0);
+        char decimalSeparator = symbols.getDecimalSeparator();
+        char groupingSeparator = symbols.getGroupingSeparator();
+        if (isDigit(minusSign) || isDigit(decimalSeparator) || isDigit(groupingSeparator)
+                || (minusSign == decimalSeparator) || (minusSign == groupingSeparator)
+                || (decimalSeparator == groupingSeparator)) {
+            return null;
+        }
+        return new PlainNumberFormat(decimalFormat, minusSign);
+    }
+
+    private static boolean isDigit(char character) {
+        return (character >= '0') && (character <= '9');
+    }
+
+    /**
+     * Parses the complete source like {@link DecimalFormat#parse(String, java.text.ParsePosition)}.
+     *
+     * @param source a not empty source
+     * @return a {@link Long}, {@link Double} or {@link BigDecimal} or {@code null}, if the source is not a plain number
+     */
+    @Nullable Number parse(String source) {
+        int length = source.length();
+        boolean negative = source.charAt(0) == minusSign;
+        int index = negative ? 1 : 0;
+        int decimalSeparatorIndex = -1;
+        int digitCount = 0;
+        boolean nonZeroFraction = false;
+        for (; index < length; index++) {
+            char character = source.charAt(index);
+            if (isDigit(character)) {
+                digitCount++;
+                if ((decimalSeparatorIndex >= 0) && (character != '0')) {
+                    nonZeroFraction = true;
+                }
+            } else if ((character == groupingSeparator) && groupingUsed && (decimalSeparatorIndex < 0)
+                    && (index > 0) && isDigit(source.charAt(index - 1))
+                    && (index + 1 < length) && isDigit(source.charAt(index + 1))) {
+                // Grouping separators between digits are ignored.
+                continue;
+            } else if ((character == decimalSeparator) && !parseIntegerOnly && (decimalSeparatorIndex < 0)) {
+                decimalSeparatorIndex = index;
+            } else {
+                return null;
+            }
+        }
+        if (digitCount == 0) {
+            return null;
+        }
+        if (parseBigDecimal) {
+            return new BigDecimal(plainText(source, negative, length));
+        }
+        if (nonZeroFraction) {
+            return Double.parseDouble(plainText(source, negative, length));
+        }
+        // The number is integral. It is accumulated negatively to include Long.MIN_VALUE.
+        int integerEnd = (decimalSeparatorIndex >= 0) ? decimalSeparatorIndex : length;
+        long negativeResult = 0L;
+        boolean overflow = false;
+        for (index = negative ? 1 : 0; index < integerEnd; index++) {
+            char character = source.charAt(index);
+            if (character != groupingSeparator) {
+                int digit = character - '0';
+                if (negativeResult < (Long.MIN_VALUE + digit) / LONG_RADIX) {
+                    overflow = true;
+                    break;
+                }
+                negativeResult = negativeResult * LONG_RADIX - digit;
+            }
+        }
+        if (overflow) {
+            return Double.parseDouble(plainText(source, negative, integerEnd));
+        }
+        if (negative) {
+            // A negative zero is handled by the DecimalFormat.
+            return (negativeResult == 0L) ? null : negativeResult;
+        }
+        if (negativeResult == Long.MIN_VALUE) {
+            return Double.parseDouble(plainText(source, false, integerEnd));
+        }
+        return -negativeResult;
+    }
+
+    /**
+     * Returns the source up to the end index with '-' and '.' and without grouping separators.
+     */
+    private String plainText(String source, boolean negative, int end) {
+        StringBuilder builder = new StringBuilder(end + 1);
+        if (negative) {
+            builder.append('-');
+        }
+        for (int index = negative ? 1 : 0; index < end; index++) {
+            char character = source.charAt(index);
+            if (character == decimalSeparator) {
+                builder.append(PLAIN_DECIMAL_SEPARATOR);
+            } else if (character != groupingSeparator) {
+                builder.append(character);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Formats the number like {@link DecimalFormat#format(Object)}.
+     *
+     * @return the formatted number or {@code null}, if the fast path does not support the number
+     */
+    @Nullable String format(Number number) {
+        if (!formatSupported) {
+            return null;
+        }
+        return switch (number) {
+            case Long longNumber -> formatLong(longNumber);
+            case Integer integerNumber -> formatLong(integerNumber);
+            case Short shortNumber -> formatLong(shortNumber);
+            case Byte byteNumber -> formatLong(byteNumber);
+            case BigInteger bigIntegerNumber -> formatBigDecimal(new BigDecimal(bigIntegerNumber));
+            case BigDecimal bigDecimalNumber -> formatBigDecimal(bigDecimalNumber);
+            default -> null;
+        };
+    }
+
+    private @Nullable String formatLong(long number) {
+        if (minimumFractionDigits > 0) {
+            return formatBigDecimal(BigDecimal.valueOf(number));
+        }
+        String digits = (number < 0L) ? Long.toString(number).substring(1) : Long.toString(number);
+        return formatDigits(number < 0L, digits, "");
+    }
+
+    private @Nullable String formatBigDecimal(BigDecimal number) {
+        BigDecimal rounded = number;
+        if (rounded.scale() > maximumFractionDigits) {
+            if (roundingMode == RoundingMode.UNNECESSARY) {
+                return null;
+            }
+            rounded = rounded.setScale(maximumFractionDigits, roundingMode);
+        }
+        if (rounded.scale() > minimumFractionDigits) {
+            rounded = rounded.stripTrailingZeros();
+        }
+        if (rounded.scale() < minimumFractionDigits) {
+            rounded = rounded.setScale(minimumFractionDigits, RoundingMode.UNNECESSARY);
+        }
+        // A negative number rounded to zero is formatted with a minus sign by the DecimalFormat.
+        if ((rounded.signum() == 0) && (number.signum() < 0)) {
+            return null;
+        }
+        String plain = rounded.abs().toPlainString();
+        int separatorIndex = plain.indexOf(PLAIN_DECIMAL_SEPARATOR);
+        return (separatorIndex < 0)
+                ? formatDigits(rounded.signum() < 0, plain, "")
+                : formatDigits(rounded.signum() < 0, plain.substring(0, separatorIndex), plain.substring(separatorIndex + 1));
+    }
+
+    private @Nullable String formatDigits(boolean negative, String integerDigits, String fractionDigits) {
+        int integerLength = integerDigits.length();
+        if (integerLength > maximumIntegerDigits) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(integerLength * 2 + fractionDigits.length() + 2);
+        if (negative) {
+            builder.append(minusSign);
+        }
+        boolean grouping = groupingUsed && (groupingSize > 0);
+        for (int index = 0; index < integerLength; index++) {
+            if (grouping && (index > 0) && ((integerLength - index) % groupingSize == 0)) {
+                builder.append(groupingSeparator);
+            }
+            builder.append(integerDigits.charAt(index));
+        }
+        if (!fractionDigits.isEmpty()) {
+            builder.append(decimalSeparator);
+            builder.append(fractionDigits);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,61 @@
+package stexfires.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ColumnBatch}.
+ */
+final class ColumnBatchTest {
+
+    private static final ColumnBatch BATCH = DataSchemaTest.SCHEMA.decode(DataSchemaTest.RECORDS);
+
+    /**
+     * Test method for the typed column methods of {@link ColumnBatch}.
+     */
+    @Test
+    void typedColumns() {
+        ColumnVector.IntVector intVector = BATCH.intColumn(0);
+        assertEquals(1, intVector.intAt(0));
+        assertEquals(3, intVector.nonNullValues().sum());
+
+        ColumnVector.BooleanVector booleanVector = BATCH.booleanColumn(1);
+        assertTrue(booleanVector.booleanAt(0));
+        assertFalse(booleanVector.booleanAt(1));
+        assertEquals(2, booleanVector.trueCount());
+
+        ColumnVector.LongVector longVector = BATCH.longColumn(2);
+        assertEquals(-5L, longVector.longAt(2));
+        assertEquals(1_000_002L, longVector.nonNullValues().sum());
+
+        ColumnVector.DoubleVector doubleVector = BATCH.doubleColumn(3);
+        assertEquals(1.25d, doubleVector.nonNullValues().sum());
+
+        ColumnVector.ObjectVector<String> stringVector = BATCH.objectColumn(4, String.class);
+        assertSame(String.class, stringVector.typeClass());
+        assertEquals(List.of("a", "b", ""), stringVector.nonNullValues().toList());
+        assertSame(BATCH.column(4), stringVector);
+        assertEquals(BATCH.columnCount(), BATCH.columns().size());
+    }
+
+    /**
+     * Test method for the typed column methods of {@link ColumnBatch} with a wrong type.
+     */
+    @Test
+    void typedColumnsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> BATCH.longColumn(0));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.intColumn(1));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.doubleColumn(2));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.booleanColumn(3));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.intColumn(4));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.objectColumn(0, Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.objectColumn(4, Object.class));
+        assertThrows(IllegalArgumentException.class, () -> BATCH.objectColumn(4, CharSequence.class));
+        assertThrows(IndexOutOfBoundsException.class, () -> BATCH.column(BATCH.columnCount()));
+        assertThrows(IndexOutOfBoundsException.class, () -> BATCH.intColumn(-1));
+    }
+
+}
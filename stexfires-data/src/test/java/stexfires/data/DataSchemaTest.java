@@ -0,0 +1,142 @@
+package stexfires.data;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+
+import java.text.NumberFormat;
+import java.util.*;
+import java.util.function.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DataSchema}.
+ */
+final class DataSchemaTest {
+
+    static final DataSchema SCHEMA = DataSchema.of(
+            DataColumn.of(0, numberDataType(Integer.class, 0, NumberFormat.getIntegerInstance(Locale.ENGLISH),
+                    NumberDataTypeParser::toInteger)),
+            DataColumn.of(1, DataType.of(Boolean.class, false,
+                    BooleanDataTypeFormatter.of("yes", "no", "no"), BooleanDataTypeParser.of("yes", "no", null))),
+            DataColumn.of(2, numberDataType(Long.class, 0L, NumberFormat.getIntegerInstance(Locale.ENGLISH),
+                    NumberDataTypeParser::toLong)),
+            DataColumn.of(3, numberDataType(Double.class, 0.0d, NumberFormat.getNumberInstance(Locale.ENGLISH),
+                    NumberDataTypeParser::toDouble)),
+            DataColumn.of(4, DataType.of(String.class, "", StringDataTypeFormatter.identity(), StringDataTypeParser.identity())),
+            // The same field index can be used by more than one column.
+            DataColumn.of(0, DataType.of(String.class, "", StringDataTypeFormatter.identity(), StringDataTypeParser.identity())));
+
+    static final List<TextRecord> RECORDS = List.of(
+            new ManyFieldsRecord("1", "yes", "1,000,000", "1.5", "a"),
+            new ManyFieldsRecord("-2", "no", "", "-0.25", "b"),
+            new ManyFieldsRecord("", "yes", "-5", "", ""),
+            // Missing texts are parsed like null texts.
+            new ManyFieldsRecord(new String[]{"4", null, "7"}));
+
+    private static <T extends Number> DataType<T> numberDataType(Class<T> typeClass, T defaultValue,
+                                                                 NumberFormat numberFormat,
+                                                                 Function<Number, T> converter) {
+        return DataType.of(typeClass, defaultValue,
+                new NumberDataTypeFormatter<>(numberFormat, null),
+                new NumberDataTypeParser<>(numberFormat, converter, () -> null, () -> null));
+    }
+
+    private static List<@Nullable Object> values(ColumnVector vector) {
+        List<@Nullable Object> values = new ArrayList<>(vector.size());
+        for (int row = 0; row < vector.size(); row++) {
+            values.add(vector.valueAt(row));
+        }
+        return values;
+    }
+
+    /**
+     * Test method for {@link DataSchema#decode(List)}.
+     */
+    @Test
+    void decode() {
+        ColumnBatch batch = SCHEMA.decode(RECORDS);
+
+        assertSame(SCHEMA, batch.schema());
+        assertEquals(4, batch.rowCount());
+        assertEquals(6, batch.columnCount());
+        assertEquals(Arrays.asList(1, -2, null, 4), values(batch.column(0)));
+        assertEquals(Arrays.asList(true, false, true, null), values(batch.column(1)));
+        assertEquals(Arrays.asList(1_000_000L, null, -5L, 7L), values(batch.column(2)));
+        assertEquals(Arrays.asList(1.5d, -0.25d, null, null), values(batch.column(3)));
+        assertEquals(Arrays.asList("a", "b", "", null), values(batch.column(4)));
+        assertEquals(Arrays.asList("1", "-2", "", "4"), values(batch.column(5)));
+
+        assertEquals(1, batch.column(0).nullCount());
+        assertTrue(batch.column(0).isNull(2));
+        assertFalse(batch.column(0).isNull(1));
+        assertEquals(2, batch.column(3).nullCount());
+        assertEquals(1, batch.column(4).nullCount());
+        assertEquals(0, batch.column(5).nullCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.column(0).isNull(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.column(0).isNull(-1));
+    }
+
+    /**
+     * Test method for {@link DataSchema#decode(List, boolean)}.
+     * The parallel decoding must have the same result as the sequential decoding.
+     */
+    @Test
+    void decodeParallel() {
+        // A list without random access.
+        List<TextRecord> records = new LinkedList<>(RECORDS);
+        ColumnBatch sequentialBatch = SCHEMA.decode(records, false);
+        ColumnBatch parallelBatch = SCHEMA.decode(records, true);
+        assertEquals(sequentialBatch.columnCount(), parallelBatch.columnCount());
+        for (int position = 0; position < SCHEMA.size(); position++) {
+            assertEquals(sequentialBatch.column(position).getClass(), parallelBatch.column(position).getClass());
+            assertEquals(values(sequentialBatch.column(position)), values(parallelBatch.column(position)));
+        }
+
+        ColumnBatch emptyBatch = SCHEMA.decode(List.of(), true);
+        assertEquals(0, emptyBatch.rowCount());
+        assertEquals(SCHEMA.size(), emptyBatch.columnCount());
+        assertEquals(0, emptyBatch.column(0).size());
+    }
+
+    /**
+     * Test method for {@link DataSchema#decode(List, boolean)} with texts, which cannot be parsed.
+     */
+    @Test
+    void decodeInvalid() {
+        List<TextRecord> records = List.of(
+                new ManyFieldsRecord("1", "yes", "2", "3", "a"),
+                new ManyFieldsRecord("1", "yes", "x", "3", "a"));
+        for (boolean parallel : new boolean[]{false, true}) {
+            DataTypeConverterException exception = assertThrows(DataTypeConverterException.class,
+                    () -> SCHEMA.decode(records, parallel));
+            assertTrue(exception.getMessage().contains("Row 1 at index 2"));
+            assertInstanceOf(DataTypeConverterException.class, exception.getCause());
+        }
+        assertThrows(DataTypeConverterException.class,
+                () -> SCHEMA.decode(List.of(new ManyFieldsRecord("1", "maybe"))));
+    }
+
+    /**
+     * Test method for {@link DataSchema#DataSchema(List)} and {@link DataColumn#DataColumn(int, DataType)}.
+     */
+    @Test
+    void constructor() {
+        List<DataColumn<?>> columns = new ArrayList<>(SCHEMA.columns());
+        DataSchema schema = new DataSchema(columns);
+        columns.clear();
+        // The columns are copied.
+        assertEquals(6, schema.size());
+        assertThrows(UnsupportedOperationException.class, () -> schema.columns().clear());
+
+        assertEquals(0, DataSchema.of().size());
+        assertEquals(0, DataSchema.of().decode(RECORDS).columnCount());
+        assertEquals(4, DataSchema.of().decode(RECORDS).rowCount());
+
+        DataType<?> dataType = SCHEMA.columns().getFirst().dataType();
+        assertThrows(IllegalArgumentException.class, () -> DataColumn.of(-1, dataType));
+    }
+
+}
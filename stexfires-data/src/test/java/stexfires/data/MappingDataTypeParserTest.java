@@ -0,0 +1,68 @@
+package stexfires.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link MappingDataTypeParser}.
+ */
+final class MappingDataTypeParserTest {
+
+    private static final List<MappingDataTypePair<String>> PAIR_LIST = List.of(
+            new MappingDataTypePair<>("v1", "one"),
+            new MappingDataTypePair<>("v2", "Two"),
+            new MappingDataTypePair<>("v2", "TWO"));
+
+    /**
+     * Test method for {@link MappingDataTypeParser#parse(String)}.
+     */
+    @Test
+    void parse() {
+        MappingDataTypeParser<String> parser = new MappingDataTypeParser<>(PAIR_LIST, null, () -> "v0");
+
+        assertThrows(DataTypeConverterException.class, () -> parser.parse(null));
+        assertEquals("v0", parser.parse(""));
+        assertEquals("v1", parser.parse("one"));
+        assertEquals("v2", parser.parse("TWO"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("ONE"));
+    }
+
+    /**
+     * Test method for {@link MappingDataTypeParser#caseInsensitive(List, Supplier, Supplier)}.
+     */
+    @Test
+    void caseInsensitive() {
+        MappingDataTypeParser<String> parser = MappingDataTypeParser.caseInsensitive(PAIR_LIST, () -> "v-1", null);
+
+        assertEquals("v-1", parser.parse(null));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse(""));
+        assertEquals("v1", parser.parse("ONE"));
+        assertEquals("v2", parser.parse("two"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("three"));
+        assertThrows(IllegalArgumentException.class, () -> MappingDataTypeParser.caseInsensitive(List.of(
+                new MappingDataTypePair<>("v1", "one"),
+                new MappingDataTypePair<>("v2", "ONE")), null, null));
+    }
+
+    /**
+     * Test method for {@link MappingDataTypeParser#parse(String)}.
+     * A key operator returning {@code null} must not cause a {@link NullPointerException}.
+     */
+    @Test
+    void parseNullKey() {
+        // noinspection DataFlowIssue
+        UnaryOperator<String> keyOperator = s -> s.startsWith("x") ? null : s;
+        MappingDataTypeParser<String> parser = new MappingDataTypeParser<>(PAIR_LIST, keyOperator, null, null);
+
+        assertEquals("v1", parser.parse("one"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("xyz"));
+        assertThrows(IllegalArgumentException.class, () -> new MappingDataTypeParser<>(List.of(
+                new MappingDataTypePair<>("v1", "x")), keyOperator, null, null));
+    }
+
+}
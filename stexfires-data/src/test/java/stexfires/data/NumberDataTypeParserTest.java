@@ -0,0 +1,64 @@
+package stexfires.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link NumberDataTypeParser}.
+ */
+final class NumberDataTypeParserTest {
+
+    /**
+     * Test method for {@link NumberDataTypeParser#parse(String)}.
+     */
+    @Test
+    void parseLong() {
+        NumberDataTypeParser<Long> parser = new NumberDataTypeParser<>(NumberFormat.getIntegerInstance(Locale.GERMANY),
+                NumberDataTypeParser::toLong, null, () -> 0L);
+
+        assertThrows(DataTypeConverterException.class, () -> parser.parse(null));
+        assertEquals(0L, parser.parse(""));
+        assertEquals(0L, parser.parse("-0"));
+        assertEquals(1_234_567L, parser.parse("1.234.567"));
+        assertEquals(-42L, parser.parse("-42"));
+        assertEquals(Long.MIN_VALUE, parser.parse("-9223372036854775808"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("9223372036854775808"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("12,5"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("12a"));
+    }
+
+    /**
+     * Test method for {@link NumberDataTypeParser#parse(String)}.
+     */
+    @Test
+    void parseInteger() {
+        NumberDataTypeParser<Integer> parser = new NumberDataTypeParser<>(NumberFormat.getIntegerInstance(Locale.ENGLISH),
+                NumberDataTypeParser::toInteger, null, null);
+
+        assertEquals(Integer.MAX_VALUE, parser.parse("2,147,483,647"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("2147483648"));
+    }
+
+    /**
+     * Test method for {@link NumberDataTypeParser#parse(String)}.
+     */
+    @Test
+    void parseBigDecimal() {
+        DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getNumberInstance(Locale.FRANCE);
+        decimalFormat.setParseBigDecimal(true);
+        NumberDataTypeParser<BigDecimal> parser = new NumberDataTypeParser<>(decimalFormat,
+                NumberDataTypeParser::toBigDecimal, null, null);
+
+        assertEquals(new BigDecimal("-1234.50"), parser.parse("-1234,50"));
+        assertEquals(new BigDecimal("0.5"), parser.parse(",5"));
+        assertThrows(DataTypeConverterException.class, () -> parser.parse("1,2,3"));
+    }
+
+}
@@ -0,0 +1,72 @@
+package stexfires.examples.data;
+
+import stexfires.data.*;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+@SuppressWarnings({"UseOfSystemOutOrSystemErr", "MagicNumber"})
+public final class ExamplesDataSchema {
+
+    private ExamplesDataSchema() {
+    }
+
+    private static void printBatch(ColumnBatch batch) {
+        System.out.println("rows: " + batch.rowCount() + ", columns: " + batch.columnCount());
+        for (int position = 0; position < batch.columnCount(); position++) {
+            ColumnVector vector = batch.column(position);
+            List<Object> values = new ArrayList<>(vector.size());
+            for (int row = 0; row < vector.size(); row++) {
+                values.add(vector.isNull(row) ? "<NULL>" : Objects.requireNonNull(vector.valueAt(row)));
+            }
+            System.out.println(vector.getClass().getSimpleName() + " nullCount=" + vector.nullCount() + " " + values);
+        }
+    }
+
+    public static void main(String... args) {
+        NumberFormat decimalFormat = NumberFormat.getNumberInstance(Locale.ENGLISH);
+        ((DecimalFormat) decimalFormat).setParseBigDecimal(true);
+        DataType<BigDecimal> bigDecimalDataType = DataType.of(
+                BigDecimal.class,
+                BigDecimal.ZERO,
+                new NumberDataTypeFormatter<>(decimalFormat, null),
+                new NumberDataTypeParser<>(decimalFormat, NumberDataTypeParser::toBigDecimal, () -> null, () -> null));
+        DataType<Long> longDataType = DataType.of(
+                Long.class,
+                0L,
+                new NumberDataTypeFormatter<>(NumberFormat.getIntegerInstance(Locale.ENGLISH), null),
+                new NumberDataTypeParser<>(NumberFormat.getIntegerInstance(Locale.ENGLISH), NumberDataTypeParser::toLong, () -> null, () -> null));
+
+        DataSchema schema = DataSchema.of(
+                DataColumn.of(0, DataTypes.integerDataType(-1, Locale.ENGLISH)),
+                DataColumn.of(1, DataTypes.booleanDataType(false, "yes", "no")),
+                DataColumn.of(2, longDataType),
+                DataColumn.of(3, bigDecimalDataType));
+
+        List<TextRecord> records = List.of(
+                new ManyFieldsRecord("1", "yes", "1,000,000", "1.50"),
+                new ManyFieldsRecord("2", "no", "", "2.25"),
+                new ManyFieldsRecord("", "yes", "-5", "0.01"),
+                new ManyFieldsRecord(new String[]{"4", null, "7"}));
+
+        System.out.println("---DataSchema decode");
+        ColumnBatch batch = schema.decode(records, true);
+        printBatch(batch);
+        System.out.println("Sum int:  " + batch.intColumn(0).nonNullValues().sum());
+        System.out.println("Sum long: " + batch.longColumn(2).nonNullValues().sum());
+        System.out.println("True:     " + batch.booleanColumn(1).trueCount());
+        System.out.println("Sum BigDecimal: " + batch.objectColumn(3, BigDecimal.class).nonNullValues().reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        System.out.println("---DataSchema decode error");
+        try {
+            schema.decode(List.of(new ManyFieldsRecord("1", "yes", "x", "1")));
+        } catch (DataTypeConverterException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+}
@@ -50,6 +50,18 @@ public final class ExamplesMappingDataType {
         testParseMappingDataType("REPORT", new MappingDataTypeParser<>(pairList, null, null));
         testParseMappingDataType("REPLACE", new MappingDataTypeParser<>(pairList, null, null));
         testParseMappingDataType("REPLACE", new MappingDataTypeParser<>(MappingDataTypePair.createPairListCodingErrorAction(), null, null));
+        testParseMappingDataType("ignore", new MappingDataTypeParser<>(pairList, null, null));
+        testParseMappingDataType("ignore", MappingDataTypeParser.caseInsensitive(pairList, null, null));
+        testParseMappingDataType("Report", MappingDataTypeParser.caseInsensitive(pairList, null, null));
+
+        System.out.println("---MappingDataTypeParser conflicting string values");
+        try {
+            MappingDataTypeParser.caseInsensitive(List.of(
+                    new MappingDataTypePair<>(CodingErrorAction.IGNORE, "IGNORE"),
+                    new MappingDataTypePair<>(CodingErrorAction.REPORT, "Ignore")), null, null);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
     }
 
 }
@@ -0,0 +1,68 @@
+package stexfires.examples.io;
+
+import stexfires.examples.record.RecordSystemOutUtil;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.columnar.ColumnarFileSpec;
+import stexfires.io.columnar.ColumnarFilter;
+import stexfires.io.columnar.ColumnarProducer;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.producer.ProducerException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.*;
+
+@SuppressWarnings({"CallToPrintStackTrace", "UseOfSystemOutOrSystemErr", "MagicNumber"})
+public final class ExamplesColumnarFile {
+
+    private ExamplesColumnarFile() {
+    }
+
+    private static Stream<TextRecord> generateStream() {
+        return IntStream.range(0, 100_000)
+                        .mapToObj(index -> new ManyFieldsRecord("category" + (index % 3), (long) index,
+                                String.format("%06d", index), "name" + (index % 100), (index % 7 == 0) ? null : "value"));
+    }
+
+    private static void test1(Path path) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test1---");
+
+        // Write
+        System.out.println("write: " + path);
+        try (var consumer = ColumnarFileSpec.consumerFileSpec(ColumnarFileSpec.DEFAULT_CONSUMER_BLOCK_SIZE).openFileAsConsumer(path)) {
+            RecordIOStreams.writeStream(consumer, generateStream());
+        } catch (UncheckedConsumerException e) {
+            throw e.getCause();
+        }
+
+        // Read projected and filtered / log
+        System.out.println("read projected and filtered/log: " + path);
+        var fileSpec = ColumnarFileSpec.producerFileSpec(List.of(1, 0), ColumnarFilter.between(0, "050000", "050004"));
+        try (ColumnarProducer producer = fileSpec.openFileAsProducer(path)) {
+            RecordSystemOutUtil.printlnRecordCollection(RecordIOStreams.read(producer, Stream::toList));
+            System.out.println("read blocks: " + producer.readBlockCount() + " skipped blocks: " + producer.skippedBlockCount());
+        }
+    }
+
+    public static void main(String... args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Missing valid output directory parameter!");
+        }
+        File outputDirectory = new File(args[0]);
+        if (!outputDirectory.exists() || !outputDirectory.isDirectory()) {
+            throw new IllegalArgumentException("Missing valid output directory parameter! " + outputDirectory);
+        }
+
+        try {
+            test1(Path.of(args[0], "ColumnarFile_1.sxc"));
+        } catch (ProducerException | ConsumerException | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
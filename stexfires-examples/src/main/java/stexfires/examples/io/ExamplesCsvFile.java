@@ -0,0 +1,120 @@
+package stexfires.examples.io;
+
+import stexfires.examples.record.RecordSystemOutUtil;
+import stexfires.io.RecordFiles;
+import stexfires.io.delimited.csv.CsvFieldSpec;
+import stexfires.io.delimited.csv.CsvFileSpec;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.*;
+
+@SuppressWarnings({"CallToPrintStackTrace", "UseOfSystemOutOrSystemErr", "MagicNumber", "SpellCheckingInspection"})
+public final class ExamplesCsvFile {
+
+    private ExamplesCsvFile() {
+    }
+
+    private static Stream<TextRecord> generateStream() {
+        return Stream.of(
+                new ManyFieldsRecord(null, 0L, "a", "0", "AAAA", "ä"),
+                new ManyFieldsRecord(null, 1L, "b,c", "1", "B \"B\"", "€"),
+                new ManyFieldsRecord(null, 2L, "c", "2", "line 1\nline 2", ""),
+                new ManyFieldsRecord(null, 3L, "d", "3.33", "\"", null),
+                new ManyFieldsRecord(null, 4L, null, null, null, null),
+                new ManyFieldsRecord(null, 5L, "", "", "", ""),
+                new ManyFieldsRecord(null, 6L, "  ", "  ", "  ", "  "),
+                new ManyFieldsRecord(null, 7L, "j", "9", "k", "l", "m", "n", "o"),
+                new ManyFieldsRecord(null, 8L, "---")
+        );
+    }
+
+    private static void test1(Path path, LineSeparator lineSeparator) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test1---");
+
+        var fileSpec =
+                new CsvFileSpec(
+                        CharsetCoding.UTF_8_REPORTING,
+                        CsvFileSpec.DEFAULT_FIELD_DELIMITER,
+                        CsvFileSpec.DEFAULT_QUOTE_CHARACTER,
+                        1,
+                        ProducerReadLineHandling.SKIP_EMPTY_LINE,
+                        0, 0,
+                        true,
+                        lineSeparator,
+                        "Column0,Column1,Column2,Column3",
+                        CsvFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
+                        CsvFileSpec.DEFAULT_CONSUMER_QUOTE_ALWAYS,
+                        CsvFileSpec.newFieldSpecs(4)
+                );
+
+        // Write
+        System.out.println("write: " + path);
+        RecordFiles.writeStreamIntoFile(fileSpec, generateStream(), path);
+
+        // Read / log
+        System.out.println("read/log: " + path);
+        RecordFiles.readAndConsumeFile(fileSpec, RecordSystemOutUtil.RECORD_CONSUMER, path);
+    }
+
+    private static void test2(Path path, LineSeparator lineSeparator) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test2---");
+
+        List<CsvFieldSpec> fieldSpecs = new ArrayList<>();
+        fieldSpecs.add(new CsvFieldSpec(true));
+        fieldSpecs.add(new CsvFieldSpec());
+        fieldSpecs.add(new CsvFieldSpec());
+        fieldSpecs.add(new CsvFieldSpec(false));
+        var fileSpec =
+                new CsvFileSpec(
+                        CharsetCoding.UTF_8_REPORTING,
+                        CsvFileSpec.FIELD_DELIMITER_SEMICOLON,
+                        CsvFileSpec.DEFAULT_QUOTE_CHARACTER,
+                        0,
+                        CsvFileSpec.DEFAULT_PRODUCER_READ_LINE_HANDLING,
+                        1, 1,
+                        false,
+                        true,
+                        lineSeparator,
+                        CsvFileSpec.DEFAULT_CONSUMER_TEXT_BEFORE,
+                        CsvFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
+                        false,
+                        fieldSpecs
+                );
+
+        // Write
+        System.out.println("write: " + path);
+        RecordFiles.writeStreamIntoFile(fileSpec, generateStream(), path);
+
+        // Read / log
+        System.out.println("read/log: " + path);
+        RecordFiles.readAndConsumeFile(fileSpec, RecordSystemOutUtil.RECORD_CONSUMER, path);
+    }
+
+    public static void main(String... args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Missing valid output directory parameter!");
+        }
+        File outputDirectory = new File(args[0]);
+        if (!outputDirectory.exists() || !outputDirectory.isDirectory()) {
+            throw new IllegalArgumentException("Missing valid output directory parameter! " + outputDirectory);
+        }
+
+        try {
+            test1(Path.of(args[0], "CsvFile_1.csv"), LineSeparator.systemLineSeparator());
+            test2(Path.of(args[0], "CsvFile_2.csv"), LineSeparator.CR_LF);
+        } catch (ProducerException | ConsumerException | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
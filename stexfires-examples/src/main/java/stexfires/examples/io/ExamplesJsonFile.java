@@ -2,11 +2,15 @@ package stexfires.examples.io;
 
 import stexfires.examples.record.RecordSystemOutUtil;
 import stexfires.io.RecordFiles;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.consumer.AsyncBufferedWriter;
+import stexfires.io.consumer.AsyncWriterSpec;
 import stexfires.io.json.*;
 import stexfires.io.json.JsonFileSpec.RecordJsonType;
 import stexfires.io.producer.ProducerReadLineHandling;
 import stexfires.record.TextRecord;
 import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
 import stexfires.record.impl.EmptyRecord;
 import stexfires.record.impl.ManyFieldsRecord;
 import stexfires.record.producer.ProducerException;
@@ -41,7 +45,7 @@ public final class ExamplesJsonFile {
         );
     }
 
-    private static void testJsonArrayFileSpec1(Path path) throws ConsumerException, IOException {
+    private static void testJsonArrayFileSpec1(Path path) throws ProducerException, ConsumerException, IOException {
         System.out.println("-testJsonArrayFileSpec1---");
 
         var fileSpecWrite =
@@ -66,6 +70,15 @@ public final class ExamplesJsonFile {
         // Write
         System.out.println("write: " + path);
         RecordFiles.writeStreamIntoFile(fileSpecWrite, generateStream(), path);
+
+        // Read / log
+        System.out.println("read/log: " + path);
+        var fileSpecRead = JsonArrayFileSpec.producerFileSpec(
+                RecordJsonType.OBJECT,
+                true,
+                true,
+                fileSpecWrite.fieldSpecs());
+        RecordFiles.readAndConsumeFile(fileSpecRead, RecordSystemOutUtil.RECORD_CONSUMER, path);
     }
 
     private static void testJsonArrayFileSpec2(Path path) throws ConsumerException, IOException {
@@ -233,6 +246,34 @@ public final class ExamplesJsonFile {
         RecordFiles.writeStreamIntoFile(fileSpecWrite, generateStream(), path);
     }
 
+    private static void testJsonStreamingFileSpec3(Path path) throws ConsumerException, IOException {
+        System.out.println("-testJsonStreamingFileSpec3---");
+
+        var fileSpecWrite =
+                JsonStreamingFileSpec.consumerFileSpec(
+                        RecordJsonType.OBJECT,
+                        false,
+                        true,
+                        List.of(
+                                JsonFieldSpec.stringUnescapedType("key", ALLOWED_USE_LITERAL),
+                                JsonFieldSpec.numberType("number", ALLOWED_OMIT_FIELD, CHECK_VALUE)
+                        )
+                );
+
+        // Write with a dedicated writer thread
+        System.out.println("write: " + path);
+        try (JsonConsumer consumer = fileSpecWrite.openFileAsConsumer(path, AsyncWriterSpec.DEFAULT)) {
+            RecordIOStreams.writeStream(consumer,
+                    IntStream.range(0, 100_000)
+                             .mapToObj(index -> new ManyFieldsRecord("key" + index, String.valueOf(index * 7L))));
+            if (consumer.bufferedWriter() instanceof AsyncBufferedWriter asyncBufferedWriter) {
+                System.out.println("blocked: " + asyncBufferedWriter.blockedDuration());
+            }
+        } catch (UncheckedConsumerException e) {
+            throw e.getCause();
+        }
+    }
+
     public static void main(String... args) {
         if (args.length != 1) {
             throw new IllegalArgumentException("Missing valid output directory parameter!");
@@ -249,6 +290,7 @@ public final class ExamplesJsonFile {
             testJsonMembersFileSpec2(Path.of(args[0], "JsonMembers2.json"));
             testJsonStreamingFileSpec1(Path.of(args[0], "JsonStreaming1.ndjson"));
             testJsonStreamingFileSpec2(Path.of(args[0], "JsonStreaming2.json"));
+            testJsonStreamingFileSpec3(Path.of(args[0], "JsonStreaming3.ndjson"));
         } catch (ProducerException | ConsumerException | IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,96 @@
+package stexfires.examples.io;
+
+import stexfires.examples.record.RecordSystemOutUtil;
+import stexfires.io.RecordFiles;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.io.lookup.LookupStore;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.mapper.IdentityMapper;
+import stexfires.record.message.NotNullRecordMessage;
+import stexfires.record.message.TextMessage;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.*;
+
+@SuppressWarnings({"CallToPrintStackTrace", "UseOfSystemOutOrSystemErr", "MagicNumber"})
+public final class ExamplesLookupStore {
+
+    private ExamplesLookupStore() {
+    }
+
+    private static void test1(Path sourcePath, Path storePath) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test1---");
+
+        var fileSpec =
+                new SimpleDelimitedFileSpec(
+                        CharsetCoding.UTF_8_REPORTING,
+                        SimpleDelimitedFileSpec.FIELD_DELIMITER_SEMICOLON,
+                        0,
+                        ProducerReadLineHandling.SKIP_BLANK_LINE,
+                        0, 0,
+                        true,
+                        SimpleDelimitedFileSpec.DEFAULT_PRODUCER_COMPACT_RECORDS,
+                        LineSeparator.LF,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_BEFORE,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
+                        SimpleDelimitedFileSpec.newFieldSpecs(2)
+                );
+
+        // Write reference file
+        System.out.println("write: " + sourcePath);
+        RecordFiles.writeStreamIntoFile(fileSpec,
+                IntStream.range(0, 100_000)
+                         .mapToObj(index -> new ManyFieldsRecord("key" + index, "name" + index)),
+                sourcePath);
+
+        // Build or reuse the lookup store
+        System.out.println("open or build: " + storePath);
+        try (LookupStore lookupStore = LookupStore.openOrBuild(fileSpec, sourcePath, new TextMessage<>(0), storePath)) {
+            System.out.println("keys: " + lookupStore.size());
+
+            // Enrich / log
+            var lookupMapper = lookupStore.<TextRecord, TextRecord>lookupMapper(
+                    NotNullRecordMessage.wrapRecordMessage(new TextMessage<>(0), ""),
+                    (record, foundRecord) -> new ManyFieldsRecord(record.textAt(0), record.textAt(1), foundRecord.textAt(1)),
+                    new IdentityMapper<>());
+            Stream.<TextRecord>of(
+                          new ManyFieldsRecord("key42", "first"),
+                          new ManyFieldsRecord("unknown", "second"),
+                          new ManyFieldsRecord("key99999", "third"))
+                  .map(lookupMapper::map)
+                  .forEachOrdered(RecordSystemOutUtil::printlnRecord);
+
+            // Filter / log
+            Stream.<TextRecord>of(
+                          new ManyFieldsRecord("key7", "first"),
+                          new ManyFieldsRecord("unknown", "second"))
+                  .filter(lookupStore.<TextRecord>containedIn(new TextMessage<>(0)).asPredicate())
+                  .forEachOrdered(RecordSystemOutUtil::printlnRecord);
+        }
+    }
+
+    public static void main(String... args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Missing valid output directory parameter!");
+        }
+        File outputDirectory = new File(args[0]);
+        if (!outputDirectory.exists() || !outputDirectory.isDirectory()) {
+            throw new IllegalArgumentException("Missing valid output directory parameter! " + outputDirectory);
+        }
+
+        try {
+            test1(Path.of(args[0], "LookupStore_1.csv"), Path.of(args[0], "LookupStore_1.csv" + LookupStore.FILE_EXTENSION));
+        } catch (ProducerException | ConsumerException | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
@@ -2,14 +2,19 @@ package stexfires.examples.io;
 
 import stexfires.examples.record.RecordSystemOutUtil;
 import stexfires.io.RecordFiles;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.compression.BlockGzipIndex;
+import stexfires.io.compression.BlockGzipSpec;
 import stexfires.io.delimited.simple.SimpleDelimitedFieldSpec;
 import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
 import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.io.producer.RecordOffsetIndex;
 import stexfires.io.singlevalue.SingleValueFileSpec;
 import stexfires.record.TextRecord;
 import stexfires.record.TextRecords;
 import stexfires.record.ValueRecord;
 import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
 import stexfires.record.impl.ManyFieldsRecord;
 import stexfires.record.impl.ValueFieldRecord;
 import stexfires.record.producer.ProducerException;
@@ -20,7 +25,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.*;
+import java.util.zip.*;
 
 @SuppressWarnings({"CallToPrintStackTrace", "UseOfSystemOutOrSystemErr", "MagicNumber", "SpellCheckingInspection"})
 public final class ExamplesSimpleDelimitedFile {
@@ -137,6 +144,7 @@ public final class ExamplesSimpleDelimitedFile {
                         ProducerReadLineHandling.THROW_EXCEPTION_ON_EMPTY_LINE,
                         0, 0,
                         true,
+                        true,
                         lineSeparator,
                         SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_BEFORE,
                         SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
@@ -152,6 +160,125 @@ public final class ExamplesSimpleDelimitedFile {
         RecordFiles.readAndConsumeFile(fileSpec, RecordSystemOutUtil.RECORD_CONSUMER, path);
     }
 
+    private static void test4(Path path, LineSeparator lineSeparator) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test4---");
+
+        var fileSpec =
+                new SimpleDelimitedFileSpec(
+                        CharsetCoding.UTF_8_REPORTING,
+                        SimpleDelimitedFileSpec.FIELD_DELIMITER_SEMICOLON,
+                        0,
+                        ProducerReadLineHandling.SKIP_BLANK_LINE,
+                        0, 0,
+                        true,
+                        lineSeparator,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_BEFORE,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
+                        SimpleDelimitedFileSpec.newFieldSpecs(4)
+                );
+
+        // Write
+        System.out.println("write: " + path);
+        RecordFiles.writeStreamIntoFile(fileSpec, generateStream(), path);
+
+        // Read chunked / log
+        System.out.println("read chunked/log: " + path);
+        try (var producer = fileSpec.openFileAsChunkedProducer(path, true, true, 64, ForkJoinPool.commonPool())) {
+            RecordSystemOutUtil.printlnRecordCollection(RecordIOStreams.read(producer, Stream::toList));
+        }
+    }
+
+    private static void test5(Path path, LineSeparator lineSeparator) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test5---");
+
+        var fileSpec =
+                new SimpleDelimitedFileSpec(
+                        CharsetCoding.UTF_8_REPORTING,
+                        SimpleDelimitedFileSpec.FIELD_DELIMITER_SEMICOLON,
+                        0,
+                        ProducerReadLineHandling.SKIP_BLANK_LINE,
+                        0, 0,
+                        true,
+                        lineSeparator,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_BEFORE,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
+                        SimpleDelimitedFileSpec.newFieldSpecs(2)
+                );
+        var blockGzipSpec = new BlockGzipSpec(16 * 1024, 2, 4, Deflater.DEFAULT_COMPRESSION, true);
+
+        // Write block-compressed gzip with a block index
+        System.out.println("write: " + path);
+        try (var consumer = fileSpec.openFileAsConsumer(path, blockGzipSpec)) {
+            RecordIOStreams.writeStream(consumer,
+                    IntStream.range(0, 100_000)
+                             .mapToObj(index -> new ManyFieldsRecord("key" + index, String.valueOf(index * 7L))));
+        } catch (UncheckedConsumerException e) {
+            throw e.getCause();
+        }
+        BlockGzipIndex blockIndex = BlockGzipIndex.read(BlockGzipIndex.sidecarPath(path));
+        System.out.println("blocks: " + blockIndex.blockCount()
+                + " compressed: " + blockIndex.compressedSize()
+                + " uncompressed: " + blockIndex.uncompressedSize());
+
+        // Read the last block / log
+        System.out.println("read last block/log: " + path);
+        try (var producer = fileSpec.openFileAsProducer(path, blockGzipSpec, blockIndex.blockCount() - 1)) {
+            List<TextRecord> records = RecordIOStreams.read(producer, Stream::toList);
+            System.out.println("records: " + records.size());
+            RecordSystemOutUtil.printlnRecord(records.getFirst());
+        }
+    }
+
+    private static void test6(Path path, LineSeparator lineSeparator) throws ProducerException, ConsumerException, IOException {
+        System.out.println("-test6---");
+
+        var fileSpec =
+                new SimpleDelimitedFileSpec(
+                        CharsetCoding.UTF_8_REPORTING,
+                        SimpleDelimitedFileSpec.FIELD_DELIMITER_SEMICOLON,
+                        0,
+                        ProducerReadLineHandling.SKIP_BLANK_LINE,
+                        0, 0,
+                        true,
+                        lineSeparator,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_BEFORE,
+                        SimpleDelimitedFileSpec.DEFAULT_CONSUMER_TEXT_AFTER,
+                        SimpleDelimitedFileSpec.newFieldSpecs(2)
+                );
+
+        // Write
+        System.out.println("write: " + path);
+        RecordFiles.writeStreamIntoFile(fileSpec,
+                IntStream.range(0, 100_000)
+                         .mapToObj(index -> new ManyFieldsRecord("key" + index, String.valueOf(index * 7L))),
+                path);
+
+        // Build and write the record offset index
+        RecordOffsetIndex recordOffsetIndex = RecordOffsetIndex.build(fileSpec, path, RecordOffsetIndex.DEFAULT_INTERVAL, false);
+        recordOffsetIndex.write(RecordOffsetIndex.sidecarPath(path));
+        System.out.println("records: " + recordOffsetIndex.recordCount()
+                + " offsets: " + recordOffsetIndex.offsets().size());
+
+        // Read the ranges in parallel / log
+        System.out.println("read ranges in parallel/log: " + path);
+        RecordOffsetIndex readIndex = RecordOffsetIndex.read(RecordOffsetIndex.sidecarPath(path));
+        try (ExecutorService executorService = Executors.newFixedThreadPool(4)) {
+            List<Future<TextRecord>> lastRecords = new ArrayList<>();
+            for (RecordOffsetIndex.Range range : readIndex.ranges(4)) {
+                lastRecords.add(executorService.submit(() -> {
+                    try (var producer = fileSpec.openFileAsProducer(path, readIndex, range.fromRecordIndex(), range.toRecordIndex())) {
+                        return RecordIOStreams.read(producer, Stream::toList).getLast();
+                    }
+                }));
+            }
+            for (Future<TextRecord> lastRecord : lastRecords) {
+                RecordSystemOutUtil.printlnRecord(lastRecord.get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IOException(e);
+        }
+    }
+
     public static void main(String... args) {
         if (args.length != 1) {
             throw new IllegalArgumentException("Missing valid output directory parameter!");
@@ -165,6 +292,9 @@ public final class ExamplesSimpleDelimitedFile {
             test1(Path.of(args[0], "SimpleDelimitedFile_1.csv"), LineSeparator.systemLineSeparator());
             test2(Path.of(args[0], "SimpleDelimitedFile_2.csv"), LineSeparator.systemLineSeparator());
             test3(Path.of(args[0], "SimpleDelimitedFile_3.csv"), LineSeparator.systemLineSeparator());
+            test4(Path.of(args[0], "SimpleDelimitedFile_4.csv"), LineSeparator.systemLineSeparator());
+            test5(Path.of(args[0], "SimpleDelimitedFile_5.csv.gz"), LineSeparator.LF);
+            test6(Path.of(args[0], "SimpleDelimitedFile_6.csv"), LineSeparator.CR_LF);
         } catch (ProducerException | ConsumerException | IOException e) {
             e.printStackTrace();
         }
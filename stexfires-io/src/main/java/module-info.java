@@ -5,14 +5,19 @@ module stexfires.io {
     requires transitive stexfires.record;
     requires transitive stexfires.util;
     exports stexfires.io;
+    exports stexfires.io.columnar;
     exports stexfires.io.combined;
+    exports stexfires.io.compression;
     exports stexfires.io.config;
     exports stexfires.io.consumer;
     exports stexfires.io.container;
+    exports stexfires.io.delimited;
+    exports stexfires.io.delimited.csv;
     exports stexfires.io.delimited.simple;
     exports stexfires.io.fixedwidth;
     exports stexfires.io.html.table;
     exports stexfires.io.json;
+    exports stexfires.io.lookup;
     exports stexfires.io.markdown.list;
     exports stexfires.io.markdown.table;
     exports stexfires.io.message;
@@ -214,6 +214,34 @@ public final class RecordIOStreams {
         return result;
     }
 
+    /**
+     * Reads the records like {@link #read(ReadableRecordProducer, Function)},
+     * but passes a parallel stream to the {@code streamFunction}.
+     *
+     * @see ReadableRecordProducer#readRecordsInParallel(int)
+     */
+    public static <R, PTR extends TextRecord> R readInParallel(
+            ReadableRecordProducer<PTR> readableRecordProducer,
+            int batchSize,
+            Function<Stream<PTR>, R> streamFunction)
+            throws UncheckedProducerException {
+        Objects.requireNonNull(readableRecordProducer);
+        Objects.requireNonNull(streamFunction);
+
+        R result;
+        try {
+            readableRecordProducer.readBefore();
+            result = streamFunction.apply(readableRecordProducer.produceParallelStream(batchSize));
+            readableRecordProducer.readAfter();
+        } catch (ProducerException e) {
+            throw new UncheckedProducerException(e);
+        } catch (IOException e) {
+            throw new UncheckedProducerException(new ProducerException(e));
+        }
+
+        return result;
+    }
+
     public static <R, PTR extends TextRecord> R readFromString(
             ReadableRecordFileSpec<PTR, ?> readableRecordFileSpec,
             String sourceString,
@@ -553,4 +581,61 @@ public final class RecordIOStreams {
         return writableRecordConsumer;
     }
 
+    /**
+     * Transfers the records like {@link #transfer(ReadableRecordProducer, WritableRecordConsumer)},
+     * but reads, creates and writes the records on separate threads.
+     * <p>
+     * {@code readBefore}, {@code writeBefore}, {@code readAfter}, {@code writeAfter} and {@code flush}
+     * are called by the calling thread in the same order as by {@code transfer}.
+     * The raw data is read by one reader thread. The records are created by a pool of parser threads
+     * and written in their original order by one writer thread.
+     *
+     * @return the statistics of the stages
+     * @see TransferPipelineSpec
+     * @see ReadableRecordProducer#readRecordSuppliers()
+     */
+    public static <CTR extends TextRecord, PTR extends CTR> TransferPipelineStats transferPipelined(
+            ReadableRecordProducer<PTR> readableRecordProducer,
+            WritableRecordConsumer<CTR> writableRecordConsumer,
+            TransferPipelineSpec transferPipelineSpec)
+            throws ProducerException, ConsumerException, IOException {
+        return transferMappedPipelined(readableRecordProducer, writableRecordConsumer, record -> record, transferPipelineSpec);
+    }
+
+    /**
+     * Transfers the records like {@link #transferMapped(ReadableRecordProducer, WritableRecordConsumer, RecordMapper)},
+     * but reads, creates and writes the records on separate threads.
+     * The {@code recordMapper} is called by the parser threads and must be thread-safe.
+     *
+     * @return the statistics of the stages
+     * @see #transferPipelined(ReadableRecordProducer, WritableRecordConsumer, TransferPipelineSpec)
+     */
+    public static <CTR extends TextRecord, PTR extends TextRecord> TransferPipelineStats transferMappedPipelined(
+            ReadableRecordProducer<PTR> readableRecordProducer,
+            WritableRecordConsumer<CTR> writableRecordConsumer,
+            RecordMapper<? super PTR, ? extends CTR> recordMapper,
+            TransferPipelineSpec transferPipelineSpec)
+            throws ProducerException, ConsumerException, IOException {
+        Objects.requireNonNull(readableRecordProducer);
+        Objects.requireNonNull(writableRecordConsumer);
+        Objects.requireNonNull(recordMapper);
+        Objects.requireNonNull(transferPipelineSpec);
+        TransferPipelineStats transferPipelineStats;
+        try {
+            readableRecordProducer.readBefore();
+            writableRecordConsumer.writeBefore();
+            transferPipelineStats = new TransferPipeline<CTR, PTR>(writableRecordConsumer, recordMapper::map, transferPipelineSpec)
+                    .execute(readableRecordProducer.readRecordSuppliers().iterator());
+            readableRecordProducer.readAfter();
+            writableRecordConsumer.writeAfter();
+            writableRecordConsumer.flush();
+        } catch (UncheckedProducerException e) {
+            throw e.getCause();
+        } catch (UncheckedConsumerException e) {
+            throw e.getCause();
+        }
+
+        return transferPipelineStats;
+    }
+
 }
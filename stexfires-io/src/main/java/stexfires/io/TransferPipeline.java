@@ -0,0 +1,282 @@
+package stexfires.io;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.consumer.WritableRecordConsumer;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * A pipeline with a reader thread, a pool of parser threads and a writer thread, which are connected by bounded queues.
+ * <p>
+ * The reader thread reads the raw data and collects the record suppliers into numbered batches.
+ * The parser threads call the suppliers and the mapper. The writer thread restores the order of the batches
+ * by their sequence numbers and writes the records.
+ * If a stage fails, all threads are interrupted and the first exception is rethrown by {@link #execute(Iterator)}.
+ *
+ * @param <CTR> type of the written records
+ * @param <PTR> type of the read records
+ * @see TransferPipelineSpec
+ * @since 0.1
+ */
+final class TransferPipeline<CTR extends TextRecord, PTR extends TextRecord> {
+
+    private static final String THREAD_NAME_PREFIX = "stexfires-transfer-";
+    private static final long END_SEQUENCE_NUMBER = -1L;
+
+    private final WritableRecordConsumer<CTR> writableRecordConsumer;
+    private final Function<? super PTR, ? extends CTR> recordMapper;
+    private final TransferPipelineSpec spec;
+    private final BlockingQueue<Batch<Supplier<Optional<PTR>>>> parseQueue;
+    private final BlockingQueue<Batch<CTR>> writeQueue;
+    private final Semaphore batchPermits;
+    private final AtomicReference<@Nullable Throwable> failure;
+    private final List<Thread> threads;
+    private final StageCounter readCounter;
+    private final StageCounter parseCounter;
+    private final StageCounter writeCounter;
+    private long recordCount;
+
+    TransferPipeline(WritableRecordConsumer<CTR> writableRecordConsumer,
+                     Function<? super PTR, ? extends CTR> recordMapper,
+                     TransferPipelineSpec spec) {
+        Objects.requireNonNull(writableRecordConsumer);
+        Objects.requireNonNull(recordMapper);
+        Objects.requireNonNull(spec);
+        this.writableRecordConsumer = writableRecordConsumer;
+        this.recordMapper = recordMapper;
+        this.spec = spec;
+        parseQueue = new ArrayBlockingQueue<>(spec.queueCapacity());
+        writeQueue = new ArrayBlockingQueue<>(spec.queueCapacity());
+        batchPermits = new Semaphore(spec.maxBatchesInPipeline());
+        failure = new AtomicReference<>();
+        threads = new ArrayList<>(spec.parserThreadCount() + 2);
+        readCounter = new StageCounter();
+        parseCounter = new StageCounter();
+        writeCounter = new StageCounter();
+    }
+
+    /**
+     * Runs the pipeline and waits for the end of all threads.
+     *
+     * @param recordSuppliers the record suppliers. They are iterated by the reader thread.
+     */
+    TransferPipelineStats execute(Iterator<Supplier<Optional<PTR>>> recordSuppliers)
+            throws ProducerException, ConsumerException, IOException {
+        Objects.requireNonNull(recordSuppliers);
+        long start = System.nanoTime();
+
+        threads.add(Thread.ofPlatform().name(THREAD_NAME_PREFIX + "read").unstarted(
+                () -> runStage(readCounter, () -> read(recordSuppliers))));
+        for (int index = 0; index < spec.parserThreadCount(); index++) {
+            threads.add(Thread.ofPlatform().name(THREAD_NAME_PREFIX + "parse-" + index).unstarted(
+                    () -> runStage(parseCounter, this::parse)));
+        }
+        threads.add(Thread.ofPlatform().name(THREAD_NAME_PREFIX + "write").unstarted(
+                () -> runStage(writeCounter, this::write)));
+        threads.forEach(Thread::start);
+
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    fail(new InterruptedIOException("Interrupted while waiting for the transfer pipeline."));
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            rethrow(throwable);
+        }
+
+        return new TransferPipelineStats(recordCount,
+                Duration.ofNanos(System.nanoTime() - start),
+                readCounter.toStageStats(1),
+                parseCounter.toStageStats(spec.parserThreadCount()),
+                writeCounter.toStageStats(1));
+    }
+
+    private static void rethrow(Throwable throwable) throws ProducerException, ConsumerException, IOException {
+        switch (throwable) {
+            case UncheckedProducerException e -> throw e.getCause();
+            case UncheckedConsumerException e -> throw e.getCause();
+            case ProducerException e -> throw e;
+            case ConsumerException e -> throw e;
+            case IOException e -> throw e;
+            case RuntimeException e -> throw e;
+            case Error e -> throw e;
+            default -> throw new IOException(throwable);
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        if (failure.compareAndSet(null, throwable)) {
+            threads.forEach(Thread::interrupt);
+        }
+    }
+
+    private void runStage(StageCounter counter, Stage stage) {
+        long start = System.nanoTime();
+        try {
+            stage.run();
+        } catch (InterruptedException e) {
+            fail(new InterruptedIOException("The transfer pipeline was interrupted."));
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            counter.totalNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void read(Iterator<Supplier<Optional<PTR>>> recordSuppliers) throws InterruptedException {
+        long sequenceNumber = 0L;
+        List<Supplier<Optional<PTR>>> elements = new ArrayList<>(spec.batchSize());
+        while (recordSuppliers.hasNext()) {
+            elements.add(recordSuppliers.next());
+            if (elements.size() == spec.batchSize()) {
+                readCounter.acquire(batchPermits);
+                readCounter.put(parseQueue, new Batch<>(sequenceNumber++, elements));
+                readCounter.batchCount.increment();
+                elements = new ArrayList<>(spec.batchSize());
+            }
+        }
+        if (!elements.isEmpty()) {
+            readCounter.acquire(batchPermits);
+            readCounter.put(parseQueue, new Batch<>(sequenceNumber, elements));
+            readCounter.batchCount.increment();
+        }
+        for (int index = 0; index < spec.parserThreadCount(); index++) {
+            readCounter.put(parseQueue, Batch.end());
+        }
+    }
+
+    private void parse() throws InterruptedException {
+        Batch<Supplier<Optional<PTR>>> batch = parseCounter.take(parseQueue);
+        while (!batch.isEnd()) {
+            List<CTR> records = new ArrayList<>(batch.elements().size());
+            for (Supplier<Optional<PTR>> recordSupplier : batch.elements()) {
+                recordSupplier.get().ifPresent(record -> records.add(recordMapper.apply(record)));
+            }
+            parseCounter.put(writeQueue, new Batch<>(batch.sequenceNumber(), records));
+            parseCounter.batchCount.increment();
+            batch = parseCounter.take(parseQueue);
+        }
+        parseCounter.put(writeQueue, Batch.end());
+    }
+
+    private void write() throws InterruptedException, ConsumerException, IOException {
+        Map<Long, List<CTR>> pendingBatches = new HashMap<>();
+        long nextSequenceNumber = 0L;
+        int endCount = 0;
+        while (endCount < spec.parserThreadCount()) {
+            Batch<CTR> batch = writeCounter.take(writeQueue);
+            if (batch.isEnd()) {
+                endCount++;
+            } else {
+                pendingBatches.put(batch.sequenceNumber(), batch.elements());
+                List<CTR> records = pendingBatches.remove(nextSequenceNumber);
+                while (records != null) {
+                    for (CTR record : records) {
+                        writableRecordConsumer.writeRecord(record);
+                    }
+                    recordCount += records.size();
+                    writeCounter.batchCount.increment();
+                    batchPermits.release();
+                    nextSequenceNumber++;
+                    records = pendingBatches.remove(nextSequenceNumber);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+
+        void run() throws Exception;
+
+    }
+
+    private record Batch<T>(long sequenceNumber, List<T> elements) {
+
+        static <T> Batch<T> end() {
+            return new Batch<>(END_SEQUENCE_NUMBER, List.of());
+        }
+
+        boolean isEnd() {
+            return sequenceNumber == END_SEQUENCE_NUMBER;
+        }
+
+    }
+
+    /**
+     * Counts the batches and the blocked and total time of the threads of a stage.
+     */
+    private static final class StageCounter {
+
+        private final LongAdder batchCount = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            T element = queue.poll();
+            if (element == null) {
+                long start = System.nanoTime();
+                try {
+                    element = queue.take();
+                } finally {
+                    blockedNanos.add(System.nanoTime() - start);
+                }
+            }
+            return element;
+        }
+
+        <T> void put(BlockingQueue<T> queue, T element) throws InterruptedException {
+            if (!queue.offer(element)) {
+                long start = System.nanoTime();
+                try {
+                    queue.put(element);
+                } finally {
+                    blockedNanos.add(System.nanoTime() - start);
+                }
+            }
+        }
+
+        void acquire(Semaphore semaphore) throws InterruptedException {
+            if (!semaphore.tryAcquire()) {
+                long start = System.nanoTime();
+                try {
+                    semaphore.acquire();
+                } finally {
+                    blockedNanos.add(System.nanoTime() - start);
+                }
+            }
+        }
+
+        TransferPipelineStats.StageStats toStageStats(int threadCount) {
+            long blocked = blockedNanos.sum();
+            return new TransferPipelineStats.StageStats(threadCount,
+                    batchCount.sum(),
+                    Duration.ofNanos(Math.max(0L, totalNanos.sum() - blocked)),
+                    Duration.ofNanos(blocked));
+        }
+
+    }
+
+}
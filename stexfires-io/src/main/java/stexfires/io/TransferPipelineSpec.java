@@ -0,0 +1,55 @@
+package stexfires.io;
+
+import stexfires.io.producer.BatchingSpliterator;
+
+/**
+ * The configuration of a pipelined transfer with three stages:
+ * one reader thread, {@code parserThreadCount} parser threads and one writer thread.
+ * <p>
+ * The reader thread reads the raw data in batches of {@code batchSize}.
+ * The stages are connected by two bounded queues with {@code queueCapacity} batches each.
+ * The number of batches in the pipeline is limited too, so a slow batch can not fill the memory.
+ *
+ * @param parserThreadCount the number of threads, which create and map the records
+ * @param queueCapacity     the capacity of the queues in batches
+ * @param batchSize         the number of raw data of a batch
+ * @see RecordIOStreams#transferPipelined(stexfires.io.producer.ReadableRecordProducer, stexfires.io.consumer.WritableRecordConsumer, TransferPipelineSpec)
+ * @since 0.1
+ */
+public record TransferPipelineSpec(int parserThreadCount, int queueCapacity, int batchSize) {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+    public static final int DEFAULT_BATCH_SIZE = BatchingSpliterator.DEFAULT_BATCH_SIZE;
+
+    public TransferPipelineSpec {
+        if (parserThreadCount <= 0) {
+            throw new IllegalArgumentException("parserThreadCount <= 0");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity <= 0");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize <= 0");
+        }
+    }
+
+    public static TransferPipelineSpec of(int parserThreadCount) {
+        return new TransferPipelineSpec(parserThreadCount, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Returns a configuration with one parser thread per available processor,
+     * except the two processors for the reader and writer thread.
+     */
+    public static TransferPipelineSpec ofAvailableProcessors() {
+        return of(Math.max(1, Runtime.getRuntime().availableProcessors() - 2));
+    }
+
+    /**
+     * Returns the maximal number of batches in the pipeline.
+     */
+    public int maxBatchesInPipeline() {
+        return 2 * queueCapacity + parserThreadCount;
+    }
+
+}
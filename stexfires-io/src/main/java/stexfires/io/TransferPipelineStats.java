@@ -0,0 +1,60 @@
+package stexfires.io;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The statistics of a pipelined transfer.
+ *
+ * @param recordCount the number of written records
+ * @param elapsed     the duration of the pipeline without {@code readBefore}, {@code writeBefore},
+ *                    {@code readAfter} and {@code writeAfter}
+ * @param read        the statistics of the reader stage
+ * @param parse       the statistics of the parser stage
+ * @param write       the statistics of the writer stage
+ * @see RecordIOStreams#transferPipelined(stexfires.io.producer.ReadableRecordProducer, stexfires.io.consumer.WritableRecordConsumer, TransferPipelineSpec)
+ * @since 0.1
+ */
+public record TransferPipelineStats(long recordCount,
+                                    Duration elapsed,
+                                    StageStats read,
+                                    StageStats parse,
+                                    StageStats write) {
+
+    public TransferPipelineStats {
+        Objects.requireNonNull(elapsed);
+        Objects.requireNonNull(read);
+        Objects.requireNonNull(parse);
+        Objects.requireNonNull(write);
+    }
+
+    /**
+     * The statistics of a stage. The durations are summed up over all threads of the stage.
+     *
+     * @param threadCount     the number of threads
+     * @param batchCount      the number of processed batches
+     * @param busyDuration    the time the threads were working
+     * @param blockedDuration the time the threads were waiting for a batch or for space in the next queue
+     */
+    public record StageStats(int threadCount,
+                             long batchCount,
+                             Duration busyDuration,
+                             Duration blockedDuration) {
+
+        public StageStats {
+            Objects.requireNonNull(busyDuration);
+            Objects.requireNonNull(blockedDuration);
+        }
+
+        /**
+         * Returns the share of the busy time in the total time of the threads between {@code 0.0} and {@code 1.0}.
+         * The stage with the highest utilization is the bottleneck of the pipeline.
+         */
+        public double utilization() {
+            long total = busyDuration.toNanos() + blockedDuration.toNanos();
+            return (total == 0L) ? 0.0d : (double) busyDuration.toNanos() / total;
+        }
+
+    }
+
+}
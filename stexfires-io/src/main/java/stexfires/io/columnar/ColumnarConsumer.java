@@ -0,0 +1,220 @@
+package stexfires.io.columnar;
+
+import stexfires.io.consumer.WritableRecordConsumer;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * A consumer, which writes the records into a columnar binary file.
+ * <p>
+ * The records are collected until a block is full. {@link #writeAfter()} writes the last block and the end marker.
+ * {@link #flush()} does not end the current block.
+ *
+ * @see ColumnarFileSpec
+ * @see ColumnarProducer
+ * @since 0.1
+ */
+public final class ColumnarConsumer implements WritableRecordConsumer<TextRecord> {
+
+    private static final int CATEGORY_COLUMN = -1;
+
+    private final DataOutputStream dataOutputStream;
+    private final int blockSize;
+    private final List<TextRecord> blockRecords;
+    private State state;
+
+    public ColumnarConsumer(OutputStream outputStream, ColumnarFileSpec fileSpec) {
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(fileSpec);
+        dataOutputStream = new DataOutputStream(outputStream);
+        blockSize = fileSpec.consumerBlockSize();
+        blockRecords = new ArrayList<>(Math.min(blockSize, ColumnarFileSpec.DEFAULT_CONSUMER_BLOCK_SIZE));
+        state = State.OPEN;
+    }
+
+    @Override
+    public void writeBefore() throws ConsumerException, UncheckedConsumerException, IOException {
+        state = state.next(State.WRITE_BEFORE);
+        dataOutputStream.writeInt(ColumnarEncoding.MAGIC_NUMBER);
+        dataOutputStream.writeInt(ColumnarEncoding.VERSION);
+    }
+
+    @Override
+    public void writeRecord(TextRecord record) throws ConsumerException, UncheckedConsumerException, IOException {
+        Objects.requireNonNull(record);
+        state = state.next(State.WRITE_RECORDS);
+        blockRecords.add(record);
+        if (blockRecords.size() == blockSize) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void writeAfter() throws ConsumerException, UncheckedConsumerException, IOException {
+        state = state.next(State.WRITE_AFTER);
+        if (!blockRecords.isEmpty()) {
+            writeBlock();
+        }
+        // end marker: a block without records
+        dataOutputStream.writeInt(0);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        dataOutputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.CLOSE;
+        dataOutputStream.close();
+    }
+
+    /**
+     * Writes the header with the statistics and data lengths of all columns and then the data of the columns.
+     */
+    private void writeBlock() throws IOException {
+        int recordCount = blockRecords.size();
+        int fieldCount = 0;
+        for (TextRecord record : blockRecords) {
+            fieldCount = Math.max(fieldCount, record.size());
+        }
+
+        // recordId column
+        int recordIdNullCount = 0;
+        long minRecordId = Long.MAX_VALUE;
+        long maxRecordId = Long.MIN_VALUE;
+        for (TextRecord record : blockRecords) {
+            Long recordId = record.recordId();
+            if (recordId == null) {
+                recordIdNullCount++;
+            } else {
+                minRecordId = Math.min(minRecordId, recordId);
+                maxRecordId = Math.max(maxRecordId, recordId);
+            }
+        }
+        ColumnarEncoding.Output recordIds = new ColumnarEncoding.Output(2 * recordCount);
+        long previousRecordId = 0L;
+        for (TextRecord record : blockRecords) {
+            Long recordId = record.recordId();
+            if (recordIdNullCount > 0) {
+                recordIds.writeByte((recordId == null) ? 0 : 1);
+            }
+            if (recordId != null) {
+                recordIds.writeVarLong(ColumnarEncoding.zigzagEncode(recordId - previousRecordId));
+                previousRecordId = recordId;
+            }
+        }
+        if (recordIdNullCount == recordCount) {
+            minRecordId = 0L;
+            maxRecordId = 0L;
+        }
+
+        // text columns
+        List<TextColumn> textColumns = new ArrayList<>(fieldCount + 1);
+        textColumns.add(encodeTextColumn(CATEGORY_COLUMN));
+        for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+            textColumns.add(encodeTextColumn(fieldIndex));
+        }
+
+        // header
+        dataOutputStream.writeInt(recordCount);
+        dataOutputStream.writeInt(fieldCount);
+        dataOutputStream.writeInt(recordIdNullCount);
+        dataOutputStream.writeLong(minRecordId);
+        dataOutputStream.writeLong(maxRecordId);
+        dataOutputStream.writeInt(recordIds.length());
+        for (TextColumn textColumn : textColumns) {
+            ColumnarEncoding.writeStatistics(dataOutputStream, textColumn.statistics());
+            dataOutputStream.writeInt(textColumn.data().length());
+        }
+
+        // data
+        recordIds.writeTo(dataOutputStream);
+        for (TextColumn textColumn : textColumns) {
+            textColumn.data().writeTo(dataOutputStream);
+        }
+
+        blockRecords.clear();
+    }
+
+    /**
+     * Encodes the dictionary of the distinct texts in the order of their first occurrence
+     * followed by the tag of every record.
+     *
+     * @param fieldIndex the index of the field or {@link #CATEGORY_COLUMN}
+     */
+    private TextColumn encodeTextColumn(int fieldIndex) {
+        int recordCount = blockRecords.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> dictionaryTexts = new ArrayList<>();
+        int[] tags = new int[recordCount];
+        int nullCount = 0;
+        String minText = null;
+        String maxText = null;
+        for (int recordIndex = 0; recordIndex < recordCount; recordIndex++) {
+            TextRecord record = blockRecords.get(recordIndex);
+            if ((fieldIndex != CATEGORY_COLUMN) && (fieldIndex >= record.size())) {
+                nullCount++;
+                tags[recordIndex] = ColumnarEncoding.TAG_ABSENT;
+                continue;
+            }
+            String text = (fieldIndex == CATEGORY_COLUMN) ? record.category() : record.textAt(fieldIndex);
+            if (text == null) {
+                nullCount++;
+                tags[recordIndex] = ColumnarEncoding.TAG_NULL;
+            } else {
+                Integer textIndex = dictionary.get(text);
+                if (textIndex == null) {
+                    textIndex = dictionaryTexts.size();
+                    dictionary.put(text, textIndex);
+                    dictionaryTexts.add(text);
+                    minText = ColumnarEncoding.min(minText, text);
+                    maxText = ColumnarEncoding.max(maxText, text);
+                }
+                tags[recordIndex] = ColumnarEncoding.TAG_FIRST_TEXT + textIndex;
+            }
+        }
+
+        ColumnarEncoding.Output data = new ColumnarEncoding.Output(recordCount + 8 * dictionaryTexts.size());
+        data.writeVarInt(dictionaryTexts.size());
+        for (String text : dictionaryTexts) {
+            data.writeText(text);
+        }
+        for (int tag : tags) {
+            data.writeVarInt(tag);
+        }
+        return new TextColumn(new ColumnarStatistics(recordCount, nullCount, minText, maxText), data);
+    }
+
+    private record TextColumn(ColumnarStatistics statistics, ColumnarEncoding.Output data) {
+    }
+
+    private enum State {
+        OPEN,
+        WRITE_BEFORE,
+        WRITE_RECORDS,
+        WRITE_AFTER,
+        CLOSE;
+
+        private State next(State newState) {
+            boolean valid = switch (newState) {
+                case WRITE_BEFORE -> this == OPEN;
+                case WRITE_RECORDS, WRITE_AFTER -> (this == WRITE_BEFORE) || (this == WRITE_RECORDS);
+                case OPEN, CLOSE -> false;
+            };
+            if (!valid) {
+                throw new IllegalStateException("Wrong state! " + this + " -> " + newState);
+            }
+            return newState;
+        }
+
+    }
+
+}
@@ -0,0 +1,227 @@
+package stexfires.io.columnar;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.util.LosslessUtf8;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * This class consists of {@code static} utility methods and buffers
+ * for encoding and decoding the blocks of a columnar file.
+ * <p>
+ * Fixed size values are big-endian like {@link DataOutputStream}.
+ * Inside the column data unsigned integers are encoded as LEB128 varints
+ * and signed integers are zigzag encoded before.
+ * Texts are encoded with {@link LosslessUtf8}, so texts with unpaired surrogates are read back unchanged.
+ *
+ * @since 0.1
+ */
+final class ColumnarEncoding {
+
+    static final int MAGIC_NUMBER = 0x53584346; // "SXCF"
+    static final int VERSION = 1;
+
+    /**
+     * The tag of a field, which does not exist, because the record has fewer fields.
+     */
+    static final int TAG_ABSENT = 0;
+    /**
+     * The tag of a field with a {@code null} text.
+     */
+    static final int TAG_NULL = 1;
+    /**
+     * The tag of the first text of the dictionary.
+     */
+    static final int TAG_FIRST_TEXT = 2;
+
+    private ColumnarEncoding() {
+    }
+
+    static void writeString(DataOutputStream dataOutputStream, String text) throws IOException {
+        byte[] bytes = LosslessUtf8.encode(text);
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+
+    static String readString(DataInputStream dataInputStream) throws IOException {
+        int length = dataInputStream.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid length of a columnar string: " + length);
+        }
+        byte[] bytes = dataInputStream.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of a columnar string.");
+        }
+        return decode(bytes, 0, length);
+    }
+
+    private static String decode(byte[] bytes, int offset, int length) throws IOException {
+        try {
+            return LosslessUtf8.decode(bytes, offset, length);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid text of a columnar file.", e);
+        }
+    }
+
+    static void writeStatistics(DataOutputStream dataOutputStream, ColumnarStatistics statistics) throws IOException {
+        dataOutputStream.writeInt(statistics.recordCount());
+        dataOutputStream.writeInt(statistics.nullCount());
+        if ((statistics.minText() != null) && (statistics.maxText() != null)) {
+            writeString(dataOutputStream, statistics.minText());
+            writeString(dataOutputStream, statistics.maxText());
+        }
+    }
+
+    static ColumnarStatistics readStatistics(DataInputStream dataInputStream) throws IOException {
+        int recordCount = dataInputStream.readInt();
+        int nullCount = dataInputStream.readInt();
+        if ((nullCount < 0) || (nullCount > recordCount)) {
+            throw new IOException("Invalid null count of a columnar block: " + nullCount);
+        }
+        if (nullCount == recordCount) {
+            return new ColumnarStatistics(recordCount, nullCount, null, null);
+        }
+        return new ColumnarStatistics(recordCount, nullCount, readString(dataInputStream), readString(dataInputStream));
+    }
+
+    static long zigzagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    /**
+     * Returns the minimum of the two texts. {@code null} is ignored.
+     */
+    static String min(@Nullable String first, String second) {
+        return ((first == null) || (second.compareTo(first) < 0)) ? second : first;
+    }
+
+    /**
+     * Returns the maximum of the two texts. {@code null} is ignored.
+     */
+    static String max(@Nullable String first, String second) {
+        return ((first == null) || (second.compareTo(first) > 0)) ? second : first;
+    }
+
+    /**
+     * A growing byte array for the data of a column.
+     */
+    static final class Output {
+
+        private byte[] bytes;
+        private int length;
+
+        Output(int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        int length() {
+            return length;
+        }
+
+        void writeTo(DataOutputStream dataOutputStream) throws IOException {
+            dataOutputStream.write(bytes, 0, length);
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0L) {
+                bytes[length++] = (byte) ((remaining & 0x7FL) | 0x80L);
+                remaining >>>= 7;
+            }
+            bytes[length++] = (byte) remaining;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(Integer.toUnsignedLong(value));
+        }
+
+        void writeText(String text) {
+            byte[] textBytes = LosslessUtf8.encode(text);
+            writeVarInt(textBytes.length);
+            ensureCapacity(textBytes.length);
+            System.arraycopy(textBytes, 0, bytes, length, textBytes.length);
+            length += textBytes.length;
+        }
+
+        private void ensureCapacity(int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, length + count));
+            }
+        }
+
+    }
+
+    /**
+     * A cursor over the data of a column.
+     */
+    static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        static Input read(DataInputStream dataInputStream, int length) throws IOException {
+            byte[] bytes = dataInputStream.readNBytes(length);
+            if (bytes.length != length) {
+                throw new EOFException("Unexpected end of a columnar block.");
+            }
+            return new Input(bytes);
+        }
+
+        int readByte() throws IOException {
+            if (position == bytes.length) {
+                throw new EOFException("Unexpected end of a columnar column.");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Invalid varint of a columnar column.");
+        }
+
+        int readVarInt() throws IOException {
+            long value = readVarLong();
+            if ((value < 0L) || (value > Integer.MAX_VALUE)) {
+                throw new IOException("Invalid varint of a columnar column: " + value);
+            }
+            return (int) value;
+        }
+
+        String readText() throws IOException {
+            int textLength = readVarInt();
+            if (textLength > bytes.length - position) {
+                throw new EOFException("Unexpected end of a columnar column.");
+            }
+            String text = decode(bytes, position, textLength);
+            position += textLength;
+            return text;
+        }
+
+    }
+
+}
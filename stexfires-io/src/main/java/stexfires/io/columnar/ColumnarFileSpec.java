@@ -0,0 +1,108 @@
+package stexfires.io.columnar;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The specification of a block-oriented columnar binary file.
+ * <p>
+ * The records are written in blocks of {@code consumerBlockSize} records.
+ * Every block stores the recordIds, the categories and every field as a separate column.
+ * The text columns are dictionary encoded and every block has the min/max/null-count statistics of its columns.
+ * The records are read without parsing text again.
+ * <p>
+ * The producer decodes only the columns of the fields in {@code producerProjection}.
+ * If the {@code producerFilter} is set, it skips all blocks, whose statistics show that no record can match,
+ * and returns only the matching records of the other blocks.
+ * <p>
+ * Unlike the {@link stexfires.io.RecordFileSpec}s it is not based on a charset,
+ * so it offers the same factory methods for {@link InputStream} and {@link OutputStream}.
+ *
+ * @param consumerBlockSize  the number of records of a block
+ * @param producerProjection the indexes of the fields of the read records or {@code null} for all fields
+ * @param producerFilter     the filter of the read records or {@code null}
+ * @see ColumnarProducer
+ * @see ColumnarConsumer
+ * @since 0.1
+ */
+public record ColumnarFileSpec(
+        int consumerBlockSize,
+        @Nullable List<Integer> producerProjection,
+        @Nullable ColumnarFilter producerFilter
+) {
+
+    public static final int DEFAULT_CONSUMER_BLOCK_SIZE = 8 * 1024;
+    public static final @Nullable List<Integer> DEFAULT_PRODUCER_PROJECTION = null;
+    public static final @Nullable ColumnarFilter DEFAULT_PRODUCER_FILTER = null;
+
+    public ColumnarFileSpec {
+        if (consumerBlockSize <= 0) {
+            throw new IllegalArgumentException("consumerBlockSize <= 0");
+        }
+        if (producerProjection != null) {
+            producerProjection = List.copyOf(producerProjection);
+            for (Integer index : producerProjection) {
+                if (index < 0) {
+                    throw new IllegalArgumentException("producerProjection contains an index < 0");
+                }
+            }
+        }
+    }
+
+    public static ColumnarFileSpec producerFileSpec(@Nullable List<Integer> producerProjection,
+                                                    @Nullable ColumnarFilter producerFilter) {
+        return new ColumnarFileSpec(
+                DEFAULT_CONSUMER_BLOCK_SIZE,
+                producerProjection,
+                producerFilter
+        );
+    }
+
+    public static ColumnarFileSpec consumerFileSpec(int consumerBlockSize) {
+        return new ColumnarFileSpec(
+                consumerBlockSize,
+                DEFAULT_PRODUCER_PROJECTION,
+                DEFAULT_PRODUCER_FILTER
+        );
+    }
+
+    public ColumnarProducer producer(InputStream inputStream) {
+        Objects.requireNonNull(inputStream);
+        return new ColumnarProducer(new BufferedInputStream(inputStream), this);
+    }
+
+    /**
+     * @see ColumnarFileSpec#producer(java.io.InputStream)
+     * @see java.nio.file.Files#newInputStream(java.nio.file.Path, java.nio.file.OpenOption...)
+     */
+    public ColumnarProducer openFileAsProducer(Path filePath, OpenOption... readOptions) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(readOptions);
+        return producer(Files.newInputStream(filePath, readOptions));
+    }
+
+    public ColumnarConsumer consumer(OutputStream outputStream) {
+        Objects.requireNonNull(outputStream);
+        return new ColumnarConsumer(new BufferedOutputStream(outputStream), this);
+    }
+
+    /**
+     * @see ColumnarFileSpec#consumer(java.io.OutputStream)
+     * @see java.nio.file.Files#newOutputStream(java.nio.file.Path, java.nio.file.OpenOption...)
+     */
+    public ColumnarConsumer openFileAsConsumer(Path filePath, OpenOption... writeOptions) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(writeOptions);
+        return consumer(Files.newOutputStream(filePath, writeOptions));
+    }
+
+}
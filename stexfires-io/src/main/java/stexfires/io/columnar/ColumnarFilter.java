@@ -0,0 +1,106 @@
+package stexfires.io.columnar;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+import stexfires.record.filter.RecordFilter;
+
+import java.util.*;
+
+/**
+ * A {@link RecordFilter} for the text of a field, which can be checked against the statistics of a block.
+ * <p>
+ * It matches either the records with a {@code null} text or without the field ({@code matchNull}),
+ * or the records with a text between {@code minText} and {@code maxText} (both inclusive).
+ * A missing bound is unbounded. The texts are compared by {@link String#compareTo(String)}.
+ * <p>
+ * A {@link ColumnarProducer} skips all blocks, whose statistics show that no record can match.
+ *
+ * @param index     the index of the field
+ * @param matchNull if only the records with a {@code null} text or without the field match
+ * @param minText   the minimal text or {@code null}
+ * @param maxText   the maximal text or {@code null}
+ * @see ColumnarFileSpec#producerFilter()
+ * @since 0.1
+ */
+public record ColumnarFilter(int index,
+                             boolean matchNull,
+                             @Nullable String minText,
+                             @Nullable String maxText)
+        implements RecordFilter<TextRecord> {
+
+    public ColumnarFilter {
+        if (index < 0) {
+            throw new IllegalArgumentException("index < 0");
+        }
+        if (matchNull && ((minText != null) || (maxText != null))) {
+            throw new IllegalArgumentException("matchNull with minText or maxText");
+        }
+        if ((minText != null) && (maxText != null) && (minText.compareTo(maxText) > 0)) {
+            throw new IllegalArgumentException("minText > maxText");
+        }
+    }
+
+    public static ColumnarFilter equalTo(int index, String text) {
+        Objects.requireNonNull(text);
+        return new ColumnarFilter(index, false, text, text);
+    }
+
+    public static ColumnarFilter between(int index, String minText, String maxText) {
+        Objects.requireNonNull(minText);
+        Objects.requireNonNull(maxText);
+        return new ColumnarFilter(index, false, minText, maxText);
+    }
+
+    public static ColumnarFilter atLeast(int index, String minText) {
+        Objects.requireNonNull(minText);
+        return new ColumnarFilter(index, false, minText, null);
+    }
+
+    public static ColumnarFilter atMost(int index, String maxText) {
+        Objects.requireNonNull(maxText);
+        return new ColumnarFilter(index, false, null, maxText);
+    }
+
+    public static ColumnarFilter isNull(int index) {
+        return new ColumnarFilter(index, true, null, null);
+    }
+
+    public static ColumnarFilter isNotNull(int index) {
+        return new ColumnarFilter(index, false, null, null);
+    }
+
+    @Override
+    public boolean isValid(TextRecord record) {
+        return isValidText(record.textAt(index));
+    }
+
+    /**
+     * Returns {@code true}, if the text of the field matches.
+     *
+     * @param text the text of the field or {@code null}, if the record has no such field
+     */
+    public boolean isValidText(@Nullable String text) {
+        if (text == null) {
+            return matchNull;
+        }
+        return !matchNull
+                && ((minText == null) || (text.compareTo(minText) >= 0))
+                && ((maxText == null) || (text.compareTo(maxText) <= 0));
+    }
+
+    /**
+     * Returns {@code false}, if no record of a block with the statistics of the field can match.
+     */
+    public boolean mayMatch(ColumnarStatistics statistics) {
+        Objects.requireNonNull(statistics);
+        if (matchNull) {
+            return statistics.nullCount() > 0;
+        }
+        if ((statistics.textCount() == 0) || (statistics.minText() == null) || (statistics.maxText() == null)) {
+            return false;
+        }
+        return ((minText == null) || (statistics.maxText().compareTo(minText) >= 0))
+                && ((maxText == null) || (statistics.minText().compareTo(maxText) <= 0));
+    }
+
+}
@@ -0,0 +1,293 @@
+package stexfires.io.columnar;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.producer.ReadableRecordProducer;
+import stexfires.record.TextRecord;
+import stexfires.record.TextRecords;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * A producer, which reads the records of a columnar binary file.
+ * <p>
+ * It decodes only the columns of the projected fields and of the filtered field.
+ * The data of all other columns and of all blocks, which can not contain a matching record, is skipped.
+ * The numbers of read and skipped blocks are returned by {@link #readBlockCount()} and {@link #skippedBlockCount()}.
+ *
+ * @see ColumnarFileSpec
+ * @see ColumnarConsumer
+ * @since 0.1
+ */
+public final class ColumnarProducer implements ReadableRecordProducer<TextRecord> {
+
+    private final DataInputStream dataInputStream;
+    private final @Nullable List<Integer> projection;
+    private final @Nullable ColumnarFilter filter;
+    private State state;
+    private long readBlockCount;
+    private long skippedBlockCount;
+
+    public ColumnarProducer(InputStream inputStream, ColumnarFileSpec fileSpec) {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(fileSpec);
+        dataInputStream = new DataInputStream(inputStream);
+        projection = fileSpec.producerProjection();
+        filter = fileSpec.producerFilter();
+        state = State.OPEN;
+    }
+
+    /**
+     * Returns the number of blocks, whose columns were decoded.
+     */
+    public long readBlockCount() {
+        return readBlockCount;
+    }
+
+    /**
+     * Returns the number of blocks, which were skipped because of their statistics.
+     */
+    public long skippedBlockCount() {
+        return skippedBlockCount;
+    }
+
+    @Override
+    public void readBefore() throws ProducerException, UncheckedProducerException, IOException {
+        state = state.next(State.READ_BEFORE);
+        if (dataInputStream.readInt() != ColumnarEncoding.MAGIC_NUMBER) {
+            throw new ProducerException("Not a columnar file.");
+        }
+        int version = dataInputStream.readInt();
+        if (version != ColumnarEncoding.VERSION) {
+            throw new ProducerException("Unsupported version of a columnar file: " + version);
+        }
+    }
+
+    @Override
+    public Stream<TextRecord> readRecords() throws ProducerException, UncheckedProducerException, IOException {
+        state = state.next(State.READ_RECORDS);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new RecordIterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    @Override
+    public void readAfter() throws ProducerException, UncheckedProducerException, IOException {
+        state = state.next(State.READ_AFTER);
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.CLOSE;
+        dataInputStream.close();
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return the matching records of the block or {@code null} at the end marker
+     */
+    private @Nullable List<TextRecord> readBlock() throws IOException {
+        int recordCount = dataInputStream.readInt();
+        if (recordCount == 0) {
+            return null;
+        }
+        int fieldCount = dataInputStream.readInt();
+        if ((recordCount < 0) || (fieldCount < 0)) {
+            throw new IOException("Invalid header of a columnar block.");
+        }
+
+        // header
+        int recordIdNullCount = dataInputStream.readInt();
+        dataInputStream.readLong(); // minRecordId
+        dataInputStream.readLong(); // maxRecordId
+        int recordIdLength = readLength();
+        ColumnarStatistics[] statistics = new ColumnarStatistics[fieldCount + 1];
+        int[] lengths = new int[fieldCount + 1];
+        long blockLength = recordIdLength;
+        try {
+            for (int column = 0; column <= fieldCount; column++) {
+                statistics[column] = ColumnarEncoding.readStatistics(dataInputStream);
+                lengths[column] = readLength();
+                blockLength += lengths[column];
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid statistics of a columnar block.", e);
+        }
+
+        // skip the block
+        if ((filter != null) && !filter.mayMatch(fieldStatistics(statistics, recordCount, filter.index()))) {
+            dataInputStream.skipNBytes(blockLength);
+            skippedBlockCount++;
+            return List.of();
+        }
+        readBlockCount++;
+
+        // recordIds and categories
+        ColumnarEncoding.Input recordIdInput = ColumnarEncoding.Input.read(dataInputStream, recordIdLength);
+        @Nullable Long[] recordIds = new Long[recordCount];
+        long previousRecordId = 0L;
+        for (int recordIndex = 0; recordIndex < recordCount; recordIndex++) {
+            if ((recordIdNullCount == 0) || (recordIdInput.readByte() != 0)) {
+                previousRecordId += ColumnarEncoding.zigzagDecode(recordIdInput.readVarLong());
+                recordIds[recordIndex] = previousRecordId;
+            }
+        }
+        int[] sizes = new int[recordCount];
+        @Nullable String[] categories = decodeTextColumn(
+                ColumnarEncoding.Input.read(dataInputStream, lengths[0]), recordCount, sizes, -1);
+
+        // fields
+        @Nullable String[][] fieldTexts = new String[fieldCount][];
+        for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+            int length = lengths[fieldIndex + 1];
+            if (isDecoded(fieldIndex)) {
+                fieldTexts[fieldIndex] = decodeTextColumn(
+                        ColumnarEncoding.Input.read(dataInputStream, length), recordCount, sizes, fieldIndex);
+            } else {
+                dataInputStream.skipNBytes(length);
+            }
+        }
+
+        // records
+        List<TextRecord> records = new ArrayList<>(recordCount);
+        for (int recordIndex = 0; recordIndex < recordCount; recordIndex++) {
+            if ((filter != null) && !filter.isValidText(textAt(fieldTexts, filter.index(), recordIndex))) {
+                continue;
+            }
+            List<@Nullable String> texts;
+            if (projection == null) {
+                texts = new ArrayList<>(sizes[recordIndex]);
+                for (int fieldIndex = 0; fieldIndex < sizes[recordIndex]; fieldIndex++) {
+                    texts.add(textAt(fieldTexts, fieldIndex, recordIndex));
+                }
+            } else {
+                texts = new ArrayList<>(projection.size());
+                for (int fieldIndex : projection) {
+                    texts.add(textAt(fieldTexts, fieldIndex, recordIndex));
+                }
+            }
+            records.add(TextRecords.ofNullable(categories[recordIndex], recordIds[recordIndex], texts));
+        }
+        return records;
+    }
+
+    private int readLength() throws IOException {
+        int length = dataInputStream.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid column length of a columnar block: " + length);
+        }
+        return length;
+    }
+
+    private boolean isDecoded(int fieldIndex) {
+        return (projection == null)
+                || projection.contains(fieldIndex)
+                || ((filter != null) && (filter.index() == fieldIndex));
+    }
+
+    private static ColumnarStatistics fieldStatistics(ColumnarStatistics[] statistics, int recordCount, int fieldIndex) {
+        // The first statistics are the statistics of the categories.
+        return (fieldIndex + 1 < statistics.length)
+                ? statistics[fieldIndex + 1]
+                : new ColumnarStatistics(recordCount, recordCount, null, null);
+    }
+
+    private static @Nullable String textAt(@Nullable String[][] fieldTexts, int fieldIndex, int recordIndex) {
+        if ((fieldIndex >= fieldTexts.length) || (fieldTexts[fieldIndex] == null)) {
+            return null;
+        }
+        return fieldTexts[fieldIndex][recordIndex];
+    }
+
+    /**
+     * Decodes the texts of a column and updates the size of the records, which have the field.
+     *
+     * @param fieldIndex the index of the field or {@code -1} for the categories
+     */
+    private static @Nullable String[] decodeTextColumn(ColumnarEncoding.Input input,
+                                                       int recordCount,
+                                                       int[] sizes,
+                                                       int fieldIndex) throws IOException {
+        int dictionarySize = input.readVarInt();
+        if (dictionarySize > recordCount) {
+            throw new IOException("Invalid dictionary size of a columnar column: " + dictionarySize);
+        }
+        String[] dictionary = new String[dictionarySize];
+        for (int textIndex = 0; textIndex < dictionarySize; textIndex++) {
+            dictionary[textIndex] = input.readText();
+        }
+        @Nullable String[] texts = new String[recordCount];
+        for (int recordIndex = 0; recordIndex < recordCount; recordIndex++) {
+            int tag = input.readVarInt();
+            if (tag == ColumnarEncoding.TAG_ABSENT) {
+                continue;
+            }
+            if (tag >= ColumnarEncoding.TAG_FIRST_TEXT) {
+                int textIndex = tag - ColumnarEncoding.TAG_FIRST_TEXT;
+                if (textIndex >= dictionarySize) {
+                    throw new IOException("Invalid tag of a columnar column: " + tag);
+                }
+                texts[recordIndex] = dictionary[textIndex];
+            }
+            sizes[recordIndex] = Math.max(sizes[recordIndex], fieldIndex + 1);
+        }
+        return texts;
+    }
+
+    private final class RecordIterator implements Iterator<TextRecord> {
+
+        private List<TextRecord> blockRecords = List.of();
+        private int position;
+        private boolean endOfBlocks;
+
+        @Override
+        public boolean hasNext() {
+            while ((position == blockRecords.size()) && !endOfBlocks) {
+                try {
+                    List<TextRecord> records = readBlock();
+                    if (records == null) {
+                        endOfBlocks = true;
+                    } else {
+                        blockRecords = records;
+                        position = 0;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedProducerException(new ProducerException(e));
+                }
+            }
+            return position < blockRecords.size();
+        }
+
+        @Override
+        public TextRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return blockRecords.get(position++);
+        }
+
+    }
+
+    private enum State {
+        OPEN,
+        READ_BEFORE,
+        READ_RECORDS,
+        READ_AFTER,
+        CLOSE;
+
+        private State next(State newState) {
+            if ((ordinal() + 1) != newState.ordinal()) {
+                throw new IllegalStateException("Wrong state! " + this + " -> " + newState);
+            }
+            return newState;
+        }
+
+    }
+
+}
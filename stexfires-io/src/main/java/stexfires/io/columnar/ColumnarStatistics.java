@@ -0,0 +1,40 @@
+package stexfires.io.columnar;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The statistics of a text column of a block of a columnar file.
+ * The texts are compared by {@link String#compareTo(String)}.
+ *
+ * @param recordCount the number of records of the block
+ * @param nullCount   the number of records with a {@code null} text or without the field
+ * @param minText     the minimal text or {@code null}, if all texts are {@code null}
+ * @param maxText     the maximal text or {@code null}, if all texts are {@code null}
+ * @see ColumnarFilter#mayMatch(ColumnarStatistics)
+ * @since 0.1
+ */
+public record ColumnarStatistics(int recordCount,
+                                 int nullCount,
+                                 @Nullable String minText,
+                                 @Nullable String maxText) {
+
+    public ColumnarStatistics {
+        if (recordCount < 0) {
+            throw new IllegalArgumentException("recordCount < 0");
+        }
+        if ((nullCount < 0) || (nullCount > recordCount)) {
+            throw new IllegalArgumentException("nullCount");
+        }
+        if ((nullCount < recordCount) != ((minText != null) && (maxText != null))) {
+            throw new IllegalArgumentException("minText and maxText must be set for non-null texts");
+        }
+    }
+
+    /**
+     * Returns the number of records with a text.
+     */
+    public int textCount() {
+        return recordCount - nullCount;
+    }
+
+}
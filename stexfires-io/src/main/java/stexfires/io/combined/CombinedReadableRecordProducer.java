@@ -8,6 +8,7 @@ import stexfires.record.producer.UncheckedProducerException;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -39,6 +40,25 @@ public final class CombinedReadableRecordProducer<PTR extends TextRecord> implem
         return TextRecordStreams.concatTwoStreams(firstRecordStream, secondRecordStream);
     }
 
+    @Override
+    public Stream<PTR> readRecordsInParallel(int batchSize) throws ProducerException, UncheckedProducerException, IOException {
+        Stream<? extends PTR> firstRecordStream = firstProducer.readRecordsInParallel(batchSize);
+        Stream<? extends PTR> secondRecordStream = secondProducer.readRecordsInParallel(batchSize);
+        return TextRecordStreams.concatTwoStreams(firstRecordStream, secondRecordStream);
+    }
+
+    @Override
+    public Stream<Supplier<Optional<PTR>>> readRecordSuppliers() throws ProducerException, UncheckedProducerException, IOException {
+        Stream<Supplier<Optional<PTR>>> firstSupplierStream = widenRecordSuppliers(firstProducer.readRecordSuppliers());
+        Stream<Supplier<Optional<PTR>>> secondSupplierStream = widenRecordSuppliers(secondProducer.readRecordSuppliers());
+        return Stream.concat(firstSupplierStream, secondSupplierStream);
+    }
+
+    private static <PTR extends TextRecord, T extends PTR> Stream<Supplier<Optional<PTR>>> widenRecordSuppliers(
+            Stream<Supplier<Optional<T>>> supplierStream) {
+        return supplierStream.map(supplier -> () -> supplier.get().map(record -> record));
+    }
+
     @Override
     public void readAfter() throws ProducerException, UncheckedProducerException, IOException {
         firstProducer.readAfter();
@@ -0,0 +1,160 @@
+package stexfires.io.compression;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The index of the blocks of a block-compressed gzip file.
+ * <p>
+ * It is written by {@link BlockGzipOutputStream} into a sidecar file (see {@link #sidecarPath(Path)})
+ * and allows {@link BlockGzipInputStream} to start reading at any block.
+ *
+ * @param blocks the blocks in the order of the file
+ * @see BlockGzipSpec#blockIndex()
+ * @since 0.1
+ */
+public record BlockGzipIndex(List<Block> blocks) {
+
+    public static final String SIDECAR_FILE_EXTENSION = ".bgzi";
+
+    private static final int MAGIC_NUMBER = 0x42475A49; // "BGZI"
+    private static final int VERSION = 1;
+
+    public BlockGzipIndex {
+        Objects.requireNonNull(blocks);
+        blocks = List.copyOf(blocks);
+        long compressedOffset = 0L;
+        long uncompressedOffset = 0L;
+        for (Block block : blocks) {
+            if ((block.compressedOffset() != compressedOffset) || (block.uncompressedOffset() != uncompressedOffset)) {
+                throw new IllegalArgumentException("blocks are not contiguous");
+            }
+            compressedOffset += block.compressedSize();
+            uncompressedOffset += block.uncompressedSize();
+        }
+    }
+
+    /**
+     * Returns the path of the sidecar file of the block-compressed gzip file.
+     */
+    public static Path sidecarPath(Path filePath) {
+        Objects.requireNonNull(filePath);
+        Path fileName = filePath.getFileName();
+        if (fileName == null) {
+            throw new IllegalArgumentException("filePath has no file name");
+        }
+        return filePath.resolveSibling(fileName + SIDECAR_FILE_EXTENSION);
+    }
+
+    public static BlockGzipIndex read(Path indexPath) throws IOException {
+        Objects.requireNonNull(indexPath);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if ((input.readInt() != MAGIC_NUMBER) || (input.readInt() != VERSION)) {
+                throw new IOException("Not a block gzip index: " + indexPath);
+            }
+            int blockCount = input.readInt();
+            if (blockCount < 0) {
+                throw new IOException("Invalid block count of the block gzip index: " + blockCount);
+            }
+            List<Block> blocks = new ArrayList<>(Math.min(blockCount, 1024));
+            for (int index = 0; index < blockCount; index++) {
+                blocks.add(new Block(input.readLong(), input.readInt(), input.readLong(), input.readInt()));
+            }
+            return new BlockGzipIndex(blocks);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid block gzip index: " + indexPath, e);
+        }
+    }
+
+    public void write(Path indexPath) throws IOException {
+        Objects.requireNonNull(indexPath);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            output.writeInt(blocks.size());
+            for (Block block : blocks) {
+                output.writeLong(block.compressedOffset());
+                output.writeInt(block.compressedSize());
+                output.writeLong(block.uncompressedOffset());
+                output.writeInt(block.uncompressedSize());
+            }
+        }
+    }
+
+    public int blockCount() {
+        return blocks.size();
+    }
+
+    public long compressedSize() {
+        return blocks.isEmpty() ? 0L : blocks.getLast().compressedEnd();
+    }
+
+    public long uncompressedSize() {
+        return blocks.isEmpty() ? 0L : blocks.getLast().uncompressedEnd();
+    }
+
+    /**
+     * Returns the index of the block, which contains the byte at the uncompressed offset.
+     */
+    public int blockIndexOf(long uncompressedOffset) {
+        if ((uncompressedOffset < 0L) || (uncompressedOffset >= uncompressedSize())) {
+            throw new IllegalArgumentException("uncompressedOffset out of range");
+        }
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blocks.get(middle).uncompressedOffset() <= uncompressedOffset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A block of a block-compressed gzip file, which is a complete gzip member.
+     *
+     * @param compressedOffset   the position of the gzip member in the file
+     * @param compressedSize     the size of the gzip member
+     * @param uncompressedOffset the position of the first uncompressed byte of the block
+     * @param uncompressedSize   the number of uncompressed bytes
+     */
+    public record Block(long compressedOffset,
+                        int compressedSize,
+                        long uncompressedOffset,
+                        int uncompressedSize) {
+
+        public Block {
+            if (compressedOffset < 0L) {
+                throw new IllegalArgumentException("compressedOffset < 0");
+            }
+            if (compressedSize <= 0) {
+                throw new IllegalArgumentException("compressedSize <= 0");
+            }
+            if (uncompressedOffset < 0L) {
+                throw new IllegalArgumentException("uncompressedOffset < 0");
+            }
+            if (uncompressedSize < 0) {
+                throw new IllegalArgumentException("uncompressedSize < 0");
+            }
+        }
+
+        public long compressedEnd() {
+            return compressedOffset + compressedSize;
+        }
+
+        public long uncompressedEnd() {
+            return uncompressedOffset + uncompressedSize;
+        }
+
+    }
+
+}
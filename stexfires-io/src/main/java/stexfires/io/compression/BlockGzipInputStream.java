@@ -0,0 +1,231 @@
+package stexfires.io.compression;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+/**
+ * An {@link InputStream}, which reads a block-compressed gzip file written by {@link BlockGzipOutputStream}
+ * and decompresses its gzip members on a pool of threads.
+ * <p>
+ * The calling thread reads the compressed members and hands them over to the pool.
+ * Up to {@link BlockGzipSpec#readAheadBlockCount()} members are decompressed ahead of the calling thread.
+ * The CRC-32 and the size of every member are checked.
+ * <p>
+ * A gzip file of another writer is recognized by its first member and decompressed sequentially
+ * by a {@link GZIPInputStream}.
+ * <p>
+ * It is not thread-safe and must be used by one thread at a time.
+ *
+ * @see BlockGzipSpec
+ * @see BlockGzipOutputStream
+ * @see BlockGzipIndex
+ * @since 0.1
+ */
+public final class BlockGzipInputStream extends InputStream {
+
+    private static final String THREAD_NAME_PREFIX = "stexfires-gzip-decompress-";
+    private static final byte[] EMPTY_BLOCK = new byte[0];
+
+    private final InputStream inputStream;
+    private final BlockGzipSpec spec;
+    private final ExecutorService executorService;
+    private final Deque<Future<byte[]>> pendingBlocks;
+    private @Nullable InputStream fallbackStream;
+    private byte[] block;
+    private int position;
+    private boolean firstMember;
+    private boolean endOfMembers;
+    private boolean closed;
+
+    private BlockGzipInputStream(InputStream inputStream, BlockGzipSpec spec, boolean firstMember) {
+        this.inputStream = inputStream;
+        this.spec = spec;
+        this.firstMember = firstMember;
+        executorService = Executors.newFixedThreadPool(spec.threadCount(),
+                Thread.ofPlatform().name(THREAD_NAME_PREFIX, 0).daemon().factory());
+        pendingBlocks = new ArrayDeque<>(spec.readAheadBlockCount());
+        block = EMPTY_BLOCK;
+    }
+
+    /**
+     * Creates a new {@code BlockGzipInputStream}.
+     *
+     * @param inputStream the input stream. It is closed by {@link #close()}.
+     * @param spec        the number of threads and the number of blocks read ahead
+     */
+    public static BlockGzipInputStream of(InputStream inputStream, BlockGzipSpec spec) {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(spec);
+        return new BlockGzipInputStream(inputStream, spec, true);
+    }
+
+    /**
+     * Opens the file as a {@code BlockGzipInputStream}.
+     *
+     * @see java.nio.file.Files#newInputStream(java.nio.file.Path, java.nio.file.OpenOption...)
+     */
+    public static BlockGzipInputStream openFile(Path filePath, BlockGzipSpec spec) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(spec);
+        return new BlockGzipInputStream(Files.newInputStream(filePath), spec, true);
+    }
+
+    /**
+     * Opens the file as a {@code BlockGzipInputStream}, which starts reading at the block.
+     * The position of the block is read from the sidecar file {@link BlockGzipIndex#sidecarPath(Path)}.
+     *
+     * @param firstBlock the index of the first block to read
+     * @throws IOException if the sidecar file can not be read or does not match the file
+     * @see BlockGzipIndex#blockIndexOf(long)
+     */
+    public static BlockGzipInputStream openFile(Path filePath, BlockGzipSpec spec, int firstBlock) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(spec);
+        BlockGzipIndex blockIndex = BlockGzipIndex.read(BlockGzipIndex.sidecarPath(filePath));
+        if ((firstBlock < 0) || (firstBlock >= blockIndex.blockCount())) {
+            throw new IllegalArgumentException("firstBlock out of range");
+        }
+        SeekableByteChannel channel = Files.newByteChannel(filePath);
+        try {
+            if (channel.size() != blockIndex.compressedSize()) {
+                throw new IOException("The block index does not match the file: " + filePath);
+            }
+            channel.position(blockIndex.blocks().get(firstBlock).compressedOffset());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new BlockGzipInputStream(Channels.newInputStream(channel), spec, false);
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        while (position == block.length) {
+            if (!nextBlock()) {
+                return (fallbackStream != null) ? fallbackStream.read() : -1;
+            }
+        }
+        return block[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+        if (len == 0) {
+            return 0;
+        }
+        while (position == block.length) {
+            if (!nextBlock()) {
+                return (fallbackStream != null) ? fallbackStream.read(b, off, len) : -1;
+            }
+        }
+        int count = Math.min(len, block.length - position);
+        System.arraycopy(block, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return (fallbackStream != null) ? fallbackStream.available() : block.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pendingBlocks.forEach(future -> future.cancel(true));
+        pendingBlocks.clear();
+        executorService.shutdownNow();
+        if (fallbackStream != null) {
+            fallbackStream.close();
+        } else {
+            inputStream.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        readAhead();
+        Future<byte[]> next = pendingBlocks.pollFirst();
+        if (next == null) {
+            return false;
+        }
+        block = await(next);
+        position = 0;
+        // keep the threads busy, while the calling thread reads the block
+        readAhead();
+        return true;
+    }
+
+    private void readAhead() throws IOException {
+        while (!endOfMembers && (pendingBlocks.size() < spec.readAheadBlockCount())) {
+            byte[] member = readMember();
+            if (member == null) {
+                endOfMembers = true;
+            } else {
+                pendingBlocks.addLast(executorService.submit(() -> BlockGzipMembers.decompress(member)));
+            }
+        }
+    }
+
+    private byte @Nullable [] readMember() throws IOException {
+        byte[] header = inputStream.readNBytes(BlockGzipMembers.HEADER_LENGTH);
+        if (header.length == 0) {
+            return null;
+        }
+        int memberSize = BlockGzipMembers.memberSize(header);
+        if (memberSize < 0) {
+            if (firstMember) {
+                fallbackStream = new GZIPInputStream(new SequenceInputStream(new ByteArrayInputStream(header), inputStream));
+                return null;
+            }
+            throw new ZipException("Not a block gzip member.");
+        }
+        firstMember = false;
+        byte[] member = Arrays.copyOf(header, memberSize);
+        int count = inputStream.readNBytes(member, header.length, memberSize - header.length);
+        if (count != memberSize - header.length) {
+            throw new EOFException("Unexpected end of a block gzip member.");
+        }
+        return member;
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a decompressed block.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Decompressing a block failed.", e.getCause());
+        }
+    }
+
+}
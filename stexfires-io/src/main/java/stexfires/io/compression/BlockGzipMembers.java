@@ -0,0 +1,163 @@
+package stexfires.io.compression;
+
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * This class consists of {@code static} utility methods
+ * for compressing and decompressing the gzip members of a block-compressed gzip file.
+ * <p>
+ * Every member has the fixed header of RFC 1952 with the flag {@code FEXTRA} and one extra subfield
+ * ({@code SI1 = 'S'}, {@code SI2 = 'X'}), which contains the size of the whole member.
+ * So a reader can find the next member without decompressing the current one.
+ * Other gzip readers ignore the extra subfield.
+ *
+ * @see <a href="https://www.rfc-editor.org/info/rfc1952">RFC 1952 (rfc-editor)</a>
+ * @since 0.1
+ */
+final class BlockGzipMembers {
+
+    static final int HEADER_LENGTH = 20;
+    static final int TRAILER_LENGTH = 8;
+    static final int MAX_MEMBER_SIZE = BlockGzipSpec.MAX_BLOCK_SIZE + BlockGzipSpec.MAX_BLOCK_SIZE / 8;
+
+    private static final int ID1 = 0x1F;
+    private static final int ID2 = 0x8B;
+    private static final int CM_DEFLATE = 8;
+    private static final int FLG_FEXTRA = 4;
+    private static final int OS_UNKNOWN = 255;
+    private static final int XLEN = 8;
+    private static final int SI1 = 'S';
+    private static final int SI2 = 'X';
+    private static final int SUBFIELD_LENGTH = 4;
+
+    private BlockGzipMembers() {
+    }
+
+    /**
+     * Compresses the data into a complete gzip member.
+     */
+    static byte[] compress(byte[] data, int length, int compressionLevel) {
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            byte[] member = new byte[HEADER_LENGTH + length / 2 + 64 + TRAILER_LENGTH];
+            int position = HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (position == member.length - TRAILER_LENGTH) {
+                    member = Arrays.copyOf(member, 2 * member.length);
+                }
+                position += deflater.deflate(member, position, member.length - TRAILER_LENGTH - position);
+            }
+            CRC32 crc32 = new CRC32();
+            crc32.update(data, 0, length);
+            writeInt(member, position, (int) crc32.getValue());
+            writeInt(member, position + 4, length);
+            int memberSize = position + TRAILER_LENGTH;
+            writeHeader(member, memberSize);
+            return (memberSize == member.length) ? member : Arrays.copyOf(member, memberSize);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the size of the whole member from its header
+     * or {@code -1}, if the header is not a header of a block-compressed gzip member.
+     *
+     * @throws ZipException if the member size of the header is invalid
+     */
+    static int memberSize(byte[] header) throws ZipException {
+        if ((header.length < HEADER_LENGTH)
+                || ((header[0] & 0xFF) != ID1)
+                || ((header[1] & 0xFF) != ID2)
+                || (header[2] != CM_DEFLATE)
+                || (header[3] != FLG_FEXTRA)
+                || (readShort(header, 10) != XLEN)
+                || (header[12] != SI1)
+                || (header[13] != SI2)
+                || (readShort(header, 14) != SUBFIELD_LENGTH)) {
+            return -1;
+        }
+        int memberSize = readInt(header, 16);
+        if ((memberSize < HEADER_LENGTH + TRAILER_LENGTH) || (memberSize > MAX_MEMBER_SIZE)) {
+            throw new ZipException("Invalid size of a block gzip member: " + memberSize);
+        }
+        return memberSize;
+    }
+
+    /**
+     * Decompresses a complete gzip member and checks its CRC-32 and size.
+     */
+    static byte[] decompress(byte[] member) throws ZipException {
+        int trailerPosition = member.length - TRAILER_LENGTH;
+        int uncompressedSize = readInt(member, trailerPosition + 4);
+        if ((uncompressedSize < 0) || (uncompressedSize > BlockGzipSpec.MAX_BLOCK_SIZE)) {
+            throw new ZipException("Invalid uncompressed size of a block gzip member: " + uncompressedSize);
+        }
+        byte[] data = new byte[uncompressedSize];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(member, HEADER_LENGTH, trailerPosition - HEADER_LENGTH);
+            int position = 0;
+            while (!inflater.finished() && (position < uncompressedSize)) {
+                int count = inflater.inflate(data, position, uncompressedSize - position);
+                if (count == 0 && !inflater.finished()) {
+                    throw new ZipException("Truncated block gzip member.");
+                }
+                position += count;
+            }
+            if (!inflater.finished() && ((inflater.inflate(new byte[1]) != 0) || !inflater.finished())) {
+                throw new ZipException("The block gzip member is larger than its uncompressed size.");
+            }
+            if ((position != uncompressedSize) || (inflater.getRemaining() != 0)) {
+                throw new ZipException("Invalid block gzip member.");
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Invalid block gzip member: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        if ((int) crc32.getValue() != readInt(member, trailerPosition)) {
+            throw new ZipException("CRC-32 mismatch of a block gzip member.");
+        }
+        return data;
+    }
+
+    private static void writeHeader(byte[] member, int memberSize) {
+        member[0] = (byte) ID1;
+        member[1] = (byte) ID2;
+        member[2] = CM_DEFLATE;
+        member[3] = FLG_FEXTRA;
+        writeInt(member, 4, 0); // MTIME
+        member[8] = 0; // XFL
+        member[9] = (byte) OS_UNKNOWN;
+        writeShort(member, 10, XLEN);
+        member[12] = SI1;
+        member[13] = SI2;
+        writeShort(member, 14, SUBFIELD_LENGTH);
+        writeInt(member, 16, memberSize);
+    }
+
+    private static int readShort(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF) | ((bytes[position + 1] & 0xFF) << 8);
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return readShort(bytes, position) | (readShort(bytes, position + 2) << 16);
+    }
+
+    private static void writeShort(byte[] bytes, int position, int value) {
+        bytes[position] = (byte) value;
+        bytes[position + 1] = (byte) (value >>> 8);
+    }
+
+    private static void writeInt(byte[] bytes, int position, int value) {
+        writeShort(bytes, position, value);
+        writeShort(bytes, position + 2, value >>> 16);
+    }
+
+}
@@ -0,0 +1,217 @@
+package stexfires.io.compression;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * An {@link OutputStream}, which compresses the bytes in independent blocks on a pool of threads
+ * and writes every block as a complete gzip member (like {@code pigz}).
+ * The concatenated members are a valid gzip file, which can be read by every gzip reader.
+ * <p>
+ * If a full block contains a line feed byte, the block ends after the last line feed and the remaining bytes
+ * start the next block. So for charsets like UTF-8 or ISO-8859-1 every block starts at the beginning of a line.
+ * {@link #flush()} ends the current block, waits for all compressed blocks and writes them.
+ * The number of blocks, which are compressed or wait for being written, is limited
+ * by {@link BlockGzipSpec#maxPendingBlockCount()}.
+ * <p>
+ * {@link #close()} writes the remaining blocks, closes the underlying stream
+ * and writes the {@link BlockGzipIndex} sidecar file, if it was opened by
+ * {@link #openFile(Path, BlockGzipSpec, OpenOption...)} with {@link BlockGzipSpec#blockIndex()}.
+ * <p>
+ * It is not thread-safe and must be used by one thread at a time.
+ *
+ * @see BlockGzipSpec
+ * @see BlockGzipInputStream
+ * @since 0.1
+ */
+public final class BlockGzipOutputStream extends OutputStream {
+
+    private static final String THREAD_NAME_PREFIX = "stexfires-gzip-compress-";
+    private static final byte LINE_FEED = '\n';
+
+    private final OutputStream outputStream;
+    private final BlockGzipSpec spec;
+    private final @Nullable Path indexPath;
+    private final ExecutorService executorService;
+    private final Deque<Future<CompressedBlock>> pendingBlocks;
+    private final List<BlockGzipIndex.Block> blocks;
+    private byte[] buffer;
+    private int position;
+    private long compressedOffset;
+    private long uncompressedOffset;
+    private boolean closed;
+
+    private BlockGzipOutputStream(OutputStream outputStream, BlockGzipSpec spec, @Nullable Path indexPath) {
+        this.outputStream = outputStream;
+        this.spec = spec;
+        this.indexPath = indexPath;
+        executorService = Executors.newFixedThreadPool(spec.threadCount(),
+                Thread.ofPlatform().name(THREAD_NAME_PREFIX, 0).daemon().factory());
+        pendingBlocks = new ArrayDeque<>(spec.maxPendingBlockCount());
+        blocks = new ArrayList<>();
+        buffer = new byte[spec.blockSize()];
+    }
+
+    /**
+     * Creates a new {@code BlockGzipOutputStream} without a block index sidecar file.
+     *
+     * @param outputStream the output stream. It is closed by {@link #close()}.
+     * @param spec         the block size, the number of threads and the compression level
+     */
+    public static BlockGzipOutputStream of(OutputStream outputStream, BlockGzipSpec spec) {
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(spec);
+        return new BlockGzipOutputStream(outputStream, spec, null);
+    }
+
+    /**
+     * Opens the file as a {@code BlockGzipOutputStream}.
+     * If {@link BlockGzipSpec#blockIndex()} is {@code true}, the block index is written
+     * into the sidecar file {@link BlockGzipIndex#sidecarPath(Path)} by {@link #close()}.
+     *
+     * @see java.nio.file.Files#newOutputStream(java.nio.file.Path, java.nio.file.OpenOption...)
+     */
+    public static BlockGzipOutputStream openFile(Path filePath, BlockGzipSpec spec, OpenOption... writeOptions) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(spec);
+        Objects.requireNonNull(writeOptions);
+        Path indexPath = spec.blockIndex() ? BlockGzipIndex.sidecarPath(filePath) : null;
+        return new BlockGzipOutputStream(Files.newOutputStream(filePath, writeOptions), spec, indexPath);
+    }
+
+    /**
+     * Returns the index of all blocks written to the underlying stream so far.
+     */
+    public BlockGzipIndex blockIndex() {
+        return new BlockGzipIndex(blocks);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (position == buffer.length) {
+            submitFullBlock();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (position == buffer.length) {
+                submitFullBlock();
+            }
+            int count = Math.min(remaining, buffer.length - position);
+            System.arraycopy(b, offset, buffer, position, count);
+            position += count;
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (position > 0) {
+            submitBlock(position);
+        }
+        writePendingBlocks(0);
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (outputStream) {
+            // An empty file is not a valid gzip file, therefore an empty member is written.
+            if ((position > 0) || (blocks.isEmpty() && pendingBlocks.isEmpty())) {
+                submitBlock(position);
+            }
+            writePendingBlocks(0);
+        } finally {
+            executorService.shutdownNow();
+        }
+        if (indexPath != null) {
+            blockIndex().write(indexPath);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submitFullBlock() throws IOException {
+        int blockLength = buffer.length;
+        for (int index = buffer.length - 1; index >= 0; index--) {
+            if (buffer[index] == LINE_FEED) {
+                blockLength = index + 1;
+                break;
+            }
+        }
+        submitBlock(blockLength);
+    }
+
+    /**
+     * Submits the first bytes of the buffer as a block and moves the remaining bytes into a new buffer.
+     */
+    private void submitBlock(int blockLength) throws IOException {
+        byte[] blockData = buffer;
+        int compressionLevel = spec.compressionLevel();
+        pendingBlocks.addLast(executorService.submit(() ->
+                new CompressedBlock(BlockGzipMembers.compress(blockData, blockLength, compressionLevel), blockLength)));
+        buffer = new byte[spec.blockSize()];
+        System.arraycopy(blockData, blockLength, buffer, 0, position - blockLength);
+        position -= blockLength;
+        writePendingBlocks(spec.maxPendingBlockCount() - 1);
+    }
+
+    /**
+     * Writes the compressed blocks in their order, until at most {@code maxPendingBlockCount} blocks are pending.
+     * Blocks, which are already compressed, are written too.
+     */
+    private void writePendingBlocks(int maxPendingBlockCount) throws IOException {
+        Future<CompressedBlock> next = pendingBlocks.peekFirst();
+        while ((next != null) && ((pendingBlocks.size() > maxPendingBlockCount) || next.isDone())) {
+            CompressedBlock compressedBlock = await(next);
+            pendingBlocks.removeFirst();
+            outputStream.write(compressedBlock.member());
+            blocks.add(new BlockGzipIndex.Block(compressedOffset, compressedBlock.member().length,
+                    uncompressedOffset, compressedBlock.uncompressedSize()));
+            compressedOffset += compressedBlock.member().length;
+            uncompressedOffset += compressedBlock.uncompressedSize();
+            next = pendingBlocks.peekFirst();
+        }
+    }
+
+    private static CompressedBlock await(Future<CompressedBlock> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a compressed block.");
+        } catch (ExecutionException e) {
+            throw new IOException("Compressing a block failed.", e.getCause());
+        }
+    }
+
+    private record CompressedBlock(byte[] member, int uncompressedSize) {
+    }
+
+}
@@ -0,0 +1,70 @@
+package stexfires.io.compression;
+
+import java.util.zip.*;
+
+/**
+ * The configuration of a block-compressed gzip file.
+ * <p>
+ * The data is split into blocks of at most {@code blockSize} bytes.
+ * Every block is compressed independently as a complete gzip member, so the file can be read by every gzip reader.
+ *
+ * @param blockSize           the maximal number of uncompressed bytes of a block
+ * @param threadCount         the number of threads, which compress or decompress the blocks
+ * @param readAheadBlockCount the maximal number of blocks, which are decompressed ahead of the reading thread
+ * @param compressionLevel    the compression level from {@code 0} to {@code 9}
+ *                            or {@link Deflater#DEFAULT_COMPRESSION}
+ * @param blockIndex          if a {@link BlockGzipIndex} sidecar file is written next to the file
+ * @see BlockGzipOutputStream
+ * @see BlockGzipInputStream
+ * @since 0.1
+ */
+public record BlockGzipSpec(int blockSize,
+                            int threadCount,
+                            int readAheadBlockCount,
+                            int compressionLevel,
+                            boolean blockIndex) {
+
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    public static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    public BlockGzipSpec {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize <= 0");
+        }
+        if (blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("blockSize > MAX_BLOCK_SIZE");
+        }
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("threadCount <= 0");
+        }
+        if (readAheadBlockCount <= 0) {
+            throw new IllegalArgumentException("readAheadBlockCount <= 0");
+        }
+        if ((compressionLevel < Deflater.DEFAULT_COMPRESSION) || (compressionLevel > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("compressionLevel");
+        }
+    }
+
+    /**
+     * Returns a configuration with the default block size and compression level, a block index
+     * and two blocks read ahead per thread.
+     */
+    public static BlockGzipSpec of(int threadCount) {
+        return new BlockGzipSpec(DEFAULT_BLOCK_SIZE, threadCount, 2 * threadCount, Deflater.DEFAULT_COMPRESSION, true);
+    }
+
+    /**
+     * Returns a configuration with one thread per available processor.
+     */
+    public static BlockGzipSpec ofAvailableProcessors() {
+        return of(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the maximal number of blocks, which are compressed at the same time or wait for being written.
+     */
+    public int maxPendingBlockCount() {
+        return 2 * threadCount;
+    }
+
+}
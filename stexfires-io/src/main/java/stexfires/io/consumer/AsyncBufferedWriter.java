@@ -0,0 +1,262 @@
+package stexfires.io.consumer;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.util.CharsetCoding;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * A {@link BufferedWriter}, which encodes and writes the chars on a dedicated writer thread.
+ * <p>
+ * The calling thread only copies the chars into a chunk. A full chunk is handed over to the writer thread
+ * through a bounded ring of chunks (see {@link AsyncWriterSpec}) and written by an {@link java.io.OutputStreamWriter}.
+ * The calling thread only blocks, if all chunks are in use.
+ * The time it was blocked is returned by {@link #blockedDuration()}.
+ * <p>
+ * An exception of the writer thread is rethrown by the next write, {@link #flush()} or {@link #close()}.
+ * {@link #flush()} waits until the writer thread has written and flushed all chars.
+ * {@link #close()} waits until the writer thread has closed the {@link OutputStream}.
+ * <p>
+ * Like all {@link WritableRecordConsumer}s it is not thread-safe and must be used by one thread at a time.
+ *
+ * @see AsyncWriterSpec
+ * @since 0.1
+ */
+public final class AsyncBufferedWriter extends BufferedWriter {
+
+    private static final String THREAD_NAME = "stexfires-async-writer";
+    private static final Chunk END = new Chunk(null, 0, null);
+
+    private final BlockingQueue<char[]> freeChunks;
+    private final BlockingQueue<Chunk> filledChunks;
+    private final Writer writer;
+    private final Thread writerThread;
+    private final AtomicLong blockedNanos;
+    private volatile @Nullable Exception failure;
+    private char[] current;
+    private int position;
+    private boolean closed;
+
+    private AsyncBufferedWriter(Writer writer, AsyncWriterSpec asyncWriterSpec) {
+        super(Writer.nullWriter(), 1);
+        this.writer = writer;
+        freeChunks = new ArrayBlockingQueue<>(asyncWriterSpec.bufferCount());
+        for (int index = 1; index < asyncWriterSpec.bufferCount(); index++) {
+            freeChunks.add(new char[asyncWriterSpec.bufferSize()]);
+        }
+        // all chunks and one flush or END marker
+        filledChunks = new ArrayBlockingQueue<>(asyncWriterSpec.bufferCount() + 1);
+        writerThread = Thread.ofPlatform().name(THREAD_NAME).daemon().unstarted(this::runWriter);
+        blockedNanos = new AtomicLong();
+        current = new char[asyncWriterSpec.bufferSize()];
+    }
+
+    /**
+     * Creates a new {@code AsyncBufferedWriter} and starts its writer thread.
+     *
+     * @param outputStream    the output stream. It is closed by {@link #close()}.
+     * @param charsetCoding   the charset coding used by the writer thread
+     * @param asyncWriterSpec the number and size of the chunks
+     */
+    public static AsyncBufferedWriter of(OutputStream outputStream,
+                                         CharsetCoding charsetCoding,
+                                         AsyncWriterSpec asyncWriterSpec) {
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(charsetCoding);
+        Objects.requireNonNull(asyncWriterSpec);
+        AsyncBufferedWriter asyncBufferedWriter = new AsyncBufferedWriter(
+                charsetCoding.newOutputStreamWriter(outputStream), asyncWriterSpec);
+        asyncBufferedWriter.writerThread.start();
+        return asyncBufferedWriter;
+    }
+
+    /**
+     * Returns how long the calling thread was blocked, because all chunks were in use.
+     * Waiting for {@link #flush()} and {@link #close()} is not included.
+     */
+    public Duration blockedDuration() {
+        return Duration.ofNanos(blockedNanos.get());
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (position == current.length) {
+            handOverCurrent();
+        }
+        current[position++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (position == current.length) {
+                handOverCurrent();
+            }
+            int count = Math.min(remaining, current.length - position);
+            System.arraycopy(cbuf, offset, current, position, count);
+            position += count;
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    @Override
+    public void write(String s, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, s.length());
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (position == current.length) {
+                handOverCurrent();
+            }
+            int count = Math.min(remaining, current.length - position);
+            s.getChars(offset, offset + count, current, position);
+            position += count;
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (position > 0) {
+            handOverCurrent();
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        putFilled(new Chunk(null, 0, flushed));
+        try {
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer thread.");
+        }
+        throwFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if ((position > 0) && (failure == null)) {
+                filledChunks.put(new Chunk(current, position, null));
+            }
+            filledChunks.put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer thread.");
+        }
+        throwFailure();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        throwFailure();
+    }
+
+    private void throwFailure() throws IOException {
+        Exception exception = failure;
+        if (exception != null) {
+            throw new IOException("The writer thread failed.", exception);
+        }
+    }
+
+    private void handOverCurrent() throws IOException {
+        putFilled(new Chunk(current, position, null));
+        char[] free = freeChunks.poll();
+        if (free == null) {
+            long start = System.nanoTime();
+            try {
+                free = freeChunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a free chunk.");
+            } finally {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+        current = free;
+        position = 0;
+        throwFailure();
+    }
+
+    private void putFilled(Chunk chunk) throws IOException {
+        try {
+            filledChunks.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while handing over a chunk.");
+        }
+    }
+
+    /**
+     * After a failure the writer thread continues to take the chunks without writing them,
+     * so that the calling thread is never blocked forever.
+     */
+    private void runWriter() {
+        try {
+            Chunk chunk = filledChunks.take();
+            while (chunk != END) {
+                char[] chars = chunk.chars();
+                CountDownLatch flushed = chunk.flushed();
+                if (chars != null) {
+                    if (failure == null) {
+                        try {
+                            writer.write(chars, 0, chunk.length());
+                        } catch (IOException | RuntimeException e) {
+                            failure = e;
+                        }
+                    }
+                    freeChunks.add(chars);
+                } else if (flushed != null) {
+                    if (failure == null) {
+                        try {
+                            writer.flush();
+                        } catch (IOException | RuntimeException e) {
+                            failure = e;
+                        }
+                    }
+                    flushed.countDown();
+                }
+                chunk = filledChunks.take();
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("The writer thread was interrupted.");
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException | RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * A chunk with chars, a flush request or the end.
+     */
+    private record Chunk(char @Nullable [] chars, int length, @Nullable CountDownLatch flushed) {
+    }
+
+}
@@ -0,0 +1,29 @@
+package stexfires.io.consumer;
+
+/**
+ * The ring of chunks of an {@link AsyncBufferedWriter}.
+ *
+ * @param bufferCount the number of chunks. At least two are necessary, so that the calling thread can fill one chunk
+ *                    while the writer thread writes another one.
+ * @param bufferSize  the number of chars of a chunk
+ * @see AsyncBufferedWriter
+ * @see WritableRecordFileSpec#openFileAsConsumer(java.nio.file.Path, AsyncWriterSpec, java.nio.file.OpenOption...)
+ * @since 0.1
+ */
+public record AsyncWriterSpec(int bufferCount, int bufferSize) {
+
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    public static final AsyncWriterSpec DEFAULT = new AsyncWriterSpec(DEFAULT_BUFFER_COUNT, DEFAULT_BUFFER_SIZE);
+
+    public AsyncWriterSpec {
+        if (bufferCount < 2) {
+            throw new IllegalArgumentException("bufferCount < 2");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize <= 0");
+        }
+    }
+
+}
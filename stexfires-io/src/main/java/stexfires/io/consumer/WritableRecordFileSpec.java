@@ -1,6 +1,8 @@
 package stexfires.io.consumer;
 
 import stexfires.io.RecordFileSpec;
+import stexfires.io.compression.BlockGzipOutputStream;
+import stexfires.io.compression.BlockGzipSpec;
 import stexfires.record.TextRecord;
 import stexfires.util.LineSeparator;
 
@@ -43,4 +45,44 @@ public non-sealed interface WritableRecordFileSpec<CTR extends TextRecord, WRC e
         return consumer(Files.newOutputStream(filePath, writeOptions));
     }
 
+    /**
+     * Returns a consumer, which encodes and writes on a dedicated writer thread.
+     * The calling thread only formats the records.
+     *
+     * @see WritableRecordFileSpec#consumer(java.io.BufferedWriter)
+     * @see AsyncBufferedWriter#of(java.io.OutputStream, stexfires.util.CharsetCoding, AsyncWriterSpec)
+     */
+    default WRC consumer(OutputStream outputStream, AsyncWriterSpec asyncWriterSpec) {
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(asyncWriterSpec);
+        return consumer(AsyncBufferedWriter.of(outputStream, charsetCoding(), asyncWriterSpec));
+    }
+
+    /**
+     * Opens the file as a consumer, which encodes and writes on a dedicated writer thread.
+     *
+     * @see WritableRecordFileSpec#consumer(java.io.OutputStream, AsyncWriterSpec)
+     * @see java.nio.file.Files#newOutputStream(java.nio.file.Path, java.nio.file.OpenOption...)
+     */
+    default WRC openFileAsConsumer(Path filePath, AsyncWriterSpec asyncWriterSpec, OpenOption... writeOptions) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(asyncWriterSpec);
+        Objects.requireNonNull(writeOptions);
+        return consumer(Files.newOutputStream(filePath, writeOptions), asyncWriterSpec);
+    }
+
+    /**
+     * Opens the file as a consumer, which writes a block-compressed gzip file.
+     * The blocks are compressed on a pool of threads.
+     *
+     * @see WritableRecordFileSpec#consumer(java.io.OutputStream)
+     * @see BlockGzipOutputStream#openFile(java.nio.file.Path, BlockGzipSpec, java.nio.file.OpenOption...)
+     */
+    default WRC openFileAsConsumer(Path filePath, BlockGzipSpec blockGzipSpec, OpenOption... writeOptions) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(blockGzipSpec);
+        Objects.requireNonNull(writeOptions);
+        return consumer(BlockGzipOutputStream.openFile(filePath, blockGzipSpec, writeOptions));
+    }
+
 }
@@ -0,0 +1,324 @@
+package stexfires.io.delimited;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.util.CharsetCoding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A parser for delimited lines, which scans the bytes of a line for the field delimiter
+ * and decodes every field only once.
+ * <p>
+ * The {@link CharsetCoding} must be ASCII-compatible and the field delimiter must consist of ASCII characters.
+ * Then the bytes of the field delimiter and of the line separators {@code CR} and {@code LF}
+ * can never be part of the encoding of another character.
+ * Fields consisting only of ASCII bytes are decoded without a {@link CharsetDecoder}.
+ * <p>
+ * An empty field results in a {@code null} text.
+ * Missing fields at the end of a line result in {@code null} texts too.
+ * Additional fields are ignored.
+ * <p>
+ * It is {@code immutable} and {@code thread-safe}.
+ *
+ * @see LazyDelimitedRecord
+ * @see CharsetCoding#isAsciiCompatible()
+ * @since 0.1
+ */
+public final class ByteDelimitedParser {
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE = ' ';
+    private static final byte DELETE = 0x7F;
+    private static final int ASCII_SIZE = 128;
+
+    private final CharsetCoding charsetCoding;
+    private final String fieldDelimiter;
+    private final int fieldCount;
+    private final byte[] fieldDelimiterBytes;
+    private final ThreadLocal<CharsetDecoder> decoder;
+
+    /**
+     * @param charsetCoding  an ASCII-compatible {@link CharsetCoding}
+     * @param fieldDelimiter a non-empty field delimiter consisting of ASCII characters without {@code CR} and {@code LF}
+     * @param fieldCount     the number of fields of every record
+     * @throws IllegalArgumentException if a parameter is not valid
+     */
+    public ByteDelimitedParser(CharsetCoding charsetCoding, String fieldDelimiter, int fieldCount) {
+        Objects.requireNonNull(charsetCoding);
+        Objects.requireNonNull(fieldDelimiter);
+        if (!charsetCoding.isAsciiCompatible()) {
+            throw new IllegalArgumentException("charsetCoding is not ASCII-compatible: " + charsetCoding.charset());
+        }
+        if (!isSupportedFieldDelimiter(fieldDelimiter)) {
+            throw new IllegalArgumentException("fieldDelimiter is not supported: " + fieldDelimiter);
+        }
+        if (fieldCount < 0) {
+            throw new IllegalArgumentException("fieldCount < 0");
+        }
+        this.charsetCoding = charsetCoding;
+        this.fieldDelimiter = fieldDelimiter;
+        this.fieldCount = fieldCount;
+        fieldDelimiterBytes = fieldDelimiter.getBytes(StandardCharsets.US_ASCII);
+        decoder = ThreadLocal.withInitial(charsetCoding::newDecoder);
+    }
+
+    /**
+     * Returns whether the field delimiter is non-empty and consists of ASCII characters without {@code CR} and {@code LF}.
+     *
+     * @param fieldDelimiter the field delimiter
+     * @return {@code true} if the field delimiter is supported by a {@link ByteDelimitedParser}
+     */
+    public static boolean isSupportedFieldDelimiter(String fieldDelimiter) {
+        Objects.requireNonNull(fieldDelimiter);
+        return !fieldDelimiter.isEmpty()
+                && fieldDelimiter.chars().allMatch(c -> (c < ASCII_SIZE) && (c != LINE_FEED) && (c != CARRIAGE_RETURN));
+    }
+
+    /**
+     * Returns the index of the first line separator byte ({@code CR} or {@code LF}) in the range
+     * or {@code limit} if the range contains no line separator.
+     *
+     * @param buffer the bytes, which are read with absolute get methods
+     * @param start  the first index of the range (inclusive)
+     * @param limit  the last index of the range (exclusive)
+     * @return the index of the end of the line
+     */
+    public static int lineEnd(ByteBuffer buffer, int start, int limit) {
+        Objects.requireNonNull(buffer);
+        for (int i = start; i < limit; i++) {
+            byte b = buffer.get(i);
+            if ((b == LINE_FEED) || (b == CARRIAGE_RETURN)) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Returns the index of the start of the next line.
+     * The line separators are {@code LF}, {@code CR} and {@code CR LF} like in {@link java.io.BufferedReader#readLine()}.
+     *
+     * @param buffer  the bytes, which are read with absolute get methods
+     * @param lineEnd the end of the line returned by {@link #lineEnd(ByteBuffer, int, int)}
+     * @param limit   the last index of the range (exclusive)
+     * @return the index of the start of the next line
+     */
+    public static int nextLineStart(ByteBuffer buffer, int lineEnd, int limit) {
+        Objects.requireNonNull(buffer);
+        if (lineEnd >= limit) {
+            return limit;
+        }
+        if ((buffer.get(lineEnd) == CARRIAGE_RETURN) && ((lineEnd + 1) < limit) && (buffer.get(lineEnd + 1) == LINE_FEED)) {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    /**
+     * Returns whether the line can be empty or blank after decoding.
+     * It returns {@code false} if the line contains a visible ASCII character.
+     *
+     * @param buffer the bytes, which are read with absolute get methods
+     * @param start  the start of the line (inclusive)
+     * @param end    the end of the line (exclusive)
+     * @return {@code true} if the line can be empty or blank
+     * @see String#isBlank()
+     */
+    public static boolean isPossiblyBlank(ByteBuffer buffer, int start, int end) {
+        Objects.requireNonNull(buffer);
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if ((b > SPACE) && (b < DELETE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of the bytes of the line.
+     *
+     * @param buffer the bytes, which are read with absolute get methods
+     * @param start  the start of the line (inclusive)
+     * @param end    the end of the line (exclusive)
+     * @return a copy of the bytes of the line
+     */
+    public static byte[] copyLine(ByteBuffer buffer, int start, int end) {
+        Objects.requireNonNull(buffer);
+        byte[] line = new byte[end - start];
+        buffer.get(start, line);
+        return line;
+    }
+
+    /**
+     * Returns whether all fields are empty.
+     *
+     * @param fieldBounds the field bounds returned by {@link #fieldBounds(byte[])}
+     * @return {@code true} if all fields are empty and would result in {@code null} texts
+     */
+    public static boolean isAllNullOrEmpty(int[] fieldBounds) {
+        Objects.requireNonNull(fieldBounds);
+        for (int i = 0; i < fieldBounds.length; i += 2) {
+            if (fieldBounds[i] < fieldBounds[i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public CharsetCoding charsetCoding() {
+        return charsetCoding;
+    }
+
+    public String fieldDelimiter() {
+        return fieldDelimiter;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the bounds of the fields of the line.
+     * The begin (inclusive) and end (exclusive) of the field with the index {@code i}
+     * are stored at the indexes {@code 2 * i} and {@code 2 * i + 1}.
+     * If the begin is not less than the end, the field is empty.
+     *
+     * @param line the bytes of a line without line separator
+     * @return the bounds of the fields
+     */
+    public int[] fieldBounds(byte[] line) {
+        Objects.requireNonNull(line);
+        int[] fieldBounds = new int[2 * fieldCount];
+        int beginIndex = 0;
+        for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+            int endIndex = (beginIndex < line.length) ? indexOfFieldDelimiter(line, beginIndex) : line.length;
+            fieldBounds[2 * fieldIndex] = beginIndex;
+            fieldBounds[2 * fieldIndex + 1] = endIndex;
+            beginIndex = endIndex + fieldDelimiterBytes.length;
+        }
+        return fieldBounds;
+    }
+
+    private int indexOfFieldDelimiter(byte[] line, int fromIndex) {
+        byte first = fieldDelimiterBytes[0];
+        int last = line.length - fieldDelimiterBytes.length;
+        for (int i = fromIndex; i <= last; i++) {
+            if (line[i] == first && matchesFieldDelimiter(line, i)) {
+                return i;
+            }
+        }
+        return line.length;
+    }
+
+    private boolean matchesFieldDelimiter(byte[] line, int index) {
+        for (int j = 1; j < fieldDelimiterBytes.length; j++) {
+            if (line[index + j] != fieldDelimiterBytes[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the text of the field with the specified index.
+     *
+     * @param line        the bytes of a line without line separator
+     * @param fieldBounds the field bounds returned by {@link #fieldBounds(byte[])}
+     * @param fieldIndex  the index of the field
+     * @return the decoded text or {@code null} if the field is empty
+     * @throws CharacterCodingException if the {@link CharsetCoding} reports a coding error
+     */
+    public @Nullable String decodeField(byte[] line, int[] fieldBounds, int fieldIndex) throws CharacterCodingException {
+        Objects.requireNonNull(line);
+        Objects.requireNonNull(fieldBounds);
+        int beginIndex = fieldBounds[2 * fieldIndex];
+        int endIndex = fieldBounds[2 * fieldIndex + 1];
+        return (beginIndex < endIndex) ? decode(line, beginIndex, endIndex - beginIndex) : null;
+    }
+
+    /**
+     * Decodes the bytes with the {@link CharsetCoding}.
+     * ASCII bytes are decoded directly.
+     *
+     * @param bytes  the bytes
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the decoded text
+     * @throws CharacterCodingException if the {@link CharsetCoding} reports a coding error
+     */
+    public String decode(byte[] bytes, int offset, int length) throws CharacterCodingException {
+        Objects.requireNonNull(bytes);
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                CharsetDecoder charsetDecoder = decoder.get();
+                charsetDecoder.reset();
+                return charsetDecoder.decode(ByteBuffer.wrap(bytes, offset, length)).toString();
+            }
+        }
+        // All bytes are ASCII characters.
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns a new {@link ManyFieldsRecord} with all fields decoded.
+     *
+     * @param category    the category
+     * @param recordId    the recordId
+     * @param line        the bytes of a line without line separator
+     * @param fieldBounds the field bounds returned by {@link #fieldBounds(byte[])}
+     * @return a new {@link ManyFieldsRecord}
+     * @throws CharacterCodingException if the {@link CharsetCoding} reports a coding error
+     */
+    public ManyFieldsRecord newRecord(@Nullable String category, @Nullable Long recordId,
+                                      byte[] line, int[] fieldBounds) throws CharacterCodingException {
+        return new ManyFieldsRecord(category, recordId, decodeFields(line, fieldBounds));
+    }
+
+    /**
+     * Returns a new {@link ManyTextsRecord} with all fields decoded.
+     *
+     * @param category    the category
+     * @param recordId    the recordId
+     * @param line        the bytes of a line without line separator
+     * @param fieldBounds the field bounds returned by {@link #fieldBounds(byte[])}
+     * @return a new {@link ManyTextsRecord}
+     * @throws CharacterCodingException if the {@link CharsetCoding} reports a coding error
+     */
+    public ManyTextsRecord newCompactRecord(@Nullable String category, @Nullable Long recordId,
+                                           byte[] line, int[] fieldBounds) throws CharacterCodingException {
+        return new ManyTextsRecord(category, recordId, decodeFields(line, fieldBounds));
+    }
+
+    private @Nullable String[] decodeFields(byte[] line, int[] fieldBounds) throws CharacterCodingException {
+        @Nullable String[] texts = new String[fieldCount];
+        for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+            texts[fieldIndex] = decodeField(line, fieldBounds, fieldIndex);
+        }
+        return texts;
+    }
+
+    /**
+     * Returns a new {@link LazyDelimitedRecord}, which decodes the fields when they are accessed.
+     * The line must not be modified afterward.
+     *
+     * @param category    the category
+     * @param recordId    the recordId
+     * @param line        the bytes of a line without line separator
+     * @param fieldBounds the field bounds returned by {@link #fieldBounds(byte[])}
+     * @return a new {@link LazyDelimitedRecord}
+     */
+    public LazyDelimitedRecord newLazyRecord(@Nullable String category, @Nullable Long recordId,
+                                             byte[] line, int[] fieldBounds) {
+        return new LazyDelimitedRecord(this, category, recordId, line, fieldBounds);
+    }
+
+}
@@ -0,0 +1,175 @@
+package stexfires.io.delimited;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextField;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * A {@link TextRecord} of a delimited line, which decodes the text of a field when it is accessed for the first time.
+ * <p>
+ * It keeps the bytes of the line and the bounds of the fields.
+ * A filter or mapper, which accesses only some fields with {@link #textAt(int)} or {@link #fieldAt(int)},
+ * decodes only these fields.
+ * The decoded texts are cached.
+ * <p>
+ * It is {@code immutable} and {@code thread-safe}.
+ * A coding error reported by the {@link stexfires.util.CharsetCoding} is thrown as {@link UncheckedProducerException}
+ * when the field is decoded.
+ * <p>
+ * It is {@link Serializable}, for example for modifiers, which spill records into temporary files.
+ * The bytes of the line are serialized instead of the decoded texts.
+ *
+ * @see ByteDelimitedParser#newLazyRecord(String, Long, byte[], int[])
+ * @since 0.1
+ */
+public final class LazyDelimitedRecord implements TextRecord, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static final String NOT_DECODED = new String();
+
+    private final ByteDelimitedParser parser;
+    private final @Nullable String category;
+    private final @Nullable Long recordId;
+    private final byte[] line;
+    private final int[] fieldBounds;
+    private final @Nullable String[] texts;
+
+    LazyDelimitedRecord(ByteDelimitedParser parser, @Nullable String category, @Nullable Long recordId,
+                        byte[] line, int[] fieldBounds) {
+        Objects.requireNonNull(parser);
+        Objects.requireNonNull(line);
+        Objects.requireNonNull(fieldBounds);
+        if (fieldBounds.length != 2 * parser.fieldCount()) {
+            throw new IllegalArgumentException("Wrong length of fieldBounds: " + fieldBounds.length);
+        }
+        this.parser = parser;
+        this.category = category;
+        this.recordId = recordId;
+        this.line = line;
+        this.fieldBounds = fieldBounds;
+        texts = new String[parser.fieldCount()];
+        Arrays.fill(texts, NOT_DECODED);
+    }
+
+    @Override
+    public @Nullable String category() {
+        return category;
+    }
+
+    @Override
+    public @Nullable Long recordId() {
+        return recordId;
+    }
+
+    @Override
+    public int size() {
+        return texts.length;
+    }
+
+    @SuppressWarnings("StringEquality")
+    @Override
+    public @Nullable String textAt(int index) {
+        if ((index < 0) || (index >= texts.length)) {
+            return null;
+        }
+        // A concurrent access can decode the same field twice, which results in an equal text.
+        String text = texts[index];
+        if (text == NOT_DECODED) {
+            try {
+                text = parser.decodeField(line, fieldBounds, index);
+            } catch (CharacterCodingException e) {
+                throw new UncheckedProducerException(new ProducerException("Field could not be decoded! index=" + index + " recordId=" + recordId, e));
+            }
+            texts[index] = text;
+        }
+        return text;
+    }
+
+    @Override
+    public @Nullable TextField fieldAt(int index) {
+        if ((index < 0) || (index >= texts.length)) {
+            return null;
+        }
+        return new TextField(index, texts.length - 1, textAt(index));
+    }
+
+    @Override
+    public TextField[] arrayOfFields() {
+        TextField[] fields = new TextField[texts.length];
+        for (int index = TextField.FIRST_FIELD_INDEX; index < texts.length; index++) {
+            fields[index] = new TextField(index, texts.length - 1, textAt(index));
+        }
+        return fields;
+    }
+
+    /**
+     * Returns a {@link ManyFieldsRecord} with all fields decoded.
+     * It does not keep the bytes of the line.
+     *
+     * @return a new {@link ManyFieldsRecord}
+     */
+    public ManyFieldsRecord toManyFieldsRecord() {
+        return new ManyFieldsRecord(category, recordId, arrayOfFields());
+    }
+
+    @Override
+    public String toString() {
+        return "LazyDelimitedRecord[" +
+                "category=" + category +
+                ", recordId=" + recordId +
+                ", size=" + texts.length +
+                ']';
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializationProxy(parser.charsetCoding().charset().name(), parser.charsetCoding().codingErrors(),
+                parser.charsetCoding().decoderReplacement(), parser.charsetCoding().encoderReplacement(),
+                parser.fieldDelimiter(), parser.fieldCount(), category, recordId, line, fieldBounds);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream stream) throws InvalidObjectException {
+        throw new InvalidObjectException("A SerializationProxy is required.");
+    }
+
+    /**
+     * The serialized form of a {@link LazyDelimitedRecord}.
+     */
+    private record SerializationProxy(String charsetName,
+                                      CharsetCoding.CodingErrors codingErrors,
+                                      @Nullable String decoderReplacement,
+                                      @Nullable String encoderReplacement,
+                                      String fieldDelimiter,
+                                      int fieldCount,
+                                      @Nullable String category,
+                                      @Nullable Long recordId,
+                                      byte[] line,
+                                      int[] fieldBounds) implements Serializable {
+
+        @Serial
+        private Object readResolve() {
+            CharsetCoding charsetCoding = new CharsetCoding(Charset.forName(charsetName), codingErrors,
+                    decoderReplacement, encoderReplacement);
+            return new LazyDelimitedRecord(new ByteDelimitedParser(charsetCoding, fieldDelimiter, fieldCount),
+                    category, recordId, line, fieldBounds);
+        }
+
+    }
+
+}
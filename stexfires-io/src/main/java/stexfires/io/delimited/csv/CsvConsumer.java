@@ -0,0 +1,123 @@
+package stexfires.io.delimited.csv;
+
+import stexfires.io.internal.AbstractInternalWritableConsumer;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A consumer for {@link CsvFileSpec}.
+ * <p>
+ * A field is quoted if it contains the field delimiter, the quote character or a line break,
+ * if it is empty or if {@code consumerQuoteAlways} is set.
+ * A {@code null} text is written as an empty unquoted field.
+ *
+ * @since 0.1
+ */
+public final class CsvConsumer extends AbstractInternalWritableConsumer<TextRecord> {
+
+    private static final int INITIAL_STRING_BUILDER_CAPACITY = 1_024;
+
+    private final CsvFileSpec fileSpec;
+    private final boolean[] quoteAlways;
+
+    public CsvConsumer(BufferedWriter bufferedWriter, CsvFileSpec fileSpec) {
+        super(bufferedWriter);
+        Objects.requireNonNull(fileSpec);
+        this.fileSpec = fileSpec;
+        quoteAlways = new boolean[fileSpec.fieldSpecs().size()];
+        for (int fieldIndex = 0; fieldIndex < quoteAlways.length; fieldIndex++) {
+            quoteAlways[fieldIndex] = fileSpec.fieldSpecs().get(fieldIndex).determineConsumerQuoteAlways(fileSpec);
+        }
+    }
+
+    static String createRecordString(CsvFileSpec fileSpec,
+                                     boolean[] quoteAlways,
+                                     TextRecord record) {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(quoteAlways);
+        Objects.requireNonNull(record);
+
+        StringBuilder b = new StringBuilder(INITIAL_STRING_BUILDER_CAPACITY);
+
+        for (int fieldIndex = 0; fieldIndex < quoteAlways.length; fieldIndex++) {
+            if (fieldIndex > 0) {
+                b.append(fileSpec.fieldDelimiter());
+            }
+
+            String text = record.textAt(fieldIndex);
+
+            if (text != null) {
+                if (quoteAlways[fieldIndex] || needsQuotes(text, fileSpec.fieldDelimiter(), fileSpec.quoteCharacter())) {
+                    appendQuoted(b, text, fileSpec.quoteCharacter());
+                } else {
+                    b.append(text);
+                }
+            }
+        }
+
+        return b.toString();
+    }
+
+    private static boolean needsQuotes(String text, char fieldDelimiter, char quoteCharacter) {
+        if (text.isEmpty()) {
+            // An empty text is quoted to distinguish it from a null text.
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == fieldDelimiter) || (c == quoteCharacter) || (c == '\n') || (c == '\r')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendQuoted(StringBuilder b, String text, char quoteCharacter) {
+        b.append(quoteCharacter);
+        int beginIndex = 0;
+        int quoteIndex = text.indexOf(quoteCharacter);
+        while (quoteIndex >= 0) {
+            b.append(text, beginIndex, quoteIndex + 1).append(quoteCharacter);
+            beginIndex = quoteIndex + 1;
+            quoteIndex = text.indexOf(quoteCharacter, beginIndex);
+        }
+        b.append(text, beginIndex, text.length());
+        b.append(quoteCharacter);
+    }
+
+    @Override
+    public void writeBefore() throws ConsumerException, UncheckedConsumerException, IOException {
+        super.writeBefore();
+
+        // write text before
+        if (fileSpec.consumerTextBefore() != null) {
+            writeString(fileSpec.consumerTextBefore());
+            writeLineSeparator(fileSpec.consumerLineSeparator());
+        }
+    }
+
+    @Override
+    public void writeRecord(TextRecord record) throws ConsumerException, UncheckedConsumerException, IOException {
+        super.writeRecord(record);
+
+        writeString(createRecordString(fileSpec, quoteAlways, record));
+        writeLineSeparator(fileSpec.consumerLineSeparator());
+    }
+
+    @Override
+    public void writeAfter() throws ConsumerException, UncheckedConsumerException, IOException {
+        super.writeAfter();
+
+        // write text after
+        if (fileSpec.consumerTextAfter() != null) {
+            writeString(fileSpec.consumerTextAfter());
+            writeLineSeparator(fileSpec.consumerLineSeparator());
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package stexfires.io.delimited.csv;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * @since 0.1
+ */
+public record CsvFieldSpec(
+        @Nullable Boolean consumerQuoteAlways
+) {
+
+    public CsvFieldSpec() {
+        this(null);
+    }
+
+    boolean determineConsumerQuoteAlways(CsvFileSpec fileSpec) {
+        Objects.requireNonNull(fileSpec);
+        return (consumerQuoteAlways != null) ? consumerQuoteAlways : fileSpec.consumerQuoteAlways();
+    }
+
+}
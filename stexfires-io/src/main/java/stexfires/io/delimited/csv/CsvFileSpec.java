@@ -0,0 +1,256 @@
+package stexfires.io.delimited.csv;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.consumer.WritableRecordFileSpec;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.io.producer.ReadableRecordFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * A file spec for comma-separated values as described in RFC 4180.
+ * <p>
+ * A field can be enclosed in quote characters.
+ * A quoted field can contain the field delimiter, line breaks and quote characters,
+ * which are escaped by a preceding quote character.
+ * An empty unquoted field results in a {@code null} text and an empty quoted field in an empty text.
+ *
+ * @since 0.1
+ */
+public record CsvFileSpec(
+        CharsetCoding charsetCoding,
+        char fieldDelimiter,
+        char quoteCharacter,
+        int producerSkipFirstLines,
+        ProducerReadLineHandling producerReadLineHandling,
+        int producerIgnoreFirstRecords,
+        int producerIgnoreLastRecords,
+        boolean producerSkipAllNullOrEmpty,
+        boolean producerCompactRecords,
+        LineSeparator consumerLineSeparator,
+        @Nullable String consumerTextBefore,
+        @Nullable String consumerTextAfter,
+        boolean consumerQuoteAlways,
+        List<CsvFieldSpec> fieldSpecs
+) implements ReadableRecordFileSpec<TextRecord, CsvProducer>,
+             WritableRecordFileSpec<TextRecord, CsvConsumer> {
+
+    public static final char FIELD_DELIMITER_COMMA = ',';
+    public static final char FIELD_DELIMITER_SEMICOLON = ';';
+    public static final char FIELD_DELIMITER_CHARACTER_TABULATION = '\t';
+    public static final char QUOTE_CHARACTER_QUOTATION_MARK = '"';
+
+    public static final char DEFAULT_FIELD_DELIMITER = FIELD_DELIMITER_COMMA;
+    public static final char DEFAULT_QUOTE_CHARACTER = QUOTE_CHARACTER_QUOTATION_MARK;
+    public static final int DEFAULT_PRODUCER_SKIP_FIRST_LINES = 0;
+    public static final ProducerReadLineHandling DEFAULT_PRODUCER_READ_LINE_HANDLING = ProducerReadLineHandling.NO_HANDLING;
+    public static final int DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS = 0;
+    public static final int DEFAULT_PRODUCER_IGNORE_LAST_RECORDS = 0;
+    public static final boolean DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY = false;
+    /**
+     * If {@code producerCompactRecords} is {@code true}, the producer creates {@link ManyTextsRecord}s,
+     * which store only the texts, instead of {@link stexfires.record.impl.ManyFieldsRecord}s.
+     */
+    public static final boolean DEFAULT_PRODUCER_COMPACT_RECORDS = false;
+    public static final @Nullable String DEFAULT_CONSUMER_TEXT_BEFORE = null;
+    public static final @Nullable String DEFAULT_CONSUMER_TEXT_AFTER = null;
+    public static final boolean DEFAULT_CONSUMER_QUOTE_ALWAYS = false;
+
+    public CsvFileSpec {
+        Objects.requireNonNull(charsetCoding);
+        if (isLineBreak(fieldDelimiter)) {
+            throw new IllegalArgumentException("fieldDelimiter is a line break");
+        }
+        if (isLineBreak(quoteCharacter)) {
+            throw new IllegalArgumentException("quoteCharacter is a line break");
+        }
+        if (fieldDelimiter == quoteCharacter) {
+            throw new IllegalArgumentException("fieldDelimiter == quoteCharacter");
+        }
+        if (producerSkipFirstLines < 0) {
+            throw new IllegalArgumentException("producerSkipFirstLines < 0");
+        }
+        Objects.requireNonNull(producerReadLineHandling);
+        if (producerIgnoreFirstRecords < 0) {
+            throw new IllegalArgumentException("producerIgnoreFirstRecords < 0");
+        }
+        if (producerIgnoreLastRecords < 0) {
+            throw new IllegalArgumentException("producerIgnoreLastRecords < 0");
+        }
+        Objects.requireNonNull(consumerLineSeparator);
+        Objects.requireNonNull(fieldSpecs);
+        fieldSpecs = List.copyOf(fieldSpecs);
+    }
+
+    /**
+     * Creates a file spec with {@link #DEFAULT_PRODUCER_COMPACT_RECORDS}.
+     */
+    public CsvFileSpec(CharsetCoding charsetCoding,
+                       char fieldDelimiter,
+                       char quoteCharacter,
+                       int producerSkipFirstLines,
+                       ProducerReadLineHandling producerReadLineHandling,
+                       int producerIgnoreFirstRecords,
+                       int producerIgnoreLastRecords,
+                       boolean producerSkipAllNullOrEmpty,
+                       LineSeparator consumerLineSeparator,
+                       @Nullable String consumerTextBefore,
+                       @Nullable String consumerTextAfter,
+                       boolean consumerQuoteAlways,
+                       List<CsvFieldSpec> fieldSpecs) {
+        this(charsetCoding,
+                fieldDelimiter,
+                quoteCharacter,
+                producerSkipFirstLines,
+                producerReadLineHandling,
+                producerIgnoreFirstRecords,
+                producerIgnoreLastRecords,
+                producerSkipAllNullOrEmpty,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
+                consumerLineSeparator,
+                consumerTextBefore,
+                consumerTextAfter,
+                consumerQuoteAlways,
+                fieldSpecs);
+    }
+
+    private static boolean isLineBreak(char character) {
+        return (character == '\n') || (character == '\r');
+    }
+
+    public static CsvFileSpec producerFileSpec(CharsetCoding charsetCoding,
+                                               List<CsvFieldSpec> fieldSpecs) {
+        return producerFileSpec(
+                charsetCoding,
+                DEFAULT_FIELD_DELIMITER,
+                DEFAULT_QUOTE_CHARACTER,
+                DEFAULT_PRODUCER_SKIP_FIRST_LINES,
+                DEFAULT_PRODUCER_READ_LINE_HANDLING,
+                DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS,
+                DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
+                DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
+                fieldSpecs
+        );
+    }
+
+    public static CsvFileSpec producerFileSpec(CharsetCoding charsetCoding,
+                                               char fieldDelimiter,
+                                               char quoteCharacter,
+                                               int producerSkipFirstLines,
+                                               ProducerReadLineHandling producerReadLineHandling,
+                                               int producerIgnoreFirstRecords,
+                                               int producerIgnoreLastRecords,
+                                               boolean producerSkipAllNullOrEmpty,
+                                               List<CsvFieldSpec> fieldSpecs) {
+        return producerFileSpec(
+                charsetCoding,
+                fieldDelimiter,
+                quoteCharacter,
+                producerSkipFirstLines,
+                producerReadLineHandling,
+                producerIgnoreFirstRecords,
+                producerIgnoreLastRecords,
+                producerSkipAllNullOrEmpty,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
+                fieldSpecs
+        );
+    }
+
+    public static CsvFileSpec producerFileSpec(CharsetCoding charsetCoding,
+                                               char fieldDelimiter,
+                                               char quoteCharacter,
+                                               int producerSkipFirstLines,
+                                               ProducerReadLineHandling producerReadLineHandling,
+                                               int producerIgnoreFirstRecords,
+                                               int producerIgnoreLastRecords,
+                                               boolean producerSkipAllNullOrEmpty,
+                                               boolean producerCompactRecords,
+                                               List<CsvFieldSpec> fieldSpecs) {
+        return new CsvFileSpec(
+                charsetCoding,
+                fieldDelimiter,
+                quoteCharacter,
+                producerSkipFirstLines,
+                producerReadLineHandling,
+                producerIgnoreFirstRecords,
+                producerIgnoreLastRecords,
+                producerSkipAllNullOrEmpty,
+                producerCompactRecords,
+                DEFAULT_CONSUMER_LINE_SEPARATOR,
+                DEFAULT_CONSUMER_TEXT_BEFORE,
+                DEFAULT_CONSUMER_TEXT_AFTER,
+                DEFAULT_CONSUMER_QUOTE_ALWAYS,
+                fieldSpecs
+        );
+    }
+
+    public static CsvFileSpec consumerFileSpec(CharsetCoding charsetCoding,
+                                               LineSeparator consumerLineSeparator,
+                                               List<CsvFieldSpec> fieldSpecs) {
+        return consumerFileSpec(
+                charsetCoding,
+                DEFAULT_FIELD_DELIMITER,
+                DEFAULT_QUOTE_CHARACTER,
+                consumerLineSeparator,
+                DEFAULT_CONSUMER_TEXT_BEFORE,
+                DEFAULT_CONSUMER_TEXT_AFTER,
+                DEFAULT_CONSUMER_QUOTE_ALWAYS,
+                fieldSpecs
+        );
+    }
+
+    public static CsvFileSpec consumerFileSpec(CharsetCoding charsetCoding,
+                                               char fieldDelimiter,
+                                               char quoteCharacter,
+                                               LineSeparator consumerLineSeparator,
+                                               @Nullable String consumerTextBefore,
+                                               @Nullable String consumerTextAfter,
+                                               boolean consumerQuoteAlways,
+                                               List<CsvFieldSpec> fieldSpecs) {
+        return new CsvFileSpec(
+                charsetCoding,
+                fieldDelimiter,
+                quoteCharacter,
+                DEFAULT_PRODUCER_SKIP_FIRST_LINES,
+                DEFAULT_PRODUCER_READ_LINE_HANDLING,
+                DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS,
+                DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
+                DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
+                consumerLineSeparator,
+                consumerTextBefore,
+                consumerTextAfter,
+                consumerQuoteAlways,
+                fieldSpecs
+        );
+    }
+
+    public static List<CsvFieldSpec> newFieldSpecs(int number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("number < 0");
+        }
+        var fieldSpec = new CsvFieldSpec();
+        return Stream.generate(() -> fieldSpec).limit(number).toList();
+    }
+
+    @Override
+    public CsvProducer producer(BufferedReader bufferedReader) {
+        Objects.requireNonNull(bufferedReader);
+        return new CsvProducer(bufferedReader, this);
+    }
+
+    @Override
+    public CsvConsumer consumer(BufferedWriter bufferedWriter) {
+        Objects.requireNonNull(bufferedWriter);
+        return new CsvConsumer(bufferedWriter, this);
+    }
+
+}
@@ -0,0 +1,249 @@
+package stexfires.io.delimited.csv;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.internal.AbstractInternalReadableProducer;
+import stexfires.io.producer.AbstractRecordRawDataIterator;
+import stexfires.io.producer.RecordRawData;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+import stexfires.util.function.StringPredicates;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A producer for {@link CsvFileSpec}.
+ * <p>
+ * A record can span several lines, if a quoted field contains line breaks.
+ * The {@link stexfires.io.producer.ProducerReadLineHandling} is only applied to the first line of a record.
+ * Line breaks inside a quoted field are returned as {@code LF}.
+ * A quote character opens a quoted field only at the beginning of a field.
+ * A quote character inside an unquoted field results in a {@link ProducerException}.
+ * <p>
+ * The field delimiters and quote characters are searched with {@link String#indexOf(int, int)},
+ * which is vectorized by the JVM. Lines without a quote character are split without further checks.
+ *
+ * @since 0.1
+ */
+public final class CsvProducer extends AbstractInternalReadableProducer<TextRecord> {
+
+    /**
+     * Maximum number of lines of a record. A quoted field, which is not closed within these lines,
+     * results in a {@link ProducerException} instead of joining the rest of the input.
+     */
+    public static final int MAX_LINES_PER_RECORD = 10_000;
+
+    private static final char LINE_FEED = '\n';
+
+    private final CsvFileSpec fileSpec;
+
+    public CsvProducer(BufferedReader bufferedReader, CsvFileSpec fileSpec) {
+        super(bufferedReader);
+        Objects.requireNonNull(fileSpec);
+        this.fileSpec = fileSpec;
+    }
+
+    @Override
+    public void readBefore() throws ProducerException, UncheckedProducerException, IOException {
+        // Skip first lines by reading lines from the buffer without reading Records with the Iterator.
+        if (fileSpec.producerSkipFirstLines() > 0) {
+            for (int i = 0; i < fileSpec.producerSkipFirstLines(); i++) {
+                bufferedReader().readLine();
+            }
+        }
+
+        super.readBefore();
+    }
+
+    @Override
+    protected AbstractRecordRawDataIterator createIterator() {
+        return new CsvIterator(bufferedReader(), fileSpec);
+    }
+
+    static @Nullable TextRecord createRecord(CsvFileSpec fileSpec,
+                                             @Nullable String category,
+                                             @Nullable Long recordId,
+                                             String rawData) {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(rawData);
+        TextRecord record;
+
+        @Nullable String[] texts = convertRawDataIntoTexts(fileSpec, rawData);
+
+        boolean skipAllNullOrEmpty = fileSpec.producerSkipAllNullOrEmpty()
+                && Arrays.stream(texts).allMatch(StringPredicates.isNullOrEmpty());
+
+        if (skipAllNullOrEmpty) {
+            record = null;
+        } else {
+            record = fileSpec.producerCompactRecords()
+                    ? new ManyTextsRecord(category, recordId, texts)
+                    : new ManyFieldsRecord(category, recordId, texts);
+        }
+
+        return record;
+    }
+
+    static @Nullable String[] convertRawDataIntoTexts(CsvFileSpec fileSpec, String rawData) {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(rawData);
+        @Nullable String[] texts = new String[fileSpec.fieldSpecs().size()];
+        char fieldDelimiter = fileSpec.fieldDelimiter();
+        char quoteCharacter = fileSpec.quoteCharacter();
+        int length = rawData.length();
+        boolean containsQuoteCharacter = rawData.indexOf(quoteCharacter) >= 0;
+        @Nullable StringBuilder quotedText = containsQuoteCharacter ? new StringBuilder(length) : null;
+
+        int beginIndex = 0;
+        for (int fieldIndex = 0; (fieldIndex < texts.length) && (beginIndex <= length); fieldIndex++) {
+            int endIndex;
+            if (quotedText != null && (beginIndex < length) && (rawData.charAt(beginIndex) == quoteCharacter)) {
+                quotedText.setLength(0);
+                endIndex = appendQuotedText(rawData, beginIndex + 1, fieldDelimiter, quoteCharacter, quotedText);
+                texts[fieldIndex] = quotedText.toString();
+            } else {
+                endIndex = indexOfOrLength(rawData, fieldDelimiter, beginIndex);
+                if (beginIndex < endIndex) {
+                    texts[fieldIndex] = rawData.substring(beginIndex, endIndex);
+                }
+            }
+            beginIndex = endIndex + 1;
+        }
+        return texts;
+    }
+
+    /**
+     * Appends the unescaped text of a quoted field and returns the index of the following field delimiter.
+     * Characters between the closing quote character and the field delimiter are appended unchanged.
+     */
+    private static int appendQuotedText(String rawData, int beginIndex,
+                                        char fieldDelimiter, char quoteCharacter,
+                                        StringBuilder quotedText) {
+        int length = rawData.length();
+        int index = beginIndex;
+        while (true) {
+            int quoteIndex = rawData.indexOf(quoteCharacter, index);
+            if (quoteIndex < 0) {
+                // The quoted field is not closed.
+                quotedText.append(rawData, index, length);
+                return length;
+            }
+            quotedText.append(rawData, index, quoteIndex);
+            if ((quoteIndex + 1 < length) && (rawData.charAt(quoteIndex + 1) == quoteCharacter)) {
+                // Escaped quote character
+                quotedText.append(quoteCharacter);
+                index = quoteIndex + 2;
+            } else {
+                int endIndex = indexOfOrLength(rawData, fieldDelimiter, quoteIndex + 1);
+                quotedText.append(rawData, quoteIndex + 1, endIndex);
+                return endIndex;
+            }
+        }
+    }
+
+    private static int indexOfOrLength(String rawData, char character, int fromIndex) {
+        int index = rawData.indexOf(character, fromIndex);
+        return (index < 0) ? rawData.length() : index;
+    }
+
+    /**
+     * Checks the quote characters of a line and returns {@code true} if the line ends inside a quoted field.
+     * A quote character opens a quoted field only at the beginning of a field,
+     * which is the beginning of the record or the character after a field delimiter.
+     *
+     * @param quoted {@code true} if the line begins inside a quoted field
+     * @throws ProducerException if a quote character is inside an unquoted field
+     */
+    static boolean endsInsideQuotedField(String line, boolean quoted,
+                                         char fieldDelimiter, char quoteCharacter,
+                                         long recordIndex) throws ProducerException {
+        int length = line.length();
+        int quoteIndex = line.indexOf(quoteCharacter);
+        if (quoteIndex < 0) {
+            return quoted;
+        }
+        boolean insideQuotedField = quoted;
+        int index = 0;
+        while (index < length) {
+            if (quoteIndex >= 0 && quoteIndex < index) {
+                quoteIndex = line.indexOf(quoteCharacter, index);
+            }
+            if (insideQuotedField) {
+                if (quoteIndex < 0) {
+                    return true;
+                }
+                if ((quoteIndex + 1 < length) && (line.charAt(quoteIndex + 1) == quoteCharacter)) {
+                    // Escaped quote character
+                    index = quoteIndex + 2;
+                } else {
+                    // Closing quote character. The rest of the field is checked like an unquoted field.
+                    insideQuotedField = false;
+                    index = quoteIndex + 1;
+                }
+            } else if (quoteIndex == index) {
+                insideQuotedField = true;
+                index++;
+            } else {
+                int delimiterIndex = indexOfOrLength(line, fieldDelimiter, index);
+                if ((quoteIndex >= 0) && (quoteIndex < delimiterIndex)) {
+                    throw new ProducerException("A quote character is inside an unquoted field. recordIndex="
+                            + recordIndex + ", index=" + quoteIndex);
+                }
+                index = delimiterIndex + 1;
+            }
+        }
+        return insideQuotedField;
+    }
+
+    @Override
+    protected Optional<TextRecord> createRecord(RecordRawData recordRawData) {
+        return Optional.ofNullable(createRecord(fileSpec,
+                recordRawData.category(),
+                recordRawData.recordId(),
+                recordRawData.rawData()));
+    }
+
+    private static final class CsvIterator extends AbstractRecordRawDataIterator {
+
+        private final CsvFileSpec fileSpec;
+
+        private CsvIterator(BufferedReader bufferedReader, CsvFileSpec fileSpec) {
+            super(bufferedReader, fileSpec.producerIgnoreFirstRecords(), fileSpec.producerIgnoreLastRecords());
+            this.fileSpec = fileSpec;
+        }
+
+        @Override
+        protected Optional<RecordRawData> readNext(BufferedReader reader, long recordIndex) throws ProducerException, UncheckedProducerException, IOException {
+            String rawData = fileSpec.producerReadLineHandling().readAndHandleLine(reader);
+            if ((rawData != null) && endsInsideQuotedField(rawData, false,
+                    fileSpec.fieldDelimiter(), fileSpec.quoteCharacter(), recordIndex)) {
+                // A quoted field contains line breaks.
+                StringBuilder b = new StringBuilder(rawData);
+                boolean quoted = true;
+                int lineCount = 1;
+                while (quoted) {
+                    if (lineCount >= MAX_LINES_PER_RECORD) {
+                        throw new ProducerException("A quoted field is not closed within " + MAX_LINES_PER_RECORD
+                                + " lines. recordIndex=" + recordIndex);
+                    }
+                    String line = reader.readLine();
+                    if (line == null) {
+                        throw new ProducerException("A quoted field is not closed at the end of the input. recordIndex=" + recordIndex);
+                    }
+                    b.append(LINE_FEED).append(line);
+                    lineCount++;
+                    quoted = endsInsideQuotedField(line, true,
+                            fileSpec.fieldDelimiter(), fileSpec.quoteCharacter(), recordIndex);
+                }
+                rawData = b.toString();
+            }
+            return RecordRawData.buildOptionalRecordRawData(null, recordIndex, rawData);
+        }
+
+    }
+
+}
@@ -0,0 +1,626 @@
+package stexfires.io.delimited.simple;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.delimited.ByteDelimitedParser;
+import stexfires.io.delimited.LazyDelimitedRecord;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.io.producer.ReadableRecordProducer;
+import stexfires.record.TextRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+/**
+ * A {@link ReadableRecordProducer} for a {@link SimpleDelimitedFileSpec},
+ * which reads a file through a memory-mapped {@link FileChannel}.
+ * <p>
+ * The file is split into line-aligned chunks.
+ * The lines of the chunks are decoded and handled and the records are created on a {@link ForkJoinPool}.
+ * Only a limited number of chunks is in progress at the same time.
+ * <p>
+ * The producer honours {@code producerSkipFirstLines}, {@code producerReadLineHandling},
+ * {@code producerIgnoreFirstRecords}, {@code producerIgnoreLastRecords} and {@code producerSkipAllNullOrEmpty}.
+ * The records have the same recordIds as the records of a {@link SimpleDelimitedProducer}.
+ * In the ordered mode, the records are returned in the same order as well.
+ * In the unordered mode, the records of a chunk are returned as soon as the chunk is completed.
+ * If the {@link ProducerReadLineHandling} treats a line like the end, the chunks after it are cancelled
+ * and their exceptions are ignored.
+ * {@link #close()} cancels all chunks in progress.
+ * <p>
+ * The {@link stexfires.util.CharsetCoding} of the file spec must be ASCII-compatible,
+ * because the line separators are searched in the bytes of the file.
+ * <p>
+ * If the field delimiter is a single ASCII character, the lines are parsed by a {@link ByteDelimitedParser}.
+ * Only possibly blank lines are decoded for the {@link ProducerReadLineHandling}
+ * and every field is decoded once.
+ * With {@code lazyDecoding}, the producer returns {@link LazyDelimitedRecord}s,
+ * which decode only the accessed fields.
+ * Otherwise, every chunk is decoded completely and the lines are parsed like by a {@link SimpleDelimitedProducer}.
+ *
+ * @see SimpleDelimitedFileSpec#openFileAsChunkedProducer(Path, boolean)
+ * @see stexfires.util.CharsetCoding#isAsciiCompatible()
+ * @since 0.1
+ */
+public final class SimpleDelimitedChunkedProducer implements ReadableRecordProducer<TextRecord> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final int CHUNKS_PER_THREAD = 2;
+    private static final int LINE_SEARCH_BUFFER_SIZE = 8 * 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final FileChannel fileChannel;
+    private final SimpleDelimitedFileSpec fileSpec;
+    private final boolean ordered;
+    private final boolean lazyDecoding;
+    private final int chunkSize;
+    private final ForkJoinPool forkJoinPool;
+    private final @Nullable ByteDelimitedParser byteParser;
+
+    private long fileSize;
+    private long firstChunkStart;
+    private @Nullable ChunkIterator chunkIterator;
+
+    public SimpleDelimitedChunkedProducer(Path filePath,
+                                          SimpleDelimitedFileSpec fileSpec,
+                                          boolean ordered,
+                                          boolean lazyDecoding,
+                                          int chunkSize,
+                                          ForkJoinPool forkJoinPool) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(fileSpec);
+        if (!fileSpec.charsetCoding().isAsciiCompatible()) {
+            throw new IllegalArgumentException("charsetCoding is not ASCII-compatible: " + fileSpec.charsetCoding().charset());
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize <= 0");
+        }
+        Objects.requireNonNull(forkJoinPool);
+        this.fileSpec = fileSpec;
+        this.ordered = ordered;
+        this.lazyDecoding = lazyDecoding;
+        this.chunkSize = chunkSize;
+        this.forkJoinPool = forkJoinPool;
+        // The byte parser skips the complete delimiter, but the String parser skips only one character.
+        byteParser = ((fileSpec.fieldDelimiter().length() == 1)
+                && ByteDelimitedParser.isSupportedFieldDelimiter(fileSpec.fieldDelimiter()))
+                ? new ByteDelimitedParser(fileSpec.charsetCoding(), fileSpec.fieldDelimiter(), fileSpec.fieldSpecs().size())
+                : null;
+        fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+    }
+
+    public SimpleDelimitedFileSpec fileSpec() {
+        return fileSpec;
+    }
+
+    public boolean ordered() {
+        return ordered;
+    }
+
+    public boolean lazyDecoding() {
+        return lazyDecoding;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public void readBefore() throws ProducerException, UncheckedProducerException, IOException {
+        fileSize = fileChannel.size();
+        firstChunkStart = 0L;
+        // Skip first lines without reading records.
+        for (int i = 0; i < fileSpec.producerSkipFirstLines(); i++) {
+            firstChunkStart = nextLineStart(firstChunkStart);
+        }
+    }
+
+    @Override
+    public Stream<TextRecord> readRecords() throws ProducerException, UncheckedProducerException, IOException {
+        chunkIterator = new ChunkIterator(firstChunkStart);
+        int characteristics = ordered
+                ? Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE
+                : Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunkIterator, characteristics), false)
+                            .flatMap(List::stream);
+    }
+
+    @SuppressWarnings("RedundantThrows")
+    @Override
+    public void readAfter() throws ProducerException, UncheckedProducerException, IOException {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (chunkIterator != null) {
+            chunkIterator.cancel();
+        }
+        fileChannel.close();
+    }
+
+    /**
+     * Returns the start of the line after the line containing the position.
+     * The line separators are {@code LF}, {@code CR} and {@code CR LF} like in {@link java.io.BufferedReader#readLine()}.
+     */
+    private long nextLineStart(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LINE_SEARCH_BUFFER_SIZE);
+        long bufferStart = position;
+        boolean carriageReturnFound = false;
+        while (bufferStart < fileSize) {
+            buffer.clear();
+            int read = fileChannel.read(buffer, bufferStart);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (carriageReturnFound) {
+                    return (b == LINE_FEED) ? bufferStart + i + 1 : bufferStart + i;
+                }
+                if (b == LINE_FEED) {
+                    return bufferStart + i + 1;
+                }
+                carriageReturnFound = (b == CARRIAGE_RETURN);
+            }
+            bufferStart += read;
+        }
+        return fileSize;
+    }
+
+    private ChunkLines readChunkLines(long chunkStart, long chunkEnd) throws UncheckedProducerException {
+        ByteBuffer byteBuffer;
+        try {
+            byteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+        } catch (IOException e) {
+            throw new UncheckedProducerException(new ProducerException("Chunk could not be read! chunkStart=" + chunkStart, e));
+        }
+        return (byteParser != null)
+                ? readChunkLinesAsBytes(byteBuffer, chunkStart)
+                : decodeChunkLines(byteBuffer, chunkStart);
+    }
+
+    /**
+     * Decodes a chunk and reads its lines.
+     * If the chunk cannot be decoded completely, only the lines before the malformed bytes are read.
+     * The exception is thrown, if the handling does not treat one of these lines like the end.
+     */
+    private ChunkLines decodeChunkLines(ByteBuffer byteBuffer, long chunkStart) throws UncheckedProducerException {
+        CharBuffer charBuffer;
+        try {
+            charBuffer = fileSpec.charsetCoding().newDecoder().decode(byteBuffer.duplicate());
+        } catch (CharacterCodingException e) {
+            CharsetDecoder decoder = fileSpec.charsetCoding().newDecoder();
+            ByteBuffer malformedBuffer = byteBuffer.duplicate();
+            CharBuffer validCharBuffer = CharBuffer.allocate((int) Math.ceil(malformedBuffer.remaining() * (double) decoder.maxCharsPerByte()));
+            decoder.decode(malformedBuffer, validCharBuffer, true);
+            ChunkLines chunkLines = readChunkLinesAsText(validCharBuffer.flip());
+            if (!chunkLines.endReached()) {
+                throw new UncheckedProducerException(new ProducerException(
+                        "Bytes could not be decoded! position=" + (chunkStart + malformedBuffer.position()), e));
+            }
+            return chunkLines;
+        }
+        return readChunkLinesAsText(charBuffer);
+    }
+
+    /**
+     * Decodes the bytes of a chunk or of a line.
+     *
+     * @param position the position of the first byte in the file
+     */
+    private CharBuffer decode(ByteBuffer byteBuffer, long position) throws UncheckedProducerException {
+        try {
+            return fileSpec.charsetCoding().newDecoder().decode(byteBuffer);
+        } catch (CharacterCodingException e) {
+            throw new UncheckedProducerException(new ProducerException("Bytes could not be decoded! position=" + position, e));
+        }
+    }
+
+    private ChunkLines readChunkLinesAsText(CharBuffer charBuffer) throws UncheckedProducerException {
+        ChunkLineReader lineReader = new ChunkLineReader(charBuffer);
+        ProducerReadLineHandling readLineHandling = fileSpec.producerReadLineHandling();
+        List<ChunkLine> lines = new ArrayList<>();
+        boolean endReached = false;
+        while (lineReader.hasMoreLines()) {
+            String line = readLineHandling.readAndHandleLine(lineReader);
+            if (line == null) {
+                // The handling treats the line like the end.
+                endReached = !lineReader.endOfChunkReturned();
+                break;
+            }
+            lines.add(ChunkLine.ofText(line));
+        }
+        return new ChunkLines(lines, endReached);
+    }
+
+    private ChunkLines readChunkLinesAsBytes(ByteBuffer byteBuffer, long chunkStart) throws UncheckedProducerException {
+        ProducerReadLineHandling readLineHandling = fileSpec.producerReadLineHandling();
+        boolean handlingNecessary = readLineHandling != ProducerReadLineHandling.NO_HANDLING;
+        List<ChunkLine> lines = new ArrayList<>();
+        boolean endReached = false;
+        int limit = byteBuffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = ByteDelimitedParser.lineEnd(byteBuffer, lineStart, limit);
+            if (handlingNecessary && ByteDelimitedParser.isPossiblyBlank(byteBuffer, lineStart, lineEnd)) {
+                // Only lines, which are possibly empty or blank, are decoded for the handling.
+                SingleLineReader lineReader = new SingleLineReader(
+                        decode(byteBuffer.slice(lineStart, lineEnd - lineStart), chunkStart + lineStart).toString());
+                String line = readLineHandling.readAndHandleLine(lineReader);
+                if (line != null) {
+                    lines.add(ChunkLine.ofText(line));
+                } else if (!lineReader.endOfLineReturned()) {
+                    // The handling treats the line like the end.
+                    endReached = true;
+                    break;
+                }
+            } else {
+                lines.add(ChunkLine.ofBytes(byteBuffer, lineStart, lineEnd));
+            }
+            lineStart = ByteDelimitedParser.nextLineStart(byteBuffer, lineEnd, limit);
+        }
+        return new ChunkLines(lines, endReached);
+    }
+
+    private List<TextRecord> createRecords(RecordLines recordLines) throws UncheckedProducerException {
+        List<TextRecord> records = new ArrayList<>(recordLines.lines().size());
+        long recordIndex = recordLines.firstRecordIndex();
+        for (ChunkLine line : recordLines.lines()) {
+            TextRecord record = (line.text() != null)
+                    ? SimpleDelimitedProducer.createRecord(fileSpec, null, recordIndex, line.text())
+                    : createRecord(recordIndex, line);
+            if (record != null) {
+                records.add(record);
+            }
+            recordIndex++;
+        }
+        return records;
+    }
+
+    private @Nullable TextRecord createRecord(long recordIndex, ChunkLine line) throws UncheckedProducerException {
+        ByteDelimitedParser parser = Objects.requireNonNull(byteParser);
+        byte[] lineBytes = ByteDelimitedParser.copyLine(Objects.requireNonNull(line.byteBuffer()), line.start(), line.end());
+        int[] fieldBounds = parser.fieldBounds(lineBytes);
+        if (fileSpec.producerSkipAllNullOrEmpty() && ByteDelimitedParser.isAllNullOrEmpty(fieldBounds)) {
+            return null;
+        }
+        if (lazyDecoding) {
+            return parser.newLazyRecord(null, recordIndex, lineBytes, fieldBounds);
+        }
+        try {
+            return fileSpec.producerCompactRecords()
+                    ? parser.newCompactRecord(null, recordIndex, lineBytes, fieldBounds)
+                    : parser.newRecord(null, recordIndex, lineBytes, fieldBounds);
+        } catch (CharacterCodingException e) {
+            throw new UncheckedProducerException(new ProducerException("Line could not be decoded! recordIndex=" + recordIndex, e));
+        }
+    }
+
+    /**
+     * A line of a chunk. It is either a text or a range of bytes of the chunk.
+     *
+     * @param text       the text of the line or {@code null}
+     * @param byteBuffer the bytes of the chunk or {@code null}
+     * @param start      the start of the line in the bytes (inclusive)
+     * @param end        the end of the line in the bytes (exclusive)
+     */
+    private record ChunkLine(@Nullable String text, @Nullable ByteBuffer byteBuffer, int start, int end) {
+
+        private static ChunkLine ofText(String text) {
+            return new ChunkLine(text, null, 0, 0);
+        }
+
+        private static ChunkLine ofBytes(ByteBuffer byteBuffer, int start, int end) {
+            return new ChunkLine(null, byteBuffer, start, end);
+        }
+
+    }
+
+    /**
+     * The lines of one chunk after the {@link ProducerReadLineHandling}.
+     *
+     * @param lines      the handled lines
+     * @param endReached {@code true} if the handling treated a line like the end
+     */
+    private record ChunkLines(List<ChunkLine> lines, boolean endReached) {
+    }
+
+    /**
+     * The lines for which records are created.
+     *
+     * @param firstRecordIndex the record index of the first line
+     * @param lines            the lines
+     */
+    private record RecordLines(long firstRecordIndex, List<ChunkLine> lines) {
+    }
+
+    /**
+     * The sequential state after a chunk. It is passed from chunk to chunk.
+     *
+     * @param nextRecordIndex the record index of the next line
+     * @param heldBackLines   the last lines, which are ignored if no more lines follow
+     * @param endReached      {@code true} if the end is reached
+     * @param recordLines     the lines of the chunk for which records are created
+     */
+    private record ChunkState(long nextRecordIndex, List<ChunkLine> heldBackLines, boolean endReached,
+                              RecordLines recordLines) {
+
+        private static ChunkState initial() {
+            return new ChunkState(0L, List.of(), false, new RecordLines(0L, List.of()));
+        }
+
+        /**
+         * Returns the state after a chunk behind the end. The lines of the chunk are not needed.
+         */
+        private ChunkState afterEnd() {
+            return new ChunkState(nextRecordIndex, heldBackLines, true, new RecordLines(nextRecordIndex, List.of()));
+        }
+
+        private ChunkState next(ChunkLines chunkLines, int ignoreFirst, int ignoreLast) {
+            List<ChunkLine> lines;
+            if (heldBackLines.isEmpty()) {
+                lines = chunkLines.lines();
+            } else {
+                lines = new ArrayList<>(heldBackLines.size() + chunkLines.lines().size());
+                lines.addAll(heldBackLines);
+                lines.addAll(chunkLines.lines());
+            }
+            long firstRecordIndex = nextRecordIndex - heldBackLines.size();
+
+            // Hold back the last lines for producerIgnoreLastRecords.
+            int heldBackStart = Math.max(lines.size() - ignoreLast, 0);
+            // Skip the first lines for producerIgnoreFirstRecords.
+            int recordStart = (int) Math.min(Math.max(ignoreFirst - firstRecordIndex, 0L), heldBackStart);
+
+            return new ChunkState(
+                    nextRecordIndex + chunkLines.lines().size(),
+                    List.copyOf(lines.subList(heldBackStart, lines.size())),
+                    chunkLines.endReached(),
+                    new RecordLines(firstRecordIndex + recordStart, lines.subList(recordStart, heldBackStart)));
+        }
+
+    }
+
+    /**
+     * Returns the lines of a decoded chunk like {@link java.io.BufferedReader#readLine()}.
+     */
+    private static final class ChunkLineReader implements ProducerReadLineHandling.LineReader {
+
+        private final CharBuffer charBuffer;
+        private int position;
+        private boolean endOfChunkReturned;
+
+        private ChunkLineReader(CharBuffer charBuffer) {
+            this.charBuffer = charBuffer.slice();
+            position = 0;
+            endOfChunkReturned = false;
+        }
+
+        @Override
+        public @Nullable String readLine() {
+            int limit = charBuffer.limit();
+            if (position >= limit) {
+                endOfChunkReturned = true;
+                return null;
+            }
+            int lineStart = position;
+            int lineEnd = limit;
+            for (int i = lineStart; i < limit; i++) {
+                char c = charBuffer.get(i);
+                if ((c == LINE_FEED) || (c == CARRIAGE_RETURN)) {
+                    lineEnd = i;
+                    break;
+                }
+            }
+            position = lineEnd;
+            if (position < limit) {
+                if ((charBuffer.get(position) == CARRIAGE_RETURN)
+                        && ((position + 1) < limit)
+                        && (charBuffer.get(position + 1) == LINE_FEED)) {
+                    position++;
+                }
+                position++;
+            }
+            return charBuffer.subSequence(lineStart, lineEnd).toString();
+        }
+
+        private boolean hasMoreLines() {
+            return position < charBuffer.limit();
+        }
+
+        private boolean endOfChunkReturned() {
+            return endOfChunkReturned;
+        }
+
+    }
+
+    /**
+     * Returns a single line and then {@code null}.
+     */
+    private static final class SingleLineReader implements ProducerReadLineHandling.LineReader {
+
+        private @Nullable String line;
+        private boolean endOfLineReturned;
+
+        private SingleLineReader(String line) {
+            this.line = line;
+            endOfLineReturned = false;
+        }
+
+        @Override
+        public @Nullable String readLine() {
+            String result = line;
+            if (result == null) {
+                endOfLineReturned = true;
+            }
+            line = null;
+            return result;
+        }
+
+        private boolean endOfLineReturned() {
+            return endOfLineReturned;
+        }
+
+    }
+
+    /**
+     * A submitted chunk.
+     *
+     * @param lines   the lines of the chunk
+     * @param records the records of the chunk
+     */
+    private record Chunk(CompletableFuture<ChunkLines> lines, CompletableFuture<List<TextRecord>> records) {
+
+        private void cancel() {
+            lines.cancel(false);
+            records.cancel(false);
+        }
+
+    }
+
+    private final class ChunkIterator implements Iterator<List<TextRecord>> {
+
+        private final int maxChunksInProgress;
+        private final Deque<Chunk> chunksInProgress;
+        private final BlockingQueue<Chunk> completedChunks;
+        private final AtomicBoolean endReached;
+
+        private long nextChunkStart;
+        private CompletableFuture<ChunkState> lastChunkState;
+        private int pendingChunks;
+        private @Nullable List<TextRecord> nextRecords;
+
+        private ChunkIterator(long firstChunkStart) {
+            maxChunksInProgress = Math.max(forkJoinPool.getParallelism(), 1) * CHUNKS_PER_THREAD;
+            chunksInProgress = new ArrayDeque<>(maxChunksInProgress);
+            completedChunks = new LinkedBlockingQueue<>();
+            endReached = new AtomicBoolean(false);
+            nextChunkStart = firstChunkStart;
+            lastChunkState = CompletableFuture.completedFuture(ChunkState.initial());
+            pendingChunks = 0;
+        }
+
+        private void submitChunks() throws UncheckedProducerException {
+            while ((pendingChunks < maxChunksInProgress) && (nextChunkStart < fileSize) && !endReached.get()) {
+                long chunkStart = nextChunkStart;
+                long chunkEnd;
+                try {
+                    chunkEnd = ((fileSize - chunkStart) > chunkSize) ? nextLineStart(chunkStart + chunkSize) : fileSize;
+                } catch (IOException e) {
+                    throw new UncheckedProducerException(new ProducerException("Chunk could not be determined! chunkStart=" + chunkStart, e));
+                }
+                nextChunkStart = chunkEnd;
+
+                CompletableFuture<ChunkLines> chunkLines =
+                        CompletableFuture.supplyAsync(() -> readChunkLines(chunkStart, chunkEnd), forkJoinPool);
+                lastChunkState = lastChunkState.thenCompose(previousState -> nextChunkState(previousState, chunkLines));
+                CompletableFuture<List<TextRecord>> records =
+                        lastChunkState.thenApplyAsync(chunkState -> createRecords(chunkState.recordLines()), forkJoinPool);
+                Chunk chunk = new Chunk(chunkLines, records);
+                chunksInProgress.addLast(chunk);
+                if (!ordered) {
+                    records.whenComplete((r, e) -> completedChunks.add(chunk));
+                }
+                pendingChunks++;
+            }
+        }
+
+        /**
+         * Returns the state after a chunk.
+         * The lines of a chunk behind the end are ignored, even if they could not be read.
+         */
+        private CompletableFuture<ChunkState> nextChunkState(ChunkState previousState,
+                                                             CompletableFuture<ChunkLines> chunkLines) {
+            if (previousState.endReached()) {
+                return CompletableFuture.completedFuture(previousState.afterEnd());
+            }
+            return chunkLines.thenApply(lines -> {
+                ChunkState chunkState = previousState.next(lines,
+                        fileSpec.producerIgnoreFirstRecords(), fileSpec.producerIgnoreLastRecords());
+                if (chunkState.endReached()) {
+                    endReached.set(true);
+                }
+                return chunkState;
+            });
+        }
+
+        private @Nullable List<TextRecord> takeCompletedChunk() throws UncheckedProducerException {
+            if (pendingChunks == 0) {
+                return null;
+            }
+            Chunk chunk;
+            if (ordered) {
+                chunk = chunksInProgress.removeFirst();
+            } else {
+                try {
+                    chunk = completedChunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedProducerException(new ProducerException("Interrupted while waiting for a chunk!", e));
+                }
+                chunksInProgress.remove(chunk);
+            }
+            pendingChunks--;
+            if (endReached.get()) {
+                // The chunks after the end are not read anymore.
+                chunksInProgress.forEach(chunkInProgress -> chunkInProgress.lines().cancel(false));
+            }
+            try {
+                return chunk.records().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedProducerException uncheckedProducerException) {
+                    throw uncheckedProducerException;
+                }
+                throw new UncheckedProducerException(new ProducerException(e.getCause()));
+            }
+        }
+
+        @Override
+        public boolean hasNext() throws UncheckedProducerException {
+            while (nextRecords == null) {
+                submitChunks();
+                List<TextRecord> records = takeCompletedChunk();
+                if (records == null) {
+                    return false;
+                }
+                if (!records.isEmpty()) {
+                    nextRecords = records;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public List<TextRecord> next() throws UncheckedProducerException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<TextRecord> records = Objects.requireNonNull(nextRecords);
+            nextRecords = null;
+            return records;
+        }
+
+        private void cancel() {
+            endReached.set(true);
+            chunksInProgress.forEach(Chunk::cancel);
+            chunksInProgress.clear();
+            completedChunks.clear();
+            pendingChunks = 0;
+        }
+
+    }
+
+}
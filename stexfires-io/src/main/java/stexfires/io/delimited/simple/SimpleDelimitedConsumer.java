@@ -1,7 +1,6 @@
 package stexfires.io.delimited.simple;
 
 import stexfires.io.internal.AbstractInternalWritableConsumer;
-import stexfires.record.TextField;
 import stexfires.record.TextRecord;
 import stexfires.record.consumer.ConsumerException;
 import stexfires.record.consumer.UncheckedConsumerException;
@@ -27,10 +26,10 @@ public final class SimpleDelimitedConsumer extends AbstractInternalWritableConsu
 
     static String createRecordString(String fieldDelimiter,
                                      List<SimpleDelimitedFieldSpec> fieldSpecs,
-                                     List<TextField> fields) {
+                                     TextRecord record) {
         Objects.requireNonNull(fieldDelimiter);
         Objects.requireNonNull(fieldSpecs);
-        Objects.requireNonNull(fields);
+        Objects.requireNonNull(record);
 
         StringBuilder b = new StringBuilder(INITIAL_STRING_BUILDER_CAPACITY);
 
@@ -41,8 +40,7 @@ public final class SimpleDelimitedConsumer extends AbstractInternalWritableConsu
                 b.append(fieldDelimiter);
             }
 
-            TextField field = (fields.size() > fieldIndex) ? fields.get(fieldIndex) : null;
-            String text = (field != null) ? field.text() : null;
+            String text = record.textAt(fieldIndex);
 
             if (text != null) {
                 b.append(text);
@@ -70,7 +68,7 @@ public final class SimpleDelimitedConsumer extends AbstractInternalWritableConsu
         writeString(createRecordString(
                 fileSpec.fieldDelimiter(),
                 fileSpec.fieldSpecs(),
-                record.listOfFields()));
+                record));
         writeLineSeparator(fileSpec.consumerLineSeparator());
     }
 
@@ -5,12 +5,16 @@ import stexfires.io.consumer.WritableRecordFileSpec;
 import stexfires.io.producer.ProducerReadLineHandling;
 import stexfires.io.producer.ReadableRecordFileSpec;
 import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
 import stexfires.util.CharsetCoding;
 import stexfires.util.LineSeparator;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.*;
 
 /**
@@ -24,6 +28,7 @@ public record SimpleDelimitedFileSpec(
         int producerIgnoreFirstRecords,
         int producerIgnoreLastRecords,
         boolean producerSkipAllNullOrEmpty,
+        boolean producerCompactRecords,
         LineSeparator consumerLineSeparator,
         @Nullable String consumerTextBefore,
         @Nullable String consumerTextAfter,
@@ -39,6 +44,11 @@ public record SimpleDelimitedFileSpec(
     public static final int DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS = 0;
     public static final int DEFAULT_PRODUCER_IGNORE_LAST_RECORDS = 0;
     public static final boolean DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY = false;
+    /**
+     * If {@code producerCompactRecords} is {@code true}, the producer creates {@link ManyTextsRecord}s,
+     * which store only the texts, instead of {@link stexfires.record.impl.ManyFieldsRecord}s.
+     */
+    public static final boolean DEFAULT_PRODUCER_COMPACT_RECORDS = false;
     public static final @Nullable String DEFAULT_CONSUMER_TEXT_BEFORE = null;
     public static final @Nullable String DEFAULT_CONSUMER_TEXT_AFTER = null;
 
@@ -66,6 +76,34 @@ public record SimpleDelimitedFileSpec(
         fieldSpecs = List.copyOf(fieldSpecs);
     }
 
+    /**
+     * Creates a file spec with {@link #DEFAULT_PRODUCER_COMPACT_RECORDS}.
+     */
+    public SimpleDelimitedFileSpec(CharsetCoding charsetCoding,
+                                   String fieldDelimiter,
+                                   int producerSkipFirstLines,
+                                   ProducerReadLineHandling producerReadLineHandling,
+                                   int producerIgnoreFirstRecords,
+                                   int producerIgnoreLastRecords,
+                                   boolean producerSkipAllNullOrEmpty,
+                                   LineSeparator consumerLineSeparator,
+                                   @Nullable String consumerTextBefore,
+                                   @Nullable String consumerTextAfter,
+                                   List<SimpleDelimitedFieldSpec> fieldSpecs) {
+        this(charsetCoding,
+                fieldDelimiter,
+                producerSkipFirstLines,
+                producerReadLineHandling,
+                producerIgnoreFirstRecords,
+                producerIgnoreLastRecords,
+                producerSkipAllNullOrEmpty,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
+                consumerLineSeparator,
+                consumerTextBefore,
+                consumerTextAfter,
+                fieldSpecs);
+    }
+
     public static SimpleDelimitedFileSpec producerFileSpec(CharsetCoding charsetCoding,
                                                            String fieldDelimiter,
                                                            List<SimpleDelimitedFieldSpec> fieldSpecs) {
@@ -77,6 +115,7 @@ public record SimpleDelimitedFileSpec(
                 DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS,
                 DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
                 DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
                 DEFAULT_CONSUMER_LINE_SEPARATOR,
                 DEFAULT_CONSUMER_TEXT_BEFORE,
                 DEFAULT_CONSUMER_TEXT_AFTER,
@@ -92,6 +131,28 @@ public record SimpleDelimitedFileSpec(
                                                            int producerIgnoreLastRecords,
                                                            boolean producerSkipAllNullOrEmpty,
                                                            List<SimpleDelimitedFieldSpec> fieldSpecs) {
+        return producerFileSpec(
+                charsetCoding,
+                fieldDelimiter,
+                producerSkipFirstLines,
+                producerReadLineHandling,
+                producerIgnoreFirstRecords,
+                producerIgnoreLastRecords,
+                producerSkipAllNullOrEmpty,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
+                fieldSpecs
+        );
+    }
+
+    public static SimpleDelimitedFileSpec producerFileSpec(CharsetCoding charsetCoding,
+                                                           String fieldDelimiter,
+                                                           int producerSkipFirstLines,
+                                                           ProducerReadLineHandling producerReadLineHandling,
+                                                           int producerIgnoreFirstRecords,
+                                                           int producerIgnoreLastRecords,
+                                                           boolean producerSkipAllNullOrEmpty,
+                                                           boolean producerCompactRecords,
+                                                           List<SimpleDelimitedFieldSpec> fieldSpecs) {
         return new SimpleDelimitedFileSpec(
                 charsetCoding,
                 fieldDelimiter,
@@ -100,6 +161,7 @@ public record SimpleDelimitedFileSpec(
                 producerIgnoreFirstRecords,
                 producerIgnoreLastRecords,
                 producerSkipAllNullOrEmpty,
+                producerCompactRecords,
                 DEFAULT_CONSUMER_LINE_SEPARATOR,
                 DEFAULT_CONSUMER_TEXT_BEFORE,
                 DEFAULT_CONSUMER_TEXT_AFTER,
@@ -119,6 +181,7 @@ public record SimpleDelimitedFileSpec(
                 DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS,
                 DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
                 DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
                 consumerLineSeparator,
                 DEFAULT_CONSUMER_TEXT_BEFORE,
                 DEFAULT_CONSUMER_TEXT_AFTER,
@@ -140,6 +203,7 @@ public record SimpleDelimitedFileSpec(
                 DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS,
                 DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
                 DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY,
+                DEFAULT_PRODUCER_COMPACT_RECORDS,
                 consumerLineSeparator,
                 consumerTextBefore,
                 consumerTextAfter,
@@ -161,6 +225,36 @@ public record SimpleDelimitedFileSpec(
         return new SimpleDelimitedProducer(bufferedReader, this);
     }
 
+    /**
+     * Opens the file as a {@link SimpleDelimitedChunkedProducer},
+     * which creates the records in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param filePath the path of the file
+     * @param ordered  {@code true} if the records are returned in the order of the file
+     * @see #openFileAsChunkedProducer(Path, boolean, boolean, int, ForkJoinPool)
+     */
+    public SimpleDelimitedChunkedProducer openFileAsChunkedProducer(Path filePath, boolean ordered) throws IOException {
+        return openFileAsChunkedProducer(filePath, ordered, false,
+                SimpleDelimitedChunkedProducer.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Opens the file as a {@link SimpleDelimitedChunkedProducer}.
+     *
+     * @param filePath     the path of the file
+     * @param ordered      {@code true} if the records are returned in the order of the file
+     * @param lazyDecoding {@code true} if the fields are decoded when they are accessed
+     * @param chunkSize    the minimum size of a chunk in bytes
+     * @param forkJoinPool the pool on which the chunks are processed
+     * @throws IllegalArgumentException if the {@code charsetCoding} is not ASCII-compatible
+     */
+    public SimpleDelimitedChunkedProducer openFileAsChunkedProducer(Path filePath, boolean ordered, boolean lazyDecoding,
+                                                                    int chunkSize, ForkJoinPool forkJoinPool) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(forkJoinPool);
+        return new SimpleDelimitedChunkedProducer(filePath, this, ordered, lazyDecoding, chunkSize, forkJoinPool);
+    }
+
     @Override
     public SimpleDelimitedConsumer consumer(BufferedWriter bufferedWriter) {
         Objects.requireNonNull(bufferedWriter);
@@ -6,6 +6,7 @@ import stexfires.io.producer.AbstractRecordRawDataIterator;
 import stexfires.io.producer.RecordRawData;
 import stexfires.record.TextRecord;
 import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
 import stexfires.record.producer.ProducerException;
 import stexfires.record.producer.UncheckedProducerException;
 import stexfires.util.function.StringPredicates;
@@ -46,11 +47,15 @@ public final class SimpleDelimitedProducer extends AbstractInternalReadableProdu
         return new SimpleDelimitedIterator(bufferedReader(), fileSpec);
     }
 
-    @Override
-    protected Optional<TextRecord> createRecord(RecordRawData recordRawData) {
+    static @Nullable TextRecord createRecord(SimpleDelimitedFileSpec fileSpec,
+                                             @Nullable String category,
+                                             @Nullable Long recordId,
+                                             String rawData) {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(rawData);
         TextRecord record;
 
-        List<@Nullable String> texts = convertRawDataIntoTexts(recordRawData.rawData());
+        List<@Nullable String> texts = convertRawDataIntoTexts(fileSpec, rawData);
 
         boolean skipAllNullOrEmpty = fileSpec.producerSkipAllNullOrEmpty()
                 && texts.stream().allMatch(StringPredicates.isNullOrEmpty());
@@ -58,13 +63,15 @@ public final class SimpleDelimitedProducer extends AbstractInternalReadableProdu
         if (skipAllNullOrEmpty) {
             record = null;
         } else {
-            record = new ManyFieldsRecord(recordRawData.category(), recordRawData.recordId(), texts);
+            record = fileSpec.producerCompactRecords()
+                    ? new ManyTextsRecord(category, recordId, texts)
+                    : new ManyFieldsRecord(category, recordId, texts);
         }
 
-        return Optional.ofNullable(record);
+        return record;
     }
 
-    private List<@Nullable String> convertRawDataIntoTexts(String rawData) {
+    private static List<@Nullable String> convertRawDataIntoTexts(SimpleDelimitedFileSpec fileSpec, String rawData) {
         Objects.requireNonNull(rawData);
         List<@Nullable String> texts = new ArrayList<>(fileSpec.fieldSpecs().size());
         int beginIndex = 0;
@@ -86,6 +93,14 @@ public final class SimpleDelimitedProducer extends AbstractInternalReadableProdu
         return texts;
     }
 
+    @Override
+    protected Optional<TextRecord> createRecord(RecordRawData recordRawData) {
+        return Optional.ofNullable(createRecord(fileSpec,
+                recordRawData.category(),
+                recordRawData.recordId(),
+                recordRawData.rawData()));
+    }
+
     private static final class SimpleDelimitedIterator extends AbstractRecordRawDataIterator {
 
         private final SimpleDelimitedFileSpec fileSpec;
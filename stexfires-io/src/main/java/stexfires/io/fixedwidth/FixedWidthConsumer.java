@@ -1,7 +1,6 @@
 package stexfires.io.fixedwidth;
 
 import stexfires.io.internal.AbstractInternalWritableConsumer;
-import stexfires.record.TextField;
 import stexfires.record.TextRecord;
 import stexfires.record.consumer.ConsumerException;
 import stexfires.record.consumer.UncheckedConsumerException;
@@ -64,11 +63,11 @@ public final class FixedWidthConsumer extends AbstractInternalWritableConsumer<T
                                      Character fillCharacter,
                                      Alignment alignment,
                                      List<FixedWidthFieldSpec> fieldSpecs,
-                                     List<TextField> fields) {
+                                     TextRecord record) {
         Objects.requireNonNull(fillCharacter);
         Objects.requireNonNull(alignment);
         Objects.requireNonNull(fieldSpecs);
-        Objects.requireNonNull(fields);
+        Objects.requireNonNull(record);
 
         // Create and fill character array
         char[] characters = new char[recordWidth];
@@ -83,8 +82,7 @@ public final class FixedWidthConsumer extends AbstractInternalWritableConsumer<T
                 continue;
             }
 
-            TextField field = (fields.size() > fieldIndex) ? fields.get(fieldIndex) : null;
-            String text = (field != null) ? field.text() : null;
+            String text = record.textAt(fieldIndex);
             int textWidth = (text != null) ? text.length() : 0;
 
             // Insert field fill character
@@ -123,7 +121,7 @@ public final class FixedWidthConsumer extends AbstractInternalWritableConsumer<T
                 fileSpec.fillCharacter(),
                 fileSpec.alignment(),
                 fieldSpecs,
-                record.listOfFields()));
+                record));
         if (fileSpec.separateRecordsByLineSeparator()) {
             writeLineSeparator(fileSpec.consumerLineSeparator());
         }
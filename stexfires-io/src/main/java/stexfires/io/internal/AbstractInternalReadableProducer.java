@@ -22,6 +22,7 @@ import static stexfires.io.internal.ReadableProducerState.*;
 public abstract sealed class AbstractInternalReadableProducer<T extends TextRecord> extends AbstractReadableProducer<T>
         permits
         stexfires.io.config.ConfigProducer,
+        stexfires.io.delimited.csv.CsvProducer,
         stexfires.io.delimited.simple.SimpleDelimitedProducer,
         stexfires.io.fixedwidth.FixedWidthProducer,
         stexfires.io.json.JsonProducer,
@@ -54,6 +55,18 @@ public abstract sealed class AbstractInternalReadableProducer<T extends TextReco
         return super.readRecords();
     }
 
+    @Override
+    public Stream<T> readRecordsInParallel(int batchSize) throws ProducerException, UncheckedProducerException, IOException {
+        state = READ_RECORDS.validate(state);
+        return super.readRecordsInParallel(batchSize);
+    }
+
+    @Override
+    public Stream<Supplier<Optional<T>>> readRecordSuppliers() throws ProducerException, UncheckedProducerException, IOException {
+        state = READ_RECORDS.validate(state);
+        return super.readRecordSuppliers();
+    }
+
     @Override
     public void readAfter() throws ProducerException, UncheckedProducerException, IOException {
         state = READ_AFTER.validate(state);
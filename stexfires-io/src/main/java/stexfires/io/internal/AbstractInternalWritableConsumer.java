@@ -19,6 +19,7 @@ import static stexfires.io.internal.WritableConsumerState.*;
 public abstract sealed class AbstractInternalWritableConsumer<T extends TextRecord> extends AbstractWritableConsumer<T>
         permits
         stexfires.io.config.ConfigConsumer,
+        stexfires.io.delimited.csv.CsvConsumer,
         stexfires.io.delimited.simple.SimpleDelimitedConsumer,
         stexfires.io.fixedwidth.FixedWidthConsumer,
         stexfires.io.html.table.HtmlTableConsumer,
@@ -42,6 +43,17 @@ public abstract sealed class AbstractInternalWritableConsumer<T extends TextReco
         bufferedWriter().write(str);
     }
 
+    protected final void writeString(String str, int offset, int length) throws IOException {
+        Objects.requireNonNull(str);
+        state.validateNotClosed();
+        bufferedWriter().write(str, offset, length);
+    }
+
+    protected final void writeChar(char character) throws IOException {
+        state.validateNotClosed();
+        bufferedWriter().write(character);
+    }
+
     protected final void writeLineSeparator(LineSeparator lineSeparator) throws IOException {
         Objects.requireNonNull(lineSeparator);
         state.validateNotClosed();
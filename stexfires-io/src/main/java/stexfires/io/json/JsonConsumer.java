@@ -15,12 +15,23 @@ import static stexfires.io.json.JsonFieldSpec.ValueType.STRING_UNESCAPED;
 import static stexfires.io.json.JsonUtil.*;
 
 /**
+ * A consumer that writes {@link TextRecord}s as JSON objects or JSON arrays.
+ * <p>
+ * The JSON of a record is written directly into the {@link BufferedWriter} without building a {@link String}
+ * for every member. The member name prefixes ({@code "name":}) are built once per {@link JsonFieldSpec}.
+ * Strings are escaped in a single pass, which writes runs without escape sequences unchanged.
+ * Before anything of a record is written, all its values are checked.
+ * So an invalid record leaves no partial JSON in the output.
+ *
  * @since 0.1
  */
 public final class JsonConsumer extends AbstractInternalWritableConsumer<TextRecord> {
 
     private final JsonFileSpec fileSpec;
     private final List<JsonFieldSpec> fieldSpecs;
+    private final JsonFieldSpec[] fieldSpecArray;
+    private final String[] memberPrefixes;
+    private final String valueSeparator;
     private boolean firstRecord;
 
     public JsonConsumer(BufferedWriter bufferedWriter,
@@ -31,6 +42,11 @@ public final class JsonConsumer extends AbstractInternalWritableConsumer<TextRec
         Objects.requireNonNull(fieldSpecs);
         this.fileSpec = fileSpec;
         this.fieldSpecs = fieldSpecs;
+        fieldSpecArray = fieldSpecs.toArray(JsonFieldSpec[]::new);
+        memberPrefixes = fieldSpecs.stream()
+                                   .map(fieldSpec -> buildJsonString(fieldSpec.escapedName()) + NAME_SEPARATOR)
+                                   .toArray(String[]::new);
+        valueSeparator = VALUE_SEPARATOR + fileSpec.whitespacesAfterValueSeparator();
         firstRecord = true;
     }
 
@@ -211,38 +227,38 @@ public final class JsonConsumer extends AbstractInternalWritableConsumer<TextRec
     public void writeRecord(TextRecord record) throws ConsumerException, UncheckedConsumerException, IOException {
         super.writeRecord(record);
 
-        // convert TextRecord into JSON object or JSON array. Throws ConsumerException if a field value is invalid.
-        String recordJson = switch (fileSpec.recordJsonType()) {
-            case OBJECT -> createRecordJsonObject(fieldSpecs, record, fileSpec.whitespacesAfterValueSeparator());
-            case ARRAY -> createRecordJsonArray(fieldSpecs, record, fileSpec.whitespacesAfterValueSeparator());
-        };
+        // check all field texts before anything of the record is written. Throws ConsumerException if a field value is invalid.
+        checkRecord(record);
 
-        // write JSON depending on the fileSpec type.
+        // write JSON object or JSON array depending on the fileSpec type.
         switch (fileSpec) {
             case JsonArrayFileSpec fs -> {
                 if (!firstRecord) {
                     writeString(VALUE_SEPARATOR);
                     writeLineSeparator(fileSpec.consumerLineSeparator());
                 }
-                writeString(recordJson);
+                writeRecordJson(record);
             }
             case JsonMembersFileSpec fs -> {
-                // create name and build JSON member (name and value)
+                // create name and write JSON member (name and value)
                 String escapedJsonName = fs.escapedJsonNameByMessage(record)
                                            .orElseThrow(() -> new ConsumerException("The name of the member generated by the RecordMessage is null.", record));
-                String jsonMember = buildJsonMember(escapedJsonName, recordJson);
 
                 if (!firstRecord) {
                     writeString(VALUE_SEPARATOR);
                     writeLineSeparator(fileSpec.consumerLineSeparator());
                 }
-                writeString(jsonMember);
+                writeString(QUOTATION_MARK);
+                writeString(escapedJsonName);
+                writeString(QUOTATION_MARK);
+                writeString(NAME_SEPARATOR);
+                writeRecordJson(record);
             }
             case JsonStreamingFileSpec fs -> {
                 if (fs.recordSeparatorBefore()) {
                     writeString(RECORD_SEPARATOR);
                 }
-                writeString(recordJson);
+                writeRecordJson(record);
                 writeLineSeparator(fileSpec.consumerLineSeparator());
             }
         }
@@ -253,6 +269,136 @@ public final class JsonConsumer extends AbstractInternalWritableConsumer<TextRec
         }
     }
 
+    private void checkRecord(TextRecord record) throws ConsumerException {
+        for (int fieldIndex = 0; fieldIndex < fieldSpecArray.length; fieldIndex++) {
+            JsonFieldSpec fieldSpec = fieldSpecArray[fieldIndex];
+            String fieldText = record.textAt(fieldIndex);
+            if (fieldText == null) {
+                if (fieldSpec.nullHandling() == JsonFieldSpec.NullHandling.NOT_ALLOWED) {
+                    throw new ConsumerException("Field text is null for " + fieldSpec);
+                }
+            } else {
+                switch (fieldSpec.valueType()) {
+                    case BOOLEAN -> checkJsonValue(JsonFieldSpec.ValueType.BOOLEAN, fieldText);
+                    case NUMBER -> {
+                        if (!isPlainJsonNumber(fieldText)) {
+                            checkJsonValue(JsonFieldSpec.ValueType.NUMBER, fieldText);
+                        }
+                    }
+                    default -> {
+                        // not checked
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true}, if the text is a JSON number without exponent.
+     * {@link BigDecimal} accepts all these numbers, so the check can skip the creation of a {@link BigDecimal}.
+     */
+    private static boolean isPlainJsonNumber(String text) {
+        int length = text.length();
+        int index = ((length > 0) && (text.charAt(0) == '-')) ? 1 : 0;
+        int integerStart = index;
+        while ((index < length) && isAsciiDigit(text.charAt(index))) {
+            index++;
+        }
+        if (index == integerStart) {
+            return false;
+        }
+        if ((index < length) && (text.charAt(index) == '.')) {
+            index++;
+            int fractionStart = index;
+            while ((index < length) && isAsciiDigit(text.charAt(index))) {
+                index++;
+            }
+            if (index == fractionStart) {
+                return false;
+            }
+        }
+        return index == length;
+    }
+
+    private static boolean isAsciiDigit(char character) {
+        return (character >= '0') && (character <= '9');
+    }
+
+    private void writeRecordJson(TextRecord record) throws IOException {
+        boolean object = fileSpec.recordJsonType() == JsonFileSpec.RecordJsonType.OBJECT;
+        writeString(object ? BEGIN_OBJECT : BEGIN_ARRAY);
+        boolean firstValue = true;
+        for (int fieldIndex = 0; fieldIndex < fieldSpecArray.length; fieldIndex++) {
+            String fieldText = record.textAt(fieldIndex);
+            // the field is omitted, if the null handling is ALLOWED_OMIT_FIELD. NOT_ALLOWED was checked before.
+            if ((fieldText != null)
+                    || (fieldSpecArray[fieldIndex].nullHandling() == JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL)) {
+                if (!firstValue) {
+                    writeString(valueSeparator);
+                }
+                firstValue = false;
+                if (object) {
+                    writeString(memberPrefixes[fieldIndex]);
+                }
+                if (fieldText == null) {
+                    writeString(LITERAL_NULL);
+                } else {
+                    writeJsonValue(fieldSpecArray[fieldIndex].valueType(), fieldText);
+                }
+            }
+        }
+        writeString(object ? END_OBJECT : END_ARRAY);
+    }
+
+    private void writeJsonValue(JsonFieldSpec.ValueType type, String fieldText) throws IOException {
+        switch (type) {
+            case STRING_UNESCAPED -> {
+                writeString(QUOTATION_MARK);
+                writeEscapedJsonString(fieldText);
+                writeString(QUOTATION_MARK);
+            }
+            case STRING_ESCAPED -> {
+                writeString(QUOTATION_MARK);
+                writeString(fieldText);
+                writeString(QUOTATION_MARK);
+            }
+            case ARRAY_ELEMENTS -> {
+                writeString(BEGIN_ARRAY);
+                writeString(fieldText);
+                writeString(END_ARRAY);
+            }
+            case OBJECT_MEMBERS -> {
+                writeString(BEGIN_OBJECT);
+                writeString(fieldText);
+                writeString(END_OBJECT);
+            }
+            default -> writeString(fieldText);
+        }
+    }
+
+    /**
+     * Writes the escaped string in a single pass. Runs of chars without an escape sequence are written unchanged.
+     *
+     * @see JsonUtil#escapeJsonString(String)
+     */
+    private void writeEscapedJsonString(String unescapedJsonString) throws IOException {
+        int length = unescapedJsonString.length();
+        int runStart = 0;
+        for (int index = 0; index < length; index++) {
+            String escapeSequence = escapeSequence(unescapedJsonString.charAt(index));
+            if (escapeSequence != null) {
+                if (index > runStart) {
+                    writeString(unescapedJsonString, runStart, index - runStart);
+                }
+                writeString(escapeSequence);
+                runStart = index + 1;
+            }
+        }
+        if (length > runStart) {
+            writeString(unescapedJsonString, runStart, length - runStart);
+        }
+    }
+
     @SuppressWarnings("unused")
     @Override
     public void writeAfter() throws ConsumerException, UncheckedConsumerException, IOException {
@@ -11,19 +11,42 @@ import stexfires.record.producer.UncheckedProducerException;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.*;
 
+import static stexfires.io.json.JsonUtil.*;
+
 /**
+ * A producer for {@link JsonStreamingFileSpec} (JSON Lines or JSON text sequences)
+ * and {@link JsonArrayFileSpec}.
+ * <p>
+ * Every record is separated from the input as raw data first: a line of a {@link JsonStreamingFileSpec}
+ * or an element of the JSON array of a {@link JsonArrayFileSpec}.
+ * Then a {@link JsonTokenizer} extracts only the members (or elements) of the {@link JsonFieldSpec}s
+ * and skips all other values without materializing them.
+ * The values are converted back into texts as the {@link JsonConsumer} has written them.
+ * A missing member or the literal {@code null} results in a {@code null} text.
+ * <p>
+ * The records of {@link #readRecordsInParallel(int)} are separated sequentially
+ * and tokenized in parallel, for example the lines of a JSON Lines file.
+ * A {@link JsonMembersFileSpec} produces no records.
+ *
  * @since 0.1
  */
 public final class JsonProducer extends AbstractInternalReadableProducer<TextRecord> {
 
     private final JsonFileSpec fileSpec;
+    private final List<JsonFieldSpec> fieldSpecs;
+    private final String[] unescapedNames;
 
     public JsonProducer(BufferedReader bufferedReader, JsonFileSpec fileSpec) {
         super(bufferedReader);
         Objects.requireNonNull(fileSpec);
         this.fileSpec = fileSpec;
+        fieldSpecs = fileSpec.fieldSpecs();
+        unescapedNames = fieldSpecs.stream()
+                                   .map(fieldSpec -> unescapeJsonString(fieldSpec.escapedName()))
+                                   .toArray(String[]::new);
     }
 
     @Override
@@ -44,77 +67,360 @@ public final class JsonProducer extends AbstractInternalReadableProducer<TextRec
 
     @Override
     protected AbstractRecordRawDataIterator createIterator() {
-        if (fileSpec instanceof JsonStreamingFileSpec jsonStreamingFileSpec) {
-            if (!jsonStreamingFileSpec.recordSeparatorBefore()) {
-                return new JsonIterator(bufferedReader(), jsonStreamingFileSpec);
-            }
-        }
-        return new JsonIterator(bufferedReader(), fileSpec);
+        return switch (fileSpec) {
+            case JsonStreamingFileSpec fs -> new JsonStreamingIterator(bufferedReader(), fs);
+            case JsonArrayFileSpec fs -> new JsonArrayIterator(bufferedReader(), fs);
+            case JsonMembersFileSpec fs -> new JsonArrayIterator(bufferedReader(), null);
+        };
     }
 
     @Override
     protected Optional<TextRecord> createRecord(RecordRawData recordRawData) throws UncheckedProducerException {
-        TextRecord record = null;
-        List<@Nullable String> texts = new ArrayList<>();
-/*
-        Map<String, @Nullable String> jsonMap = JsonUtil.parseJsonObject(recordRawData.rawData());
-
-
-        for (JsonFieldSpec fieldSpec : fileSpec.fieldSpecs()) {
-            String name = fieldSpec.escapedName();
-            if (jsonMap.containsKey(name)) {
-                String value = jsonMap.get(name);
-                // TODO Check value and remove quotation marks
-                String text = null;
-                switch (fieldSpec.valueType()) {
-                    case OBJECT -> {
-                    }
-                    case ARRAY -> {
-                    }
-                    case NUMBER -> {
-                    }
-                    case STRING -> {
-                    }
-                    case BOOLEAN -> {
-                    }
-                }
-                texts.add(text);
+        if (fieldSpecs.isEmpty()) {
+            return Optional.empty();
+        }
+        JsonTokenizer tokenizer = new JsonTokenizer(recordRawData.rawData());
+        String[] texts = new String[fieldSpecs.size()];
+        try {
+            switch (fileSpec.recordJsonType()) {
+                case OBJECT -> readRecordObject(tokenizer, texts);
+                case ARRAY -> readRecordArray(tokenizer, texts);
             }
+            if (!tokenizer.isAtEnd()) {
+                throw tokenizer.error("Unexpected content after the record");
+            }
+        } catch (ProducerException e) {
+            throw new UncheckedProducerException(
+                    new ProducerException("Invalid JSON record! recordId=" + recordRawData.recordId() + " " + e.getMessage(), e));
         }
- */
+        return Optional.of(new ManyFieldsRecord(recordRawData.category(), recordRawData.recordId(), texts));
+    }
 
-        if (!texts.isEmpty()) { // TODO new fileSpec for skipping
-            record = new ManyFieldsRecord(recordRawData.category(), recordRawData.recordId(), texts);
+    private void readRecordObject(JsonTokenizer tokenizer, @Nullable String[] texts) throws ProducerException {
+        tokenizer.expect('{');
+        if (tokenizer.consumeIf('}')) {
+            return;
         }
+        do {
+            tokenizer.peek();
+            int nameStart = tokenizer.position();
+            tokenizer.scanString();
+            int fieldIndex = fieldIndex(tokenizer, nameStart);
+            tokenizer.expect(':');
+            if (fieldIndex < 0) {
+                tokenizer.skipValue();
+            } else {
+                texts[fieldIndex] = readValue(tokenizer, fieldSpecs.get(fieldIndex));
+            }
+        } while (tokenizer.consumeIf(','));
+        tokenizer.expect('}');
+    }
 
-        return Optional.ofNullable(record);
+    private void readRecordArray(JsonTokenizer tokenizer, @Nullable String[] texts) throws ProducerException {
+        tokenizer.expect('[');
+        if (tokenizer.consumeIf(']')) {
+            return;
+        }
+        int elementIndex = 0;
+        do {
+            if (elementIndex < texts.length) {
+                texts[elementIndex] = readValue(tokenizer, fieldSpecs.get(elementIndex));
+            } else {
+                tokenizer.skipValue();
+            }
+            elementIndex++;
+        } while (tokenizer.consumeIf(','));
+        tokenizer.expect(']');
+    }
+
+    /**
+     * Returns the index of the field spec with the name of the last scanned string or {@code -1}.
+     * The unescaped names are compared. The name is compared in place
+     * and only unescaped, if it contains an escape sequence.
+     */
+    private int fieldIndex(JsonTokenizer tokenizer, int nameStart) {
+        String source = tokenizer.source();
+        int nameLength = tokenizer.position() - nameStart - 2;
+        if (tokenizer.lastStringEscaped()) {
+            String unescapedName = tokenizer.lastStringContent(nameStart, true);
+            for (int index = 0; index < unescapedNames.length; index++) {
+                if (unescapedNames[index].equals(unescapedName)) {
+                    return index;
+                }
+            }
+        } else {
+            for (int index = 0; index < unescapedNames.length; index++) {
+                String unescapedName = unescapedNames[index];
+                if ((unescapedName.length() == nameLength)
+                        && source.regionMatches(nameStart + 1, unescapedName, 0, nameLength)) {
+                    return index;
+                }
+            }
+        }
+        return -1;
     }
 
-    private static final class JsonIterator extends AbstractRecordRawDataIterator {
+    private static @Nullable String readValue(JsonTokenizer tokenizer, JsonFieldSpec fieldSpec) throws ProducerException {
+        char first = tokenizer.peek();
+        int start = tokenizer.position();
+        String source = tokenizer.source();
+        if ((first == 'n') && source.startsWith(LITERAL_NULL, start)) {
+            tokenizer.skipValue();
+            if (tokenizer.position() == start + LITERAL_NULL.length()) {
+                if (fieldSpec.nullHandling() == JsonFieldSpec.NullHandling.NOT_ALLOWED) {
+                    throw tokenizer.error("Null is not allowed for the member \"" + fieldSpec.escapedName() + "\"");
+                }
+                return null;
+            }
+            throw tokenizer.error("Invalid literal");
+        }
+        boolean checkValue = fieldSpec.checkValueNecessary();
+        return switch (fieldSpec.valueType()) {
+            case STRING_UNESCAPED -> {
+                tokenizer.scanString();
+                yield tokenizer.lastStringContent(start, true);
+            }
+            case STRING_ESCAPED -> {
+                tokenizer.scanString();
+                yield tokenizer.lastStringContent(start, false);
+            }
+            case STRING_ESCAPED_WITH_QUOTATION_MARKS -> source.substring(start, tokenizer.scanString());
+            case ARRAY_ELEMENTS -> {
+                checkFirst(tokenizer, first, '[');
+                yield source.substring(start + 1, tokenizer.skipValue() - 1);
+            }
+            case OBJECT_MEMBERS -> {
+                checkFirst(tokenizer, first, '{');
+                yield source.substring(start + 1, tokenizer.skipValue() - 1);
+            }
+            case ARRAY -> {
+                if (checkValue) {
+                    checkFirst(tokenizer, first, '[');
+                }
+                yield source.substring(start, tokenizer.skipValue());
+            }
+            case OBJECT -> {
+                if (checkValue) {
+                    checkFirst(tokenizer, first, '{');
+                }
+                yield source.substring(start, tokenizer.skipValue());
+            }
+            case NUMBER -> {
+                String number = source.substring(start, tokenizer.skipValue());
+                if (checkValue) {
+                    checkNumber(tokenizer, number);
+                }
+                yield number;
+            }
+            case BOOLEAN -> {
+                String literal = source.substring(start, tokenizer.skipValue());
+                if (checkValue && !LITERAL_TRUE.equals(literal) && !LITERAL_FALSE.equals(literal)) {
+                    throw tokenizer.error("Invalid boolean value");
+                }
+                yield literal;
+            }
+        };
+    }
 
-        private final JsonFileSpec fileSpec;
+    private static void checkFirst(JsonTokenizer tokenizer, char first, char expected) throws ProducerException {
+        if (first != expected) {
+            throw tokenizer.error("Expected '" + expected + "'");
+        }
+    }
 
-        private JsonIterator(BufferedReader bufferedReader, JsonFileSpec fileSpec) {
-            super(bufferedReader, DEFAULT_IGNORE_FIRST, DEFAULT_IGNORE_FIRST);
-            this.fileSpec = fileSpec;
+    private static void checkNumber(JsonTokenizer tokenizer, String number) throws ProducerException {
+        char first = number.charAt(0);
+        if ((first != '-') && ((first < '0') || (first > '9'))) {
+            throw tokenizer.error("Invalid number value");
+        }
+        try {
+            @SuppressWarnings("unused")
+            BigDecimal bigDecimal = new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            throw tokenizer.error("Invalid number value");
         }
+    }
+
+    private static final class JsonStreamingIterator extends AbstractRecordRawDataIterator {
+
+        private final JsonStreamingFileSpec fileSpec;
 
-        private JsonIterator(BufferedReader bufferedReader, JsonStreamingFileSpec fileSpec) {
+        private JsonStreamingIterator(BufferedReader bufferedReader, JsonStreamingFileSpec fileSpec) {
             super(bufferedReader, fileSpec.producerIgnoreFirstRecords(), fileSpec.producerIgnoreLastRecords());
             this.fileSpec = fileSpec;
         }
 
         @Override
         protected Optional<RecordRawData> readNext(BufferedReader reader, long recordIndex) throws UncheckedProducerException {
-            String rawData = null;
+            String rawData = fileSpec.producerReadLineHandling().readAndHandleLine(reader);
+            if ((rawData != null) && fileSpec.recordSeparatorBefore() && rawData.startsWith(RECORD_SEPARATOR)) {
+                rawData = rawData.substring(RECORD_SEPARATOR.length());
+            }
+            return RecordRawData.buildOptionalRecordRawData(null, recordIndex, rawData);
+        }
 
-            if (fileSpec instanceof JsonStreamingFileSpec jsonStreamingFileSpec) {
-                if (!jsonStreamingFileSpec.recordSeparatorBefore()) {
-                    rawData = jsonStreamingFileSpec.producerReadLineHandling().readAndHandleLine(reader);
+    }
+
+    /**
+     * Separates the elements of a JSON array with its own char buffer.
+     * Only the chars of the elements are copied, all other values are skipped.
+     */
+    private static final class JsonArrayIterator extends AbstractRecordRawDataIterator {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final @Nullable JsonArrayFileSpec fileSpec;
+        private final char[] buffer;
+        private int position;
+        private int limit;
+        private boolean started;
+        private boolean finished;
+
+        private JsonArrayIterator(BufferedReader bufferedReader, @Nullable JsonArrayFileSpec fileSpec) {
+            super(bufferedReader);
+            this.fileSpec = fileSpec;
+            buffer = new char[BUFFER_SIZE];
+            finished = fileSpec == null;
+        }
+
+        @Override
+        protected Optional<RecordRawData> readNext(BufferedReader reader, long recordIndex) throws ProducerException, IOException {
+            return RecordRawData.buildOptionalRecordRawData(null, recordIndex, nextElement(reader));
+        }
+
+        private @Nullable String nextElement(BufferedReader reader) throws ProducerException, IOException {
+            if (finished) {
+                return null;
+            }
+            if (!started) {
+                started = true;
+                readArrayBegin(reader);
+                if (nextNonWhitespace(reader) == ']') {
+                    position++;
+                    finished = true;
+                    return null;
                 }
+            } else {
+                char separator = nextNonWhitespace(reader);
+                position++;
+                if (separator == ']') {
+                    finished = true;
+                    return null;
+                } else if (separator != ',') {
+                    throw new ProducerException("Expected ',' or ']' in the JSON array.");
+                }
+                nextNonWhitespace(reader);
             }
+            return readElement(reader);
+        }
 
-            return RecordRawData.buildOptionalRecordRawData(null, recordIndex, rawData);
+        private void readArrayBegin(BufferedReader reader) throws ProducerException, IOException {
+            JsonArrayFileSpec arrayFileSpec = Objects.requireNonNull(fileSpec);
+            if (arrayFileSpec.embeddedInJsonObject()) {
+                expect(reader, '{');
+            }
+            if (arrayFileSpec.namedMember()) {
+                // The name of the member is skipped.
+                expect(reader, '"');
+                boolean escape = false;
+                while (true) {
+                    char character = nextChar(reader);
+                    position++;
+                    if (escape) {
+                        escape = false;
+                    } else if (character == '\\') {
+                        escape = true;
+                    } else if (character == '"') {
+                        break;
+                    }
+                }
+                expect(reader, ':');
+            }
+            expect(reader, '[');
+        }
+
+        private void expect(BufferedReader reader, char expected) throws ProducerException, IOException {
+            if (nextNonWhitespace(reader) != expected) {
+                throw new ProducerException("Expected '" + expected + "' in the JSON array.");
+            }
+            position++;
+        }
+
+        private char nextChar(BufferedReader reader) throws ProducerException, IOException {
+            if ((position >= limit) && !fill(reader)) {
+                throw new ProducerException("Unexpected end of the JSON array.");
+            }
+            return buffer[position];
+        }
+
+        private char nextNonWhitespace(BufferedReader reader) throws ProducerException, IOException {
+            char character = nextChar(reader);
+            while (JsonTokenizer.isWhitespace(character)) {
+                position++;
+                character = nextChar(reader);
+            }
+            return character;
+        }
+
+        private boolean fill(BufferedReader reader) throws IOException {
+            int count = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            limit = Math.max(count, 0);
+            return count > 0;
+        }
+
+        /**
+         * Copies the next element. It ends after a closing quotation mark or bracket at depth 0
+         * or before a separator or whitespace at depth 0.
+         */
+        private String readElement(BufferedReader reader) throws ProducerException, IOException {
+            StringBuilder element = new StringBuilder();
+            int depth = 0;
+            boolean inString = false;
+            boolean escape = false;
+            int segmentStart = position;
+            while (true) {
+                if (position >= limit) {
+                    element.append(buffer, segmentStart, position - segmentStart);
+                    if (!fill(reader)) {
+                        throw new ProducerException("Unexpected end of the JSON array.");
+                    }
+                    segmentStart = position;
+                }
+                char character = buffer[position];
+                boolean endAfter = false;
+                if (inString) {
+                    if (escape) {
+                        escape = false;
+                    } else if (character == '\\') {
+                        escape = true;
+                    } else if (character == '"') {
+                        inString = false;
+                        endAfter = depth == 0;
+                    }
+                } else if (character == '"') {
+                    inString = true;
+                } else if ((character == '{') || (character == '[')) {
+                    depth++;
+                } else if ((character == '}') || (character == ']')) {
+                    if (depth == 0) {
+                        break;
+                    }
+                    depth--;
+                    endAfter = depth == 0;
+                } else if ((depth == 0) && ((character == ',') || JsonTokenizer.isWhitespace(character))) {
+                    break;
+                }
+                position++;
+                if (endAfter) {
+                    break;
+                }
+            }
+            element.append(buffer, segmentStart, position - segmentStart);
+            if (element.isEmpty()) {
+                throw new ProducerException("Expected a value in the JSON array.");
+            }
+            return element.toString();
         }
 
     }
@@ -0,0 +1,202 @@
+package stexfires.io.json;
+
+import stexfires.record.producer.ProducerException;
+
+import java.util.*;
+
+/**
+ * A minimal pull tokenizer for one JSON value in a {@link String}.
+ * <p>
+ * It works with positions in the source and does not create a token object or a {@link String}
+ * for skipped values. Strings are only scanned. Their content is extracted and unescaped on demand
+ * and only if it contains an escape sequence.
+ * Nested objects and arrays are skipped by counting brackets outside of strings.
+ * <p>
+ * It is not thread-safe.
+ *
+ * @see JsonProducer
+ * @since 0.1
+ */
+final class JsonTokenizer {
+
+    private static final char QUOTATION_MARK = '"';
+    private static final char ESCAPE = '\\';
+
+    private final String source;
+    private final int length;
+    private int position;
+    private boolean lastStringEscaped;
+
+    JsonTokenizer(String source) {
+        Objects.requireNonNull(source);
+        this.source = source;
+        this.length = source.length();
+    }
+
+    String source() {
+        return source;
+    }
+
+    int position() {
+        return position;
+    }
+
+    static boolean isWhitespace(char character) {
+        return (character == ' ') || (character == '\t') || (character == '\n') || (character == '\r');
+    }
+
+    /**
+     * Skips the whitespaces and returns the next char without consuming it.
+     *
+     * @throws ProducerException if the end of the source is reached
+     */
+    char peek() throws ProducerException {
+        while ((position < length) && isWhitespace(source.charAt(position))) {
+            position++;
+        }
+        if (position >= length) {
+            throw error("Unexpected end of JSON");
+        }
+        return source.charAt(position);
+    }
+
+    /**
+     * Returns {@code true}, if only whitespaces are remaining.
+     */
+    boolean isAtEnd() {
+        while ((position < length) && isWhitespace(source.charAt(position))) {
+            position++;
+        }
+        return position >= length;
+    }
+
+    void expect(char expected) throws ProducerException {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    /**
+     * Consumes the next char, if it is the expected char.
+     */
+    boolean consumeIf(char expected) throws ProducerException {
+        if (peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Scans a string starting at the current position.
+     *
+     * @return the position after the closing quotation mark
+     * @see #lastStringEscaped()
+     */
+    int scanString() throws ProducerException {
+        if (peek() != QUOTATION_MARK) {
+            throw error("Expected string");
+        }
+        int index = position + 1;
+        boolean escaped = false;
+        while (index < length) {
+            char character = source.charAt(index);
+            if (character == QUOTATION_MARK) {
+                lastStringEscaped = escaped;
+                position = index + 1;
+                return position;
+            } else if (character == ESCAPE) {
+                escaped = true;
+                index += 2;
+            } else {
+                index++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    /**
+     * Returns {@code true}, if the last scanned string contains an escape sequence.
+     */
+    boolean lastStringEscaped() {
+        return lastStringEscaped;
+    }
+
+    /**
+     * Skips the next value without materializing it.
+     *
+     * @return the position after the value
+     */
+    int skipValue() throws ProducerException {
+        char first = peek();
+        if (first == QUOTATION_MARK) {
+            return scanString();
+        }
+        if ((first == '{') || (first == '[')) {
+            return skipContainer();
+        }
+        return skipScalar();
+    }
+
+    private int skipContainer() throws ProducerException {
+        int depth = 0;
+        int index = position;
+        while (index < length) {
+            char character = source.charAt(index);
+            switch (character) {
+                case QUOTATION_MARK -> {
+                    position = index;
+                    index = scanString();
+                    continue;
+                }
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    depth--;
+                    if (depth == 0) {
+                        position = index + 1;
+                        return position;
+                    }
+                }
+                default -> {
+                    // other chars are skipped
+                }
+            }
+            index++;
+        }
+        position = index;
+        throw error("Unterminated object or array");
+    }
+
+    private int skipScalar() throws ProducerException {
+        int index = position;
+        while (index < length) {
+            char character = source.charAt(index);
+            if ((character == ',') || (character == '}') || (character == ']') || isWhitespace(character)) {
+                break;
+            }
+            index++;
+        }
+        if (index == position) {
+            throw error("Expected value");
+        }
+        position = index;
+        return position;
+    }
+
+    /**
+     * Returns the content of the last scanned string between the quotation marks.
+     *
+     * @param start    the position of the opening quotation mark
+     * @param unescape unescape the content, if it contains an escape sequence
+     */
+    String lastStringContent(int start, boolean unescape) {
+        String content = source.substring(start + 1, position - 1);
+        return (unescape && lastStringEscaped) ? JsonUtil.unescapeJsonString(content) : content;
+    }
+
+    ProducerException error(String message) {
+        return new ProducerException(message + " at position " + position + ".");
+    }
+
+}
@@ -1,5 +1,7 @@
 package stexfires.io.json;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.*;
 
 /**
@@ -45,34 +47,69 @@ public final class JsonUtil {
     public static final String QUOTATION_MARK = "\""; // quotation-mark = %x22      ; "
     public static final String RECORD_SEPARATOR = "\u001E"; // record-separator = %x1E ; Record Separator (RS)
 
+    // Escape sequences of all chars up to the last ISO control character
+    private static final @Nullable String[] ESCAPE_SEQUENCES = createEscapeSequences();
+
     private JsonUtil() {
     }
 
-    @SuppressWarnings({"HardcodedLineSeparator"})
+    /**
+     * Returns the escaped JSON string.
+     * If no character must be escaped, the unescaped string is returned without a copy.
+     *
+     * @see #escapeSequence(char)
+     */
     public static String escapeJsonString(String unescapedJsonString) {
         Objects.requireNonNull(unescapedJsonString);
-        StringBuilder escapedJsonString = new StringBuilder(unescapedJsonString.length() + 2);
-        unescapedJsonString.codePoints().forEach(codePoint -> {
-            switch (codePoint) {
-                case '"' -> escapedJsonString.append("\\\"");
-                case '\\' -> escapedJsonString.append("\\\\");
-                case '\b' -> escapedJsonString.append("\\b");
-                case '\f' -> escapedJsonString.append("\\f");
-                case '\n' -> escapedJsonString.append("\\n");
-                case '\r' -> escapedJsonString.append("\\r");
-                case '\t' -> escapedJsonString.append("\\t");
-                default -> {
-                    if (Character.isISOControl(codePoint)) {
-                        escapedJsonString.append(String.format("\\u%04x", codePoint));
-                    } else {
-                        escapedJsonString.appendCodePoint(codePoint);
-                    }
-                }
+        int length = unescapedJsonString.length();
+        int index = 0;
+        while ((index < length) && (escapeSequence(unescapedJsonString.charAt(index)) == null)) {
+            index++;
+        }
+        if (index == length) {
+            return unescapedJsonString;
+        }
+        StringBuilder escapedJsonString = new StringBuilder(length + 8);
+        escapedJsonString.append(unescapedJsonString, 0, index);
+        for (; index < length; index++) {
+            char character = unescapedJsonString.charAt(index);
+            String escapeSequence = escapeSequence(character);
+            if (escapeSequence == null) {
+                escapedJsonString.append(character);
+            } else {
+                escapedJsonString.append(escapeSequence);
             }
-        });
+        }
         return escapedJsonString.toString();
     }
 
+    /**
+     * Returns the escape sequence for the character or {@code null}, if it must not be escaped.
+     * Quotation mark, reverse solidus and ISO control characters are escaped.
+     * Surrogates are never escaped, so a string can be escaped char by char.
+     */
+    static @Nullable String escapeSequence(char character) {
+        return (character < ESCAPE_SEQUENCES.length) ? ESCAPE_SEQUENCES[character] : null;
+    }
+
+    @SuppressWarnings({"HardcodedLineSeparator", "MagicNumber"})
+    private static @Nullable String[] createEscapeSequences() {
+        @Nullable String[] escapeSequences = new String[0x9F + 1];
+        for (char character = 0; character < escapeSequences.length; character++) {
+            escapeSequences[character] = switch (character) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\b' -> "\\b";
+                case '\f' -> "\\f";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> Character.isISOControl(character) ? String.format("\\u%04x", (int) character) : null;
+            };
+        }
+        return escapeSequences;
+    }
+
     @SuppressWarnings("MagicNumber")
     public static String unescapeJsonString(String escapedJsonString) {
         Objects.requireNonNull(escapedJsonString);
@@ -0,0 +1,514 @@
+package stexfires.io.lookup;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.producer.ReadableRecordFileSpec;
+import stexfires.io.producer.ReadableRecordProducer;
+import stexfires.record.TextRecord;
+import stexfires.record.TextRecords;
+import stexfires.record.filter.MessageFilter;
+import stexfires.record.mapper.LookupMapper;
+import stexfires.record.mapper.RecordMapper;
+import stexfires.record.message.NotNullRecordMessage;
+import stexfires.record.message.RecordMessage;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.LosslessUtf8;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A persistent key to record lookup store in a memory-mapped file.
+ * <p>
+ * It is built once from the records of a file and the key of every record ({@link #build}).
+ * The store file can be opened again in later runs without rebuilding it ({@link #open(Path)}, {@link #openOrBuild}).
+ * If several records have the same key, the first record is stored. Records without a key are not stored.
+ * Keys and texts are encoded with {@link LosslessUtf8}, so keys and texts with unpaired surrogates are stored unchanged.
+ * <p>
+ * The header contains the size and modification time of the source file, a fingerprint of the file spec
+ * and a fingerprint of the keys of the first {@link #KEY_SAMPLE_SIZE} records.
+ * {@link #openOrBuild} reuses the store file only if all of them are unchanged.
+ * <p>
+ * The store file contains a header, the entries with the key and the record
+ * and an open addressing hash table with linear probing.
+ * Every slot of the hash table is a {@code long} with 24 bits of the hash of the key and the position of the entry,
+ * so most probes for other keys are rejected without reading the entry.
+ * Only the hash table and the entries are in memory-mapped files, the heap is not used for them.
+ * <p>
+ * {@link #containsKey(String)} allocates no objects and {@link #get(String)} allocates only the returned record.
+ * All lookup methods can be called by several threads.
+ * {@link #lookupMapper} and {@link #containedIn(RecordMessage)} plug the store into a {@link LookupMapper}
+ * and a {@link MessageFilter}.
+ *
+ * @since 0.1
+ */
+public final class LookupStore implements Closeable {
+
+    public static final String FILE_EXTENSION = ".sxls";
+
+    /**
+     * Number of records at the beginning of the source file, whose keys are used for the fingerprint of the keys.
+     */
+    public static final int KEY_SAMPLE_SIZE = 64;
+
+    private static final int MAGIC_NUMBER = 0x53584C53; // "SXLS"
+    private static final int VERSION = 2;
+    private static final int HEADER_LENGTH = 64;
+    private static final int SLOT_LENGTH = Long.BYTES;
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1L;
+    private static final long MIN_SLOT_COUNT = 16L;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final int NULL_LENGTH = -1;
+    private static final int FLAG_CATEGORY = 1;
+    private static final int FLAG_RECORD_ID = 2;
+    private static final int INITIAL_SCRATCH_LENGTH = 256;
+
+    private final FileChannel channel;
+    private final long sourceSize;
+    private final long sourceLastModified;
+    private final long fileSpecFingerprint;
+    private final long keyFingerprint;
+    private final long size;
+    private final long slotCount;
+    private final MappedRegion data;
+    private final MappedRegion slots;
+    private final ThreadLocal<byte[]> scratch;
+
+    private LookupStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Not a lookup store.");
+            }
+        }
+        header.flip();
+        if ((header.getInt() != MAGIC_NUMBER) || (header.getInt() != VERSION)) {
+            throw new IOException("Not a lookup store.");
+        }
+        sourceSize = header.getLong();
+        sourceLastModified = header.getLong();
+        fileSpecFingerprint = header.getLong();
+        keyFingerprint = header.getLong();
+        size = header.getLong();
+        long dataLength = header.getLong();
+        slotCount = header.getLong();
+        if ((size < 0L) || (dataLength < 0L) || (slotCount < MIN_SLOT_COUNT) || (Long.bitCount(slotCount) != 1)
+                || (size >= slotCount)
+                || (channel.size() != HEADER_LENGTH + dataLength + slotCount * SLOT_LENGTH)) {
+            throw new IOException("Invalid header of a lookup store.");
+        }
+        data = MappedRegion.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_LENGTH, dataLength);
+        slots = MappedRegion.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_LENGTH + dataLength, slotCount * SLOT_LENGTH);
+        scratch = ThreadLocal.withInitial(() -> new byte[INITIAL_SCRATCH_LENGTH]);
+    }
+
+    /**
+     * Opens an existing store file.
+     */
+    public static LookupStore open(Path storePath) throws IOException {
+        Objects.requireNonNull(storePath);
+        FileChannel channel = FileChannel.open(storePath, StandardOpenOption.READ);
+        try {
+            return new LookupStore(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all records of the source file, stores them with their key into the store file and opens it.
+     * An existing store file is replaced.
+     *
+     * @param keyMessage the message, which creates the key of a record
+     */
+    public static <PTR extends TextRecord> LookupStore build(ReadableRecordFileSpec<PTR, ?> fileSpec,
+                                                             Path sourcePath,
+                                                             RecordMessage<? super PTR> keyMessage,
+                                                             Path storePath) throws ProducerException, IOException {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(sourcePath);
+        Objects.requireNonNull(keyMessage);
+        Objects.requireNonNull(storePath);
+        long sourceSize = Files.size(sourcePath);
+        long sourceLastModified = Files.getLastModifiedTime(sourcePath).toMillis();
+        long keyFingerprint = FNV_OFFSET_BASIS;
+
+        // entries
+        long recordCount = 0L;
+        long entryCount = 0L;
+        long dataLength = 0L;
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storePath)));
+             ReadableRecordProducer<PTR> producer = fileSpec.openFileAsProducer(sourcePath)) {
+            output.write(new byte[HEADER_LENGTH]);
+            ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+            DataOutputStream entry = new DataOutputStream(entryBytes);
+            producer.readBefore();
+            Iterator<PTR> records = producer.readRecords().iterator();
+            while (records.hasNext()) {
+                PTR record = records.next();
+                String key = keyMessage.createMessage(record);
+                if (recordCount < KEY_SAMPLE_SIZE) {
+                    keyFingerprint = fingerprint(keyFingerprint, key);
+                }
+                recordCount++;
+                if (key == null) {
+                    continue;
+                }
+                entryBytes.reset();
+                writeEntry(entry, key, record);
+                output.writeInt(entryBytes.size());
+                entryBytes.writeTo(output);
+                dataLength += Integer.BYTES + entryBytes.size();
+                entryCount++;
+            }
+            producer.readAfter();
+        }
+        if (dataLength > OFFSET_MASK) {
+            throw new IOException("The data of the lookup store is too large: " + dataLength);
+        }
+
+        // hash table
+        long slotCount = Math.max(MIN_SLOT_COUNT, Long.highestOneBit(entryCount + (entryCount >>> 1)) << 1);
+        long size = 0L;
+        try (FileChannel channel = FileChannel.open(storePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedRegion data = MappedRegion.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_LENGTH, dataLength);
+            // Mapping the hash table extends the file with zeros (empty slots).
+            MappedRegion slots = MappedRegion.map(channel, FileChannel.MapMode.READ_WRITE, HEADER_LENGTH + dataLength, slotCount * SLOT_LENGTH);
+            byte[] keyBytes = new byte[INITIAL_SCRATCH_LENGTH];
+            long entryPosition = 0L;
+            while (entryPosition < dataLength) {
+                int keyLength = data.getInt(entryPosition + Integer.BYTES);
+                if (keyBytes.length < keyLength) {
+                    keyBytes = new byte[keyLength];
+                }
+                data.get(entryPosition + 2 * Integer.BYTES, keyBytes, keyLength);
+                String key = LosslessUtf8.decode(keyBytes, 0, keyLength);
+                if (insert(data, slots, slotCount, key, entryPosition)) {
+                    size++;
+                }
+                entryPosition += Integer.BYTES + data.getInt(entryPosition);
+            }
+            slots.force();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.putInt(MAGIC_NUMBER)
+                  .putInt(VERSION)
+                  .putLong(sourceSize)
+                  .putLong(sourceLastModified)
+                  .putLong(fileSpecFingerprint(fileSpec))
+                  .putLong(keyFingerprint)
+                  .putLong(size)
+                  .putLong(dataLength)
+                  .putLong(slotCount)
+                  .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        return open(storePath);
+    }
+
+    /**
+     * Opens the store file, if it was built from the source file with its current size and modification time,
+     * with an equal file spec and with a key message, which creates the same keys for the first records.
+     * Otherwise, it builds the store file again.
+     *
+     * @see #build(ReadableRecordFileSpec, Path, RecordMessage, Path)
+     */
+    public static <PTR extends TextRecord> LookupStore openOrBuild(ReadableRecordFileSpec<PTR, ?> fileSpec,
+                                                                   Path sourcePath,
+                                                                   RecordMessage<? super PTR> keyMessage,
+                                                                   Path storePath) throws ProducerException, IOException {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(sourcePath);
+        Objects.requireNonNull(keyMessage);
+        Objects.requireNonNull(storePath);
+        if (Files.exists(storePath)) {
+            LookupStore lookupStore = null;
+            try {
+                lookupStore = open(storePath);
+            } catch (IOException ignored) {
+                // The store file is invalid and is built again.
+            }
+            if (lookupStore != null) {
+                boolean unchanged;
+                try {
+                    unchanged = (lookupStore.sourceSize == Files.size(sourcePath))
+                            && (lookupStore.sourceLastModified == Files.getLastModifiedTime(sourcePath).toMillis())
+                            && (lookupStore.fileSpecFingerprint == fileSpecFingerprint(fileSpec))
+                            && (lookupStore.keyFingerprint == keyFingerprint(fileSpec, sourcePath, keyMessage));
+                } catch (ProducerException | IOException | RuntimeException e) {
+                    lookupStore.close();
+                    throw e;
+                }
+                if (unchanged) {
+                    return lookupStore;
+                }
+                lookupStore.close();
+            }
+        }
+        return build(fileSpec, sourcePath, keyMessage, storePath);
+    }
+
+    /**
+     * Returns a fingerprint of the file spec. The file specs are records, so equal file specs have equal strings.
+     */
+    private static long fileSpecFingerprint(ReadableRecordFileSpec<?, ?> fileSpec) {
+        return hash(fileSpec.getClass().getName() + fileSpec);
+    }
+
+    /**
+     * Returns a fingerprint of the keys of the first {@link #KEY_SAMPLE_SIZE} records of the source file.
+     */
+    private static <PTR extends TextRecord> long keyFingerprint(ReadableRecordFileSpec<PTR, ?> fileSpec,
+                                                                Path sourcePath,
+                                                                RecordMessage<? super PTR> keyMessage) throws ProducerException, IOException {
+        long keyFingerprint = FNV_OFFSET_BASIS;
+        try (ReadableRecordProducer<PTR> producer = fileSpec.openFileAsProducer(sourcePath)) {
+            producer.readBefore();
+            Iterator<PTR> records = producer.readRecords().iterator();
+            for (int count = 0; (count < KEY_SAMPLE_SIZE) && records.hasNext(); count++) {
+                keyFingerprint = fingerprint(keyFingerprint, keyMessage.createMessage(records.next()));
+            }
+        }
+        return keyFingerprint;
+    }
+
+    private static long fingerprint(long fingerprint, @Nullable String key) {
+        return (fingerprint ^ ((key == null) ? NULL_LENGTH : hash(key))) * FNV_PRIME;
+    }
+
+    private static void writeEntry(DataOutputStream entry, String key, TextRecord record) throws IOException {
+        writeText(entry, key);
+        String category = record.category();
+        Long recordId = record.recordId();
+        entry.writeByte(((category != null) ? FLAG_CATEGORY : 0) | ((recordId != null) ? FLAG_RECORD_ID : 0));
+        if (category != null) {
+            writeText(entry, category);
+        }
+        if (recordId != null) {
+            entry.writeLong(recordId);
+        }
+        entry.writeInt(record.size());
+        for (int index = 0; index < record.size(); index++) {
+            String text = record.textAt(index);
+            if (text == null) {
+                entry.writeInt(NULL_LENGTH);
+            } else {
+                writeText(entry, text);
+            }
+        }
+    }
+
+    private static void writeText(DataOutputStream entry, String text) throws IOException {
+        byte[] bytes = LosslessUtf8.encode(text);
+        entry.writeInt(bytes.length);
+        entry.write(bytes);
+    }
+
+    /**
+     * Inserts the entry into the hash table, if its key is not already contained.
+     */
+    private static boolean insert(MappedRegion data, MappedRegion slots, long slotCount, String key, long entryPosition) {
+        long hash = hash(key);
+        long mask = slotCount - 1L;
+        long fingerprint = hash >>> OFFSET_BITS;
+        for (long slot = hash & mask; ; slot = (slot + 1L) & mask) {
+            long value = slots.getLong(slot * SLOT_LENGTH);
+            if (value == 0L) {
+                slots.putLong(slot * SLOT_LENGTH, (fingerprint << OFFSET_BITS) | (entryPosition + 1L));
+                return true;
+            }
+            if (((value >>> OFFSET_BITS) == fingerprint) && keyEquals(data, key, (value & OFFSET_MASK) - 1L)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of the chars of the key mixed with the finalizer of MurmurHash3.
+     */
+    private static long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < key.length(); index++) {
+            hash = (hash ^ key.charAt(index)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Compares the key with the encoded key of the entry without encoding the key into a new array.
+     * An unpaired surrogate is encoded in three bytes like {@link LosslessUtf8#encode(String)} does.
+     */
+    private static boolean keyEquals(MappedRegion data, String key, long entryPosition) {
+        long position = entryPosition + 2 * Integer.BYTES;
+        long end = position + data.getInt(entryPosition + Integer.BYTES);
+        int length = key.length();
+        for (int index = 0; index < length; index++) {
+            int codePoint = key.charAt(index);
+            if (Character.isHighSurrogate((char) codePoint) && (index + 1 < length)
+                    && Character.isLowSurrogate(key.charAt(index + 1))) {
+                codePoint = Character.toCodePoint((char) codePoint, key.charAt(index + 1));
+                index++;
+            }
+            int byteCount = (codePoint < 0x80) ? 1 : (codePoint < 0x800) ? 2 : (codePoint < 0x10000) ? 3 : 4;
+            if (end - position < byteCount) {
+                return false;
+            }
+            if (byteCount == 1) {
+                if (data.get(position) != (byte) codePoint) {
+                    return false;
+                }
+            } else {
+                int leadingBits = (0xF00 >>> byteCount) & 0xFF;
+                int shift = 6 * (byteCount - 1);
+                if (data.get(position) != (byte) (leadingBits | (codePoint >>> shift))) {
+                    return false;
+                }
+                for (int byteIndex = 1; byteIndex < byteCount; byteIndex++) {
+                    shift -= 6;
+                    if (data.get(position + byteIndex) != (byte) (0x80 | ((codePoint >>> shift) & 0x3F))) {
+                        return false;
+                    }
+                }
+            }
+            position += byteCount;
+        }
+        return position == end;
+    }
+
+    /**
+     * Returns the position of the entry of the key or {@code -1}.
+     */
+    private long find(String key) {
+        long hash = hash(key);
+        long mask = slotCount - 1L;
+        long fingerprint = hash >>> OFFSET_BITS;
+        for (long slot = hash & mask; ; slot = (slot + 1L) & mask) {
+            long value = slots.getLong(slot * SLOT_LENGTH);
+            if (value == 0L) {
+                return -1L;
+            }
+            if (((value >>> OFFSET_BITS) == fingerprint) && keyEquals(data, key, (value & OFFSET_MASK) - 1L)) {
+                return (value & OFFSET_MASK) - 1L;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean containsKey(String key) {
+        Objects.requireNonNull(key);
+        return find(key) >= 0L;
+    }
+
+    /**
+     * Returns the record of the key or {@code null}, if the key is not contained.
+     */
+    public @Nullable TextRecord get(String key) {
+        Objects.requireNonNull(key);
+        long entryPosition = find(key);
+        if (entryPosition < 0L) {
+            return null;
+        }
+        long position = entryPosition + 2 * Integer.BYTES + data.getInt(entryPosition + Integer.BYTES);
+        int flags = data.get(position);
+        position++;
+        String category = null;
+        if ((flags & FLAG_CATEGORY) != 0) {
+            int length = data.getInt(position);
+            category = readText(position + Integer.BYTES, length);
+            position += Integer.BYTES + length;
+        }
+        Long recordId = null;
+        if ((flags & FLAG_RECORD_ID) != 0) {
+            recordId = data.getLong(position);
+            position += Long.BYTES;
+        }
+        int fieldCount = data.getInt(position);
+        position += Integer.BYTES;
+        List<@Nullable String> texts = new ArrayList<>(fieldCount);
+        for (int index = 0; index < fieldCount; index++) {
+            int length = data.getInt(position);
+            position += Integer.BYTES;
+            if (length == NULL_LENGTH) {
+                texts.add(null);
+            } else {
+                texts.add(readText(position, length));
+                position += length;
+            }
+        }
+        return TextRecords.ofNullable(category, recordId, texts);
+    }
+
+    private String readText(long position, int length) {
+        byte[] bytes = scratch.get();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, 2 * bytes.length)];
+            scratch.set(bytes);
+        }
+        data.get(position, bytes, length);
+        return LosslessUtf8.decode(bytes, 0, length);
+    }
+
+    /**
+     * Returns a {@link LookupMapper}, which combines every record with the record of its key.
+     *
+     * @param keyMessage    the message, which creates the key of a record
+     * @param combiner      the function, which combines a record with the found record
+     * @param defaultMapper the mapper for the records, whose key is not contained
+     */
+    public <T extends TextRecord, R extends TextRecord> LookupMapper<T, R, String> lookupMapper(
+            NotNullRecordMessage<? super T> keyMessage,
+            BiFunction<? super T, TextRecord, ? extends R> combiner,
+            RecordMapper<? super T, ? extends R> defaultMapper) {
+        Objects.requireNonNull(keyMessage);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(defaultMapper);
+        Function<String, @Nullable RecordMapper<? super T, ? extends R>> mapperFunction = key -> {
+            TextRecord foundRecord = get(key);
+            return (foundRecord == null) ? null : record -> combiner.apply(record, foundRecord);
+        };
+        return new LookupMapper<>(keyMessage.asFunction(), mapperFunction, defaultMapper);
+    }
+
+    /**
+     * Returns a {@link MessageFilter}, which accepts all records, whose message is a contained key.
+     */
+    public <T extends TextRecord> MessageFilter<T> containedIn(RecordMessage<? super T> keyMessage) {
+        Objects.requireNonNull(keyMessage);
+        return new MessageFilter<>(keyMessage, key -> (key != null) && containsKey(key));
+    }
+
+    /**
+     * The mapped memory is released, when the store is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
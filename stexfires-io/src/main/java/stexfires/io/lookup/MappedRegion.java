@@ -0,0 +1,97 @@
+package stexfires.io.lookup;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A region of a file, which is mapped into memory in segments of 1 GiB.
+ * <p>
+ * All methods use absolute positions, so a read-only region can be used by several threads.
+ *
+ * @since 0.1
+ */
+final class MappedRegion {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1L;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedRegion(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    static MappedRegion map(FileChannel channel, FileChannel.MapMode mapMode, long position, long size) throws IOException {
+        if ((position < 0L) || (size < 0L)) {
+            throw new IllegalArgumentException("position < 0 or size < 0");
+        }
+        int segmentCount = Math.toIntExact((size + SEGMENT_SIZE - 1L) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+        for (int segmentIndex = 0; segmentIndex < segmentCount; segmentIndex++) {
+            long segmentStart = (long) segmentIndex << SEGMENT_SHIFT;
+            segments[segmentIndex] = channel.map(mapMode, position + segmentStart, Math.min(SEGMENT_SIZE, size - segmentStart));
+        }
+        return new MappedRegion(segments, size);
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte get(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    int getInt(long position) {
+        int offset = (int) (position & SEGMENT_MASK);
+        if (offset <= SEGMENT_SIZE - Integer.BYTES) {
+            return segments[(int) (position >>> SEGMENT_SHIFT)].getInt(offset);
+        }
+        int value = 0;
+        for (int index = 0; index < Integer.BYTES; index++) {
+            value = (value << 8) | (get(position + index) & 0xFF);
+        }
+        return value;
+    }
+
+    long getLong(long position) {
+        int offset = (int) (position & SEGMENT_MASK);
+        if (offset <= SEGMENT_SIZE - Long.BYTES) {
+            return segments[(int) (position >>> SEGMENT_SHIFT)].getLong(offset);
+        }
+        long value = 0L;
+        for (int index = 0; index < Long.BYTES; index++) {
+            value = (value << 8) | (get(position + index) & 0xFFL);
+        }
+        return value;
+    }
+
+    /**
+     * Writes the value. The position must be a multiple of 8, so the value does not cross a segment.
+     */
+    void putLong(long position, long value) {
+        segments[(int) (position >>> SEGMENT_SHIFT)].putLong((int) (position & SEGMENT_MASK), value);
+    }
+
+    void get(long position, byte[] bytes, int length) {
+        int copied = 0;
+        while (copied < length) {
+            long current = position + copied;
+            int offset = (int) (current & SEGMENT_MASK);
+            int count = (int) Math.min(length - copied, SEGMENT_SIZE - offset);
+            segments[(int) (current >>> SEGMENT_SHIFT)].get(offset, bytes, copied, count);
+            copied += count;
+        }
+    }
+
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+}
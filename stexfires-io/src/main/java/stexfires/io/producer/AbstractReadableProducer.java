@@ -16,6 +16,8 @@ import java.util.stream.*;
  */
 public abstract class AbstractReadableProducer<T extends TextRecord> implements ReadableRecordProducer<T> {
 
+    private static final int RAW_DATA_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
     private final BufferedReader bufferedReader;
     private final @Nullable Consumer<RecordRawData> recordRawDataLogger;
 
@@ -52,17 +54,55 @@ public abstract class AbstractReadableProducer<T extends TextRecord> implements
 
     @Override
     public Stream<T> readRecords() throws ProducerException, UncheckedProducerException, IOException {
+        return createRecordStream(iterator -> Spliterators.spliteratorUnknownSize(iterator, RAW_DATA_CHARACTERISTICS), false);
+    }
+
+    /**
+     * Returns the records as a parallel stream.
+     * The raw data is read sequentially in batches by a {@link BatchingSpliterator}
+     * and {@link #createRecord(RecordRawData)} is called in parallel.
+     * The {@code recordRawDataLogger} is called in parallel too.
+     *
+     * @param batchSize the number of raw data, which is read at once and then processed in parallel
+     */
+    @Override
+    public Stream<T> readRecordsInParallel(int batchSize) throws ProducerException, UncheckedProducerException, IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize <= 0");
+        }
+        return createRecordStream(iterator -> new BatchingSpliterator<>(iterator, batchSize, RAW_DATA_CHARACTERISTICS), true);
+    }
+
+    /**
+     * Returns a supplier for every raw data, which calls the {@code recordRawDataLogger}
+     * and {@link #createRecord(RecordRawData)}.
+     */
+    @Override
+    public Stream<Supplier<Optional<T>>> readRecordSuppliers() throws ProducerException, UncheckedProducerException, IOException {
+        if ((iterator != null) && iterator.hasNext()) {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, RAW_DATA_CHARACTERISTICS), false)
+                                .map(recordRawData -> () -> {
+                                    if (recordRawDataLogger != null) {
+                                        recordRawDataLogger.accept(recordRawData);
+                                    }
+                                    return createRecord(recordRawData);
+                                });
+        }
+        return Stream.empty();
+    }
+
+    private Stream<T> createRecordStream(Function<AbstractRecordRawDataIterator, Spliterator<RecordRawData>> spliteratorFunction,
+                                         boolean parallel) throws UncheckedProducerException {
         Stream<T> recordStream;
         if ((iterator != null) && iterator.hasNext()) {
-            Stream<RecordRawData> rawStream = StreamSupport.stream(
-                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+            Stream<RecordRawData> rawStream = StreamSupport.stream(spliteratorFunction.apply(iterator), parallel);
             if (recordRawDataLogger != null) {
                 rawStream = rawStream.peek(recordRawDataLogger);
             }
             recordStream = rawStream.map(this::createRecord)
                                     .flatMap(Optional::stream);
         } else {
-            recordStream = Stream.empty();
+            recordStream = parallel ? Stream.<T>empty().parallel() : Stream.empty();
         }
         return recordStream;
     }
@@ -1,5 +1,6 @@
 package stexfires.io.producer;
 
+import org.jspecify.annotations.Nullable;
 import stexfires.record.producer.ProducerException;
 import stexfires.record.producer.UncheckedProducerException;
 
@@ -9,6 +10,12 @@ import java.util.*;
 import java.util.concurrent.*;
 
 /**
+ * An iterator over the raw data of the records of a {@link BufferedReader}.
+ * <p>
+ * If the reader was opened with a {@link RecordOffsetIndex}, the record indexes start at the indexed record,
+ * the records before the first requested record are skipped and the iteration ends after the last requested record.
+ * The first and last records to ignore are still counted from the beginning and the end of the file.
+ *
  * @since 0.1
  */
 public abstract class AbstractRecordRawDataIterator implements Iterator<RecordRawData> {
@@ -23,6 +30,10 @@ public abstract class AbstractRecordRawDataIterator implements Iterator<RecordRa
     private final ArrayBlockingQueue<RecordRawData> queue;
     private final List<RecordRawData> first;
     private final List<RecordRawData> last;
+    private final @Nullable RecordOffsetReader recordOffsetReader;
+    private final long fromRecordIndex;
+    private final long toRecordIndex;
+    private final long readLimit;
 
     private long currentRecordIndex;
     private boolean endIsReached;
@@ -47,7 +58,19 @@ public abstract class AbstractRecordRawDataIterator implements Iterator<RecordRa
         queue = new ArrayBlockingQueue<>(ignoreLast + 1);
         first = new ArrayList<>(ignoreFirst);
         last = new ArrayList<>(ignoreLast);
-        currentRecordIndex = FIRST_RECORD_INDEX;
+        if (bufferedReader instanceof RecordOffsetReader offsetReader) {
+            recordOffsetReader = offsetReader;
+            currentRecordIndex = offsetReader.firstRecordIndex();
+            fromRecordIndex = offsetReader.fromRecordIndex();
+            toRecordIndex = offsetReader.toRecordIndex();
+        } else {
+            recordOffsetReader = null;
+            currentRecordIndex = FIRST_RECORD_INDEX;
+            fromRecordIndex = FIRST_RECORD_INDEX;
+            toRecordIndex = Long.MAX_VALUE;
+        }
+        // The records after the range are read to find out, if the last records of the range must be ignored.
+        readLimit = (toRecordIndex > Long.MAX_VALUE - ignoreLast) ? Long.MAX_VALUE : toRecordIndex + ignoreLast;
     }
 
     @SuppressWarnings("RedundantThrows")
@@ -55,10 +78,19 @@ public abstract class AbstractRecordRawDataIterator implements Iterator<RecordRa
 
     final void fillQueue(boolean onlyFirst) throws UncheckedProducerException {
         try {
-            while (!endIsReached && (queue.remainingCapacity() > 0)
-                    && (!onlyFirst || (first.size() < ignoreFirst))) {
+            while (!endIsReached && (queue.remainingCapacity() > 0) && (currentRecordIndex < readLimit)
+                    && (!onlyFirst || ((currentRecordIndex - FIRST_RECORD_INDEX) < ignoreFirst))) {
+                long recordPosition = (recordOffsetReader != null) ? recordOffsetReader.position() : 0L;
                 Optional<RecordRawData> recordRawData = readNext(bufferedReader, currentRecordIndex);
                 if (recordRawData.isPresent()) {
+                    if (recordOffsetReader != null) {
+                        recordOffsetReader.recordRead(currentRecordIndex, recordPosition);
+                    }
+                    if (currentRecordIndex < fromRecordIndex) {
+                        // The records between the indexed record and the first requested record are skipped.
+                        currentRecordIndex++;
+                        continue;
+                    }
                     if ((currentRecordIndex - FIRST_RECORD_INDEX) >= ignoreFirst) {
                         queue.add(recordRawData.get()); // Can throw an IllegalStateException
                     } else {
@@ -80,7 +112,8 @@ public abstract class AbstractRecordRawDataIterator implements Iterator<RecordRa
     @Override
     public final boolean hasNext() throws UncheckedProducerException {
         fillQueue(false);
-        return queue.size() > ignoreLast;
+        // The queue contains the records before currentRecordIndex.
+        return (queue.size() > ignoreLast) && ((currentRecordIndex - queue.size()) < toRecordIndex);
     }
 
     @Override
@@ -0,0 +1,87 @@
+package stexfires.io.producer;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A {@link Spliterator} for an {@link Iterator} of unknown size, which splits off batches of a fixed size.
+ * <p>
+ * The elements are read sequentially from the iterator.
+ * Every split removes up to {@code batchSize} elements from the iterator
+ * and returns them as an array-based {@link Spliterator},
+ * so that the elements of the batches can be processed in parallel.
+ *
+ * @param <T> type of the elements
+ * @since 0.1
+ */
+public final class BatchingSpliterator<T> implements Spliterator<T> {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final Iterator<? extends T> iterator;
+    private final int batchSize;
+    private final int characteristics;
+
+    /**
+     * @param iterator        the source of the elements
+     * @param batchSize       the number of elements of a batch
+     * @param characteristics the characteristics of the elements, for example {@link Spliterator#ORDERED}.
+     *                        {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} are removed.
+     */
+    public BatchingSpliterator(Iterator<? extends T> iterator, int batchSize, int characteristics) {
+        Objects.requireNonNull(iterator);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize <= 0");
+        }
+        this.iterator = iterator;
+        this.batchSize = batchSize;
+        this.characteristics = characteristics & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (iterator.hasNext()) {
+            action.accept(iterator.next());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        iterator.forEachRemaining(action);
+    }
+
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Object[] batch = new Object[batchSize];
+        int size = 0;
+        do {
+            batch[size] = iterator.next();
+            size++;
+        } while ((size < batchSize) && iterator.hasNext());
+        return Spliterators.spliterator(batch, 0, size, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+}
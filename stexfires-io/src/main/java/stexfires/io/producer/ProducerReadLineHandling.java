@@ -131,16 +131,40 @@ public enum ProducerReadLineHandling {
         }
     });
 
-    private final Function<BufferedReader, @Nullable String> function;
+    private final Function<LineReader, @Nullable String> function;
 
-    ProducerReadLineHandling(Function<BufferedReader, @Nullable String> function) {
+    ProducerReadLineHandling(Function<LineReader, @Nullable String> function) {
         Objects.requireNonNull(function);
         this.function = function;
     }
 
     public @Nullable String readAndHandleLine(BufferedReader bufferedReader) throws UncheckedProducerException {
         Objects.requireNonNull(bufferedReader);
-        return function.apply(bufferedReader);
+        return function.apply(bufferedReader::readLine);
+    }
+
+    /**
+     * Reads and handles the next line from a {@link LineReader}.
+     * It can be used for lines that were not read with a {@link BufferedReader}.
+     *
+     * @see ProducerReadLineHandling#readAndHandleLine(java.io.BufferedReader)
+     */
+    public @Nullable String readAndHandleLine(LineReader lineReader) throws UncheckedProducerException {
+        Objects.requireNonNull(lineReader);
+        return function.apply(lineReader);
+    }
+
+    /**
+     * A source of lines. It returns {@code null} if the end is reached.
+     *
+     * @see java.io.BufferedReader#readLine()
+     */
+    @FunctionalInterface
+    public interface LineReader {
+
+        @Nullable
+        String readLine() throws IOException;
+
     }
 
 }
@@ -1,6 +1,8 @@
 package stexfires.io.producer;
 
 import stexfires.io.RecordFileSpec;
+import stexfires.io.compression.BlockGzipInputStream;
+import stexfires.io.compression.BlockGzipSpec;
 import stexfires.record.TextRecord;
 
 import java.io.*;
@@ -45,4 +47,75 @@ public non-sealed interface ReadableRecordFileSpec<PTR extends TextRecord, RRP e
         return producer(Files.newInputStream(filePath, readOptions));
     }
 
+    /**
+     * Opens the block-compressed gzip file as a producer.
+     * The blocks are decompressed on a pool of threads.
+     *
+     * @see ReadableRecordFileSpec#producer(java.io.InputStream)
+     * @see BlockGzipInputStream#openFile(java.nio.file.Path, BlockGzipSpec)
+     */
+    default RRP openFileAsProducer(Path filePath, BlockGzipSpec blockGzipSpec) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(blockGzipSpec);
+        return producer(BlockGzipInputStream.openFile(filePath, blockGzipSpec));
+    }
+
+    /**
+     * Opens the block-compressed gzip file as a producer, which starts reading at the block.
+     * The position of the block is read from the block index sidecar file.
+     * The first and last records to ignore are counted from this block.
+     *
+     * @see ReadableRecordFileSpec#producer(java.io.InputStream)
+     * @see BlockGzipInputStream#openFile(java.nio.file.Path, BlockGzipSpec, int)
+     */
+    default RRP openFileAsProducer(Path filePath, BlockGzipSpec blockGzipSpec, int firstBlock) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(blockGzipSpec);
+        return producer(BlockGzipInputStream.openFile(filePath, blockGzipSpec, firstBlock));
+    }
+
+    /**
+     * Opens the file as a producer, which starts reading at the record.
+     * The position of the nearest record before is read from the index.
+     * The records keep their recordIds.
+     *
+     * @param fromRecordIndex the index of the first record
+     * @see RecordOffsetIndex
+     */
+    default RRP openFileAsProducer(Path filePath, RecordOffsetIndex recordOffsetIndex, long fromRecordIndex) throws IOException {
+        return openFileAsProducer(filePath, recordOffsetIndex, fromRecordIndex, Long.MAX_VALUE);
+    }
+
+    /**
+     * Opens the file as a producer, which reads only the records of the range.
+     * The position of the nearest record before the range is read from the index.
+     * The records keep their recordIds.
+     *
+     * @param fromRecordIndex the index of the first record (inclusive)
+     * @param toRecordIndex   the index of the last record (exclusive)
+     * @see RecordOffsetIndex
+     * @see RecordOffsetIndex#ranges(int)
+     */
+    default RRP openFileAsProducer(Path filePath, RecordOffsetIndex recordOffsetIndex, long fromRecordIndex, long toRecordIndex) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(recordOffsetIndex);
+        return producer(recordOffsetIndex.openReader(this, filePath,
+                recordOffsetIndex.position(fromRecordIndex), fromRecordIndex, toRecordIndex));
+    }
+
+    /**
+     * Opens the file as a producer, which starts reading at the record with the recordId.
+     * The index must contain the recordId positions.
+     *
+     * @see RecordOffsetIndex#recordIdPosition(long)
+     */
+    default RRP openFileAsProducerAtRecordId(Path filePath, RecordOffsetIndex recordOffsetIndex, long recordId) throws IOException {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(recordOffsetIndex);
+        RecordOffsetIndex.Position position = recordOffsetIndex.recordIdPosition(recordId)
+                                                               .orElseThrow(() -> new IllegalArgumentException("recordId not found in the index: " + recordId));
+        return producer(recordOffsetIndex.openReader(this, filePath,
+                position, position.recordIndex(), Long.MAX_VALUE));
+    }
+
 }
@@ -7,6 +7,8 @@ import stexfires.record.producer.UncheckedProducerException;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -19,6 +21,38 @@ public interface ReadableRecordProducer<PTR extends TextRecord> extends RecordPr
 
     Stream<PTR> readRecords() throws ProducerException, UncheckedProducerException, IOException;
 
+    /**
+     * Returns the records as a parallel stream.
+     * The raw data is read sequentially, but the records can be created in parallel.
+     * The encounter order of the records is the same as of {@link #readRecords()}.
+     * <p>
+     * The default implementation returns {@code readRecords().parallel()}.
+     *
+     * @param batchSize the number of raw data, which is read at once and then processed in parallel
+     * @see BatchingSpliterator
+     */
+    default Stream<PTR> readRecordsInParallel(int batchSize) throws ProducerException, UncheckedProducerException, IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize <= 0");
+        }
+        return readRecords().parallel();
+    }
+
+    /**
+     * Returns a sequential stream with one record supplier for every raw data.
+     * The raw data is read while the stream is consumed,
+     * but the record is only created when the supplier is called.
+     * Every supplier must be called once and it can be called on another thread.
+     * The encounter order of the records is the same as of {@link #readRecords()}.
+     * <p>
+     * The default implementation returns suppliers of the records of {@link #readRecords()}.
+     *
+     * @see stexfires.io.RecordIOStreams#transferPipelined(ReadableRecordProducer, stexfires.io.consumer.WritableRecordConsumer, stexfires.io.TransferPipelineSpec)
+     */
+    default Stream<Supplier<Optional<PTR>>> readRecordSuppliers() throws ProducerException, UncheckedProducerException, IOException {
+        return readRecords().map(record -> () -> Optional.of(record));
+    }
+
     void readAfter() throws ProducerException, UncheckedProducerException, IOException;
 
     @Override
@@ -32,4 +66,17 @@ public interface ReadableRecordProducer<PTR extends TextRecord> extends RecordPr
         }
     }
 
+    /**
+     * @see #readRecordsInParallel(int)
+     */
+    default Stream<PTR> produceParallelStream(int batchSize) throws UncheckedProducerException {
+        try {
+            return readRecordsInParallel(batchSize);
+        } catch (ProducerException e) {
+            throw new UncheckedProducerException(e);
+        } catch (IOException e) {
+            throw new UncheckedProducerException(new ProducerException(e));
+        }
+    }
+
 }
@@ -0,0 +1,439 @@
+package stexfires.io.producer;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.io.delimited.csv.CsvFileSpec;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.io.fixedwidth.FixedWidthFileSpec;
+import stexfires.io.json.JsonStreamingFileSpec;
+import stexfires.io.singlevalue.SingleValueFileSpec;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The index of the byte offsets of the records of a text file.
+ * <p>
+ * It is built by {@link #build(ReadableRecordFileSpec, Path, int, boolean)} with a producer, which reads the whole file.
+ * It contains the offset of every {@code interval}th record and optionally the exact position of every recordId.
+ * It can be saved into a sidecar file (see {@link #sidecarPath(Path)}).
+ * <p>
+ * {@link ReadableRecordFileSpec#openFileAsProducer(Path, RecordOffsetIndex, long)} and
+ * {@link ReadableRecordFileSpec#openFileAsProducer(Path, RecordOffsetIndex, long, long)}
+ * open the file at the indexed offset before a record and skip at most {@code interval - 1} records.
+ * The producer reads the header of the file (the bytes before the first record) first,
+ * so skipped first lines work as before. The records keep their recordIds
+ * and the first records to ignore are counted from the beginning of the file.
+ * With {@link #ranges(int)} several threads or processes can read disjoint ranges of the same file.
+ * <p>
+ * Only the producers of {@link SimpleDelimitedFileSpec}, {@link CsvFileSpec}, {@link FixedWidthFileSpec},
+ * {@link SingleValueFileSpec} and {@link JsonStreamingFileSpec} are supported, because their records do not depend
+ * on the records before. The charset must be UTF-8 or a single-byte ASCII compatible charset
+ * and the file must not contain malformed bytes.
+ *
+ * @param interval           the number of records between two offsets
+ * @param fileSize           the size of the indexed file
+ * @param headerLength       the number of bytes before the first record
+ * @param recordCount        the number of records including the ignored first and last records
+ * @param offsets            the offset of the records {@code 0}, {@code interval}, {@code 2 * interval}, ...
+ * @param recordIdPositions  the position of the record of every recordId or {@code null}
+ * @see RecordOffsetReader
+ * @since 0.1
+ */
+public record RecordOffsetIndex(int interval,
+                                long fileSize,
+                                long headerLength,
+                                long recordCount,
+                                List<Long> offsets,
+                                @Nullable Map<Long, Position> recordIdPositions) {
+
+    public static final String SIDECAR_FILE_EXTENSION = ".rofi";
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    private static final int MAGIC_NUMBER = 0x524F4649; // "ROFI"
+    private static final int VERSION = 1;
+    private static final int NO_RECORD_ID_POSITIONS = -1;
+
+    public RecordOffsetIndex {
+        Objects.requireNonNull(offsets);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval <= 0");
+        }
+        if ((headerLength < 0L) || (headerLength > fileSize)) {
+            throw new IllegalArgumentException("headerLength out of range");
+        }
+        if (recordCount < 0L) {
+            throw new IllegalArgumentException("recordCount < 0");
+        }
+        offsets = List.copyOf(offsets);
+        if (offsets.size() != ((recordCount + interval - 1L) / interval)) {
+            throw new IllegalArgumentException("offsets do not match recordCount");
+        }
+        long previousOffset = headerLength;
+        for (Long offset : offsets) {
+            if ((offset < previousOffset) || (offset > fileSize)) {
+                throw new IllegalArgumentException("offsets are not ascending");
+            }
+            previousOffset = offset;
+        }
+        if (recordIdPositions != null) {
+            recordIdPositions = Map.copyOf(recordIdPositions);
+        }
+    }
+
+    /**
+     * Returns the path of the sidecar file of the text file.
+     */
+    public static Path sidecarPath(Path filePath) {
+        Objects.requireNonNull(filePath);
+        Path fileName = filePath.getFileName();
+        if (fileName == null) {
+            throw new IllegalArgumentException("filePath has no file name");
+        }
+        return filePath.resolveSibling(fileName + SIDECAR_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns {@code true}, if the file spec supports a record offset index.
+     */
+    public static boolean isSupported(ReadableRecordFileSpec<?, ?> fileSpec) {
+        Objects.requireNonNull(fileSpec);
+        boolean supportedFileSpec = switch (fileSpec) {
+            case SimpleDelimitedFileSpec ignored -> true;
+            case CsvFileSpec ignored -> true;
+            case FixedWidthFileSpec ignored -> true;
+            case SingleValueFileSpec ignored -> true;
+            case JsonStreamingFileSpec ignored -> true;
+            default -> false;
+        };
+        return supportedFileSpec && fileSpec.charsetCoding().isAsciiCompatible();
+    }
+
+    private static void checkSupported(ReadableRecordFileSpec<?, ?> fileSpec) {
+        if (!isSupported(fileSpec)) {
+            throw new IllegalArgumentException("The file spec does not support a record offset index: " + fileSpec.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Reads the whole file with a producer of the file spec and builds the index.
+     *
+     * @param interval             the number of records between two offsets
+     * @param withRecordIdPositions if the position of every recordId is stored. The records are created to get them.
+     */
+    public static RecordOffsetIndex build(ReadableRecordFileSpec<?, ?> fileSpec,
+                                          Path filePath,
+                                          int interval,
+                                          boolean withRecordIdPositions) throws ProducerException, IOException {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(filePath);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval <= 0");
+        }
+        checkSupported(fileSpec);
+        long fileSize = Files.size(filePath);
+        Builder builder = new Builder(interval, withRecordIdPositions);
+        RecordOffsetReader reader = newReader(fileSpec.charsetCoding(),
+                fileSpec.charsetCoding().newInputStreamReader(Files.newInputStream(filePath)),
+                AbstractRecordRawDataIterator.FIRST_RECORD_INDEX,
+                AbstractRecordRawDataIterator.FIRST_RECORD_INDEX,
+                Long.MAX_VALUE,
+                builder);
+        try (ReadableRecordProducer<?> producer = fileSpec.producer(reader)) {
+            producer.readBefore();
+            if (withRecordIdPositions) {
+                producer.readRecords().forEachOrdered(record -> builder.recordProduced(record.recordId()));
+            } else {
+                producer.readRecordSuppliers().forEachOrdered(supplier -> {
+                });
+            }
+            producer.readAfter();
+        }
+        if (reader.position() != fileSize) {
+            throw new IOException("The file was not read completely or has malformed bytes: " + filePath);
+        }
+        return builder.build(fileSize);
+    }
+
+    public static RecordOffsetIndex read(Path indexPath) throws IOException {
+        Objects.requireNonNull(indexPath);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if ((input.readInt() != MAGIC_NUMBER) || (input.readInt() != VERSION)) {
+                throw new IOException("Not a record offset index: " + indexPath);
+            }
+            int interval = input.readInt();
+            long fileSize = input.readLong();
+            long headerLength = input.readLong();
+            long recordCount = input.readLong();
+            int offsetCount = input.readInt();
+            if (offsetCount < 0) {
+                throw new IOException("Invalid offset count of the record offset index: " + offsetCount);
+            }
+            List<Long> offsets = new ArrayList<>(Math.min(offsetCount, 1024));
+            for (int index = 0; index < offsetCount; index++) {
+                offsets.add(input.readLong());
+            }
+            int positionCount = input.readInt();
+            Map<Long, Position> recordIdPositions = null;
+            if (positionCount != NO_RECORD_ID_POSITIONS) {
+                if (positionCount < 0) {
+                    throw new IOException("Invalid position count of the record offset index: " + positionCount);
+                }
+                recordIdPositions = HashMap.newHashMap(Math.min(positionCount, 1024));
+                for (int index = 0; index < positionCount; index++) {
+                    recordIdPositions.put(input.readLong(), new Position(input.readLong(), input.readLong()));
+                }
+            }
+            return new RecordOffsetIndex(interval, fileSize, headerLength, recordCount, offsets, recordIdPositions);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid record offset index: " + indexPath, e);
+        }
+    }
+
+    public void write(Path indexPath) throws IOException {
+        Objects.requireNonNull(indexPath);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            output.writeInt(interval);
+            output.writeLong(fileSize);
+            output.writeLong(headerLength);
+            output.writeLong(recordCount);
+            output.writeInt(offsets.size());
+            for (Long offset : offsets) {
+                output.writeLong(offset);
+            }
+            if (recordIdPositions == null) {
+                output.writeInt(NO_RECORD_ID_POSITIONS);
+            } else {
+                output.writeInt(recordIdPositions.size());
+                for (Map.Entry<Long, Position> entry : recordIdPositions.entrySet()) {
+                    output.writeLong(entry.getKey());
+                    output.writeLong(entry.getValue().recordIndex());
+                    output.writeLong(entry.getValue().offset());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the nearest indexed record at or before the record.
+     *
+     * @param recordIndex the index of the record between {@code 0} and {@code recordCount} (both inclusive)
+     */
+    public Position position(long recordIndex) {
+        if ((recordIndex < 0L) || (recordIndex > recordCount)) {
+            throw new IllegalArgumentException("recordIndex out of range");
+        }
+        if (offsets.isEmpty()) {
+            return new Position(AbstractRecordRawDataIterator.FIRST_RECORD_INDEX, headerLength);
+        }
+        int offsetIndex = (int) Math.min(recordIndex / interval, offsets.size() - 1L);
+        return new Position((long) offsetIndex * interval, offsets.get(offsetIndex));
+    }
+
+    /**
+     * Returns the exact position of the record with the recordId.
+     * It is empty, if the index has no recordId positions or no record has the recordId.
+     */
+    public Optional<Position> recordIdPosition(long recordId) {
+        return (recordIdPositions == null) ? Optional.empty() : Optional.ofNullable(recordIdPositions.get(recordId));
+    }
+
+    /**
+     * Splits all records into disjoint ranges of nearly the same size.
+     * The ranges start at indexed records, so no records must be skipped.
+     *
+     * @param maxRangeCount the maximal number of ranges
+     * @return the ranges in the order of the file
+     */
+    public List<Range> ranges(int maxRangeCount) {
+        if (maxRangeCount <= 0) {
+            throw new IllegalArgumentException("maxRangeCount <= 0");
+        }
+        int rangeCount = Math.max(1, Math.min(maxRangeCount, offsets.size()));
+        List<Range> ranges = new ArrayList<>(rangeCount);
+        long fromRecordIndex = AbstractRecordRawDataIterator.FIRST_RECORD_INDEX;
+        for (int rangeIndex = 1; rangeIndex <= rangeCount; rangeIndex++) {
+            long toRecordIndex = (rangeIndex == rangeCount)
+                    ? recordCount
+                    : ((long) offsets.size() * rangeIndex / rangeCount) * interval;
+            ranges.add(new Range(fromRecordIndex, toRecordIndex));
+            fromRecordIndex = toRecordIndex;
+        }
+        return ranges;
+    }
+
+    /**
+     * Opens the file as a reader, which starts at the position and returns the records of the range.
+     */
+    BufferedReader openReader(ReadableRecordFileSpec<?, ?> fileSpec,
+                              Path filePath,
+                              Position position,
+                              long fromRecordIndex,
+                              long toRecordIndex) throws IOException {
+        Objects.requireNonNull(fileSpec);
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(position);
+        checkSupported(fileSpec);
+        if (position.recordIndex() > fromRecordIndex) {
+            throw new IllegalArgumentException("position after fromRecordIndex");
+        }
+        if (toRecordIndex < fromRecordIndex) {
+            throw new IllegalArgumentException("toRecordIndex < fromRecordIndex");
+        }
+        SeekableByteChannel channel = Files.newByteChannel(filePath);
+        try {
+            if (channel.size() != fileSize) {
+                throw new IOException("The record offset index does not match the file: " + filePath);
+            }
+            ByteBuffer header = ByteBuffer.allocate(Math.toIntExact(headerLength));
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new EOFException("Unexpected end of the file: " + filePath);
+                }
+            }
+            channel.position(position.offset());
+            SequenceInputStream inputStream = new SequenceInputStream(
+                    new ByteArrayInputStream(header.array()),
+                    Channels.newInputStream(channel));
+            return newReader(fileSpec.charsetCoding(),
+                    fileSpec.charsetCoding().newInputStreamReader(inputStream),
+                    position.recordIndex(),
+                    fromRecordIndex,
+                    toRecordIndex,
+                    null);
+        } catch (IOException | ArithmeticException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static RecordOffsetReader newReader(CharsetCoding charsetCoding,
+                                                Reader reader,
+                                                long firstRecordIndex,
+                                                long fromRecordIndex,
+                                                long toRecordIndex,
+                                                RecordOffsetReader.@Nullable RecordListener recordListener) {
+        return new RecordOffsetReader(reader,
+                charsetCoding.charset().equals(StandardCharsets.UTF_8),
+                firstRecordIndex,
+                fromRecordIndex,
+                toRecordIndex,
+                recordListener);
+    }
+
+    /**
+     * The position of a record.
+     *
+     * @param recordIndex the index of the record
+     * @param offset      the offset of the first byte of the record in the file
+     */
+    public record Position(long recordIndex, long offset) {
+
+        public Position {
+            if (recordIndex < 0L) {
+                throw new IllegalArgumentException("recordIndex < 0");
+            }
+            if (offset < 0L) {
+                throw new IllegalArgumentException("offset < 0");
+            }
+        }
+
+    }
+
+    /**
+     * A range of records.
+     *
+     * @param fromRecordIndex the index of the first record (inclusive)
+     * @param toRecordIndex   the index of the last record (exclusive)
+     */
+    public record Range(long fromRecordIndex, long toRecordIndex) {
+
+        public Range {
+            if (fromRecordIndex < 0L) {
+                throw new IllegalArgumentException("fromRecordIndex < 0");
+            }
+            if (toRecordIndex < fromRecordIndex) {
+                throw new IllegalArgumentException("toRecordIndex < fromRecordIndex");
+            }
+        }
+
+        public long recordCount() {
+            return toRecordIndex - fromRecordIndex;
+        }
+
+    }
+
+    private static final class Builder implements RecordOffsetReader.RecordListener {
+
+        private final int interval;
+        private final List<Long> offsets;
+        private final @Nullable Deque<Position> pendingPositions;
+        private final @Nullable Map<Long, Position> recordIdPositions;
+        private long headerLength;
+        private long recordCount;
+
+        private Builder(int interval, boolean withRecordIdPositions) {
+            this.interval = interval;
+            offsets = new ArrayList<>();
+            pendingPositions = withRecordIdPositions ? new ArrayDeque<>() : null;
+            recordIdPositions = withRecordIdPositions ? new HashMap<>() : null;
+            headerLength = -1L;
+        }
+
+        @Override
+        public void recordRead(long recordIndex, long recordPosition) {
+            if (headerLength < 0L) {
+                headerLength = recordPosition;
+            }
+            if ((recordIndex % interval) == 0L) {
+                offsets.add(recordPosition);
+            }
+            if (pendingPositions != null) {
+                pendingPositions.addLast(new Position(recordIndex, recordPosition));
+            }
+            recordCount = recordIndex + 1L;
+        }
+
+        /**
+         * Stores the position of the produced record.
+         * The recordIds of the producers are the indexes of the records.
+         */
+        private void recordProduced(@Nullable Long recordId) {
+            if ((recordId == null) || (pendingPositions == null) || (recordIdPositions == null)) {
+                return;
+            }
+            while (!pendingPositions.isEmpty() && (pendingPositions.getFirst().recordIndex() < recordId)) {
+                pendingPositions.removeFirst();
+            }
+            Position position = pendingPositions.peekFirst();
+            if ((position != null) && (position.recordIndex() == recordId)) {
+                recordIdPositions.put(recordId, position);
+            }
+        }
+
+        private RecordOffsetIndex build(long fileSize) {
+            return new RecordOffsetIndex(interval, fileSize, (headerLength < 0L) ? fileSize : headerLength,
+                    recordCount, offsets, recordIdPositions);
+        }
+
+    }
+
+}
@@ -0,0 +1,254 @@
+package stexfires.io.producer;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * A {@link BufferedReader}, which counts the bytes of all consumed chars and knows the range of records to read.
+ * <p>
+ * The byte length of a char is derived from the charset, so it supports only UTF-8 and
+ * single-byte ASCII compatible charsets and the input must not contain malformed bytes.
+ * {@link #readLine()} consumes a line feed after a carriage return immediately.
+ * <p>
+ * {@link AbstractRecordRawDataIterator} starts counting the record indexes at {@link #firstRecordIndex()},
+ * skips all records before {@link #fromRecordIndex()}, ends at {@link #toRecordIndex()}
+ * and reports the position of every read record to the {@link RecordListener}.
+ *
+ * @see RecordOffsetIndex
+ * @since 0.1
+ */
+final class RecordOffsetReader extends BufferedReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char CR = '\r';
+    private static final char LF = '\n';
+
+    private final Reader reader;
+    private final boolean utf8;
+    private final long firstRecordIndex;
+    private final long fromRecordIndex;
+    private final long toRecordIndex;
+    private final @Nullable RecordListener recordListener;
+    private final char[] buffer;
+    private int bufferPosition;
+    private int bufferLimit;
+    private long position;
+
+    /**
+     * @param reader           the reader of the chars
+     * @param utf8             {@code true} for UTF-8 and {@code false} for a single-byte charset
+     * @param firstRecordIndex the index of the first record of the reader
+     * @param fromRecordIndex  the index of the first record to return (inclusive)
+     * @param toRecordIndex    the index of the last record to return (exclusive)
+     * @param recordListener   the listener of the read records or {@code null}
+     */
+    RecordOffsetReader(Reader reader,
+                       boolean utf8,
+                       long firstRecordIndex,
+                       long fromRecordIndex,
+                       long toRecordIndex,
+                       @Nullable RecordListener recordListener) {
+        super(Reader.nullReader(), 1);
+        Objects.requireNonNull(reader);
+        if (firstRecordIndex < 0L) {
+            throw new IllegalArgumentException("firstRecordIndex < 0");
+        }
+        if (fromRecordIndex < firstRecordIndex) {
+            throw new IllegalArgumentException("fromRecordIndex < firstRecordIndex");
+        }
+        if (toRecordIndex < fromRecordIndex) {
+            throw new IllegalArgumentException("toRecordIndex < fromRecordIndex");
+        }
+        this.reader = reader;
+        this.utf8 = utf8;
+        this.firstRecordIndex = firstRecordIndex;
+        this.fromRecordIndex = fromRecordIndex;
+        this.toRecordIndex = toRecordIndex;
+        this.recordListener = recordListener;
+        buffer = new char[BUFFER_SIZE];
+    }
+
+    long firstRecordIndex() {
+        return firstRecordIndex;
+    }
+
+    long fromRecordIndex() {
+        return fromRecordIndex;
+    }
+
+    long toRecordIndex() {
+        return toRecordIndex;
+    }
+
+    /**
+     * Returns the number of bytes of all consumed chars.
+     */
+    long position() {
+        return position;
+    }
+
+    void recordRead(long recordIndex, long recordPosition) {
+        if (recordListener != null) {
+            recordListener.recordRead(recordIndex, recordPosition);
+        }
+    }
+
+    private int byteLength(char character) {
+        if (!utf8 || (character < 0x80)) {
+            return 1;
+        }
+        if (character < 0x800) {
+            return 2;
+        }
+        if (Character.isHighSurrogate(character)) {
+            // The whole surrogate pair is encoded with 4 bytes.
+            return 4;
+        }
+        if (Character.isLowSurrogate(character)) {
+            return 0;
+        }
+        return 3;
+    }
+
+    private boolean fill() throws IOException {
+        int count = reader.read(buffer, 0, buffer.length);
+        bufferPosition = 0;
+        bufferLimit = Math.max(count, 0);
+        return count > 0;
+    }
+
+    private boolean isAtEnd() throws IOException {
+        return (bufferPosition == bufferLimit) && !fill();
+    }
+
+    /**
+     * Consumes a line feed after a carriage return.
+     */
+    private void consumeLineFeed() throws IOException {
+        if (!isAtEnd() && (buffer[bufferPosition] == LF)) {
+            bufferPosition++;
+            position++;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (isAtEnd()) {
+            return -1;
+        }
+        char character = buffer[bufferPosition++];
+        position += byteLength(character);
+        return character;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while ((count < len) && !isAtEnd()) {
+            char character = buffer[bufferPosition++];
+            position += byteLength(character);
+            cbuf[off + count] = character;
+            count++;
+        }
+        return (count == 0) ? -1 : count;
+    }
+
+    @Override
+    public @Nullable String readLine() throws IOException {
+        if (isAtEnd()) {
+            return null;
+        }
+        @Nullable StringBuilder line = null;
+        while (true) {
+            int start = bufferPosition;
+            while (bufferPosition < bufferLimit) {
+                char character = buffer[bufferPosition];
+                if ((character == LF) || (character == CR)) {
+                    String text = lineText(line, start, bufferPosition);
+                    bufferPosition++;
+                    position++;
+                    if (character == CR) {
+                        consumeLineFeed();
+                    }
+                    return text;
+                }
+                position += byteLength(character);
+                bufferPosition++;
+            }
+            if (line == null) {
+                line = new StringBuilder(bufferPosition - start + 80);
+            }
+            line.append(buffer, start, bufferPosition - start);
+            if (!fill()) {
+                return line.toString();
+            }
+        }
+    }
+
+    private String lineText(@Nullable StringBuilder line, int start, int end) {
+        if (line == null) {
+            return new String(buffer, start, end - start);
+        }
+        return line.append(buffer, start, end - start).toString();
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n < 0L) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+        long count = 0L;
+        while ((count < n) && (read() >= 0)) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return (bufferPosition < bufferLimit) || reader.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * A listener, which is called for every record read by an {@link AbstractRecordRawDataIterator}.
+     */
+    @FunctionalInterface
+    interface RecordListener {
+
+        /**
+         * @param recordIndex    the index of the record
+         * @param recordPosition the position of the first byte of the record
+         */
+        void recordRead(long recordIndex, long recordPosition);
+
+    }
+
+}
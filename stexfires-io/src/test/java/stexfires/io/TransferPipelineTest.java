@@ -0,0 +1,89 @@
+package stexfires.io;
+
+import org.junit.jupiter.api.Test;
+import stexfires.io.delimited.simple.SimpleDelimitedFieldSpec;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link stexfires.io.TransferPipeline}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class TransferPipelineTest {
+
+    private static final List<SimpleDelimitedFieldSpec> FIELD_SPECS = List.of(new SimpleDelimitedFieldSpec(), new SimpleDelimitedFieldSpec());
+    private static final SimpleDelimitedFileSpec PRODUCER_FILE_SPEC = SimpleDelimitedFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING,
+            ";", 1, ProducerReadLineHandling.SKIP_BLANK_LINE, 2, 3, false, false, FIELD_SPECS);
+    private static final SimpleDelimitedFileSpec CONSUMER_FILE_SPEC = SimpleDelimitedFileSpec.consumerFileSpec(CharsetCoding.UTF_8_REPORTING,
+            "|", LineSeparator.LF, "before", "after", FIELD_SPECS);
+
+    private static String source() {
+        StringBuilder source = new StringBuilder("header\n");
+        for (int index = 0; index < 10_000; index++) {
+            source.append(index).append(';').append(index % 7).append('\n');
+        }
+        return source.toString();
+    }
+
+    /**
+     * Test method for {@link stexfires.io.RecordIOStreams#transferPipelined}.
+     */
+    @Test
+    void transferPipelined() throws ProducerException, ConsumerException, IOException {
+        String source = source();
+        StringWriter expected = new StringWriter();
+        try (var producer = PRODUCER_FILE_SPEC.producer(source);
+             var consumer = CONSUMER_FILE_SPEC.consumer(new BufferedWriter(expected))) {
+            RecordIOStreams.transfer(producer, consumer);
+        }
+
+        for (TransferPipelineSpec spec : List.of(new TransferPipelineSpec(1, 1, 1), new TransferPipelineSpec(3, 2, 7))) {
+            StringWriter actual = new StringWriter();
+            TransferPipelineStats stats;
+            try (var producer = PRODUCER_FILE_SPEC.producer(source);
+                 var consumer = CONSUMER_FILE_SPEC.consumer(new BufferedWriter(actual))) {
+                stats = RecordIOStreams.transferPipelined(producer, consumer, spec);
+            }
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(10_000 - 2 - 3, stats.recordCount());
+            assertEquals(stats.read().batchCount(), stats.write().batchCount());
+            assertEquals(spec.parserThreadCount(), stats.parse().threadCount());
+        }
+    }
+
+    /**
+     * Test method for {@link stexfires.io.RecordIOStreams#transferMappedPipelined}.
+     */
+    @Test
+    void transferMappedPipelinedFailure() {
+        String source = source();
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            try (var producer = PRODUCER_FILE_SPEC.producer(source);
+                 var consumer = CONSUMER_FILE_SPEC.consumer(new BufferedWriter(new StringWriter()))) {
+                RecordIOStreams.transferMappedPipelined(producer, consumer,
+                        (TextRecord record) -> {
+                            if ("5000".equals(record.textAt(0))) {
+                                throw new IllegalStateException("mapper");
+                            }
+                            return new ManyFieldsRecord(record.textAt(1));
+                        },
+                        TransferPipelineSpec.of(2));
+            }
+        });
+        assertEquals("mapper", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,107 @@
+package stexfires.io.columnar;
+
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.producer.ProducerException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ColumnarProducer} and {@link ColumnarConsumer}.
+ */
+final class ColumnarProducerTest {
+
+    private static byte[] write(List<TextRecord> records, int blockSize) throws ConsumerException, IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ColumnarConsumer consumer = ColumnarFileSpec.consumerFileSpec(blockSize).consumer(outputStream)) {
+            RecordIOStreams.writeStream(consumer, records.stream());
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static List<TextRecord> read(byte[] bytes, ColumnarFileSpec fileSpec) throws ProducerException, IOException {
+        try (ColumnarProducer producer = fileSpec.producer(new ByteArrayInputStream(bytes))) {
+            return RecordIOStreams.read(producer, Stream::toList);
+        }
+    }
+
+    /**
+     * Test method for {@link ColumnarProducer#readRecords()}.
+     */
+    @Test
+    void readRecords() throws ProducerException, ConsumerException, IOException {
+        List<TextRecord> records = List.of(
+                new ManyFieldsRecord("a", 1L, "x", null, "z"),
+                new ManyFieldsRecord(null, null, new String[]{null}),
+                new ManyFieldsRecord("b", -5L),
+                new ManyFieldsRecord("a", Long.MAX_VALUE, "x", "€"));
+        byte[] bytes = write(records, 3);
+
+        List<TextRecord> allFields = read(bytes, ColumnarFileSpec.producerFileSpec(null, null));
+        assertEquals(records.size(), allFields.size());
+        for (int index = 0; index < records.size(); index++) {
+            assertEquals(records.get(index).category(), allFields.get(index).category());
+            assertEquals(records.get(index).recordId(), allFields.get(index).recordId());
+            assertEquals(records.get(index).streamOfTexts().toList(), allFields.get(index).streamOfTexts().toList());
+        }
+
+        List<TextRecord> projected = read(bytes, ColumnarFileSpec.producerFileSpec(List.of(2, 0), null));
+        assertEquals(Arrays.asList("z", "x"), projected.get(0).streamOfTexts().toList());
+        assertEquals(Arrays.asList(null, null), projected.get(2).streamOfTexts().toList());
+    }
+
+    /**
+     * Test method for {@link ColumnarProducer#skippedBlockCount()}.
+     */
+    @Test
+    void skippedBlockCount() throws ProducerException, ConsumerException, IOException {
+        List<TextRecord> records = IntStream.range(0, 1_000)
+                                            .mapToObj(index -> (TextRecord) new ManyFieldsRecord(String.format("%04d", index), "name" + (index % 10)))
+                                            .toList();
+        byte[] bytes = write(records, 100);
+
+        ColumnarFileSpec fileSpec = ColumnarFileSpec.producerFileSpec(List.of(1), ColumnarFilter.between(0, "0250", "0349"));
+        try (ColumnarProducer producer = fileSpec.producer(new ByteArrayInputStream(bytes))) {
+            List<TextRecord> matching = RecordIOStreams.read(producer, Stream::toList);
+            assertEquals(100, matching.size());
+            assertEquals("name0", matching.getFirst().textAt(0));
+            assertEquals(1, matching.getFirst().size());
+            assertEquals(2L, producer.readBlockCount());
+            assertEquals(8L, producer.skippedBlockCount());
+        }
+    }
+
+    /**
+     * Test method for {@link ColumnarProducer#readRecords()} with texts, which are not well-formed UTF-16.
+     */
+    @Test
+    void readRecordsUnpairedSurrogates() throws ProducerException, ConsumerException, IOException {
+        List<TextRecord> records = List.of(
+                new ManyFieldsRecord("\uD83D", 1L, "a\uD800", "x"),
+                new ManyFieldsRecord("?", 2L, "a?", "\uDC00\uD800"),
+                new ManyFieldsRecord(null, 3L, "\uDE00", "😀"),
+                new ManyFieldsRecord(null, 4L, "a\uD800", "y"));
+        byte[] bytes = write(records, 2);
+
+        List<TextRecord> allFields = read(bytes, ColumnarFileSpec.producerFileSpec(null, null));
+        assertEquals(records.size(), allFields.size());
+        for (int index = 0; index < records.size(); index++) {
+            assertEquals(records.get(index).category(), allFields.get(index).category());
+            assertEquals(records.get(index).streamOfTexts().toList(), allFields.get(index).streamOfTexts().toList());
+        }
+
+        List<TextRecord> matching = read(bytes, ColumnarFileSpec.producerFileSpec(null, ColumnarFilter.equalTo(0, "a\uD800")));
+        assertEquals(List.of(Long.valueOf(1L), Long.valueOf(4L)), matching.stream().map(TextRecord::recordId).toList());
+        assertEquals(List.of(), read(bytes, ColumnarFileSpec.producerFileSpec(null, ColumnarFilter.equalTo(0, "a\uDBFF"))));
+    }
+
+}
@@ -0,0 +1,106 @@
+package stexfires.io.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BlockGzipOutputStream} and {@link BlockGzipInputStream}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class BlockGzipOutputStreamTest {
+
+    private static final BlockGzipSpec SPEC = new BlockGzipSpec(100, 2, 3, Deflater.DEFAULT_COMPRESSION, true);
+
+    private static byte[] data() {
+        StringBuilder data = new StringBuilder();
+        for (int index = 0; index < 1_000; index++) {
+            data.append("line ").append(index).append('\n');
+        }
+        return data.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test method for {@link BlockGzipOutputStream#write(byte[], int, int)}.
+     */
+    @Test
+    void write() throws IOException {
+        byte[] data = data();
+        // the line "line 122" ends at 997
+        int split = 997;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        BlockGzipOutputStream outputStream = BlockGzipOutputStream.of(compressed, SPEC);
+        try (outputStream) {
+            outputStream.write(data, 0, split);
+            outputStream.flush();
+            outputStream.write(data, split, data.length - split);
+        }
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(data, inputStream.readAllBytes());
+        }
+        try (BlockGzipInputStream inputStream = BlockGzipInputStream.of(new ByteArrayInputStream(compressed.toByteArray()), SPEC)) {
+            assertArrayEquals(data, inputStream.readAllBytes());
+        }
+
+        BlockGzipIndex blockIndex = outputStream.blockIndex();
+        assertEquals(data.length, blockIndex.uncompressedSize());
+        assertEquals(compressed.size(), blockIndex.compressedSize());
+        for (BlockGzipIndex.Block block : blockIndex.blocks()) {
+            assertEquals('\n', data[(int) block.uncompressedEnd() - 1]);
+        }
+    }
+
+    /**
+     * Test method for {@link BlockGzipInputStream#openFile(Path, BlockGzipSpec, int)}.
+     */
+    @Test
+    void openFileAtBlock() throws IOException {
+        byte[] data = data();
+        Path filePath = Files.createTempFile("BlockGzipOutputStreamTest", ".gz");
+        Path indexPath = BlockGzipIndex.sidecarPath(filePath);
+        try {
+            try (OutputStream outputStream = BlockGzipOutputStream.openFile(filePath, SPEC)) {
+                outputStream.write(data);
+            }
+            BlockGzipIndex blockIndex = BlockGzipIndex.read(indexPath);
+            int firstBlock = blockIndex.blockIndexOf(5_000L);
+            long start = blockIndex.blocks().get(firstBlock).uncompressedOffset();
+            try (BlockGzipInputStream inputStream = BlockGzipInputStream.openFile(filePath, SPEC, firstBlock)) {
+                assertArrayEquals(Arrays.copyOfRange(data, (int) start, data.length), inputStream.readAllBytes());
+            }
+            assertThrows(IllegalArgumentException.class,
+                    () -> BlockGzipInputStream.openFile(filePath, SPEC, blockIndex.blockCount()));
+        } finally {
+            Files.deleteIfExists(indexPath);
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * Test method for {@link BlockGzipInputStream#read(byte[], int, int)}.
+     */
+    @Test
+    void readCorrupted() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (BlockGzipOutputStream outputStream = BlockGzipOutputStream.of(compressed, SPEC)) {
+            outputStream.write(data());
+        }
+        byte[] bytes = compressed.toByteArray();
+        bytes[bytes.length - 8] ^= 1;
+        try (BlockGzipInputStream inputStream = BlockGzipInputStream.of(new ByteArrayInputStream(bytes), SPEC)) {
+            assertThrows(ZipException.class, inputStream::readAllBytes);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package stexfires.io.consumer;
+
+import org.junit.jupiter.api.Test;
+import stexfires.util.CharsetCoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnmappableCharacterException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link stexfires.io.consumer.AsyncBufferedWriter}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class AsyncBufferedWriterTest {
+
+    /**
+     * Test method for {@link stexfires.io.consumer.AsyncBufferedWriter#write(String, int, int)}.
+     */
+    @Test
+    void write() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AsyncBufferedWriter writer = AsyncBufferedWriter.of(outputStream, CharsetCoding.UTF_8_REPORTING,
+                new AsyncWriterSpec(2, 3));
+        StringBuilder expected = new StringBuilder();
+        for (int index = 0; index < 1_000; index++) {
+            String text = "ä€" + index + "\n";
+            writer.write(text);
+            writer.write(index);
+            writer.write(text.toCharArray(), 1, 2);
+            expected.append(text).append((char) index).append(text, 1, 3);
+        }
+
+        writer.flush();
+        assertEquals(expected.toString(), outputStream.toString(StandardCharsets.UTF_8));
+
+        writer.write("end");
+        writer.close();
+        writer.close();
+        assertEquals(expected + "end", outputStream.toString(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> writer.write("closed"));
+        assertFalse(writer.blockedDuration().isNegative());
+    }
+
+    /**
+     * Test method for {@link stexfires.io.consumer.AsyncBufferedWriter#close()}.
+     */
+    @Test
+    void writerThreadFailure() {
+        AsyncBufferedWriter writer = AsyncBufferedWriter.of(new ByteArrayOutputStream(),
+                CharsetCoding.reportingErrors(StandardCharsets.US_ASCII), new AsyncWriterSpec(2, 4));
+
+        IOException exception = assertThrows(IOException.class, () -> {
+            writer.write("ä");
+            writer.flush();
+        });
+        assertInstanceOf(UnmappableCharacterException.class, exception.getCause());
+        assertThrows(IOException.class, () -> writer.write("a"));
+        assertThrows(IOException.class, writer::close);
+    }
+
+}
@@ -0,0 +1,118 @@
+package stexfires.io.delimited;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.TextField;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LazyDelimitedRecord}.
+ */
+final class LazyDelimitedRecordTest {
+
+    private static final ByteDelimitedParser PARSER = new ByteDelimitedParser(CharsetCoding.UTF_8_REPORTING, ";", 4);
+
+    private static LazyDelimitedRecord newLazyRecord(byte[] line) {
+        return PARSER.newLazyRecord("category", 7L, line, PARSER.fieldBounds(line));
+    }
+
+    private static byte[] lineWithMalformedField() {
+        // The third field "x\xFF" cannot be decoded.
+        byte[] line = "a;ä€😀;x?;".getBytes(StandardCharsets.UTF_8);
+        line[line.length - 2] = (byte) 0xFF;
+        return line;
+    }
+
+    /**
+     * Test method for {@link LazyDelimitedRecord#textAt(int)}.
+     */
+    @Test
+    void textAt() throws CharacterCodingException {
+        byte[] line = "a;ä€😀;;b".getBytes(StandardCharsets.UTF_8);
+        LazyDelimitedRecord record = newLazyRecord(line);
+
+        assertEquals("category", record.category());
+        assertEquals(Long.valueOf(7L), record.recordId());
+        assertEquals(4, record.size());
+        assertEquals(Arrays.asList("a", "ä€😀", null, "b"), record.streamOfTexts().toList());
+        assertNull(record.textAt(-1));
+        assertNull(record.textAt(4));
+
+        // The same texts as an eagerly decoded record.
+        assertEquals(PARSER.newRecord("category", 7L, line, PARSER.fieldBounds(line)).streamOfTexts().toList(),
+                record.streamOfTexts().toList());
+        assertEquals(record.streamOfTexts().toList(), record.toManyFieldsRecord().streamOfTexts().toList());
+    }
+
+    /**
+     * Test method for {@link LazyDelimitedRecord#textAt(int)} with a field, which cannot be decoded.
+     */
+    @Test
+    void textAtLazyDecoding() {
+        LazyDelimitedRecord record = newLazyRecord(lineWithMalformedField());
+
+        // Only the accessed fields are decoded.
+        assertEquals("a", record.textAt(0));
+        assertEquals("ä€😀", record.textAt(1));
+        assertNull(record.textAt(3));
+        TextField field = record.fieldAt(1);
+        assertNotNull(field);
+        assertEquals("ä€😀", field.text());
+        assertEquals(3, field.maxIndex());
+
+        // The coding error is thrown when the field is accessed.
+        UncheckedProducerException exception = assertThrows(UncheckedProducerException.class, () -> record.textAt(2));
+        ProducerException cause = assertInstanceOf(ProducerException.class, exception.getCause());
+        assertTrue(cause.getMessage().contains("index=2"));
+        assertInstanceOf(CharacterCodingException.class, cause.getCause());
+        assertThrows(UncheckedProducerException.class, record::arrayOfFields);
+        assertThrows(UncheckedProducerException.class, record::toManyFieldsRecord);
+    }
+
+    /**
+     * Test method for the serialization of {@link LazyDelimitedRecord}.
+     */
+    @Test
+    void serialization() throws IOException, ClassNotFoundException {
+        for (boolean malformed : new boolean[]{false, true}) {
+            LazyDelimitedRecord record = newLazyRecord(malformed ? lineWithMalformedField() : "a;ä€😀;;b".getBytes(StandardCharsets.UTF_8));
+            assertEquals("a", record.textAt(0));
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+                outputStream.writeObject(record);
+            }
+            Object readObject;
+            try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                readObject = inputStream.readObject();
+            }
+
+            // The class is kept and the fields are still decoded lazily.
+            LazyDelimitedRecord readRecord = assertInstanceOf(LazyDelimitedRecord.class, readObject);
+            assertEquals(record.category(), readRecord.category());
+            assertEquals(record.recordId(), readRecord.recordId());
+            assertEquals(record.size(), readRecord.size());
+            assertEquals(record.textAt(0), readRecord.textAt(0));
+            assertEquals(record.textAt(1), readRecord.textAt(1));
+            assertEquals(record.textAt(3), readRecord.textAt(3));
+            if (malformed) {
+                assertThrows(UncheckedProducerException.class, () -> readRecord.textAt(2));
+            } else {
+                assertEquals(record.textAt(2), readRecord.textAt(2));
+            }
+        }
+    }
+
+}
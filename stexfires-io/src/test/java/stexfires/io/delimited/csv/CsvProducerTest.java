@@ -0,0 +1,127 @@
+package stexfires.io.delimited.csv;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+import stexfires.util.CharsetCoding;
+import stexfires.util.LineSeparator;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CsvProducer}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class CsvProducerTest {
+
+    private static final List<CsvFieldSpec> FIELD_SPECS = Stream.generate(CsvFieldSpec::new).limit(3).toList();
+
+    private static final CsvFileSpec FILE_SPEC = CsvFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING, FIELD_SPECS);
+
+    private static List<List<@Nullable String>> read(CsvFileSpec fileSpec, String source) {
+        return RecordIOStreams.readFromString(fileSpec, source,
+                stream -> stream.map(record -> record.streamOfTexts().toList()).toList());
+    }
+
+    private static ProducerException assertInvalid(String source) {
+        UncheckedProducerException exception = assertThrows(UncheckedProducerException.class, () -> read(FILE_SPEC, source));
+        return assertInstanceOf(ProducerException.class, exception.getCause());
+    }
+
+    /**
+     * Test method for {@link CsvProducer#readRecords()}.
+     */
+    @Test
+    void readRecords() {
+        assertEquals(List.of(
+                        List.of("a", "b", "c"),
+                        Arrays.asList(null, "", null),
+                        Arrays.asList("x", null, null)),
+                read(FILE_SPEC, "a,b,c\n,\"\",\nx\n"));
+    }
+
+    /**
+     * Test method for {@link CsvProducer#readRecords()} with line breaks in quoted fields.
+     */
+    @Test
+    void readRecordsEmbeddedNewlines() {
+        assertEquals(List.of(
+                        List.of("x\ny", "z", "1\n\n2"),
+                        List.of("a", "b,c", "d\ne")),
+                read(FILE_SPEC, "\"x\r\ny\",z,\"1\n\n2\"\na,\"b,c\",\"d\ne\"\n"));
+        // A line break directly after the opening quote character.
+        assertEquals(List.of(Arrays.asList("\nb", null, null)),
+                read(FILE_SPEC, "\"\nb\"\n"));
+    }
+
+    /**
+     * Test method for {@link CsvProducer#readRecords()} with escaped quote characters.
+     */
+    @Test
+    void readRecordsEscapedQuotes() {
+        assertEquals(List.of(
+                        List.of("a\"b", "\"", "\"\n\""),
+                        List.of("\"\"", "c", "d")),
+                read(FILE_SPEC, "\"a\"\"b\",\"\"\"\",\"\"\"\n\"\"\"\n\"\"\"\"\"\",c,d\n"));
+    }
+
+    /**
+     * Test method for {@link CsvProducer#readRecords()} with quote characters inside unquoted fields.
+     */
+    @Test
+    void readRecordsInvalid() {
+        assertTrue(assertInvalid("a,b\"c,d\ne,f\n").getMessage().contains("unquoted field"));
+        assertTrue(assertInvalid("a,b\"\ne,\"f\"\n").getMessage().contains("unquoted field"));
+        assertTrue(assertInvalid("\"a\"b\",c\n").getMessage().contains("unquoted field"));
+        assertTrue(assertInvalid("\"a\nb\nc,d\"e\"\n").getMessage().contains("unquoted field"));
+        assertTrue(assertInvalid("a,\"b\nc\n").getMessage().contains("end of the input"));
+        assertTrue(assertInvalid("\"" + "\n".repeat(CsvProducer.MAX_LINES_PER_RECORD) + "\"\n")
+                .getMessage().contains("within"));
+    }
+
+    /**
+     * Test method for {@link CsvProducer#readRecords()} with and without {@code producerCompactRecords}.
+     */
+    @Test
+    void readRecordsCompact() {
+        String source = "a,\"b\nc\",\n";
+        for (boolean producerCompactRecords : new boolean[]{false, true}) {
+            CsvFileSpec fileSpec = CsvFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING,
+                    CsvFileSpec.DEFAULT_FIELD_DELIMITER, CsvFileSpec.DEFAULT_QUOTE_CHARACTER,
+                    CsvFileSpec.DEFAULT_PRODUCER_SKIP_FIRST_LINES, ProducerReadLineHandling.NO_HANDLING,
+                    CsvFileSpec.DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS, CsvFileSpec.DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
+                    CsvFileSpec.DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY, producerCompactRecords, FIELD_SPECS);
+            List<TextRecord> records = RecordIOStreams.readFromString(fileSpec, source, stream -> stream.toList());
+            assertEquals(1, records.size());
+            Class<? extends TextRecord> recordClass = producerCompactRecords ? ManyTextsRecord.class : ManyFieldsRecord.class;
+            assertInstanceOf(recordClass, records.getFirst());
+            assertEquals(Arrays.asList("a", "b\nc", null), records.getFirst().streamOfTexts().toList());
+        }
+        assertInstanceOf(ManyFieldsRecord.class,
+                RecordIOStreams.readFromString(FILE_SPEC, source, stream -> stream.toList()).getFirst());
+    }
+
+    /**
+     * Test method for {@link CsvProducer#readRecords()}.
+     * The records written by the {@link CsvConsumer} must be read back unchanged.
+     */
+    @Test
+    void readRecordsWrittenByConsumer() {
+        List<TextRecord> records = List.of(
+                new ManyFieldsRecord("a,b", "c\"d", "e\nf"),
+                new ManyFieldsRecord(new String[]{null, "\"", "x\"\"\ny\""}));
+        String written = RecordIOStreams.writeStreamIntoString(
+                CsvFileSpec.consumerFileSpec(CharsetCoding.UTF_8_REPORTING, LineSeparator.LF, FIELD_SPECS), false, records.stream());
+        assertEquals(records.stream().map(record -> record.streamOfTexts().toList()).toList(), read(FILE_SPEC, written));
+    }
+
+}
@@ -0,0 +1,233 @@
+package stexfires.io.delimited.simple;
+
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.delimited.LazyDelimitedRecord;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SimpleDelimitedChunkedProducer}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class SimpleDelimitedChunkedProducerTest {
+
+    private static final int SMALL_CHUNK_SIZE = 16;
+    private static final int VALID_LINE_COUNT = 500;
+    private static final byte INVALID_UTF_8_BYTE = (byte) 0xFF;
+
+    // A field delimiter for the byte parser and one for the text path.
+    private static final List<String> FIELD_DELIMITERS = List.of(";", "::");
+
+    private static SimpleDelimitedFileSpec fileSpec(String fieldDelimiter, ProducerReadLineHandling readLineHandling,
+                                                    int skipFirstLines, int ignoreFirstRecords, int ignoreLastRecords) {
+        return SimpleDelimitedFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING, fieldDelimiter,
+                skipFirstLines, readLineHandling, ignoreFirstRecords, ignoreLastRecords, false,
+                SimpleDelimitedFileSpec.newFieldSpecs(2));
+    }
+
+    private static List<String> toStrings(Stream<? extends TextRecord> records) {
+        return records.map(record -> record.recordId() + "|" + record.streamOfTexts().toList()).toList();
+    }
+
+    private static List<String> readChunked(SimpleDelimitedFileSpec fileSpec, Path filePath, boolean ordered,
+                                            int chunkSize) throws ProducerException, IOException {
+        try (SimpleDelimitedChunkedProducer producer = fileSpec.openFileAsChunkedProducer(filePath, ordered, false,
+                chunkSize, ForkJoinPool.commonPool())) {
+            return RecordIOStreams.read(producer, SimpleDelimitedChunkedProducerTest::toStrings);
+        }
+    }
+
+    /**
+     * Valid lines, a blank line and afterward lines, which cannot be decoded.
+     */
+    private static byte[] invalidAfterBlankLine(String fieldDelimiter) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int index = 0; index < VALID_LINE_COUNT; index++) {
+            bytes.writeBytes(("a" + index + fieldDelimiter + "b\n").getBytes(StandardCharsets.UTF_8));
+        }
+        bytes.writeBytes("\n".getBytes(StandardCharsets.UTF_8));
+        for (int index = 0; index < 5 * VALID_LINE_COUNT; index++) {
+            bytes.writeBytes(("x" + fieldDelimiter).getBytes(StandardCharsets.UTF_8));
+            bytes.write(INVALID_UTF_8_BYTE);
+            bytes.write('\n');
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedChunkedProducer#readRecords()}.
+     * The records must be the same as the records of a {@link SimpleDelimitedProducer}.
+     */
+    @Test
+    void readRecords() throws ProducerException, IOException {
+        String source = IntStream.range(0, 200)
+                                 .mapToObj(index -> switch (index % 13) {
+                                     case 0 -> "";
+                                     case 1 -> "  ";
+                                     default -> "f" + index + "#ä€😀" + index;
+                                 })
+                                 .collect(Collectors.joining("\n", "", "\r\n"))
+                                 .replace("f1", "f1\r");
+        Path filePath = Files.createTempFile("SimpleDelimitedChunkedProducerTest", ".txt");
+        try {
+            for (String fieldDelimiter : FIELD_DELIMITERS) {
+                Files.writeString(filePath, source.replace("#", fieldDelimiter), StandardCharsets.UTF_8);
+                for (ProducerReadLineHandling readLineHandling : List.of(ProducerReadLineHandling.NO_HANDLING,
+                        ProducerReadLineHandling.SKIP_BLANK_LINE, ProducerReadLineHandling.CONVERT_EMPTY_LINE_TO_SPACE)) {
+                    SimpleDelimitedFileSpec fileSpec = fileSpec(fieldDelimiter, readLineHandling, 2, 3, 4);
+                    List<String> expected = RecordIOStreams.readFromString(fileSpec, source.replace("#", fieldDelimiter),
+                            SimpleDelimitedChunkedProducerTest::toStrings);
+                    for (int chunkSize : new int[]{1, SMALL_CHUNK_SIZE, SimpleDelimitedChunkedProducer.DEFAULT_CHUNK_SIZE}) {
+                        assertEquals(expected, readChunked(fileSpec, filePath, true, chunkSize));
+                        assertEquals(expected.stream().sorted().toList(),
+                                readChunked(fileSpec, filePath, false, chunkSize).stream().sorted().toList());
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedChunkedProducer#readRecords()}.
+     * The chunks after a line, which the {@link ProducerReadLineHandling} treats like the end,
+     * must be ignored, even if they cannot be decoded.
+     */
+    @Test
+    void readRecordsIgnoresFailuresAfterEnd() throws ProducerException, IOException {
+        Path filePath = Files.createTempFile("SimpleDelimitedChunkedProducerTest", ".txt");
+        try {
+            for (String fieldDelimiter : FIELD_DELIMITERS) {
+                Files.write(filePath, invalidAfterBlankLine(fieldDelimiter));
+                SimpleDelimitedFileSpec fileSpec = fileSpec(fieldDelimiter, ProducerReadLineHandling.TREAT_BLANK_LINE_LIKE_END, 0, 0, 0);
+                for (boolean ordered : new boolean[]{true, false}) {
+                    // Repeated, because the chunks are completed in a different order every time.
+                    for (int repetition = 0; repetition < 10; repetition++) {
+                        assertEquals(VALID_LINE_COUNT, readChunked(fileSpec, filePath, ordered, SMALL_CHUNK_SIZE).size());
+                    }
+                }
+
+                // Without the end, the exception is thrown.
+                SimpleDelimitedFileSpec noHandlingFileSpec = fileSpec(fieldDelimiter, ProducerReadLineHandling.NO_HANDLING, 0, 0, 0);
+                for (boolean ordered : new boolean[]{true, false}) {
+                    UncheckedProducerException exception = assertThrows(UncheckedProducerException.class,
+                            () -> readChunked(noHandlingFileSpec, filePath, ordered, SMALL_CHUNK_SIZE));
+                    assertInstanceOf(ProducerException.class, exception.getCause());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    private static String decodingErrorMessage(SimpleDelimitedFileSpec fileSpec, Path filePath, byte[] bytes,
+                                               int chunkSize) throws IOException {
+        Files.write(filePath, bytes);
+        UncheckedProducerException exception = assertThrows(UncheckedProducerException.class,
+                () -> readChunked(fileSpec, filePath, true, chunkSize));
+        return assertInstanceOf(ProducerException.class, exception.getCause()).getMessage();
+    }
+
+    /**
+     * Replaces the first '?' by an invalid byte. The characters before it must be ASCII characters.
+     */
+    private static byte[] withInvalidByte(String source) {
+        byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+        bytes[source.indexOf('?')] = INVALID_UTF_8_BYTE;
+        return bytes;
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedChunkedProducer#readRecords()}.
+     * The message of a decoding error must contain the position of the bytes in the file.
+     */
+    @Test
+    void readRecordsDecodingErrorPosition() throws IOException {
+        Path filePath = Files.createTempFile("SimpleDelimitedChunkedProducerTest", ".txt");
+        try {
+            for (int chunkSize : new int[]{1, 4, SimpleDelimitedChunkedProducer.DEFAULT_CHUNK_SIZE}) {
+                // The chunk is decoded as text: the position of the invalid byte.
+                assertTrue(decodingErrorMessage(fileSpec("::", ProducerReadLineHandling.NO_HANDLING, 0, 0, 0),
+                        filePath, withInvalidByte("a::b\nc::d?\ne::f\n"), chunkSize).endsWith("position=9"));
+                // A possibly blank line is decoded for the handling: the position of the line.
+                assertTrue(decodingErrorMessage(fileSpec(";", ProducerReadLineHandling.SKIP_BLANK_LINE, 0, 0, 0),
+                        filePath, withInvalidByte("a;b\n ?\ne;f\n"), chunkSize).endsWith("position=4"));
+                // Other lines of the byte parser are decoded per record: the index of the record.
+                assertTrue(decodingErrorMessage(fileSpec(";", ProducerReadLineHandling.SKIP_BLANK_LINE, 0, 0, 0),
+                        filePath, withInvalidByte("a;b\nc;?\ne;f\n"), chunkSize).endsWith("recordIndex=1"));
+            }
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedChunkedProducer#readRecords()} with {@code lazyDecoding}.
+     */
+    @Test
+    void readRecordsLazyDecoding() throws ProducerException, IOException {
+        Path filePath = Files.createTempFile("SimpleDelimitedChunkedProducerTest", ".txt");
+        try {
+            Files.write(filePath, withInvalidByte("c;?\na;ä€😀\n\ne;\n"));
+            SimpleDelimitedFileSpec fileSpec = fileSpec(";", ProducerReadLineHandling.NO_HANDLING, 0, 0, 0);
+            try (SimpleDelimitedChunkedProducer producer = fileSpec.openFileAsChunkedProducer(filePath, true, true,
+                    SMALL_CHUNK_SIZE, ForkJoinPool.commonPool())) {
+                List<TextRecord> records = RecordIOStreams.read(producer, stream -> stream.toList());
+                assertEquals(4, records.size());
+                // The field with the invalid byte is decoded only when it is accessed.
+                assertInstanceOf(LazyDelimitedRecord.class, records.getFirst());
+                assertEquals("c", records.getFirst().textAt(0));
+                assertThrows(UncheckedProducerException.class, () -> records.getFirst().textAt(1));
+                assertInstanceOf(LazyDelimitedRecord.class, records.get(1));
+                assertEquals(List.of("a", "ä€😀"), records.get(1).streamOfTexts().toList());
+                // Empty lines are decoded as text and are not lazy.
+                assertEquals(Arrays.asList(null, null), records.get(2).streamOfTexts().toList());
+                assertEquals(Arrays.asList("e", null), records.get(3).streamOfTexts().toList());
+            }
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedChunkedProducer#close()}.
+     * Closing the producer before all records are read must cancel the chunks in progress.
+     */
+    @Test
+    void close() throws ProducerException, IOException {
+        Path filePath = Files.createTempFile("SimpleDelimitedChunkedProducerTest", ".txt");
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            Files.write(filePath, invalidAfterBlankLine(";"));
+            SimpleDelimitedFileSpec fileSpec = fileSpec(";", ProducerReadLineHandling.NO_HANDLING, 0, 0, 0);
+            for (boolean ordered : new boolean[]{true, false}) {
+                // The chunks with bytes, which cannot be decoded, are cancelled before they are returned.
+                try (SimpleDelimitedChunkedProducer producer = fileSpec.openFileAsChunkedProducer(filePath, ordered, false,
+                        SMALL_CHUNK_SIZE, forkJoinPool)) {
+                    assertEquals(3L, RecordIOStreams.read(producer, stream -> stream.limit(3).count()).longValue());
+                }
+                assertTrue(forkJoinPool.awaitQuiescence(10L, TimeUnit.SECONDS));
+            }
+        } finally {
+            forkJoinPool.shutdownNow();
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+}
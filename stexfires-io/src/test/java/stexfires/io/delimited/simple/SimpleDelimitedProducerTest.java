@@ -0,0 +1,90 @@
+package stexfires.io.delimited.simple;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SimpleDelimitedProducer} and {@link SimpleDelimitedChunkedProducer}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class SimpleDelimitedProducerTest {
+
+    private static final String SOURCE = "a;b;c\n;ä€😀;\nx\n";
+
+    private static final List<List<@Nullable String>> TEXTS = List.of(
+            List.of("a", "b", "c"),
+            Arrays.asList(null, "ä€😀", null),
+            Arrays.asList("x", null, null));
+
+    private static SimpleDelimitedFileSpec fileSpec(boolean producerCompactRecords) {
+        return SimpleDelimitedFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING, ";",
+                SimpleDelimitedFileSpec.DEFAULT_PRODUCER_SKIP_FIRST_LINES, ProducerReadLineHandling.SKIP_BLANK_LINE,
+                SimpleDelimitedFileSpec.DEFAULT_PRODUCER_IGNORE_FIRST_RECORDS,
+                SimpleDelimitedFileSpec.DEFAULT_PRODUCER_IGNORE_LAST_RECORDS,
+                SimpleDelimitedFileSpec.DEFAULT_PRODUCER_SKIP_ALL_NULL_OR_EMPTY,
+                producerCompactRecords,
+                SimpleDelimitedFileSpec.newFieldSpecs(3));
+    }
+
+    private static void assertRecords(Class<? extends TextRecord> recordClass, List<? extends TextRecord> records) {
+        assertEquals(TEXTS, records.stream().map(record -> record.streamOfTexts().toList()).toList());
+        for (TextRecord record : records) {
+            assertInstanceOf(recordClass, record);
+        }
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedProducer#readRecords()}.
+     */
+    @Test
+    void readRecords() {
+        assertRecords(ManyFieldsRecord.class,
+                RecordIOStreams.readFromString(fileSpec(false), SOURCE, stream -> stream.toList()));
+        assertRecords(ManyTextsRecord.class,
+                RecordIOStreams.readFromString(fileSpec(true), SOURCE, stream -> stream.toList()));
+
+        // The file spec created without producerCompactRecords uses the default.
+        SimpleDelimitedFileSpec defaultFileSpec = SimpleDelimitedFileSpec.producerFileSpec(CharsetCoding.UTF_8_REPORTING, ";",
+                SimpleDelimitedFileSpec.newFieldSpecs(3));
+        assertFalse(defaultFileSpec.producerCompactRecords());
+        assertRecords(ManyFieldsRecord.class,
+                RecordIOStreams.readFromString(defaultFileSpec, SOURCE, stream -> stream.toList()));
+    }
+
+    /**
+     * Test method for {@link SimpleDelimitedChunkedProducer#readRecords()}.
+     */
+    @Test
+    void readRecordsChunked() throws ProducerException, IOException {
+        Path filePath = Files.createTempFile("SimpleDelimitedProducerTest", ".txt");
+        try {
+            Files.writeString(filePath, SOURCE, StandardCharsets.UTF_8);
+            for (boolean producerCompactRecords : new boolean[]{false, true}) {
+                try (SimpleDelimitedChunkedProducer producer = fileSpec(producerCompactRecords).openFileAsChunkedProducer(
+                        filePath, true, false, 4, ForkJoinPool.commonPool())) {
+                    assertRecords(producerCompactRecords ? ManyTextsRecord.class : ManyFieldsRecord.class,
+                            RecordIOStreams.read(producer, stream -> stream.toList()));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package stexfires.io.json;
+
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.record.TextRecord;
+import stexfires.record.consumer.ConsumerException;
+import stexfires.record.consumer.UncheckedConsumerException;
+import stexfires.record.impl.ManyFieldsRecord;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link stexfires.io.json.JsonConsumer}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class JsonConsumerTest {
+
+    private static final List<JsonFieldSpec> FIELD_SPECS = List.of(
+            JsonFieldSpec.stringUnescapedType("name\t\"A\"", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL),
+            JsonFieldSpec.numberType("number", JsonFieldSpec.NullHandling.ALLOWED_OMIT_FIELD, JsonFieldSpec.ValidityCheck.CHECK_VALUE),
+            JsonFieldSpec.booleanType("boolean", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL, JsonFieldSpec.ValidityCheck.CHECK_VALUE),
+            JsonFieldSpec.stringEscapedType("escaped", JsonFieldSpec.NullHandling.NOT_ALLOWED),
+            new JsonFieldSpec("elements", JsonFieldSpec.ValueType.ARRAY_ELEMENTS, JsonFieldSpec.NullHandling.ALLOWED_OMIT_FIELD, JsonFieldSpec.ValidityCheck.CHECK_NOT_NECESSARY));
+
+    private static final List<TextRecord> RECORDS = List.of(
+            new ManyFieldsRecord("plain", "-12.50", "true", "a\\u0001", "1,2"),
+            new ManyFieldsRecord(new String[]{"\"\\\b\f\n\r\t\u0000\u007F\u0085 😀", null, null, "", null}),
+            new ManyFieldsRecord(new String[]{null, "1e5", "false", "x"}));
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonConsumer#writeRecord(TextRecord)}.
+     * The JSON written directly into the writer must be identical to the JSON built as strings.
+     */
+    @Test
+    void writeRecord() throws ConsumerException {
+        for (JsonFileSpec.RecordJsonType recordJsonType : JsonFileSpec.RecordJsonType.values()) {
+            for (boolean space : new boolean[]{false, true}) {
+                JsonStreamingFileSpec fileSpec = JsonStreamingFileSpec.consumerFileSpec(recordJsonType, space, space, FIELD_SPECS);
+                StringBuilder expected = new StringBuilder();
+                for (TextRecord record : RECORDS) {
+                    if (space) {
+                        expected.append(JsonUtil.RECORD_SEPARATOR);
+                    }
+                    expected.append(switch (recordJsonType) {
+                        case OBJECT -> JsonConsumer.createRecordJsonObject(FIELD_SPECS, record, fileSpec.whitespacesAfterValueSeparator());
+                        case ARRAY -> JsonConsumer.createRecordJsonArray(FIELD_SPECS, record, fileSpec.whitespacesAfterValueSeparator());
+                    });
+                    expected.append("\n");
+                }
+                assertEquals(expected.toString(), RecordIOStreams.writeStreamIntoString(fileSpec, false, RECORDS.stream()));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonConsumer#writeRecord(TextRecord)}.
+     */
+    @Test
+    void writeRecordInvalid() {
+        JsonStreamingFileSpec fileSpec = JsonStreamingFileSpec.consumerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false, false, FIELD_SPECS);
+
+        assertThrows(UncheckedConsumerException.class, () -> RecordIOStreams.writeStreamIntoString(fileSpec, false,
+                List.of(new ManyFieldsRecord("a", "1,5", "true", "b")).stream()));
+        assertThrows(UncheckedConsumerException.class, () -> RecordIOStreams.writeStreamIntoString(fileSpec, false,
+                List.of(new ManyFieldsRecord("a", "1", "yes", "b")).stream()));
+        assertThrows(UncheckedConsumerException.class, () -> RecordIOStreams.writeStreamIntoString(fileSpec, false,
+                List.of(new ManyFieldsRecord(new String[]{"a", "1", "true", null})).stream()));
+    }
+
+}
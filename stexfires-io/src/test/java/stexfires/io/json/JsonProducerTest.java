@@ -0,0 +1,186 @@
+package stexfires.io.json;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.producer.ProducerReadLineHandling;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.record.producer.UncheckedProducerException;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link stexfires.io.json.JsonProducer}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class JsonProducerTest {
+
+    private static final List<JsonFieldSpec> FIELD_SPECS = List.of(
+            JsonFieldSpec.stringUnescapedType("name", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL),
+            JsonFieldSpec.numberType("number", JsonFieldSpec.NullHandling.ALLOWED_OMIT_FIELD, JsonFieldSpec.ValidityCheck.CHECK_VALUE),
+            JsonFieldSpec.booleanType("boolean", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL, JsonFieldSpec.ValidityCheck.CHECK_VALUE),
+            JsonFieldSpec.stringEscapedType("escaped", JsonFieldSpec.NullHandling.NOT_ALLOWED),
+            new JsonFieldSpec("elements", JsonFieldSpec.ValueType.ARRAY_ELEMENTS, JsonFieldSpec.NullHandling.ALLOWED_OMIT_FIELD, JsonFieldSpec.ValidityCheck.CHECK_NOT_NECESSARY));
+
+    private static final List<TextRecord> RECORDS = List.of(
+            new ManyFieldsRecord("plain", "-12.50", "true", "a\\u0001", "1,2"),
+            new ManyFieldsRecord(new String[]{"\"\\\b\f\n\r\t\u0000\u007F\u0085 😀", null, null, "", null}),
+            new ManyFieldsRecord(new String[]{null, "1e5", "false", "x", "{\"a\":[]},\"b\""}));
+
+    private static final String OBJECT_LINES = """
+            {"name":"a\\"b\\\\c\\u0041\\ud83d\\ude00","number":-12.50,"boolean":true,"escaped":"x\\ty","ignored":{"a":[1,"]",{}]}}
+
+            {"escaped":"e", "name" : null ,"number":1E+5,"elements":[ 1, [2] ]}
+            { }
+            """;
+
+    private static final List<List<@Nullable String>> OBJECT_LINES_TEXTS = List.of(
+            Arrays.asList("a\"b\\cA😀", "-12.50", "true", "x\\ty", null),
+            Arrays.asList(null, "1E+5", null, "e", " 1, [2] "),
+            Arrays.asList(null, null, null, null, null));
+
+    private static List<List<@Nullable String>> read(JsonFileSpec fileSpec, String source) {
+        return RecordIOStreams.readFromString(fileSpec, source,
+                stream -> stream.map(record -> record.streamOfTexts().toList()).toList());
+    }
+
+    private static List<@Nullable String> padded(TextRecord record) {
+        List<@Nullable String> texts = new ArrayList<>(record.streamOfTexts().toList());
+        while (texts.size() < FIELD_SPECS.size()) {
+            texts.add(null);
+        }
+        return texts;
+    }
+
+    private static void assertInvalid(JsonFileSpec fileSpec, String source) {
+        UncheckedProducerException exception = assertThrows(UncheckedProducerException.class, () -> read(fileSpec, source));
+        assertInstanceOf(ProducerException.class, exception.getCause());
+    }
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonProducer#readRecords()}.
+     * The records written by the {@link JsonConsumer} must be read back unchanged.
+     */
+    @Test
+    void readRecords() {
+        List<List<@Nullable String>> expected = RECORDS.stream().map(JsonProducerTest::padded).toList();
+        // Only objects, because omitted fields shift the following elements of an array.
+        JsonFileSpec.RecordJsonType recordJsonType = JsonFileSpec.RecordJsonType.OBJECT;
+        for (boolean space : new boolean[]{false, true}) {
+            String streaming = RecordIOStreams.writeStreamIntoString(
+                    JsonStreamingFileSpec.consumerFileSpec(recordJsonType, space, space, FIELD_SPECS), false, RECORDS.stream());
+            assertEquals(expected, read(JsonStreamingFileSpec.producerFileSpec(recordJsonType, space,
+                    ProducerReadLineHandling.SKIP_BLANK_LINE, FIELD_SPECS), streaming));
+
+            String singleArray = RecordIOStreams.writeStreamIntoString(
+                    JsonArrayFileSpec.consumerFileSpecAsSingleArray(recordJsonType, space, FIELD_SPECS), false, RECORDS.stream());
+            assertEquals(expected, read(JsonArrayFileSpec.producerFileSpec(recordJsonType, false, false, FIELD_SPECS), singleArray));
+
+            String arrayInObject = RecordIOStreams.writeStreamIntoString(
+                    JsonArrayFileSpec.consumerFileSpecAsObjectWithSingleMember(recordJsonType, space, "Records\\\"", FIELD_SPECS),
+                    false, RECORDS.stream());
+            assertEquals(expected, read(JsonArrayFileSpec.producerFileSpec(recordJsonType, true, true, FIELD_SPECS), arrayInObject));
+        }
+    }
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonProducer#readRecords()}.
+     */
+    @Test
+    void readRecordsStreaming() {
+        JsonStreamingFileSpec fileSpec = JsonStreamingFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false,
+                ProducerReadLineHandling.SKIP_BLANK_LINE, FIELD_SPECS);
+        assertEquals(OBJECT_LINES_TEXTS, read(fileSpec, OBJECT_LINES));
+
+        JsonStreamingFileSpec sequenceFileSpec = JsonStreamingFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.ARRAY, true,
+                ProducerReadLineHandling.SKIP_BLANK_LINE, FIELD_SPECS);
+        assertEquals(List.of(
+                        Arrays.asList("\u00e9\t", "0", "false", "\\/", "[]"),
+                        Arrays.asList(null, null, null, null, null)),
+                read(sequenceFileSpec, JsonUtil.RECORD_SEPARATOR + "[\"\\u00E9\\t\",0,false,\"\\/\",[[]],\"ignored\"]\n"
+                        + JsonUtil.RECORD_SEPARATOR + "[]\n"));
+    }
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonProducer#readRecords()}.
+     */
+    @Test
+    void readRecordsArray() {
+        String objectElements = OBJECT_LINES.lines()
+                                            .filter(line -> !line.isBlank())
+                                            .collect(Collectors.joining(",\n  ", "[\n  ", "\n]"));
+        assertEquals(OBJECT_LINES_TEXTS, read(JsonArrayFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false, false, FIELD_SPECS),
+                objectElements));
+        assertEquals(OBJECT_LINES_TEXTS, read(JsonArrayFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, true, true, FIELD_SPECS),
+                "{ \"a\\\"]\" : " + objectElements + " }"));
+        assertEquals(List.of(), read(JsonArrayFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, true, true, FIELD_SPECS),
+                "{\"Array\":[ ]}"));
+
+        // Records larger than the char buffer of the producer.
+        String longName = "\\u00e4".repeat(5_000);
+        List<List<@Nullable String>> texts = read(JsonArrayFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.ARRAY, false, false, FIELD_SPECS),
+                "[[\"" + longName + "\"],[\"b\",1]]");
+        assertEquals(2, texts.size());
+        assertEquals("\u00e4".repeat(5_000), texts.getFirst().getFirst());
+        assertEquals(Arrays.asList("b", "1", null, null, null), texts.get(1));
+    }
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonProducer#readRecords()}.
+     */
+    @Test
+    void readRecordsInvalid() {
+        JsonStreamingFileSpec fileSpec = JsonStreamingFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false,
+                ProducerReadLineHandling.SKIP_BLANK_LINE, FIELD_SPECS);
+        assertInvalid(fileSpec, "{\"escaped\":\"a\"");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\",}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\"} x");
+        assertInvalid(fileSpec, "{\"escaped\" \"a\"}");
+        assertInvalid(fileSpec, "{\"escaped\":null}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\\\"}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\",\"name\":nul}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\",\"number\":\"12\"}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\",\"number\":1.2.3}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\",\"boolean\":yes}");
+        assertInvalid(fileSpec, "{\"escaped\":\"a\",\"elements\":{}}");
+        assertInvalid(fileSpec, "[\"a\"]");
+
+        JsonArrayFileSpec arrayFileSpec = JsonArrayFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, true, true, FIELD_SPECS);
+        assertInvalid(arrayFileSpec, "[{\"escaped\":\"a\"}]");
+        assertInvalid(arrayFileSpec, "{\"Array\" [{\"escaped\":\"a\"}]}");
+        assertInvalid(arrayFileSpec, "{\"Array\":[{\"escaped\":\"a\"} {\"escaped\":\"b\"}]}");
+        assertInvalid(arrayFileSpec, "{\"Array\":[{\"escaped\":\"a\"}");
+        assertInvalid(arrayFileSpec, "{\"Array\":[{\"escaped\":\"a\",]}");
+    }
+
+    /**
+     * Test method for {@link stexfires.io.json.JsonProducer#readRecords()}
+     * with member names, which contain characters that are escaped in the field specs.
+     */
+    @Test
+    void readRecordsEscapedNames() {
+        List<JsonFieldSpec> fieldSpecs = List.of(
+                JsonFieldSpec.stringUnescapedType("q\"b\\s", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL),
+                JsonFieldSpec.stringUnescapedType("del\u007F", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL),
+                JsonFieldSpec.stringUnescapedType("t\te", JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL),
+                new JsonFieldSpec("s\\/A", JsonFieldSpec.ValueType.STRING_UNESCAPED,
+                        JsonFieldSpec.NullHandling.ALLOWED_USE_LITERAL, JsonFieldSpec.ValidityCheck.CHECK_NOT_NECESSARY));
+        JsonStreamingFileSpec fileSpec = JsonStreamingFileSpec.producerFileSpec(JsonFileSpec.RecordJsonType.OBJECT, false,
+                ProducerReadLineHandling.SKIP_BLANK_LINE, fieldSpecs);
+
+        // Names with and without escape sequences in the source.
+        assertEquals(List.of(
+                        List.of("1", "2", "3", "4"),
+                        List.of("5", "6", "7", "8")),
+                read(fileSpec, """
+                        {"q\\"b\\\\s":"1","del\u007F":"2","t\\te":"3","s/A":"4"}
+                        {"q\\u0022b\\u005cs":"5","del\\u007f":"6","t\\u0009e":"7","s\\/\\u0041":"8"}
+                        """));
+    }
+
+}
@@ -0,0 +1,156 @@
+package stexfires.io.lookup;
+
+import org.junit.jupiter.api.Test;
+import stexfires.io.delimited.simple.SimpleDelimitedFieldSpec;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.mapper.IdentityMapper;
+import stexfires.record.mapper.LookupMapper;
+import stexfires.record.message.NotNullRecordMessage;
+import stexfires.record.message.RecordMessage;
+import stexfires.record.message.TextMessage;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LookupStore}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class LookupStoreTest {
+
+    private static final SimpleDelimitedFileSpec FILE_SPEC = SimpleDelimitedFileSpec.producerFileSpec(
+            CharsetCoding.UTF_8_REPORTING, ";",
+            List.of(new SimpleDelimitedFieldSpec(), new SimpleDelimitedFieldSpec()));
+
+    /**
+     * Test method for {@link LookupStore#get(String)}.
+     */
+    @Test
+    void get() throws ProducerException, IOException {
+        Path sourcePath = Files.createTempFile("LookupStoreTest", ".csv");
+        Path storePath = sourcePath.resolveSibling(sourcePath.getFileName() + LookupStore.FILE_EXTENSION);
+        try {
+            Files.writeString(sourcePath, "a;1\nä€😀;2\na;3\n;4\nb\n", StandardCharsets.UTF_8);
+            try (LookupStore lookupStore = LookupStore.build(FILE_SPEC, sourcePath, new TextMessage<>(0), storePath)) {
+                assertEquals(3L, lookupStore.size());
+                TextRecord record = Objects.requireNonNull(lookupStore.get("a"));
+                assertEquals(List.of("a", "1"), record.streamOfTexts().toList());
+                assertEquals(Long.valueOf(0L), record.recordId());
+                assertEquals("2", Objects.requireNonNull(lookupStore.get("ä€😀")).textAt(1));
+                assertNull(Objects.requireNonNull(lookupStore.get("b")).textAt(1));
+                assertNull(lookupStore.get(""));
+                assertFalse(lookupStore.containsKey("ä€"));
+                assertTrue(lookupStore.containedIn(new TextMessage<>(0)).isValid(new ManyFieldsRecord("b")));
+            }
+            try (LookupStore lookupStore = LookupStore.openOrBuild(FILE_SPEC, sourcePath, new TextMessage<>(0), storePath)) {
+                assertTrue(lookupStore.containsKey("ä€😀"));
+            }
+        } finally {
+            Files.deleteIfExists(storePath);
+            Files.deleteIfExists(sourcePath);
+        }
+    }
+
+    /**
+     * Test method for {@link LookupStore#lookupMapper}.
+     */
+    @Test
+    void lookupMapper() throws ProducerException, IOException {
+        Path sourcePath = Files.createTempFile("LookupStoreTest", ".csv");
+        Path storePath = sourcePath.resolveSibling(sourcePath.getFileName() + LookupStore.FILE_EXTENSION);
+        try {
+            Files.writeString(sourcePath, "x;enriched\n", StandardCharsets.UTF_8);
+            try (LookupStore lookupStore = LookupStore.build(FILE_SPEC, sourcePath, new TextMessage<>(0), storePath)) {
+                LookupMapper<TextRecord, TextRecord, String> mapper = lookupStore.lookupMapper(
+                        NotNullRecordMessage.wrapRecordMessage(new TextMessage<>(0), ""),
+                        (record, foundRecord) -> new ManyFieldsRecord(record.textAt(0), foundRecord.textAt(1)),
+                        new IdentityMapper<>());
+                assertEquals(List.of("x", "enriched"), mapper.map(new ManyFieldsRecord("x")).streamOfTexts().toList());
+                assertEquals(List.of("y"), mapper.map(new ManyFieldsRecord("y")).streamOfTexts().toList());
+            }
+        } finally {
+            Files.deleteIfExists(storePath);
+            Files.deleteIfExists(sourcePath);
+        }
+    }
+
+    /**
+     * Test method for {@link LookupStore#get(String)} with keys, which are not well-formed UTF-16.
+     */
+    @Test
+    void getUnpairedSurrogates() throws ProducerException, IOException {
+        Path sourcePath = Files.createTempFile("LookupStoreTest", ".csv");
+        Path storePath = sourcePath.resolveSibling(sourcePath.getFileName() + LookupStore.FILE_EXTENSION);
+        try {
+            Files.writeString(sourcePath, "high;1\n?;2\nlow;3\n", StandardCharsets.UTF_8);
+            RecordMessage<TextRecord> keyMessage = record -> switch (Objects.requireNonNull(record.textAt(0))) {
+                case "high" -> "a\uD800";
+                case "low" -> "\uDC00b";
+                default -> record.textAt(0);
+            };
+            try (LookupStore lookupStore = LookupStore.build(FILE_SPEC, sourcePath, keyMessage, storePath)) {
+                assertEquals(3L, lookupStore.size());
+                assertEquals("1", Objects.requireNonNull(lookupStore.get("a\uD800")).textAt(1));
+                assertEquals("2", Objects.requireNonNull(lookupStore.get("?")).textAt(1));
+                assertEquals("3", Objects.requireNonNull(lookupStore.get("\uDC00b")).textAt(1));
+                assertNull(lookupStore.get("a?"));
+                assertNull(lookupStore.get("?b"));
+                assertNull(lookupStore.get("a\uDC00"));
+                assertNull(lookupStore.get("\uD800"));
+            }
+        } finally {
+            Files.deleteIfExists(storePath);
+            Files.deleteIfExists(sourcePath);
+        }
+    }
+
+    /**
+     * Test method for {@link LookupStore#openOrBuild}.
+     * A store built with another key message or file spec must be built again.
+     */
+    @Test
+    void openOrBuild() throws ProducerException, IOException {
+        Path sourcePath = Files.createTempFile("LookupStoreTest", ".csv");
+        Path storePath = sourcePath.resolveSibling(sourcePath.getFileName() + LookupStore.FILE_EXTENSION);
+        try {
+            Files.writeString(sourcePath, "a;1\nb;2\n", StandardCharsets.UTF_8);
+            try (LookupStore lookupStore = LookupStore.build(FILE_SPEC, sourcePath, new TextMessage<>(0), storePath)) {
+                assertTrue(lookupStore.containsKey("a"));
+            }
+            long lastModified = Files.getLastModifiedTime(storePath).toMillis();
+
+            // unchanged
+            try (LookupStore lookupStore = LookupStore.openOrBuild(FILE_SPEC, sourcePath, new TextMessage<>(0), storePath)) {
+                assertTrue(lookupStore.containsKey("a"));
+                assertFalse(lookupStore.containsKey("1"));
+            }
+            assertEquals(Long.valueOf(lastModified), Long.valueOf(Files.getLastModifiedTime(storePath).toMillis()));
+
+            // other key message
+            try (LookupStore lookupStore = LookupStore.openOrBuild(FILE_SPEC, sourcePath, new TextMessage<>(1), storePath)) {
+                assertFalse(lookupStore.containsKey("a"));
+                assertEquals("b", Objects.requireNonNull(lookupStore.get("2")).textAt(0));
+            }
+
+            // other file spec
+            SimpleDelimitedFileSpec otherFileSpec = SimpleDelimitedFileSpec.producerFileSpec(
+                    CharsetCoding.UTF_8_REPORTING, ";", List.of(new SimpleDelimitedFieldSpec()));
+            try (LookupStore lookupStore = LookupStore.openOrBuild(otherFileSpec, sourcePath, new TextMessage<>(1), storePath)) {
+                assertEquals(0L, lookupStore.size());
+            }
+        } finally {
+            Files.deleteIfExists(storePath);
+            Files.deleteIfExists(sourcePath);
+        }
+    }
+
+}
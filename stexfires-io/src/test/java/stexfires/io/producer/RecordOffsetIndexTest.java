@@ -0,0 +1,99 @@
+package stexfires.io.producer;
+
+import org.junit.jupiter.api.Test;
+import stexfires.io.RecordIOStreams;
+import stexfires.io.delimited.simple.SimpleDelimitedFieldSpec;
+import stexfires.io.delimited.simple.SimpleDelimitedFileSpec;
+import stexfires.record.TextRecord;
+import stexfires.record.producer.ProducerException;
+import stexfires.util.CharsetCoding;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RecordOffsetIndex}.
+ */
+@SuppressWarnings("HardcodedLineSeparator")
+final class RecordOffsetIndexTest {
+
+    private static final SimpleDelimitedFileSpec FILE_SPEC = SimpleDelimitedFileSpec.producerFileSpec(
+            CharsetCoding.UTF_8_REPORTING, ";", 1, ProducerReadLineHandling.SKIP_BLANK_LINE,
+            1, 0, false, false,
+            List.of(new SimpleDelimitedFieldSpec(), new SimpleDelimitedFieldSpec()));
+
+    private static Path writeFile() throws IOException {
+        StringBuilder data = new StringBuilder("header\n");
+        for (int index = 0; index < 100; index++) {
+            data.append("ä€😀").append(index).append(';').append(index)
+                .append((index % 3 == 0) ? "\r\n" : "\n");
+        }
+        Path filePath = Files.createTempFile("RecordOffsetIndexTest", ".txt");
+        Files.writeString(filePath, data.toString(), StandardCharsets.UTF_8);
+        return filePath;
+    }
+
+    private static List<Long> readRecordIds(ReadableRecordProducer<? extends TextRecord> producer) throws ProducerException, IOException {
+        try (producer) {
+            return RecordIOStreams.read(producer, stream -> stream.map(TextRecord::recordId).toList());
+        }
+    }
+
+    /**
+     * Test method for {@link ReadableRecordFileSpec#openFileAsProducer(Path, RecordOffsetIndex, long, long)}.
+     */
+    @Test
+    void openFileAsProducer() throws ProducerException, IOException {
+        Path filePath = writeFile();
+        try {
+            RecordOffsetIndex index = RecordOffsetIndex.build(FILE_SPEC, filePath, 8, false);
+            assertEquals(100L, index.recordCount());
+            assertEquals(13, index.offsets().size());
+            assertEquals(7L, index.headerLength());
+
+            assertEquals(LongStream.range(42L, 100L).boxed().toList(),
+                    readRecordIds(FILE_SPEC.openFileAsProducer(filePath, index, 42L)));
+            assertEquals(LongStream.range(1L, 10L).boxed().toList(),
+                    readRecordIds(FILE_SPEC.openFileAsProducer(filePath, index, 0L, 10L)));
+
+            List<Long> recordIds = new ArrayList<>();
+            for (RecordOffsetIndex.Range range : index.ranges(3)) {
+                recordIds.addAll(readRecordIds(FILE_SPEC.openFileAsProducer(filePath, index,
+                        range.fromRecordIndex(), range.toRecordIndex())));
+            }
+            assertEquals(readRecordIds(FILE_SPEC.openFileAsProducer(filePath)), recordIds);
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * Test method for {@link ReadableRecordFileSpec#openFileAsProducerAtRecordId(Path, RecordOffsetIndex, long)}.
+     */
+    @Test
+    void openFileAsProducerAtRecordId() throws ProducerException, IOException {
+        Path filePath = writeFile();
+        Path indexPath = RecordOffsetIndex.sidecarPath(filePath);
+        try {
+            RecordOffsetIndex.build(FILE_SPEC, filePath, RecordOffsetIndex.DEFAULT_INTERVAL, true).write(indexPath);
+            RecordOffsetIndex index = RecordOffsetIndex.read(indexPath);
+            assertTrue(index.recordIdPosition(0L).isEmpty());
+            assertEquals(99, Objects.requireNonNull(index.recordIdPositions()).size());
+
+            assertEquals(LongStream.range(77L, 100L).boxed().toList(),
+                    readRecordIds(FILE_SPEC.openFileAsProducerAtRecordId(filePath, index, 77L)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> FILE_SPEC.openFileAsProducerAtRecordId(filePath, index, 100L));
+        } finally {
+            Files.deleteIfExists(indexPath);
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package stexfires.record;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -20,8 +21,20 @@ import java.util.stream.*;
  */
 public interface TextRecord {
 
+    /**
+     * Returns a new array with all contained fields.
+     *
+     * @return a new array with all contained fields
+     * @see #forEachField(Consumer)
+     */
     TextField[] arrayOfFields();
 
+    /**
+     * Returns a list with all contained fields.
+     * The returned list must not be modified. It can be an unmodifiable view of the fields.
+     *
+     * @return a list with all contained fields
+     */
     default List<TextField> listOfFields() {
         return switch (size()) {
             case 0 -> Collections.emptyList();
@@ -50,6 +63,21 @@ public interface TextRecord {
         };
     }
 
+    /**
+     * Performs the action for each contained field in the order of the indexes.
+     * In contrast to {@link #arrayOfFields()}, {@link #listOfFields()} and {@link #streamOfFields()}
+     * it creates no array, list or stream.
+     *
+     * @param action the action to be performed for each field
+     */
+    default void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        int size = size();
+        for (int index = TextField.FIRST_FIELD_INDEX; index < size; index++) {
+            action.accept(fieldAtOrElseThrow(index));
+        }
+    }
+
     default Stream<@Nullable String> streamOfTexts() {
         return streamOfFields().map(TextField::text);
     }
@@ -0,0 +1,324 @@
+package stexfires.record.consumer;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * A dispatcher, which passes the records to the child consumers on their own virtual threads.
+ * <p>
+ * Every child consumer has its own bounded queue, which is drained by its own virtual thread.
+ * So a slow child consumer does not block the others, until its queue is full.
+ * The order of the records is preserved within every child consumer.
+ * <p>
+ * If the queue of a child consumer is full, the {@link BackPressure} policy decides,
+ * whether {@link #consume(TextRecord)} blocks or the record is dropped for this child consumer.
+ * <p>
+ * {@link #flush()} waits until all queued records are consumed and flushes the {@link Flushable} child consumers.
+ * {@link #close()} waits until all queued records are consumed and closes the {@link Closeable} child consumers.
+ * An exception or error of a child consumer is rethrown by the next {@link #consume(TextRecord)}, {@link #flush()}
+ * or {@link #close()}.
+ * The queued records of a failed child consumer are discarded.
+ * If the virtual thread of a child consumer terminates unexpectedly, its queue is no longer drained,
+ * but {@link #consume(TextRecord)}, {@link #flush()} and {@link #close()} do not block on it.
+ *
+ * @see DispatcherConsumer#concurrent(int, BackPressure)
+ * @since 0.1
+ */
+public final class ConcurrentDispatcherConsumer<T extends TextRecord> implements ClosableRecordConsumer<T>, Flushable {
+
+    private static final String THREAD_NAME_PREFIX = "stexfires-dispatcher-";
+
+    // Interval for checking, if a drain thread has terminated, while waiting for it.
+    private static final long WAIT_INTERVAL_MILLIS = 100L;
+
+    private final Object lock = new Object();
+
+    private final BiPredicate<Integer, ? super T> predicate;
+    private final List<Child<T>> children;
+    private final BackPressure backPressure;
+    private volatile boolean closed;
+
+    public ConcurrentDispatcherConsumer(BiPredicate<Integer, ? super T> predicate,
+                                        List<? extends RecordConsumer<? super T>> recordConsumers,
+                                        int queueCapacity,
+                                        BackPressure backPressure) {
+        Objects.requireNonNull(predicate);
+        Objects.requireNonNull(recordConsumers);
+        Objects.requireNonNull(backPressure);
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity <= 0");
+        }
+        this.predicate = predicate;
+        this.backPressure = backPressure;
+        List<Child<T>> childList = new ArrayList<>(recordConsumers.size());
+        for (RecordConsumer<? super T> recordConsumer : List.copyOf(recordConsumers)) {
+            childList.add(new Child<>(recordConsumer, queueCapacity));
+        }
+        children = List.copyOf(childList);
+        for (int index = 0; index < children.size(); index++) {
+            Child<T> child = children.get(index);
+            Thread.ofVirtual().name(THREAD_NAME_PREFIX + index).start(child::drain);
+        }
+    }
+
+    public BackPressure backPressure() {
+        return backPressure;
+    }
+
+    /**
+     * Returns the number of records dropped for the child consumer at the index.
+     */
+    public long droppedCount(int index) {
+        return children.get(index).droppedCount.sum();
+    }
+
+    /**
+     * Returns the number of records dropped for all child consumers.
+     */
+    public long droppedCount() {
+        return children.stream().mapToLong(child -> child.droppedCount.sum()).sum();
+    }
+
+    @Override
+    public void consume(T record) throws UncheckedConsumerException {
+        synchronized (lock) {
+            if (closed) {
+                throw new UncheckedConsumerException(new ConsumerException("The dispatcher is closed.", record));
+            }
+            for (int index = 0; index < children.size(); index++) {
+                Child<T> child = children.get(index);
+                child.throwFailure(record);
+                if (predicate.test(index, record)) {
+                    child.offer(record, backPressure);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        List<CountDownLatch> flushedLatches = new ArrayList<>(children.size());
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("The dispatcher is closed.");
+            }
+            for (Child<T> child : children) {
+                CountDownLatch flushed = new CountDownLatch(1);
+                child.putControl(new Flush(flushed));
+                flushedLatches.add(flushed);
+            }
+        }
+        try {
+            for (int index = 0; index < children.size(); index++) {
+                children.get(index).awaitFlushed(flushedLatches.get(index));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the child consumers.");
+        }
+        throwFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Child<T> child : children) {
+                child.putControl(new End());
+            }
+        }
+        try {
+            for (Child<T> child : children) {
+                child.drained.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the child consumers.");
+        }
+        throwFailure();
+    }
+
+    private void throwFailure() throws IOException {
+        for (Child<T> child : children) {
+            Throwable failure = child.failure;
+            if (failure instanceof IOException ioException) {
+                throw ioException;
+            } else if (failure != null) {
+                throw new IOException("A child consumer failed.", failure);
+            }
+        }
+    }
+
+    /**
+     * The policy, if the queue of a child consumer is full.
+     */
+    public enum BackPressure {
+
+        /**
+         * {@link #consume(TextRecord)} blocks until the child consumer has taken a record from its queue.
+         */
+        BLOCK,
+        /**
+         * The record is not passed to the child consumer and counted as dropped.
+         */
+        DROP
+
+    }
+
+    private sealed interface Item permits RecordItem, Flush, End {
+    }
+
+    private record RecordItem<T>(T record) implements Item {
+    }
+
+    private record Flush(CountDownLatch flushed) implements Item {
+    }
+
+    private record End() implements Item {
+    }
+
+    private static final class Child<T extends TextRecord> {
+
+        private final RecordConsumer<? super T> recordConsumer;
+        private final BlockingQueue<Item> queue;
+        private final LongAdder droppedCount;
+        private final CountDownLatch drained;
+        private volatile @Nullable Throwable failure;
+
+        private Child(RecordConsumer<? super T> recordConsumer, int queueCapacity) {
+            this.recordConsumer = recordConsumer;
+            queue = new LinkedBlockingQueue<>(queueCapacity);
+            droppedCount = new LongAdder();
+            drained = new CountDownLatch(1);
+        }
+
+        private void throwFailure(T record) throws UncheckedConsumerException {
+            Throwable exception = failure;
+            if (exception instanceof UncheckedConsumerException uncheckedConsumerException) {
+                throw uncheckedConsumerException;
+            } else if (exception != null) {
+                throw new UncheckedConsumerException(new ConsumerException(record, exception));
+            }
+        }
+
+        private void offer(T record, BackPressure backPressure) throws UncheckedConsumerException {
+            RecordItem<T> item = new RecordItem<>(record);
+            switch (backPressure) {
+                case BLOCK -> {
+                    boolean queued;
+                    try {
+                        queued = put(item);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new UncheckedConsumerException(new ConsumerException(record, e));
+                    }
+                    if (!queued) {
+                        throwFailure(record);
+                    }
+                }
+                case DROP -> {
+                    if (!queue.offer(item)) {
+                        droppedCount.increment();
+                    }
+                }
+            }
+        }
+
+        private void putControl(Item item) throws InterruptedIOException {
+            try {
+                put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a child consumer.");
+            }
+        }
+
+        /**
+         * Waits until there is space in the queue and puts the item into it.
+         *
+         * @return {@code false}, if the drain thread has terminated and the item was not put into the queue
+         */
+        private boolean put(Item item) throws InterruptedException {
+            while (!queue.offer(item, WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (drained.getCount() == 0L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Waits until the flush item is consumed or the drain thread has terminated.
+         */
+        private void awaitFlushed(CountDownLatch flushed) throws InterruptedException {
+            while (!flushed.await(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (drained.getCount() == 0L) {
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            try {
+                Item item = queue.take();
+                while (!(item instanceof End)) {
+                    switch (item) {
+                        case RecordItem<?> recordItem -> {
+                            if (failure == null) {
+                                try {
+                                    recordConsumer.consume((T) recordItem.record());
+                                } catch (Throwable e) {
+                                    failure = e;
+                                }
+                            }
+                        }
+                        case Flush flush -> {
+                            if ((failure == null) && (recordConsumer instanceof Flushable flushable)) {
+                                try {
+                                    flushable.flush();
+                                } catch (Throwable e) {
+                                    failure = e;
+                                }
+                            }
+                            flush.flushed().countDown();
+                        }
+                        case End end -> {
+                            // handled by the loop condition
+                        }
+                    }
+                    item = queue.take();
+                }
+                if (recordConsumer instanceof Closeable closeable) {
+                    try {
+                        closeable.close();
+                    } catch (Throwable e) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            } finally {
+                drained.countDown();
+            }
+        }
+
+    }
+
+}
@@ -103,6 +103,18 @@ public class DispatcherConsumer<T extends TextRecord> implements RecordConsumer<
         return new DispatcherConsumer<>(predicate, recordConsumers);
     }
 
+    /**
+     * Returns a {@link ConcurrentDispatcherConsumer} with the same predicate and child consumers,
+     * which passes the records to every child consumer on its own virtual thread.
+     *
+     * @param queueCapacity the capacity of the queue of every child consumer
+     * @param backPressure  the policy, if the queue of a child consumer is full
+     */
+    public final ConcurrentDispatcherConsumer<T> concurrent(int queueCapacity,
+                                                            ConcurrentDispatcherConsumer.BackPressure backPressure) {
+        return new ConcurrentDispatcherConsumer<>(predicate, recordConsumers, queueCapacity, backPressure);
+    }
+
     @Override
     public final void consume(T record) {
         synchronized (lock) {
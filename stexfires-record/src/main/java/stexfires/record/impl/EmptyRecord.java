@@ -7,6 +7,7 @@ import stexfires.record.TextRecord;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -38,6 +39,11 @@ public record EmptyRecord()
         return Stream.empty();
     }
 
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+    }
+
     @Override
     public @Nullable String category() {
         return null;
@@ -6,6 +6,7 @@ import stexfires.record.TextField;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -117,6 +118,14 @@ public record KeyValueCommentFieldsRecord(@Nullable String category,
         return Stream.of(keyField, valueField, commentField);
     }
 
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        action.accept(keyField);
+        action.accept(valueField);
+        action.accept(commentField);
+    }
+
     @Override
     public @Nullable String category() {
         return category;
@@ -6,6 +6,7 @@ import stexfires.record.TextField;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -95,6 +96,13 @@ public record KeyValueFieldsRecord(@Nullable String category,
         return Stream.of(keyField, valueField);
     }
 
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        action.accept(keyField);
+        action.accept(valueField);
+    }
+
     @Override
     public @Nullable String category() {
         return category;
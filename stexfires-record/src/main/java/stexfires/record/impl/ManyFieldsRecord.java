@@ -7,6 +7,7 @@ import stexfires.record.TextRecord;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -69,26 +70,37 @@ public record ManyFieldsRecord(@Nullable String category,
 
     @Override
     public TextField[] arrayOfFields() {
-        synchronized (fields) {
-            return Arrays.copyOf(fields, fields.length);
-        }
+        // The array is never modified after construction. Therefore, no lock is necessary for the copy.
+        return fields.clone();
     }
 
+    /**
+     * Returns an unmodifiable view of the contained fields.
+     */
     @Override
     public List<TextField> listOfFields() {
-        return Arrays.asList(arrayOfFields());
+        return Collections.unmodifiableList(Arrays.asList(fields));
     }
 
+    /**
+     * Returns an unmodifiable view of the contained fields in reverse order.
+     */
     @Override
     public List<TextField> listOfFieldsReversed() {
-        var fieldList = listOfFields();
-        Collections.reverse(fieldList);
-        return fieldList;
+        return listOfFields().reversed();
     }
 
     @Override
     public Stream<TextField> streamOfFields() {
-        return Arrays.stream(arrayOfFields());
+        return Arrays.stream(fields);
+    }
+
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        for (TextField field : fields) {
+            action.accept(field);
+        }
     }
 
     @Override
@@ -111,4 +123,9 @@ public record ManyFieldsRecord(@Nullable String category,
         return ((index >= 0) && (index < fields.length)) ? fields[index] : null;
     }
 
+    @Override
+    public @Nullable String textAt(int index) {
+        return ((index >= 0) && (index < fields.length)) ? fields[index].text() : null;
+    }
+
 }
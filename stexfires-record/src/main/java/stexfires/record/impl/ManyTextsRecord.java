@@ -0,0 +1,133 @@
+package stexfires.record.impl;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextField;
+import stexfires.record.TextFields;
+import stexfires.record.TextRecord;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A {@link TextRecord} with any number of fields, which stores only the texts.
+ * <p>
+ * In contrast to {@link ManyFieldsRecord} it does not keep a {@link TextField} for every field.
+ * The {@link TextField}s are created on demand by {@link #fieldAt(int)}, {@link #arrayOfFields()},
+ * {@link #streamOfFields()} and {@link #forEachField(Consumer)}.
+ * The access by {@link #textAt(int)} and {@link #streamOfTexts()} creates no {@link TextField}s.
+ *
+ * @see ManyFieldsRecord
+ * @since 0.1
+ */
+public record ManyTextsRecord(@Nullable String category,
+                              @Nullable Long recordId,
+                              @Nullable String... texts)
+        implements TextRecord, Serializable {
+
+    private static final String[] EMPTY_TEXT_ARRAY = new String[0];
+
+    public ManyTextsRecord() {
+        this(null, null, EMPTY_TEXT_ARRAY);
+    }
+
+    public ManyTextsRecord(Collection<@Nullable String> texts) {
+        this(null, null, texts);
+    }
+
+    public ManyTextsRecord(@Nullable String category, @Nullable Long recordId, Collection<@Nullable String> texts) {
+        this(category, recordId, texts.toArray(EMPTY_TEXT_ARRAY));
+    }
+
+    public ManyTextsRecord(Stream<@Nullable String> texts) {
+        this(null, null, texts);
+    }
+
+    public ManyTextsRecord(@Nullable String category, @Nullable Long recordId, Stream<@Nullable String> texts) {
+        this(category, recordId, texts.toArray(String[]::new));
+    }
+
+    @SuppressWarnings("OverloadedVarargsMethod")
+    public ManyTextsRecord(@Nullable String... texts) {
+        this(null, null, texts);
+    }
+
+    public ManyTextsRecord(@Nullable String category, @Nullable Long recordId, @Nullable String... texts) {
+        Objects.requireNonNull(texts);
+        this.category = category;
+        this.recordId = recordId;
+        this.texts = (texts.length == 0) ? EMPTY_TEXT_ARRAY : texts.clone();
+    }
+
+    /**
+     * Returns a new array with the texts of all fields.
+     *
+     * @return a new array with the texts of all fields
+     */
+    @Override
+    public @Nullable String[] texts() {
+        return texts.clone();
+    }
+
+    @Override
+    public TextField[] arrayOfFields() {
+        return TextFields.newArrayOfStrings(texts);
+    }
+
+    @Override
+    public Stream<TextField> streamOfFields() {
+        int maxIndex = texts.length - 1;
+        return IntStream.range(TextField.FIRST_FIELD_INDEX, texts.length)
+                        .mapToObj(index -> new TextField(index, maxIndex, texts[index]));
+    }
+
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        int maxIndex = texts.length - 1;
+        for (int index = TextField.FIRST_FIELD_INDEX; index < texts.length; index++) {
+            action.accept(new TextField(index, maxIndex, texts[index]));
+        }
+    }
+
+    @Override
+    public Stream<@Nullable String> streamOfTexts() {
+        return Arrays.stream(texts);
+    }
+
+    @Override
+    public @Nullable String category() {
+        return category;
+    }
+
+    @Override
+    public @Nullable Long recordId() {
+        return recordId;
+    }
+
+    @Override
+    public int size() {
+        return texts.length;
+    }
+
+    @Override
+    public @Nullable TextField fieldAt(int index) {
+        return ((index >= 0) && (index < texts.length)) ? new TextField(index, texts.length - 1, texts[index]) : null;
+    }
+
+    @Override
+    public @Nullable String textAt(int index) {
+        return ((index >= 0) && (index < texts.length)) ? texts[index] : null;
+    }
+
+    /**
+     * Returns a new {@link ManyFieldsRecord} with the same category, recordId and texts.
+     *
+     * @return a new {@link ManyFieldsRecord}
+     */
+    public ManyFieldsRecord toManyFieldsRecord() {
+        return new ManyFieldsRecord(category, recordId, texts);
+    }
+
+}
@@ -6,6 +6,7 @@ import stexfires.record.TextRecord;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -81,6 +82,13 @@ public record TwoFieldsRecord(@Nullable String category,
         return Stream.of(firstField, secondField);
     }
 
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        action.accept(firstField);
+        action.accept(secondField);
+    }
+
     @Override
     public @Nullable String category() {
         return category;
@@ -6,6 +6,7 @@ import stexfires.record.ValueRecord;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -66,6 +67,12 @@ public record ValueFieldRecord(@Nullable String category,
         return Stream.of(valueField);
     }
 
+    @Override
+    public void forEachField(Consumer<? super TextField> action) {
+        Objects.requireNonNull(action);
+        action.accept(valueField);
+    }
+
     @Override
     public @Nullable String category() {
         return category;
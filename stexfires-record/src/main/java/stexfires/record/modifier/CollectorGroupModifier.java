@@ -0,0 +1,133 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Aggregator / Group By with a {@link Collector}, which folds the records of a group incrementally.
+ * <p>
+ * In contrast to {@link GroupModifier} it keeps no list with the records of a group.
+ * It keeps one accumulation state per group and returns the groups in the order of their first record.
+ * <p>
+ * If {@code sortedInput} is {@code true}, the records with the same group key must be adjacent in the stream,
+ * for example sorted by the group key.
+ * Then every group is returned as soon as the group key changes and only the state of the current group is kept.
+ * A group key, which appears again after another group key, starts a new group.
+ *
+ * @see GroupCollectors
+ * @see GroupModifier
+ * @since 0.1
+ */
+public class CollectorGroupModifier<T extends TextRecord, R extends TextRecord> implements RecordStreamModifier<T, R> {
+
+    private final Function<? super T, ?> groupByFunction;
+    private final Collector<? super T, ?, ? extends R> aggregateCollector;
+    private final boolean sortedInput;
+
+    public CollectorGroupModifier(Function<? super T, ?> groupByFunction,
+                                  Collector<? super T, ?, ? extends R> aggregateCollector) {
+        this(groupByFunction, aggregateCollector, false);
+    }
+
+    public CollectorGroupModifier(Function<? super T, ?> groupByFunction,
+                                  Collector<? super T, ?, ? extends R> aggregateCollector,
+                                  boolean sortedInput) {
+        Objects.requireNonNull(groupByFunction);
+        Objects.requireNonNull(aggregateCollector);
+        this.groupByFunction = groupByFunction;
+        this.aggregateCollector = aggregateCollector;
+        this.sortedInput = sortedInput;
+    }
+
+    @Override
+    public final Stream<R> modify(Stream<T> recordStream) {
+        if (sortedInput) {
+            return StreamSupport.<R>stream(adjacentGroupSpliterator(recordStream.spliterator(), groupByFunction, aggregateCollector), false)
+                                .onClose(recordStream::close);
+        }
+        return recordStream
+                .collect(Collectors.groupingBy(groupByFunction, LinkedHashMap::new, aggregateCollector))
+                .values()
+                .stream()
+                .<R>map(Function.identity());
+    }
+
+    private static <T, A, R> Spliterator<R> adjacentGroupSpliterator(Spliterator<T> sourceSpliterator,
+                                                                     Function<? super T, ?> groupByFunction,
+                                                                     Collector<? super T, A, ? extends R> aggregateCollector) {
+        return new AdjacentGroupSpliterator<>(sourceSpliterator, groupByFunction,
+                aggregateCollector.supplier(), aggregateCollector.accumulator(), aggregateCollector.finisher());
+    }
+
+    private static final class AdjacentGroupSpliterator<T, A, R> extends Spliterators.AbstractSpliterator<R>
+            implements Consumer<T> {
+
+        private final Spliterator<T> sourceSpliterator;
+        private final Function<? super T, ?> groupByFunction;
+        private final Supplier<A> supplier;
+        private final BiConsumer<A, ? super T> accumulator;
+        private final Function<A, ? extends R> finisher;
+
+        private @Nullable Object currentKey;
+        private @Nullable A currentState;
+        private boolean hasCurrentGroup;
+        private @Nullable A completedState;
+        private boolean hasCompletedGroup;
+
+        private AdjacentGroupSpliterator(Spliterator<T> sourceSpliterator,
+                                         Function<? super T, ?> groupByFunction,
+                                         Supplier<A> supplier,
+                                         BiConsumer<A, ? super T> accumulator,
+                                         Function<A, ? extends R> finisher) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.sourceSpliterator = sourceSpliterator;
+            this.groupByFunction = groupByFunction;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.finisher = finisher;
+        }
+
+        @Override
+        public void accept(T record) {
+            Object key = Objects.requireNonNull(groupByFunction.apply(record), "element cannot be mapped to a null key");
+            if (!hasCurrentGroup) {
+                currentState = supplier.get();
+                hasCurrentGroup = true;
+            } else if (!key.equals(currentKey)) {
+                completedState = currentState;
+                hasCompletedGroup = true;
+                currentState = supplier.get();
+            }
+            currentKey = key;
+            accumulator.accept(currentState, record);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            while (!hasCompletedGroup && sourceSpliterator.tryAdvance(this)) {
+                // Accumulate the records until the group key changes.
+            }
+            if (hasCompletedGroup) {
+                A state = completedState;
+                completedState = null;
+                hasCompletedGroup = false;
+                action.accept(finisher.apply(state));
+                return true;
+            }
+            if (hasCurrentGroup) {
+                A state = currentState;
+                currentState = null;
+                hasCurrentGroup = false;
+                action.accept(finisher.apply(state));
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -12,6 +12,7 @@ import java.util.stream.*;
  * Returns a stream consisting of the distinct records of the record stream.
  * It removes the duplicates based on the compare message.
  *
+ * @see HashDistinctModifier
  * @since 0.1
  */
 public class DistinctModifier<T extends TextRecord> implements RecordStreamModifier<T, T> {
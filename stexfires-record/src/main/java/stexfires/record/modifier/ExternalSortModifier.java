@@ -0,0 +1,394 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Sorts the record stream like {@link SortModifier}, but without holding all records in the heap.
+ * <p>
+ * The records are collected into runs, which are limited by the run size and the memory budget.
+ * Every full run is sorted with {@link Arrays#parallelSort(Object[], Comparator)} and written into a temporary file
+ * on the common {@link ForkJoinPool}, while the next run is collected.
+ * Afterward, the runs are merged with a heap. If there are more runs than {@link #MAX_MERGE_FAN_IN},
+ * they are merged in several passes.
+ * If all records fit into the first run, they are sorted in memory and no temporary file is written.
+ * <p>
+ * The sort is stable. The records read back from the temporary files have the same class, category, recordId
+ * and texts as the written records, so the sorted stream contains records of the same classes as the record stream.
+ * Therefore, every record written into a temporary file must be a record of {@code stexfires.record.impl}
+ * or {@link java.io.Serializable}. Otherwise, an {@link IllegalArgumentException} is thrown.
+ * If all records fit into the first run, records of any class are sorted.
+ * <p>
+ * The temporary files are deleted as soon as the merged stream is exhausted or closed.
+ *
+ * @see SortModifier
+ * @see stexfires.record.comparator.RecordComparators
+ * @since 0.1
+ */
+public class ExternalSortModifier<T extends TextRecord> implements RecordStreamModifier<T, T> {
+
+    /**
+     * Default memory budget for the runs in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024L * 1024L;
+
+    /**
+     * Default maximum number of records of a run.
+     */
+    public static final int DEFAULT_RUN_SIZE = 100_000;
+
+    /**
+     * Maximum number of runs, which are merged at once.
+     */
+    public static final int MAX_MERGE_FAN_IN = 128;
+
+    private static final String TEMP_DIRECTORY_PREFIX = "stexfires-sort-";
+    private static final String RUN_FILE_PREFIX = "run-";
+    private static final String RUN_FILE_SUFFIX = ".bin";
+
+    private final Comparator<? super T> recordComparator;
+    private final long memoryBudget;
+    private final int runSize;
+    private final @Nullable Path tempDirectory;
+
+    public ExternalSortModifier(Comparator<? super T> recordComparator) {
+        this(recordComparator, DEFAULT_MEMORY_BUDGET, DEFAULT_RUN_SIZE, null);
+    }
+
+    /**
+     * @param recordComparator the comparator for the records
+     * @param memoryBudget     the maximum estimated heap size of the runs in bytes.
+     *                         The collected run and the run, which is sorted and written, share the budget.
+     * @param runSize          the maximum number of records of a run
+     * @param tempDirectory    the directory for the temporary files or {@code null} for the default temporary directory
+     */
+    public ExternalSortModifier(Comparator<? super T> recordComparator,
+                                long memoryBudget,
+                                int runSize,
+                                @Nullable Path tempDirectory) {
+        Objects.requireNonNull(recordComparator);
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Invalid memoryBudget: " + memoryBudget);
+        }
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("Invalid runSize: " + runSize);
+        }
+        this.recordComparator = recordComparator;
+        this.memoryBudget = memoryBudget;
+        this.runSize = runSize;
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public final Stream<T> modify(Stream<T> recordStream) {
+        ExternalSort<T> externalSort = new ExternalSort<>(recordComparator, memoryBudget, runSize, tempDirectory);
+        // The records are sorted lazily by the terminal operation.
+        return StreamSupport.stream(() -> externalSort.sort(recordStream),
+                                    Spliterator.ORDERED | Spliterator.NONNULL, false)
+                            .onClose(externalSort::close)
+                            .onClose(recordStream::close);
+    }
+
+    private record RunFile(Path path, int recordCount) {
+    }
+
+    private static final class ExternalSort<T extends TextRecord> {
+
+        private final Comparator<? super T> recordComparator;
+        private final long runMemoryBudget;
+        private final int runSize;
+        private final @Nullable Path tempDirectory;
+        private final List<Path> createdFiles;
+        private final List<RunReader<T>> openReaders;
+        private @Nullable Path createdTempDirectory;
+
+        private ExternalSort(Comparator<? super T> recordComparator, long memoryBudget, int runSize,
+                             @Nullable Path tempDirectory) {
+            this.recordComparator = recordComparator;
+            // The collected run and the spilled run share the memory budget.
+            runMemoryBudget = Math.max(1L, memoryBudget / 2L);
+            this.runSize = runSize;
+            this.tempDirectory = tempDirectory;
+            createdFiles = new ArrayList<>();
+            openReaders = new ArrayList<>();
+        }
+
+        private Spliterator<T> sort(Stream<T> recordStream) {
+            Iterator<T> recordIterator = recordStream.iterator();
+            List<RunFile> runFiles = new ArrayList<>();
+            @Nullable ForkJoinTask<?> pendingSpill = null;
+            List<T> run = new ArrayList<>();
+            long runMemory = 0L;
+            try {
+                while (recordIterator.hasNext()) {
+                    T record = Objects.requireNonNull(recordIterator.next());
+                    run.add(record);
+                    runMemory += RecordSpillCodec.estimateSize(record);
+                    if ((run.size() >= runSize || runMemory >= runMemoryBudget) && recordIterator.hasNext()) {
+                        T[] runArray = toArray(run);
+                        RunFile runFile = new RunFile(newRunFile(), runArray.length);
+                        runFiles.add(runFile);
+                        if (pendingSpill != null) {
+                            pendingSpill.join();
+                        }
+                        pendingSpill = ForkJoinPool.commonPool().submit(() -> sortAndSpill(runArray, runFile));
+                        run = new ArrayList<>();
+                        runMemory = 0L;
+                    }
+                }
+                T[] lastRun = toArray(run);
+                Arrays.parallelSort(lastRun, recordComparator);
+                if (pendingSpill == null) {
+                    return Spliterators.spliterator(lastRun, Spliterator.ORDERED | Spliterator.NONNULL);
+                }
+                pendingSpill.join();
+                runFiles = mergeToFanIn(runFiles);
+                List<Iterator<T>> runIterators = new ArrayList<>(runFiles.size() + 1);
+                for (RunFile runFile : runFiles) {
+                    runIterators.add(openRunReader(runFile));
+                }
+                runIterators.add(Arrays.asList(lastRun).iterator());
+                return Spliterators.spliteratorUnknownSize(new MergeIterator<>(runIterators, recordComparator, this::close),
+                        Spliterator.ORDERED | Spliterator.NONNULL);
+            } catch (IOException e) {
+                cancel(pendingSpill);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                cancel(pendingSpill);
+                throw e;
+            }
+        }
+
+        private void cancel(@Nullable ForkJoinTask<?> pendingSpill) {
+            if (pendingSpill != null) {
+                pendingSpill.quietlyJoin();
+            }
+            close();
+        }
+
+        private List<RunFile> mergeToFanIn(List<RunFile> runFiles) throws IOException {
+            // Leave one slot of the final merge for the last run, which stays in memory.
+            List<RunFile> currentRunFiles = runFiles;
+            while (currentRunFiles.size() >= MAX_MERGE_FAN_IN) {
+                List<RunFile> mergedRunFiles = new ArrayList<>();
+                for (int fromIndex = 0; fromIndex < currentRunFiles.size(); fromIndex += MAX_MERGE_FAN_IN) {
+                    List<RunFile> group = currentRunFiles.subList(fromIndex,
+                            Math.min(fromIndex + MAX_MERGE_FAN_IN, currentRunFiles.size()));
+                    mergedRunFiles.add(mergeRunFiles(group));
+                }
+                currentRunFiles = mergedRunFiles;
+            }
+            return currentRunFiles;
+        }
+
+        private RunFile mergeRunFiles(List<RunFile> group) throws IOException {
+            List<Iterator<T>> runIterators = new ArrayList<>(group.size());
+            List<RunReader<T>> runReaders = new ArrayList<>(group.size());
+            int recordCount = 0;
+            for (RunFile runFile : group) {
+                RunReader<T> runReader = openRunReader(runFile);
+                runReaders.add(runReader);
+                runIterators.add(runReader);
+                recordCount += runFile.recordCount();
+            }
+            RunFile mergedRunFile = new RunFile(newRunFile(), recordCount);
+            MergeIterator<T> mergeIterator = new MergeIterator<>(runIterators, recordComparator, () -> {
+            });
+            try (DataOutputStream output = RecordSpillCodec.newOutputStream(mergedRunFile.path())) {
+                while (mergeIterator.hasNext()) {
+                    RecordSpillCodec.writeTypedRecord(output, mergeIterator.next());
+                }
+            }
+            for (RunReader<T> runReader : runReaders) {
+                runReader.close();
+                openReaders.remove(runReader);
+                Files.deleteIfExists(runReader.path);
+            }
+            return mergedRunFile;
+        }
+
+        /**
+         * Returns the records of the run as an array.
+         * The array is a {@code TextRecord[]}, which is the erasure of {@code T[]}.
+         */
+        @SuppressWarnings("unchecked")
+        private T[] toArray(List<T> run) {
+            return (T[]) run.toArray(TextRecord[]::new);
+        }
+
+        private void sortAndSpill(T[] runArray, RunFile runFile) {
+            Arrays.parallelSort(runArray, recordComparator);
+            try (DataOutputStream output = RecordSpillCodec.newOutputStream(runFile.path())) {
+                for (T record : runArray) {
+                    RecordSpillCodec.writeTypedRecord(output, record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Path newRunFile() throws IOException {
+            if (createdTempDirectory == null) {
+                createdTempDirectory = (tempDirectory == null)
+                        ? Files.createTempDirectory(TEMP_DIRECTORY_PREFIX)
+                        : Files.createTempDirectory(tempDirectory, TEMP_DIRECTORY_PREFIX);
+            }
+            Path path = Files.createTempFile(createdTempDirectory, RUN_FILE_PREFIX, RUN_FILE_SUFFIX);
+            createdFiles.add(path);
+            return path;
+        }
+
+        private RunReader<T> openRunReader(RunFile runFile) throws IOException {
+            RunReader<T> runReader = new RunReader<>(runFile);
+            openReaders.add(runReader);
+            return runReader;
+        }
+
+        private void close() {
+            IOException exception = null;
+            for (RunReader<T> runReader : openReaders) {
+                try {
+                    runReader.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+            openReaders.clear();
+            for (Path path : createdFiles) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+            createdFiles.clear();
+            if (createdTempDirectory != null) {
+                try {
+                    Files.deleteIfExists(createdTempDirectory);
+                } catch (IOException e) {
+                    exception = e;
+                }
+                createdTempDirectory = null;
+            }
+            if (exception != null) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+    }
+
+    private static final class RunReader<T extends TextRecord> implements Iterator<T>, AutoCloseable {
+
+        private final Path path;
+        private final DataInputStream input;
+        private int remainingRecords;
+
+        private RunReader(RunFile runFile) throws IOException {
+            path = runFile.path();
+            input = RecordSpillCodec.newInputStream(path);
+            remainingRecords = runFile.recordCount();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remainingRecords > 0;
+        }
+
+        @Override
+        public T next() {
+            if (remainingRecords <= 0) {
+                throw new NoSuchElementException();
+            }
+            try {
+                // The typed record has the class of the written record.
+                @SuppressWarnings("unchecked")
+                T record = (T) RecordSpillCodec.readTypedRecord(input);
+                remainingRecords--;
+                return record;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+
+    }
+
+    /**
+     * Merges sorted iterators with a heap.
+     * Equal records are returned in the order of the iterators.
+     */
+    private static final class MergeIterator<T extends TextRecord> implements Iterator<T> {
+
+        private final PriorityQueue<MergeEntry<T>> heap;
+        private final Runnable exhaustedAction;
+
+        private MergeIterator(List<Iterator<T>> runIterators,
+                              Comparator<? super T> recordComparator,
+                              Runnable exhaustedAction) {
+            Comparator<MergeEntry<T>> entryComparator = Comparator.<MergeEntry<T>, T>comparing(entry -> entry.head, recordComparator)
+                                                               .thenComparingInt(entry -> entry.runIndex);
+            heap = new PriorityQueue<>(Math.max(1, runIterators.size()), entryComparator);
+            for (int runIndex = 0; runIndex < runIterators.size(); runIndex++) {
+                Iterator<T> runIterator = runIterators.get(runIndex);
+                if (runIterator.hasNext()) {
+                    heap.add(new MergeEntry<>(runIndex, runIterator, runIterator.next()));
+                }
+            }
+            this.exhaustedAction = exhaustedAction;
+            if (heap.isEmpty()) {
+                exhaustedAction.run();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            MergeEntry<T> entry = heap.poll();
+            if (entry == null) {
+                throw new NoSuchElementException();
+            }
+            T record = entry.head;
+            if (entry.runIterator.hasNext()) {
+                entry.head = entry.runIterator.next();
+                heap.add(entry);
+            } else if (heap.isEmpty()) {
+                exhaustedAction.run();
+            }
+            return record;
+        }
+
+    }
+
+    private static final class MergeEntry<T extends TextRecord> {
+
+        private final int runIndex;
+        private final Iterator<T> runIterator;
+        private T head;
+
+        private MergeEntry(int runIndex, Iterator<T> runIterator, T head) {
+            this.runIndex = runIndex;
+            this.runIterator = runIterator;
+            this.head = head;
+        }
+
+    }
+
+}
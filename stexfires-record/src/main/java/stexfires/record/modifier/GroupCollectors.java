@@ -0,0 +1,149 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * This class consists of {@code static} utility methods
+ * for constructing {@link Collector}s, which aggregate the records of a group incrementally.
+ * <p>
+ * The text collectors fold every record into a small state and do not keep the records of the group.
+ * They are combined into one record by {@link #toTexts(List)}.
+ *
+ * @see CollectorGroupModifier
+ * @since 0.1
+ */
+public final class GroupCollectors {
+
+    private GroupCollectors() {
+    }
+
+    /**
+     * Returns a collector with the number of records.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> count() {
+        return Collectors.collectingAndThen(Collectors.counting(), String::valueOf);
+    }
+
+    /**
+     * Returns a collector with the category of the first record.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> firstCategory() {
+        return Collectors.collectingAndThen(Collectors.reducing((first, second) -> first),
+                record -> record.map(TextRecord::category).orElse(null));
+    }
+
+    /**
+     * Returns a collector with the text at the index of the first record.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> firstTextAt(int index) {
+        return Collectors.collectingAndThen(Collectors.reducing((first, second) -> first),
+                record -> record.map(r -> r.textAt(index)).orElse(null));
+    }
+
+    /**
+     * Returns a collector with the text at the index of the last record.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> lastTextAt(int index) {
+        return Collectors.collectingAndThen(Collectors.reducing((first, second) -> second),
+                record -> record.map(r -> r.textAt(index)).orElse(null));
+    }
+
+    /**
+     * Returns a collector with the minimum of the not {@code null} texts at the index
+     * or {@code null} if all texts are {@code null}.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> minTextAt(int index,
+                                                                                   Comparator<String> textComparator) {
+        Objects.requireNonNull(textComparator);
+        return Collectors.mapping(record -> record.textAt(index),
+                Collectors.filtering(Objects::nonNull,
+                        Collectors.collectingAndThen(Collectors.minBy(textComparator), text -> text.orElse(null))));
+    }
+
+    /**
+     * Returns a collector with the maximum of the not {@code null} texts at the index
+     * or {@code null} if all texts are {@code null}.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> maxTextAt(int index,
+                                                                                   Comparator<String> textComparator) {
+        Objects.requireNonNull(textComparator);
+        return Collectors.mapping(record -> record.textAt(index),
+                Collectors.filtering(Objects::nonNull,
+                        Collectors.collectingAndThen(Collectors.maxBy(textComparator), text -> text.orElse(null))));
+    }
+
+    /**
+     * Returns a collector with the concatenation of the not {@code null} texts at the index.
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> joinTextsAt(int index,
+                                                                                     CharSequence delimiter) {
+        Objects.requireNonNull(delimiter);
+        return Collectors.mapping(record -> record.textAt(index),
+                Collectors.filtering(Objects::nonNull,
+                        Collectors.joining(delimiter)));
+    }
+
+    /**
+     * Returns a collector with the sum of the parsed texts at the index.
+     * Texts parsed to {@code null} are ignored.
+     * The sum is formatted with {@link BigDecimal#toPlainString()}.
+     *
+     * @param textParser parses a text to a number, for example {@code DataTypeParser::asFunction} of a
+     *                   {@code NumberDataTypeParser<BigDecimal>} from the module {@code stexfires.data}
+     */
+    public static <T extends TextRecord> Collector<T, ?, @Nullable String> sumTextsAt(int index,
+                                                                                    Function<@Nullable String, @Nullable BigDecimal> textParser) {
+        Objects.requireNonNull(textParser);
+        return Collectors.mapping(record -> textParser.apply(record.textAt(index)),
+                Collectors.filtering(Objects::nonNull,
+                        Collectors.collectingAndThen(Collectors.reducing(BigDecimal.ZERO, BigDecimal::add),
+                                BigDecimal::toPlainString)));
+    }
+
+    /**
+     * Returns a collector, which creates a record with one text for every text collector.
+     */
+    public static <T extends TextRecord> Collector<T, ?, TextRecord> toTexts(List<Collector<? super T, ?, ? extends @Nullable String>> textCollectors) {
+        Objects.requireNonNull(textCollectors);
+        return Collectors.collectingAndThen(collectTexts(textCollectors), texts -> new ManyTextsRecord(texts));
+    }
+
+    /**
+     * Returns a collector, which creates a record with a category and one text for every text collector.
+     */
+    public static <T extends TextRecord> Collector<T, ?, TextRecord> toTexts(Collector<? super T, ?, ? extends @Nullable String> categoryCollector,
+                                                                             List<Collector<? super T, ?, ? extends @Nullable String>> textCollectors) {
+        Objects.requireNonNull(categoryCollector);
+        Objects.requireNonNull(textCollectors);
+        return Collectors.teeing(categoryCollector, collectTexts(textCollectors),
+                (category, texts) -> new ManyTextsRecord(category, null, texts));
+    }
+
+    private static <T extends TextRecord> Collector<T, ?, List<@Nullable String>> collectTexts(List<Collector<? super T, ?, ? extends @Nullable String>> textCollectors) {
+        int size = textCollectors.size();
+        // The texts are collected in one pass by nesting the text collectors with "teeing".
+        Collector<T, ?, List<@Nullable String>> collector = Collector.of(
+                Object::new,
+                (state, record) -> {
+                },
+                (state1, state2) -> state1,
+                state -> new ArrayList<>(size));
+        for (Collector<? super T, ?, ? extends @Nullable String> textCollector : textCollectors) {
+            Objects.requireNonNull(textCollector);
+            collector = Collectors.teeing(collector, textCollector,
+                    (texts, text) -> {
+                        texts.add(text);
+                        return texts;
+                    });
+        }
+        return collector;
+    }
+
+}
@@ -14,6 +14,7 @@ import java.util.stream.*;
 /**
  * Aggregator / Group By.
  *
+ * @see CollectorGroupModifier
  * @since 0.1
  */
 public class GroupModifier<T extends TextRecord, R extends TextRecord> implements RecordStreamModifier<T, R> {
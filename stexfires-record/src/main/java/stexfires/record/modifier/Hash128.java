@@ -0,0 +1,132 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reusable 128-bit hash function for texts and numbers, which follows MurmurHash3 (x64, 128-bit).
+ * The chars are hashed directly and no {@link String} is concatenated.
+ * <p>
+ * It is not thread-safe. Call {@link #reset()} before hashing the next value.
+ *
+ * @since 0.1
+ */
+final class Hash128 {
+
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+    private static final int CHARS_PER_LONG = 4;
+    private static final int CHARS_PER_BLOCK = 8;
+    private static final int BYTES_PER_CHAR = 2;
+    private static final int NULL_LENGTH = -1;
+
+    private long h1;
+    private long h2;
+    private long k1;
+    private long k2;
+    private int blockChars;
+    private long length;
+
+    Hash128() {
+    }
+
+    void reset() {
+        h1 = 0L;
+        h2 = 0L;
+        k1 = 0L;
+        k2 = 0L;
+        blockChars = 0;
+        length = 0L;
+    }
+
+    void putChar(char value) {
+        long bits = value;
+        if (blockChars < CHARS_PER_LONG) {
+            k1 |= bits << (Character.SIZE * blockChars);
+        } else {
+            k2 |= bits << (Character.SIZE * (blockChars - CHARS_PER_LONG));
+        }
+        blockChars++;
+        if (blockChars == CHARS_PER_BLOCK) {
+            mixBlock();
+        }
+    }
+
+    void putInt(int value) {
+        putChar((char) value);
+        putChar((char) (value >>> Character.SIZE));
+    }
+
+    void putLong(long value) {
+        putInt((int) value);
+        putInt((int) (value >>> Integer.SIZE));
+    }
+
+    /**
+     * Hashes the length and the chars of the text. {@code null} and the empty text have different hashes.
+     */
+    void putText(@Nullable String text) {
+        if (text == null) {
+            putInt(NULL_LENGTH);
+        } else {
+            int textLength = text.length();
+            putInt(textLength);
+            for (int index = 0; index < textLength; index++) {
+                putChar(text.charAt(index));
+            }
+        }
+    }
+
+    /**
+     * Finishes the hash. Afterward, {@link #high()} and {@link #low()} return the hash.
+     */
+    void finish() {
+        if (blockChars > 0) {
+            h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+            h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+            length += (long) blockChars * BYTES_PER_CHAR;
+            k1 = 0L;
+            k2 = 0L;
+            blockChars = 0;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+    }
+
+    long high() {
+        return h1;
+    }
+
+    long low() {
+        return h2;
+    }
+
+    private void mixBlock() {
+        h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+        h1 = Long.rotateLeft(h1, 27) + h2;
+        h1 = h1 * 5 + 0x52DCE729;
+        h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+        h2 = Long.rotateLeft(h2, 31) + h1;
+        h2 = h2 * 5 + 0x38495AB5;
+        k1 = 0L;
+        k2 = 0L;
+        blockChars = 0;
+        length += (long) CHARS_PER_BLOCK * BYTES_PER_CHAR;
+    }
+
+    private static long fmix64(long value) {
+        long result = value;
+        result ^= result >>> 33;
+        result *= 0xFF51AFD7ED558CCDL;
+        result ^= result >>> 33;
+        result *= 0xC4CEB9FE1A85EC53L;
+        result ^= result >>> 33;
+        return result;
+    }
+
+}
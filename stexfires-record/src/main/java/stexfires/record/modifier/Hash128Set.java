@@ -0,0 +1,156 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+
+import java.util.*;
+
+/**
+ * A set of 128-bit hashes with open addressing and linear probing in primitive arrays.
+ * <p>
+ * Optionally, it keeps a key record for every hash.
+ * Then two equal hashes with different keys are different elements.
+ * Two keys are equal, if their categories, recordIds and texts are equal.
+ * <p>
+ * It is not thread-safe.
+ *
+ * @see Hash128
+ * @since 0.1
+ */
+final class Hash128Set {
+
+    /**
+     * Called for every element of the set.
+     */
+    @FunctionalInterface
+    interface Hash128Consumer {
+
+        void accept(long high, long low, @Nullable TextRecord key);
+
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+    private static final int BYTES_PER_KEY_SLOT = 8;
+
+    private final boolean withKeys;
+    private long[] highs;
+    private long[] lows;
+    private @Nullable TextRecord[] keys;
+    private int mask;
+    private int size;
+    private long keyMemory;
+
+    Hash128Set(boolean withKeys) {
+        this.withKeys = withKeys;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds the hash with the key.
+     *
+     * @param key the key or {@code null}, if the set keeps no keys
+     * @return {@code true}, if the set did not contain the hash with an equal key
+     */
+    boolean add(long high, long low, @Nullable TextRecord key) {
+        // The hash (0, 0) marks an empty slot.
+        long nonEmptyLow = ((high == 0L) && (low == 0L)) ? 1L : low;
+        int slot = slot(high, nonEmptyLow);
+        while (!isEmpty(slot)) {
+            if ((highs[slot] == high) && (lows[slot] == nonEmptyLow)
+                    && (!withKeys || equalKeys(keys[slot], key))) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        highs[slot] = high;
+        lows[slot] = nonEmptyLow;
+        if (withKeys) {
+            keys[slot] = key;
+            if (key != null) {
+                keyMemory += RecordSpillCodec.estimateSize(key);
+            }
+        }
+        size++;
+        // Load factor of 0.5
+        if (size * 2 > highs.length) {
+            resize();
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a rough estimation of the heap size of the set in bytes.
+     */
+    long estimatedMemory() {
+        long slotMemory = (long) highs.length * (withKeys ? BYTES_PER_SLOT + BYTES_PER_KEY_SLOT : BYTES_PER_SLOT);
+        return slotMemory + keyMemory;
+    }
+
+    void forEach(Hash128Consumer consumer) {
+        Objects.requireNonNull(consumer);
+        for (int slot = 0; slot < highs.length; slot++) {
+            if (!isEmpty(slot)) {
+                consumer.accept(highs[slot], lows[slot], withKeys ? keys[slot] : null);
+            }
+        }
+    }
+
+    private boolean isEmpty(int slot) {
+        return (highs[slot] == 0L) && (lows[slot] == 0L);
+    }
+
+    private int slot(long high, long low) {
+        long mixed = low ^ high;
+        return ((int) mixed ^ (int) (mixed >>> Integer.SIZE)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        keys = withKeys ? new TextRecord[capacity] : new TextRecord[0];
+        mask = capacity - 1;
+    }
+
+    private void resize() {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        TextRecord[] oldKeys = keys;
+        allocate(oldHighs.length * 2);
+        for (int oldSlot = 0; oldSlot < oldHighs.length; oldSlot++) {
+            if ((oldHighs[oldSlot] != 0L) || (oldLows[oldSlot] != 0L)) {
+                int slot = slot(oldHighs[oldSlot], oldLows[oldSlot]);
+                while (!isEmpty(slot)) {
+                    slot = (slot + 1) & mask;
+                }
+                highs[slot] = oldHighs[oldSlot];
+                lows[slot] = oldLows[oldSlot];
+                if (withKeys) {
+                    keys[slot] = oldKeys[oldSlot];
+                }
+            }
+        }
+    }
+
+    private static boolean equalKeys(@Nullable TextRecord key1, @Nullable TextRecord key2) {
+        if ((key1 == null) || (key2 == null)) {
+            return key1 == key2;
+        }
+        if (!Objects.equals(key1.category(), key2.category())
+                || !Objects.equals(key1.recordId(), key2.recordId())
+                || (key1.size() != key2.size())) {
+            return false;
+        }
+        for (int index = 0; index < key1.size(); index++) {
+            if (!Objects.equals(key1.textAt(index), key2.textAt(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,455 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextField;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Returns a stream consisting of the distinct records of the record stream like {@link DistinctModifier}.
+ * <p>
+ * The records are compared by the selected components: category, recordId and the texts at the text indexes.
+ * A missing text is equal to a {@code null} text.
+ * Instead of a compare message it computes a 128-bit hash of the selected components directly from the record
+ * and keeps only the hashes in a set with primitive arrays.
+ * Different records with the same hash are very unlikely, but possible.
+ * If {@code verifyExact} is {@code true}, the selected components are kept additionally
+ * and records with the same hash are compared by them.
+ * <p>
+ * The records are returned in the order of the record stream, until the estimated memory of the set
+ * exceeds the memory budget. Then the hashes are written into {@link #PARTITION_COUNT} temporary files
+ * partitioned by hash, and the remaining records are written with their position in the record stream
+ * into the partition of their hash.
+ * Afterward, the distinct records of every partition are written into a temporary file per partition.
+ * Finally, they are merged by their position, so the first occurrences are returned
+ * in the order of the record stream as without temporary files.
+ * <p>
+ * The records read back from the temporary files have the same class, category, recordId and texts
+ * as the written records. Therefore, the records written into a temporary file must be records
+ * of {@code stexfires.record.impl} or {@link java.io.Serializable}.
+ * Otherwise, an {@link IllegalArgumentException} is thrown.
+ * <p>
+ * The temporary files are deleted as soon as the stream is exhausted or closed.
+ *
+ * @see DistinctModifier
+ * @since 0.1
+ */
+public class HashDistinctModifier<T extends TextRecord> implements RecordStreamModifier<T, T> {
+
+    /**
+     * Default memory budget for the set of hashes in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024L * 1024L;
+
+    /**
+     * Number of partitions, if the memory budget is exceeded.
+     */
+    public static final int PARTITION_COUNT = 64;
+
+    private static final int PARTITION_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(PARTITION_COUNT);
+
+    private static final String TEMP_DIRECTORY_PREFIX = "stexfires-distinct-";
+    private static final String PARTITION_FILE_PREFIX = "partition-";
+    private static final String DISTINCT_FILE_PREFIX = "distinct-";
+    private static final String PARTITION_FILE_SUFFIX = ".bin";
+
+    private final boolean category;
+    private final boolean recordId;
+    private final int[] textIndexes;
+    private final long memoryBudget;
+    private final @Nullable Path tempDirectory;
+    private final boolean verifyExact;
+
+    public HashDistinctModifier(boolean category, boolean recordId, List<Integer> textIndexes) {
+        this(category, recordId, textIndexes, DEFAULT_MEMORY_BUDGET, null, false);
+    }
+
+    /**
+     * @param category      compare the category
+     * @param recordId      compare the recordId
+     * @param textIndexes   compare the texts at the indexes
+     * @param memoryBudget  the maximum estimated heap size of the set in bytes
+     * @param tempDirectory the directory for the temporary files or {@code null} for the default temporary directory
+     * @param verifyExact   keep and compare the selected components of the records with equal hashes
+     */
+    public HashDistinctModifier(boolean category, boolean recordId, List<Integer> textIndexes,
+                                long memoryBudget, @Nullable Path tempDirectory, boolean verifyExact) {
+        Objects.requireNonNull(textIndexes);
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Invalid memoryBudget: " + memoryBudget);
+        }
+        for (Integer index : textIndexes) {
+            if (index < TextField.FIRST_FIELD_INDEX) {
+                throw new IllegalArgumentException("Wrong 'index'! " + index);
+            }
+        }
+        this.category = category;
+        this.recordId = recordId;
+        this.textIndexes = textIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.verifyExact = verifyExact;
+    }
+
+    public static <T extends TextRecord> HashDistinctModifier<T> textsAt(List<Integer> textIndexes) {
+        return new HashDistinctModifier<>(false, false, textIndexes);
+    }
+
+    @Override
+    public final Stream<T> modify(Stream<T> recordStream) {
+        HashDistinctSpliterator<T> spliterator = new HashDistinctSpliterator<>(this, recordStream.spliterator());
+        return StreamSupport.stream(spliterator, false)
+                            .onClose(spliterator::close)
+                            .onClose(recordStream::close);
+    }
+
+    private void hash(Hash128 hasher, TextRecord record) {
+        hasher.reset();
+        if (category) {
+            hasher.putText(record.category());
+        }
+        if (recordId) {
+            Long id = record.recordId();
+            if (id == null) {
+                hasher.putChar('n');
+            } else {
+                hasher.putChar('i');
+                hasher.putLong(id);
+            }
+        }
+        for (int textIndex : textIndexes) {
+            hasher.putText(record.textAt(textIndex));
+        }
+        hasher.finish();
+    }
+
+    private @Nullable TextRecord key(TextRecord record) {
+        if (!verifyExact) {
+            return null;
+        }
+        String[] texts = new String[textIndexes.length];
+        for (int index = 0; index < textIndexes.length; index++) {
+            texts[index] = record.textAt(textIndexes[index]);
+        }
+        return new ManyTextsRecord(category ? record.category() : null, recordId ? record.recordId() : null, texts);
+    }
+
+    private static int partition(long high) {
+        return (int) (high >>> PARTITION_SHIFT);
+    }
+
+    private static final class HashDistinctSpliterator<T extends TextRecord> extends Spliterators.AbstractSpliterator<T>
+            implements Consumer<T> {
+
+        private final HashDistinctModifier<T> modifier;
+        private final Spliterator<T> sourceSpliterator;
+        private final Hash128 hasher;
+        private Hash128Set hashSet;
+        private @Nullable T currentRecord;
+
+        private @Nullable Path createdTempDirectory;
+        private final List<Path> partitionFiles;
+        private final List<Path> distinctFiles;
+        private final List<DataInputStream> openInputs;
+        private final int[] partitionHashCounts;
+        private final long[] partitionRecordCounts;
+        private final long[] distinctRecordCounts;
+        private boolean partitioned;
+        private @Nullable PriorityQueue<DistinctReader<T>> heap;
+
+        private HashDistinctSpliterator(HashDistinctModifier<T> modifier, Spliterator<T> sourceSpliterator) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.modifier = modifier;
+            this.sourceSpliterator = sourceSpliterator;
+            hasher = new Hash128();
+            hashSet = new Hash128Set(modifier.verifyExact);
+            partitionFiles = new ArrayList<>(PARTITION_COUNT);
+            distinctFiles = new ArrayList<>(PARTITION_COUNT);
+            openInputs = new ArrayList<>();
+            partitionHashCounts = new int[PARTITION_COUNT];
+            partitionRecordCounts = new long[PARTITION_COUNT];
+            distinctRecordCounts = new long[PARTITION_COUNT];
+        }
+
+        @Override
+        public void accept(T record) {
+            currentRecord = Objects.requireNonNull(record);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!partitioned) {
+                    while (sourceSpliterator.tryAdvance(this)) {
+                        T record = Objects.requireNonNull(currentRecord);
+                        currentRecord = null;
+                        if (addToHashSet(record)) {
+                            if (hashSet.estimatedMemory() > modifier.memoryBudget) {
+                                writePartitions();
+                            }
+                            action.accept(record);
+                            return true;
+                        }
+                    }
+                    if (!partitioned) {
+                        return false;
+                    }
+                }
+                return tryAdvancePartitions(action);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private boolean addToHashSet(TextRecord record) {
+            modifier.hash(hasher, record);
+            return hashSet.add(hasher.high(), hasher.low(), modifier.key(record));
+        }
+
+        /**
+         * Writes the hashes of the set and the remaining records of the source with their position
+         * into the partitions.
+         */
+        private void writePartitions() throws IOException {
+            partitioned = true;
+            DataOutputStream[] outputs = createPartitionFiles(partitionFiles, PARTITION_FILE_PREFIX);
+            try {
+                // Every partition file contains the hashes and afterward the records.
+                try {
+                    hashSet.forEach((high, low, key) -> {
+                        int partition = partition(high);
+                        try {
+                            outputs[partition].writeLong(high);
+                            outputs[partition].writeLong(low);
+                            if (key != null) {
+                                RecordSpillCodec.writeRecord(outputs[partition], key);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        partitionHashCounts[partition]++;
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                hashSet = new Hash128Set(modifier.verifyExact);
+                long position = 0L;
+                while (sourceSpliterator.tryAdvance(this)) {
+                    T record = Objects.requireNonNull(currentRecord);
+                    currentRecord = null;
+                    modifier.hash(hasher, record);
+                    int partition = partition(hasher.high());
+                    outputs[partition].writeLong(position);
+                    RecordSpillCodec.writeTypedRecord(outputs[partition], record);
+                    partitionRecordCounts[partition]++;
+                    position++;
+                }
+            } finally {
+                closeOutputs(outputs);
+            }
+        }
+
+        private DataOutputStream[] createPartitionFiles(List<Path> files, String prefix) throws IOException {
+            if (createdTempDirectory == null) {
+                createdTempDirectory = (modifier.tempDirectory == null)
+                        ? Files.createTempDirectory(TEMP_DIRECTORY_PREFIX)
+                        : Files.createTempDirectory(modifier.tempDirectory, TEMP_DIRECTORY_PREFIX);
+            }
+            DataOutputStream[] outputs = new DataOutputStream[PARTITION_COUNT];
+            try {
+                for (int index = 0; index < PARTITION_COUNT; index++) {
+                    Path path = Files.createTempFile(createdTempDirectory, prefix, PARTITION_FILE_SUFFIX);
+                    files.add(path);
+                    outputs[index] = RecordSpillCodec.newOutputStream(path);
+                }
+            } catch (IOException e) {
+                closeOutputs(outputs);
+                throw e;
+            }
+            return outputs;
+        }
+
+        private static void closeOutputs(DataOutputStream[] outputs) throws IOException {
+            IOException exception = null;
+            for (DataOutputStream output : outputs) {
+                if (output != null) {
+                    try {
+                        output.close();
+                    } catch (IOException e) {
+                        exception = e;
+                    }
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        private boolean tryAdvancePartitions(Consumer<? super T> action) throws IOException {
+            if (heap == null) {
+                heap = distinctPartitions();
+            }
+            DistinctReader<T> distinctReader = heap.poll();
+            if (distinctReader == null) {
+                close();
+                return false;
+            }
+            T record = Objects.requireNonNull(distinctReader.record);
+            if (distinctReader.readNext()) {
+                heap.add(distinctReader);
+            }
+            action.accept(record);
+            return true;
+        }
+
+        /**
+         * Writes the distinct records of every partition with their position into the distinct files
+         * and returns a heap of readers ordered by the position of their current record.
+         * The partition files are deleted afterward.
+         */
+        private PriorityQueue<DistinctReader<T>> distinctPartitions() throws IOException {
+            DataOutputStream[] outputs = createPartitionFiles(distinctFiles, DISTINCT_FILE_PREFIX);
+            try {
+                for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+                    distinctPartition(partition, outputs[partition]);
+                }
+            } finally {
+                closeOutputs(outputs);
+            }
+            PriorityQueue<DistinctReader<T>> distinctReaders = new PriorityQueue<>(PARTITION_COUNT,
+                    Comparator.comparingLong(distinctReader -> distinctReader.position));
+            for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+                if (distinctRecordCounts[partition] > 0) {
+                    DistinctReader<T> distinctReader = new DistinctReader<>(openInput(distinctFiles.get(partition)),
+                            distinctRecordCounts[partition]);
+                    distinctReader.readNext();
+                    distinctReaders.add(distinctReader);
+                } else {
+                    Files.deleteIfExists(distinctFiles.get(partition));
+                }
+            }
+            return distinctReaders;
+        }
+
+        /**
+         * Reads the hashes of the partition into a new set and writes the records of the partition,
+         * which are not in the set, into the output.
+         */
+        private void distinctPartition(int partition, DataOutputStream output) throws IOException {
+            hashSet = new Hash128Set(modifier.verifyExact);
+            try (DataInputStream input = openInput(partitionFiles.get(partition))) {
+                for (int count = 0; count < partitionHashCounts[partition]; count++) {
+                    long high = input.readLong();
+                    long low = input.readLong();
+                    hashSet.add(high, low, modifier.verifyExact ? RecordSpillCodec.readRecord(input) : null);
+                }
+                for (long count = 0L; count < partitionRecordCounts[partition]; count++) {
+                    long position = input.readLong();
+                    TextRecord record = RecordSpillCodec.readTypedRecord(input);
+                    if (addToHashSet(record)) {
+                        output.writeLong(position);
+                        RecordSpillCodec.writeTypedRecord(output, record);
+                        distinctRecordCounts[partition]++;
+                    }
+                }
+                openInputs.remove(input);
+            }
+            hashSet = new Hash128Set(modifier.verifyExact);
+            Files.deleteIfExists(partitionFiles.get(partition));
+        }
+
+        private DataInputStream openInput(Path path) throws IOException {
+            DataInputStream input = RecordSpillCodec.newInputStream(path);
+            openInputs.add(input);
+            return input;
+        }
+
+        private void close() {
+            IOException exception = null;
+            for (DataInputStream input : openInputs) {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+            openInputs.clear();
+            if (heap != null) {
+                heap.clear();
+            }
+            for (List<Path> files : List.of(partitionFiles, distinctFiles)) {
+                for (Path path : files) {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        exception = e;
+                    }
+                }
+                files.clear();
+            }
+            if (createdTempDirectory != null) {
+                try {
+                    Files.deleteIfExists(createdTempDirectory);
+                } catch (IOException e) {
+                    exception = e;
+                }
+                createdTempDirectory = null;
+            }
+            if (exception != null) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+    }
+
+    /**
+     * Reads the distinct records of a partition. The current record is the head.
+     */
+    private static final class DistinctReader<T extends TextRecord> {
+
+        private final DataInputStream input;
+        private long remainingRecords;
+        private long position;
+        private @Nullable T record;
+
+        private DistinctReader(DataInputStream input, long remainingRecords) {
+            this.input = input;
+            this.remainingRecords = remainingRecords;
+        }
+
+        /**
+         * Reads the next record into the head.
+         *
+         * @return {@code false}, if there is no next record
+         */
+        private boolean readNext() throws IOException {
+            if (remainingRecords <= 0) {
+                record = null;
+                return false;
+            }
+            remainingRecords--;
+            position = input.readLong();
+            // The typed record has the class of the written record.
+            @SuppressWarnings("unchecked")
+            T typedRecord = (T) RecordSpillCodec.readTypedRecord(input);
+            record = typedRecord;
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,681 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextField;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.record.message.RecordMessage;
+import stexfires.record.producer.RecordProducer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Joins the records of the record stream (probe side) with the records of a {@link RecordProducer} (build side)
+ * by their keys with a hash join.
+ * <p>
+ * The keys are created by a {@link RecordMessage} for every side. A {@code null} key never matches.
+ * The combiner creates an output record from a probe record and a matching build record.
+ * <ul>
+ *     <li>{@link JoinType#INNER}: For every probe record and every matching build record,
+ *     the combined record is returned.</li>
+ *     <li>{@link JoinType#LEFT_OUTER}: Like {@code INNER}, but for a probe record without a matching build record,
+ *     the combiner is called with {@code null} as build record.</li>
+ *     <li>{@link JoinType#ANTI}: For every probe record without a matching build record,
+ *     the combiner is called with {@code null} as build record.</li>
+ * </ul>
+ * <p>
+ * The build records are read into a hash table, when the terminal operation of the returned stream starts.
+ * The combined records are returned in the order of the probe records in the record stream.
+ * Matching build records are combined in the order of the build producer.
+ * If the record stream is parallel, the probe records are joined in parallel.
+ * <p>
+ * If the estimated memory of the hash table exceeds the memory budget, the join is a grace hash join.
+ * The build records and afterward the probe records with their position in the record stream are written
+ * with their keys into {@link #PARTITION_COUNT} temporary files per side partitioned by key.
+ * Then the partitions are joined one after another, or in parallel if the record stream is parallel,
+ * and the matches are written into a temporary file per partition.
+ * A build partition is read completely into a hash table, even if it exceeds the memory budget.
+ * Finally, the matches of all partitions are merged by the position of the probe record and combined,
+ * so the order is the same as without temporary files.
+ * <p>
+ * The records read back from the temporary files have the same class, category, recordId and texts
+ * as the written records. Therefore, the probe records and the build records (except for {@link JoinType#ANTI})
+ * written into a temporary file must be records of {@code stexfires.record.impl} or {@link java.io.Serializable}.
+ * Otherwise, an {@link IllegalArgumentException} is thrown.
+ * If no temporary file is written, records of any class are joined.
+ * The combined records are never written into temporary files.
+ * <p>
+ * The temporary files are deleted as soon as the stream is exhausted or closed.
+ *
+ * @see stexfires.record.mapper.LookupMapper
+ * @since 0.1
+ */
+public class JoinModifier<T extends TextRecord> implements RecordStreamModifier<T, TextRecord> {
+
+    /**
+     * Default memory budget for the hash table of the build records in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024L * 1024L;
+
+    /**
+     * Number of partitions per side, if the memory budget is exceeded.
+     */
+    public static final int PARTITION_COUNT = 64;
+
+    private static final int PARTITION_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(PARTITION_COUNT);
+    private static final int PARTITION_HASH_MULTIPLIER = 0x9E3779B9;
+
+    // Rough estimation of the heap size of a hash table entry with its key.
+    private static final long ENTRY_SIZE_ESTIMATION = 96L;
+
+    private static final String TEMP_DIRECTORY_PREFIX = "stexfires-join-";
+    private static final String BUILD_FILE_PREFIX = "build-";
+    private static final String PROBE_FILE_PREFIX = "probe-";
+    private static final String MATCH_FILE_PREFIX = "match-";
+    private static final String PARTITION_FILE_SUFFIX = ".bin";
+
+    private final JoinType joinType;
+    private final RecordMessage<? super T> probeKeyMessage;
+    private final RecordProducer<? extends TextRecord> buildProducer;
+    private final RecordMessage<? super TextRecord> buildKeyMessage;
+    private final BiFunction<? super T, @Nullable TextRecord, ? extends TextRecord> combiner;
+    private final long memoryBudget;
+    private final @Nullable Path tempDirectory;
+
+    public JoinModifier(JoinType joinType,
+                        RecordMessage<? super T> probeKeyMessage,
+                        RecordProducer<? extends TextRecord> buildProducer,
+                        RecordMessage<? super TextRecord> buildKeyMessage,
+                        BiFunction<? super T, @Nullable TextRecord, ? extends TextRecord> combiner) {
+        this(joinType, probeKeyMessage, buildProducer, buildKeyMessage, combiner, DEFAULT_MEMORY_BUDGET, null);
+    }
+
+    /**
+     * @param joinType        the type of the join
+     * @param probeKeyMessage the key of the probe records of the record stream
+     * @param buildProducer   the producer of the build records. It is called once per stream.
+     * @param buildKeyMessage the key of the build records
+     * @param combiner        creates the output record from a probe record and a build record or {@code null}
+     * @param memoryBudget    the maximum estimated heap size of the hash table in bytes
+     * @param tempDirectory   the directory for the temporary files or {@code null} for the default temporary directory
+     */
+    public JoinModifier(JoinType joinType,
+                        RecordMessage<? super T> probeKeyMessage,
+                        RecordProducer<? extends TextRecord> buildProducer,
+                        RecordMessage<? super TextRecord> buildKeyMessage,
+                        BiFunction<? super T, @Nullable TextRecord, ? extends TextRecord> combiner,
+                        long memoryBudget,
+                        @Nullable Path tempDirectory) {
+        Objects.requireNonNull(joinType);
+        Objects.requireNonNull(probeKeyMessage);
+        Objects.requireNonNull(buildProducer);
+        Objects.requireNonNull(buildKeyMessage);
+        Objects.requireNonNull(combiner);
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Invalid memoryBudget: " + memoryBudget);
+        }
+        this.joinType = joinType;
+        this.probeKeyMessage = probeKeyMessage;
+        this.buildProducer = buildProducer;
+        this.buildKeyMessage = buildKeyMessage;
+        this.combiner = combiner;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    public static <T extends TextRecord> JoinModifier<T> inner(RecordMessage<? super T> probeKeyMessage,
+                                                               RecordProducer<? extends TextRecord> buildProducer,
+                                                               RecordMessage<? super TextRecord> buildKeyMessage,
+                                                               BiFunction<? super T, @Nullable TextRecord, ? extends TextRecord> combiner) {
+        return new JoinModifier<>(JoinType.INNER, probeKeyMessage, buildProducer, buildKeyMessage, combiner);
+    }
+
+    public static <T extends TextRecord> JoinModifier<T> leftOuter(RecordMessage<? super T> probeKeyMessage,
+                                                                   RecordProducer<? extends TextRecord> buildProducer,
+                                                                   RecordMessage<? super TextRecord> buildKeyMessage,
+                                                                   BiFunction<? super T, @Nullable TextRecord, ? extends TextRecord> combiner) {
+        return new JoinModifier<>(JoinType.LEFT_OUTER, probeKeyMessage, buildProducer, buildKeyMessage, combiner);
+    }
+
+    public static <T extends TextRecord> JoinModifier<T> anti(RecordMessage<? super T> probeKeyMessage,
+                                                              RecordProducer<? extends TextRecord> buildProducer,
+                                                              RecordMessage<? super TextRecord> buildKeyMessage) {
+        return new JoinModifier<>(JoinType.ANTI, probeKeyMessage, buildProducer, buildKeyMessage, probeRecord());
+    }
+
+    /**
+     * Returns a combiner, which returns the probe record.
+     */
+    public static <T extends TextRecord> BiFunction<T, @Nullable TextRecord, T> probeRecord() {
+        return (probeRecord, buildRecord) -> probeRecord;
+    }
+
+    /**
+     * Returns a combiner, which creates a {@link ManyTextsRecord} with the category, recordId and texts
+     * of the probe record followed by the texts of the build record at the text indexes.
+     * Without a build record, the appended texts are {@code null}.
+     *
+     * @param buildTextIndexes the indexes of the appended texts of the build record
+     */
+    public static BiFunction<TextRecord, @Nullable TextRecord, TextRecord> appendTextsAt(List<Integer> buildTextIndexes) {
+        Objects.requireNonNull(buildTextIndexes);
+        for (Integer index : buildTextIndexes) {
+            if (index < TextField.FIRST_FIELD_INDEX) {
+                throw new IllegalArgumentException("Wrong 'index'! " + index);
+            }
+        }
+        int[] indexes = buildTextIndexes.stream().mapToInt(Integer::intValue).toArray();
+        return (probeRecord, buildRecord) -> {
+            int probeSize = probeRecord.size();
+            String[] texts = new String[probeSize + indexes.length];
+            for (int index = 0; index < probeSize; index++) {
+                texts[index] = probeRecord.textAt(index);
+            }
+            if (buildRecord != null) {
+                for (int index = 0; index < indexes.length; index++) {
+                    texts[probeSize + index] = buildRecord.textAt(indexes[index]);
+                }
+            }
+            return new ManyTextsRecord(probeRecord.category(), probeRecord.recordId(), texts);
+        };
+    }
+
+    @Override
+    public final Stream<TextRecord> modify(Stream<T> recordStream) {
+        HashJoin<T> hashJoin = new HashJoin<>(this);
+        // The build records are read lazily by the terminal operation.
+        return StreamSupport.stream(() -> hashJoin.join(recordStream),
+                                    Spliterator.ORDERED | Spliterator.NONNULL, recordStream.isParallel())
+                            .onClose(hashJoin::close)
+                            .onClose(recordStream::close);
+    }
+
+    private boolean keepsBuildRecords() {
+        return joinType != JoinType.ANTI;
+    }
+
+    /**
+     * Returns the build records, which are combined with the probe record.
+     * It is {@code null}, if no record is returned for the probe record,
+     * and an empty list, if the combiner is called with {@code null} as build record.
+     *
+     * @param matchingBuildRecords the build records with the key of the probe record or {@code null}
+     */
+    private @Nullable List<TextRecord> combinedBuildRecords(@Nullable List<TextRecord> matchingBuildRecords) {
+        return switch (joinType) {
+            case INNER -> matchingBuildRecords;
+            case LEFT_OUTER -> (matchingBuildRecords == null) ? List.of() : matchingBuildRecords;
+            case ANTI -> (matchingBuildRecords == null) ? List.of() : null;
+        };
+    }
+
+    private void combine(T probeRecord, List<TextRecord> buildRecords, Consumer<? super TextRecord> downstream) {
+        if (buildRecords.isEmpty()) {
+            downstream.accept(Objects.requireNonNull(combiner.apply(probeRecord, null)));
+        } else {
+            for (TextRecord buildRecord : buildRecords) {
+                downstream.accept(Objects.requireNonNull(combiner.apply(probeRecord, buildRecord)));
+            }
+        }
+    }
+
+    private static int partition(String key) {
+        return (key.hashCode() * PARTITION_HASH_MULTIPLIER) >>> PARTITION_SHIFT;
+    }
+
+    /**
+     * The type of the join.
+     */
+    public enum JoinType {
+
+        /**
+         * Returns the combined records of the probe records with matching build records.
+         */
+        INNER,
+        /**
+         * Returns the combined records of the probe records with matching build records
+         * and of the probe records without a matching build record.
+         */
+        LEFT_OUTER,
+        /**
+         * Returns the combined records of the probe records without a matching build record.
+         */
+        ANTI
+
+    }
+
+    /**
+     * Hash table of the build records by key.
+     * It is read-only after the build, so it can be probed by several threads.
+     */
+    private static final class JoinTable {
+
+        private final boolean keepsBuildRecords;
+        private final Map<String, List<TextRecord>> recordsByKey;
+        private long estimatedMemory;
+
+        private JoinTable(boolean keepsBuildRecords) {
+            this.keepsBuildRecords = keepsBuildRecords;
+            recordsByKey = new HashMap<>();
+        }
+
+        /**
+         * Adds the build record with its key. Without {@code keepsBuildRecords} only the key is kept
+         * and the build record can be {@code null}.
+         */
+        private void add(String key, @Nullable TextRecord buildRecord) {
+            List<TextRecord> records = recordsByKey.get(key);
+            if (!keepsBuildRecords) {
+                if (records == null) {
+                    recordsByKey.put(key, List.of());
+                    estimatedMemory += ENTRY_SIZE_ESTIMATION + key.length();
+                }
+                return;
+            }
+            Objects.requireNonNull(buildRecord);
+            if (records == null) {
+                // Most keys are unique, so the first record is kept in an immutable list.
+                recordsByKey.put(key, List.of(buildRecord));
+                estimatedMemory += ENTRY_SIZE_ESTIMATION + key.length();
+            } else {
+                if (records.size() == 1) {
+                    records = new ArrayList<>(records);
+                    recordsByKey.put(key, records);
+                }
+                records.add(buildRecord);
+            }
+            estimatedMemory += RecordSpillCodec.estimateSize(buildRecord);
+        }
+
+        private @Nullable List<TextRecord> matchingBuildRecords(@Nullable String key) {
+            return (key == null) ? null : recordsByKey.get(key);
+        }
+
+        private void forEach(BiConsumer<String, @Nullable TextRecord> action) {
+            recordsByKey.forEach((key, records) -> {
+                if (records.isEmpty()) {
+                    action.accept(key, null);
+                } else {
+                    records.forEach(record -> action.accept(key, record));
+                }
+            });
+        }
+
+    }
+
+    private static final class HashJoin<T extends TextRecord> {
+
+        private final JoinModifier<T> modifier;
+        private final Set<DataInputStream> openInputs;
+        private final List<Path> buildFiles;
+        private final List<Path> probeFiles;
+        private final List<Path> matchFiles;
+        private final long[] buildRecordCounts;
+        private final long[] probeRecordCounts;
+        private final long[] matchCounts;
+        private @Nullable Path createdTempDirectory;
+
+        private HashJoin(JoinModifier<T> modifier) {
+            this.modifier = modifier;
+            openInputs = ConcurrentHashMap.newKeySet();
+            buildFiles = new ArrayList<>(PARTITION_COUNT);
+            probeFiles = new ArrayList<>(PARTITION_COUNT);
+            matchFiles = new ArrayList<>(PARTITION_COUNT);
+            buildRecordCounts = new long[PARTITION_COUNT];
+            probeRecordCounts = new long[PARTITION_COUNT];
+            matchCounts = new long[PARTITION_COUNT];
+        }
+
+        private Spliterator<TextRecord> join(Stream<T> recordStream) {
+            boolean parallel = recordStream.isParallel();
+            try {
+                JoinTable joinTable = new JoinTable(modifier.keepsBuildRecords());
+                try (Stream<? extends TextRecord> buildStream = modifier.buildProducer.produceStream()) {
+                    Iterator<? extends TextRecord> buildIterator = buildStream.iterator();
+                    while (buildIterator.hasNext()) {
+                        TextRecord buildRecord = Objects.requireNonNull(buildIterator.next());
+                        String key = modifier.buildKeyMessage.createMessage(buildRecord);
+                        if (key != null) {
+                            joinTable.add(key, buildRecord);
+                            if (joinTable.estimatedMemory > modifier.memoryBudget) {
+                                writeBuildPartitions(joinTable, buildIterator);
+                                writeProbePartitions(recordStream);
+                                return joinPartitions(parallel);
+                            }
+                        }
+                    }
+                }
+                return recordStream.<TextRecord>mapMulti((probeRecord, downstream) -> {
+                                       List<TextRecord> buildRecords = modifier.combinedBuildRecords(
+                                               joinTable.matchingBuildRecords(modifier.probeKeyMessage.createMessage(probeRecord)));
+                                       if (buildRecords != null) {
+                                           modifier.combine(probeRecord, buildRecords, downstream);
+                                       }
+                                   })
+                                   .spliterator();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Writes the records of the hash table and the remaining build records into the build partitions.
+         */
+        private void writeBuildPartitions(JoinTable joinTable, Iterator<? extends TextRecord> buildIterator) throws IOException {
+            DataOutputStream[] outputs = createPartitionFiles(buildFiles, BUILD_FILE_PREFIX);
+            try {
+                try {
+                    joinTable.forEach((key, buildRecord) -> {
+                        try {
+                            writeBuildRecord(outputs, key, buildRecord);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                joinTable.recordsByKey.clear();
+                while (buildIterator.hasNext()) {
+                    TextRecord buildRecord = Objects.requireNonNull(buildIterator.next());
+                    String key = modifier.buildKeyMessage.createMessage(buildRecord);
+                    if (key != null) {
+                        writeBuildRecord(outputs, key, buildRecord);
+                    }
+                }
+            } finally {
+                closeOutputs(outputs);
+            }
+        }
+
+        private void writeBuildRecord(DataOutputStream[] outputs, String key, @Nullable TextRecord buildRecord) throws IOException {
+            int partition = partition(key);
+            RecordSpillCodec.writeText(outputs[partition], key);
+            if (modifier.keepsBuildRecords()) {
+                RecordSpillCodec.writeTypedRecord(outputs[partition], Objects.requireNonNull(buildRecord));
+            }
+            buildRecordCounts[partition]++;
+        }
+
+        /**
+         * Writes the probe records with their position in the record stream into the probe partitions.
+         * Probe records with a {@code null} key are written into the first partition.
+         */
+        private void writeProbePartitions(Stream<T> recordStream) throws IOException {
+            DataOutputStream[] outputs = createPartitionFiles(probeFiles, PROBE_FILE_PREFIX);
+            try {
+                Iterator<T> probeIterator = recordStream.iterator();
+                long position = 0L;
+                while (probeIterator.hasNext()) {
+                    T probeRecord = Objects.requireNonNull(probeIterator.next());
+                    String key = modifier.probeKeyMessage.createMessage(probeRecord);
+                    int partition = (key == null) ? 0 : partition(key);
+                    outputs[partition].writeLong(position);
+                    RecordSpillCodec.writeText(outputs[partition], key);
+                    RecordSpillCodec.writeTypedRecord(outputs[partition], probeRecord);
+                    probeRecordCounts[partition]++;
+                    position++;
+                }
+            } finally {
+                closeOutputs(outputs);
+            }
+        }
+
+        private DataOutputStream[] createPartitionFiles(List<Path> partitionFiles, String prefix) throws IOException {
+            DataOutputStream[] outputs = new DataOutputStream[PARTITION_COUNT];
+            try {
+                for (int index = 0; index < PARTITION_COUNT; index++) {
+                    outputs[index] = RecordSpillCodec.newOutputStream(newPartitionFile(partitionFiles, prefix));
+                }
+            } catch (IOException e) {
+                closeOutputs(outputs);
+                throw e;
+            }
+            return outputs;
+        }
+
+        private Path newPartitionFile(List<Path> partitionFiles, String prefix) throws IOException {
+            if (createdTempDirectory == null) {
+                createdTempDirectory = (modifier.tempDirectory == null)
+                        ? Files.createTempDirectory(TEMP_DIRECTORY_PREFIX)
+                        : Files.createTempDirectory(modifier.tempDirectory, TEMP_DIRECTORY_PREFIX);
+            }
+            Path path = Files.createTempFile(createdTempDirectory, prefix, PARTITION_FILE_SUFFIX);
+            partitionFiles.add(path);
+            return path;
+        }
+
+        private static void closeOutputs(DataOutputStream[] outputs) throws IOException {
+            IOException exception = null;
+            for (DataOutputStream output : outputs) {
+                if (output != null) {
+                    try {
+                        output.close();
+                    } catch (IOException e) {
+                        exception = e;
+                    }
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        /**
+         * Joins the partitions into the match files and returns the merged and combined records.
+         */
+        private Spliterator<TextRecord> joinPartitions(boolean parallel) throws IOException {
+            for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+                newPartitionFile(matchFiles, MATCH_FILE_PREFIX);
+            }
+            IntStream partitions = IntStream.range(0, PARTITION_COUNT);
+            if (parallel) {
+                partitions = partitions.parallel();
+            }
+            partitions.forEach(this::joinPartition);
+            List<MatchReader<T>> matchReaders = new ArrayList<>(PARTITION_COUNT);
+            for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+                if (matchCounts[partition] > 0) {
+                    matchReaders.add(new MatchReader<>(this, partition));
+                }
+            }
+            return Spliterators.spliteratorUnknownSize(new MatchMergeIterator<>(modifier, matchReaders, this::close),
+                    Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        /**
+         * Reads the build partition into a hash table and writes the matches of the probe partition
+         * into the match file. Every match consists of the position and the probe record
+         * followed by the number of build records and the build records, which are combined with the probe record.
+         * The build and probe files of the partition are deleted afterward.
+         */
+        private void joinPartition(int partition) {
+            Path buildFile = buildFiles.get(partition);
+            Path probeFile = probeFiles.get(partition);
+            try {
+                JoinTable joinTable = new JoinTable(modifier.keepsBuildRecords());
+                try (DataInputStream input = openInput(buildFile)) {
+                    for (long count = 0L; count < buildRecordCounts[partition]; count++) {
+                        String key = Objects.requireNonNull(RecordSpillCodec.readText(input));
+                        joinTable.add(key, modifier.keepsBuildRecords() ? RecordSpillCodec.readTypedRecord(input) : null);
+                    }
+                    openInputs.remove(input);
+                }
+                Files.deleteIfExists(buildFile);
+                long matchCount = 0L;
+                try (DataInputStream input = openInput(probeFile);
+                     DataOutputStream output = RecordSpillCodec.newOutputStream(matchFiles.get(partition))) {
+                    for (long count = 0L; count < probeRecordCounts[partition]; count++) {
+                        long position = input.readLong();
+                        String key = RecordSpillCodec.readText(input);
+                        TextRecord probeRecord = RecordSpillCodec.readTypedRecord(input);
+                        List<TextRecord> buildRecords = modifier.combinedBuildRecords(joinTable.matchingBuildRecords(key));
+                        if (buildRecords != null) {
+                            output.writeLong(position);
+                            RecordSpillCodec.writeTypedRecord(output, probeRecord);
+                            output.writeInt(buildRecords.size());
+                            for (TextRecord buildRecord : buildRecords) {
+                                RecordSpillCodec.writeTypedRecord(output, buildRecord);
+                            }
+                            matchCount++;
+                        }
+                    }
+                    openInputs.remove(input);
+                }
+                Files.deleteIfExists(probeFile);
+                matchCounts[partition] = matchCount;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private DataInputStream openInput(Path path) throws IOException {
+            DataInputStream input = RecordSpillCodec.newInputStream(path);
+            openInputs.add(input);
+            return input;
+        }
+
+        private void close() {
+            IOException exception = null;
+            for (DataInputStream input : openInputs) {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+            openInputs.clear();
+            for (List<Path> partitionFiles : List.of(buildFiles, probeFiles, matchFiles)) {
+                for (Path path : partitionFiles) {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        exception = e;
+                    }
+                }
+                partitionFiles.clear();
+            }
+            if (createdTempDirectory != null) {
+                try {
+                    Files.deleteIfExists(createdTempDirectory);
+                } catch (IOException e) {
+                    exception = e;
+                }
+                createdTempDirectory = null;
+            }
+            if (exception != null) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+    }
+
+    /**
+     * Reads the matches of a partition. The current match is the head.
+     */
+    private static final class MatchReader<T extends TextRecord> {
+
+        private final DataInputStream input;
+        private long remainingMatches;
+        private long position;
+        private @Nullable T probeRecord;
+        private final List<TextRecord> buildRecords;
+
+        private MatchReader(HashJoin<T> hashJoin, int partition) throws IOException {
+            input = hashJoin.openInput(hashJoin.matchFiles.get(partition));
+            remainingMatches = hashJoin.matchCounts[partition];
+            buildRecords = new ArrayList<>();
+            readNext();
+        }
+
+        /**
+         * Reads the next match into the head.
+         *
+         * @return {@code false}, if there is no next match
+         */
+        private boolean readNext() throws IOException {
+            buildRecords.clear();
+            if (remainingMatches <= 0) {
+                probeRecord = null;
+                return false;
+            }
+            remainingMatches--;
+            position = input.readLong();
+            // The typed record has the class of the written probe record.
+            @SuppressWarnings("unchecked")
+            T record = (T) RecordSpillCodec.readTypedRecord(input);
+            probeRecord = record;
+            int buildRecordCount = input.readInt();
+            for (int index = 0; index < buildRecordCount; index++) {
+                buildRecords.add(RecordSpillCodec.readTypedRecord(input));
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Merges the matches of the partitions by the position of the probe record with a heap and combines them.
+     */
+    private static final class MatchMergeIterator<T extends TextRecord> implements Iterator<TextRecord> {
+
+        private final JoinModifier<T> modifier;
+        private final PriorityQueue<MatchReader<T>> heap;
+        private final Deque<TextRecord> pendingRecords;
+        private @Nullable Runnable exhaustedAction;
+
+        private MatchMergeIterator(JoinModifier<T> modifier, List<MatchReader<T>> matchReaders, Runnable exhaustedAction) {
+            this.modifier = modifier;
+            heap = new PriorityQueue<>(Math.max(1, matchReaders.size()),
+                    Comparator.comparingLong(matchReader -> matchReader.position));
+            heap.addAll(matchReaders);
+            pendingRecords = new ArrayDeque<>();
+            this.exhaustedAction = exhaustedAction;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (pendingRecords.isEmpty() && !heap.isEmpty()) {
+                    MatchReader<T> matchReader = Objects.requireNonNull(heap.poll());
+                    modifier.combine(Objects.requireNonNull(matchReader.probeRecord), matchReader.buildRecords,
+                            pendingRecords::addLast);
+                    if (matchReader.readNext()) {
+                        heap.add(matchReader);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (pendingRecords.isEmpty() && exhaustedAction != null) {
+                Runnable action = exhaustedAction;
+                exhaustedAction = null;
+                action.run();
+            }
+            return !pendingRecords.isEmpty();
+        }
+
+        @Override
+        public TextRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pendingRecords.removeFirst();
+        }
+
+    }
+
+}
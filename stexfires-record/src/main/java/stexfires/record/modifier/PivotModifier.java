@@ -2,6 +2,7 @@ package stexfires.record.modifier;
 
 import org.jspecify.annotations.Nullable;
 import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyFieldsRecord;
 
 import java.util.*;
 import java.util.function.*;
@@ -142,20 +143,22 @@ public class PivotModifier<T extends TextRecord> extends GroupModifier<T, TextRe
         Objects.requireNonNull(nullText);
         Objects.requireNonNull(textClassificationFunction);
         Objects.requireNonNull(textClassifications);
-        Function<List<T>, Stream<String>> newTextsFunction = list ->
-                textClassifications.stream()
-                                   .map(vc ->
-                                           list.stream()
-                                               .filter(r -> Objects.equals(vc, textClassificationFunction.apply(r)))
-                                               .map(textFunction)
-                                               .map(v -> (v == null) ? nullText : v)
-                                               .findFirst()
-                                               .orElse(nullText));
-        return list ->
-                Stream.concat(
-                              newFirstTextsFunction.apply(list.getFirst()),
-                              newTextsFunction.apply(list))
-                      .toList();
+        ClassificationPivot<T> classificationPivot = new ClassificationPivot<>(textFunction, nullText,
+                textClassificationFunction, textClassifications);
+        return list -> {
+            List<@Nullable String> newTexts = new ArrayList<>(newFirstTextsFunction.apply(list.getFirst()).toList());
+            @Nullable String[] pivotTexts = classificationPivot.newPivotTexts();
+            int remaining = classificationPivot.classificationCount();
+            for (T record : list) {
+                if (remaining == 0) {
+                    break;
+                }
+                remaining -= classificationPivot.fill(pivotTexts, record);
+            }
+            classificationPivot.fillMissing(pivotTexts);
+            newTexts.addAll(Arrays.asList(pivotTexts));
+            return newTexts;
+        };
     }
 
     public static <T extends TextRecord> Function<List<T>, List<@Nullable String>> pivotTextsFunctionWithIndexes(
@@ -183,4 +186,249 @@ public class PivotModifier<T extends TextRecord> extends GroupModifier<T, TextRe
                       .toList();
     }
 
+    /**
+     * Returns a {@link CollectorGroupModifier} with the same result as
+     * {@link #pivotWithClassifications(int, int, String, int, List)}.
+     *
+     * @param sortedInput {@code true}, if the records with the same key are adjacent in the stream
+     * @see #pivotCollectorWithClassifications(Function, Function, Function, String, Function, List)
+     */
+    public static <T extends TextRecord> CollectorGroupModifier<T, TextRecord> pivotWithClassifications(int keyIndex,
+                                                                                                        int textIndex,
+                                                                                                        String nullText,
+                                                                                                        int textClassificationIndex,
+                                                                                                        List<String> textClassifications,
+                                                                                                        boolean sortedInput) {
+        Objects.requireNonNull(nullText);
+        Objects.requireNonNull(textClassifications);
+        return new CollectorGroupModifier<>(
+                GroupModifier.<T>groupByTextAt(keyIndex),
+                pivotCollectorWithClassifications(
+                        withoutCategory(),
+                        r -> Stream.ofNullable(r.textAt(keyIndex)),
+                        r -> r.textAt(textIndex),
+                        nullText,
+                        r -> r.textAt(textClassificationIndex),
+                        textClassifications),
+                sortedInput);
+    }
+
+    /**
+     * Returns a {@link CollectorGroupModifier} with the same result as
+     * {@link #pivotWithIndexes(int, int, String, List)}.
+     *
+     * @param sortedInput {@code true}, if the records with the same key are adjacent in the stream
+     * @see #pivotCollectorWithIndexes(Function, Function, int, String, List)
+     */
+    public static <T extends TextRecord> CollectorGroupModifier<T, TextRecord> pivotWithIndexes(int keyIndex,
+                                                                                                int recordsPerKey,
+                                                                                                String nullText,
+                                                                                                List<Integer> textIndexes,
+                                                                                                boolean sortedInput) {
+        Objects.requireNonNull(nullText);
+        Objects.requireNonNull(textIndexes);
+        return new CollectorGroupModifier<>(
+                GroupModifier.<T>groupByTextAt(keyIndex),
+                pivotCollectorWithIndexes(
+                        withoutCategory(),
+                        r -> Stream.ofNullable(r.textAt(keyIndex)),
+                        1 + (recordsPerKey * textIndexes.size()),
+                        nullText,
+                        textIndexes),
+                sortedInput);
+    }
+
+    /**
+     * Returns a collector, which pivots the records of a group in one pass
+     * like {@link #pivotTextsFunctionWithClassifications(Function, Function, String, Function, List)}.
+     * The position of every classification is looked up in a map.
+     */
+    public static <T extends TextRecord> Collector<T, ?, TextRecord> pivotCollectorWithClassifications(
+            Function<? super T, @Nullable String> newCategoryFunction,
+            Function<? super T, Stream<String>> newFirstTextsFunction,
+            Function<? super T, @Nullable String> textFunction,
+            String nullText,
+            Function<? super T, @Nullable String> textClassificationFunction,
+            List<String> textClassifications) {
+        Objects.requireNonNull(newCategoryFunction);
+        Objects.requireNonNull(newFirstTextsFunction);
+        Objects.requireNonNull(textFunction);
+        Objects.requireNonNull(nullText);
+        Objects.requireNonNull(textClassificationFunction);
+        Objects.requireNonNull(textClassifications);
+        ClassificationPivot<T> classificationPivot = new ClassificationPivot<>(textFunction, nullText,
+                textClassificationFunction, textClassifications);
+        return Collector.<T, ClassificationPivotState, TextRecord>of(
+                () -> new ClassificationPivotState(classificationPivot.newPivotTexts(), classificationPivot.classificationCount()),
+                (state, record) -> {
+                    if (state.newFirstTexts == null) {
+                        state.newCategory = newCategoryFunction.apply(record);
+                        state.newFirstTexts = newFirstTextsFunction.apply(record).toList();
+                    }
+                    if (state.remaining > 0) {
+                        state.remaining -= classificationPivot.fill(state.pivotTexts, record);
+                    }
+                },
+                (state1, state2) -> {
+                    if (state1.newFirstTexts == null) {
+                        state1.newCategory = state2.newCategory;
+                        state1.newFirstTexts = state2.newFirstTexts;
+                    }
+                    for (int index = 0; index < state1.pivotTexts.length; index++) {
+                        if (state1.pivotTexts[index] == null) {
+                            state1.pivotTexts[index] = state2.pivotTexts[index];
+                        }
+                    }
+                    return state1;
+                },
+                state -> {
+                    classificationPivot.fillMissing(state.pivotTexts);
+                    List<@Nullable String> newTexts = new ArrayList<>(Objects.requireNonNullElse(state.newFirstTexts, List.of()));
+                    newTexts.addAll(Arrays.asList(state.pivotTexts));
+                    return new ManyFieldsRecord(state.newCategory, null, newTexts);
+                });
+    }
+
+    /**
+     * Returns a collector, which pivots the records of a group in one pass
+     * like {@link #pivotTextsFunctionWithIndexes(Function, int, String, List)}.
+     */
+    public static <T extends TextRecord> Collector<T, ?, TextRecord> pivotCollectorWithIndexes(
+            Function<? super T, @Nullable String> newCategoryFunction,
+            Function<? super T, Stream<String>> newFirstTextsFunction,
+            int newRecordSize,
+            String nullText,
+            List<Integer> textIndexes) {
+        Objects.requireNonNull(newCategoryFunction);
+        Objects.requireNonNull(newFirstTextsFunction);
+        Objects.requireNonNull(nullText);
+        Objects.requireNonNull(textIndexes);
+        if (newRecordSize < 0) {
+            throw new IllegalArgumentException("newRecordSize=" + newRecordSize);
+        }
+        int[] indexes = textIndexes.stream().mapToInt(Integer::intValue).toArray();
+        return Collector.<T, IndexPivotState, TextRecord>of(
+                IndexPivotState::new,
+                (state, record) -> {
+                    if (state.newFirstTexts == null) {
+                        state.newCategory = newCategoryFunction.apply(record);
+                        state.newFirstTexts = newFirstTextsFunction.apply(record).toList();
+                    }
+                    // Texts beyond the new record size are never used.
+                    for (int index : indexes) {
+                        if (state.pivotTexts.size() >= newRecordSize) {
+                            break;
+                        }
+                        state.pivotTexts.add(record.textAtOrElse(index, nullText));
+                    }
+                },
+                (state1, state2) -> {
+                    if (state1.newFirstTexts == null) {
+                        state1.newCategory = state2.newCategory;
+                        state1.newFirstTexts = state2.newFirstTexts;
+                    }
+                    state1.pivotTexts.addAll(state2.pivotTexts);
+                    return state1;
+                },
+                state -> {
+                    List<@Nullable String> newTexts = new ArrayList<>(newRecordSize);
+                    newTexts.addAll(Objects.requireNonNullElse(state.newFirstTexts, List.of()));
+                    newTexts.addAll(state.pivotTexts);
+                    while (newTexts.size() < newRecordSize) {
+                        newTexts.add(nullText);
+                    }
+                    return new ManyFieldsRecord(state.newCategory, null, newTexts.subList(0, newRecordSize));
+                });
+    }
+
+    /**
+     * Fills the pivot texts by the position of the classification of a record.
+     * The first record of a classification wins.
+     */
+    private static final class ClassificationPivot<T extends TextRecord> {
+
+        private final Function<? super T, @Nullable String> textFunction;
+        private final String nullText;
+        private final Function<? super T, @Nullable String> textClassificationFunction;
+        private final int classificationCount;
+        private final Map<String, int[]> classificationPositions;
+
+        private ClassificationPivot(Function<? super T, @Nullable String> textFunction,
+                                    String nullText,
+                                    Function<? super T, @Nullable String> textClassificationFunction,
+                                    List<String> textClassifications) {
+            this.textFunction = textFunction;
+            this.nullText = nullText;
+            this.textClassificationFunction = textClassificationFunction;
+            classificationCount = textClassifications.size();
+            // A classification can occur more than once.
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int position = 0; position < classificationCount; position++) {
+                positions.computeIfAbsent(Objects.requireNonNull(textClassifications.get(position)), k -> new ArrayList<>())
+                         .add(position);
+            }
+            classificationPositions = HashMap.newHashMap(positions.size());
+            positions.forEach((classification, list) ->
+                    classificationPositions.put(classification, list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        private int classificationCount() {
+            return classificationCount;
+        }
+
+        private @Nullable String[] newPivotTexts() {
+            return new String[classificationCount];
+        }
+
+        /**
+         * @return the number of filled positions
+         */
+        private int fill(@Nullable String[] pivotTexts, T record) {
+            String classification = textClassificationFunction.apply(record);
+            if (classification == null) {
+                return 0;
+            }
+            int[] positions = classificationPositions.get(classification);
+            if ((positions == null) || (pivotTexts[positions[0]] != null)) {
+                return 0;
+            }
+            String text = textFunction.apply(record);
+            for (int position : positions) {
+                pivotTexts[position] = (text == null) ? nullText : text;
+            }
+            return positions.length;
+        }
+
+        private void fillMissing(@Nullable String[] pivotTexts) {
+            for (int position = 0; position < pivotTexts.length; position++) {
+                if (pivotTexts[position] == null) {
+                    pivotTexts[position] = nullText;
+                }
+            }
+        }
+
+    }
+
+    private static final class ClassificationPivotState {
+
+        private final @Nullable String[] pivotTexts;
+        private int remaining;
+        private @Nullable String newCategory;
+        private @Nullable List<String> newFirstTexts;
+
+        private ClassificationPivotState(@Nullable String[] pivotTexts, int remaining) {
+            this.pivotTexts = pivotTexts;
+            this.remaining = remaining;
+        }
+
+    }
+
+    private static final class IndexPivotState {
+
+        private final List<@Nullable String> pivotTexts = new ArrayList<>();
+        private @Nullable String newCategory;
+        private @Nullable List<String> newFirstTexts;
+
+    }
+
 }
@@ -0,0 +1,252 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.EmptyRecord;
+import stexfires.record.impl.KeyValueCommentFieldsRecord;
+import stexfires.record.impl.KeyValueFieldsRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.impl.ManyTextsRecord;
+import stexfires.record.impl.TwoFieldsRecord;
+import stexfires.record.impl.ValueFieldRecord;
+import stexfires.util.LosslessUtf8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compact binary encoding of {@link TextRecord}s for modifiers, which spill records into temporary files.
+ * <p>
+ * A record is encoded as a flag byte for category and recordId, the optional category,
+ * the optional recordId, the number of texts and the texts.
+ * Lengths are encoded as variable-length integers.
+ * A text is encoded as its length in UTF-8 bytes plus one (zero for {@code null}) followed by the UTF-8 bytes
+ * of {@link LosslessUtf8}, so unpaired surrogates are kept.
+ * <p>
+ * The decoded records are {@link ManyTextsRecord}s with the same category, recordId and texts.
+ * <p>
+ * A typed record keeps its class. It is encoded as a type byte followed by the encoding of the record above,
+ * if it is a record of {@code stexfires.record.impl}, or by the length and the bytes of its Java serialization,
+ * if it is another {@link Serializable} record.
+ * Other records can not be encoded as typed records, which is checked when they are written.
+ *
+ * @since 0.1
+ */
+final class RecordSpillCodec {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int FLAG_CATEGORY = 1;
+    private static final int FLAG_RECORD_ID = 2;
+
+    private static final int TYPE_MANY_TEXTS = 0;
+    private static final int TYPE_MANY_FIELDS = 1;
+    private static final int TYPE_EMPTY = 2;
+    private static final int TYPE_TWO_FIELDS = 3;
+    private static final int TYPE_VALUE_FIELD = 4;
+    private static final int TYPE_KEY_VALUE_FIELDS = 5;
+    private static final int TYPE_KEY_VALUE_COMMENT_FIELDS = 6;
+    private static final int TYPE_SERIALIZABLE = 7;
+
+    private static final int VAR_INT_PAYLOAD_MASK = 0x7F;
+    private static final int VAR_INT_CONTINUATION_BIT = 0x80;
+    private static final int VAR_INT_PAYLOAD_BITS = 7;
+
+    // Rough estimation of the heap size of a record and its fields.
+    private static final long RECORD_SIZE_ESTIMATION = 64L;
+    private static final long FIELD_SIZE_ESTIMATION = 64L;
+
+    private RecordSpillCodec() {
+    }
+
+    /**
+     * Returns a rough estimation of the heap size of the record in bytes.
+     * It is used for the memory budget of the modifiers.
+     */
+    static long estimateSize(TextRecord record) {
+        long size = RECORD_SIZE_ESTIMATION;
+        int recordSize = record.size();
+        for (int index = 0; index < recordSize; index++) {
+            String text = record.textAt(index);
+            size += FIELD_SIZE_ESTIMATION + ((text != null) ? text.length() : 0);
+        }
+        return size;
+    }
+
+    static DataOutputStream newOutputStream(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+    }
+
+    static DataInputStream newInputStream(Path path) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+    }
+
+    static void writeRecord(DataOutputStream output, TextRecord record) throws IOException {
+        String category = record.category();
+        Long recordId = record.recordId();
+        int flags = ((category != null) ? FLAG_CATEGORY : 0) | ((recordId != null) ? FLAG_RECORD_ID : 0);
+        output.writeByte(flags);
+        if (category != null) {
+            writeText(output, category);
+        }
+        if (recordId != null) {
+            output.writeLong(recordId);
+        }
+        int size = record.size();
+        writeVarInt(output, size);
+        for (int index = 0; index < size; index++) {
+            writeText(output, record.textAt(index));
+        }
+    }
+
+    static ManyTextsRecord readRecord(DataInputStream input) throws IOException {
+        int flags = input.readUnsignedByte();
+        String category = ((flags & FLAG_CATEGORY) != 0) ? readText(input) : null;
+        Long recordId = ((flags & FLAG_RECORD_ID) != 0) ? input.readLong() : null;
+        int size = readVarInt(input);
+        String[] texts = new String[size];
+        for (int index = 0; index < size; index++) {
+            texts[index] = readText(input);
+        }
+        return new ManyTextsRecord(category, recordId, texts);
+    }
+
+    /**
+     * Writes a typed record.
+     *
+     * @throws IllegalArgumentException if the record is neither a record of {@code stexfires.record.impl}
+     *                                  nor {@link Serializable}
+     */
+    static void writeTypedRecord(DataOutputStream output, TextRecord record) throws IOException {
+        int type = typeOf(record);
+        output.writeByte(type);
+        if (type == TYPE_SERIALIZABLE) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes)) {
+                objectOutput.writeObject(record);
+            }
+            writeVarInt(output, bytes.size());
+            bytes.writeTo(output);
+        } else {
+            writeRecord(output, record);
+        }
+    }
+
+    /**
+     * Reads a typed record. It has the same class as the written record.
+     */
+    static TextRecord readTypedRecord(DataInputStream input) throws IOException {
+        int type = input.readUnsignedByte();
+        if (type == TYPE_SERIALIZABLE) {
+            byte[] bytes = new byte[readVarInt(input)];
+            input.readFully(bytes);
+            try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (TextRecord) objectInput.readObject();
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IOException("Record could not be deserialized.", e);
+            }
+        }
+        ManyTextsRecord record = readRecord(input);
+        String category = record.category();
+        Long recordId = record.recordId();
+        return switch (type) {
+            case TYPE_MANY_TEXTS -> record;
+            case TYPE_MANY_FIELDS -> new ManyFieldsRecord(category, recordId, record.texts());
+            case TYPE_EMPTY -> new EmptyRecord();
+            case TYPE_TWO_FIELDS -> new TwoFieldsRecord(category, recordId,
+                    record.textAt(TwoFieldsRecord.FIRST_INDEX), record.textAt(TwoFieldsRecord.SECOND_INDEX));
+            case TYPE_VALUE_FIELD -> new ValueFieldRecord(category, recordId,
+                    record.textAt(ValueFieldRecord.VALUE_INDEX));
+            case TYPE_KEY_VALUE_FIELDS -> new KeyValueFieldsRecord(category, recordId,
+                    readKey(record, KeyValueFieldsRecord.KEY_INDEX), record.textAt(KeyValueFieldsRecord.VALUE_INDEX));
+            case TYPE_KEY_VALUE_COMMENT_FIELDS -> new KeyValueCommentFieldsRecord(category, recordId,
+                    readKey(record, KeyValueCommentFieldsRecord.KEY_INDEX),
+                    record.textAt(KeyValueCommentFieldsRecord.VALUE_INDEX),
+                    record.textAt(KeyValueCommentFieldsRecord.COMMENT_INDEX));
+            default -> throw new IOException("Unknown record type: " + type);
+        };
+    }
+
+    private static int typeOf(TextRecord record) {
+        return switch (record) {
+            case ManyTextsRecord ignored -> TYPE_MANY_TEXTS;
+            case ManyFieldsRecord ignored -> TYPE_MANY_FIELDS;
+            case EmptyRecord ignored -> TYPE_EMPTY;
+            case TwoFieldsRecord ignored -> TYPE_TWO_FIELDS;
+            case ValueFieldRecord ignored -> TYPE_VALUE_FIELD;
+            case KeyValueFieldsRecord ignored -> TYPE_KEY_VALUE_FIELDS;
+            case KeyValueCommentFieldsRecord ignored -> TYPE_KEY_VALUE_COMMENT_FIELDS;
+            case Serializable ignored -> TYPE_SERIALIZABLE;
+            default -> throw new IllegalArgumentException(
+                    "The record can not be written into a temporary file, because it is not Serializable: "
+                            + record.getClass().getName());
+        };
+    }
+
+    private static String readKey(ManyTextsRecord record, int keyIndex) throws IOException {
+        String key = record.textAt(keyIndex);
+        if (key == null) {
+            throw new IOException("Missing key of the record.");
+        }
+        return key;
+    }
+
+    static void writeText(DataOutputStream output, @Nullable String text) throws IOException {
+        if (text == null) {
+            writeVarInt(output, 0);
+        } else {
+            byte[] bytes = LosslessUtf8.encode(text);
+            writeVarInt(output, bytes.length + 1);
+            output.write(bytes);
+        }
+    }
+
+    static @Nullable String readText(DataInputStream input) throws IOException {
+        int lengthPlusOne = readVarInt(input);
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[lengthPlusOne - 1];
+        input.readFully(bytes);
+        try {
+            return LosslessUtf8.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed text.", e);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~VAR_INT_PAYLOAD_MASK) != 0) {
+            output.writeByte((remaining & VAR_INT_PAYLOAD_MASK) | VAR_INT_CONTINUATION_BIT);
+            remaining >>>= VAR_INT_PAYLOAD_BITS;
+        }
+        output.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int current;
+        do {
+            if (shift > Integer.SIZE) {
+                throw new IOException("Malformed variable-length integer.");
+            }
+            current = input.readUnsignedByte();
+            value |= (current & VAR_INT_PAYLOAD_MASK) << shift;
+            shift += VAR_INT_PAYLOAD_BITS;
+        } while ((current & VAR_INT_CONTINUATION_BIT) != 0);
+        return value;
+    }
+
+}
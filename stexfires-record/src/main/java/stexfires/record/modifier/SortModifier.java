@@ -6,6 +6,8 @@ import java.util.*;
 import java.util.stream.*;
 
 /**
+ * @see ExternalSortModifier
+ * @see TopNModifier
  * @see stexfires.record.comparator.RecordComparators
  * @since 0.1
  */
@@ -0,0 +1,121 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import stexfires.record.TextRecord;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Returns the first {@code n} records of the sorted record stream
+ * like a {@link SortModifier} followed by a {@link SkipLimitModifier}.
+ * <p>
+ * It does not sort the whole stream. It keeps only the best {@code n} records in a bounded heap.
+ * The returned records are sorted by the comparator. Equal records keep their order of the record stream.
+ * <p>
+ * If a group by function is set, it returns the first {@code n} records of every group.
+ * The groups are returned in the order of their first record.
+ * <p>
+ * It supports parallel streams. The bounded heaps of the parts of the stream are combined.
+ *
+ * @see SortModifier
+ * @see SkipLimitModifier
+ * @see stexfires.record.comparator.RecordComparators
+ * @since 0.1
+ */
+public class TopNModifier<T extends TextRecord> implements RecordStreamModifier<T, T> {
+
+    private final @Nullable Function<? super T, ?> groupByFunction;
+    private final Comparator<? super T> recordComparator;
+    private final int n;
+
+    public TopNModifier(Comparator<? super T> recordComparator, int n) {
+        this(null, recordComparator, n);
+    }
+
+    public TopNModifier(@Nullable Function<? super T, ?> groupByFunction,
+                        Comparator<? super T> recordComparator,
+                        int n) {
+        Objects.requireNonNull(recordComparator);
+        if (n < 0) {
+            throw new IllegalArgumentException("Invalid n: " + n);
+        }
+        this.groupByFunction = groupByFunction;
+        this.recordComparator = recordComparator;
+        this.n = n;
+    }
+
+    @Override
+    public final Stream<T> modify(Stream<T> recordStream) {
+        Collector<T, BoundedHeap<T>, List<T>> topNCollector = Collector.of(
+                () -> new BoundedHeap<>(recordComparator, n),
+                BoundedHeap::add,
+                BoundedHeap::combine,
+                BoundedHeap::toSortedList);
+        if (groupByFunction == null) {
+            return recordStream.collect(topNCollector)
+                               .stream();
+        }
+        return recordStream.collect(Collectors.groupingBy(groupByFunction, LinkedHashMap::new, topNCollector))
+                           .values()
+                           .stream()
+                           .flatMap(List::stream);
+    }
+
+    /**
+     * A heap with the best {@code n} records. The worst of them is the head.
+     * The position of a record in the stream is used as the tie-breaker.
+     */
+    private static final class BoundedHeap<T> {
+
+        private final Comparator<Entry<T>> entryComparator;
+        private final int n;
+        private final PriorityQueue<Entry<T>> heap;
+        private long recordCount;
+
+        private BoundedHeap(Comparator<? super T> recordComparator, int n) {
+            entryComparator = Comparator.<Entry<T>, T>comparing(Entry::record, recordComparator)
+                                        .thenComparingLong(Entry::position);
+            this.n = n;
+            heap = new PriorityQueue<>(Math.max(1, Math.min(n, 1024)), entryComparator.reversed());
+        }
+
+        private void add(T record) {
+            offer(new Entry<>(record, recordCount));
+            recordCount++;
+        }
+
+        private void offer(Entry<T> entry) {
+            if (heap.size() < n) {
+                heap.add(entry);
+            } else if (n > 0 && entryComparator.compare(entry, heap.element()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        /**
+         * Combines the heap of the following part of the stream into this heap.
+         */
+        private BoundedHeap<T> combine(BoundedHeap<T> following) {
+            for (Entry<T> entry : following.heap) {
+                offer(new Entry<>(entry.record(), recordCount + entry.position()));
+            }
+            recordCount += following.recordCount;
+            return this;
+        }
+
+        private List<T> toSortedList() {
+            return heap.stream()
+                       .sorted(entryComparator)
+                       .map(Entry::record)
+                       .toList();
+        }
+
+    }
+
+    private record Entry<T>(T record, long position) {
+    }
+
+}
@@ -0,0 +1,82 @@
+package stexfires.record.consumer;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ValueFieldRecord;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ConcurrentDispatcherConsumer}.
+ */
+final class ConcurrentDispatcherConsumerTest {
+
+    /**
+     * Test method for {@link ConcurrentDispatcherConsumer#consume(TextRecord)}.
+     */
+    @Test
+    void consume() throws IOException {
+        List<List<Long>> recordIds = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        List<RecordConsumer<TextRecord>> recordConsumers = recordIds.stream()
+                                                                    .map(list -> (RecordConsumer<TextRecord>) record -> list.add(record.recordId()))
+                                                                    .toList();
+        ConcurrentDispatcherConsumer<TextRecord> dispatcherConsumer = DispatcherConsumer.<TextRecord>byRecordId(
+                recordId -> (int) (recordId % 2), recordConsumers).concurrent(4, ConcurrentDispatcherConsumer.BackPressure.BLOCK);
+
+        for (long recordId = 0L; recordId < 1_000L; recordId++) {
+            dispatcherConsumer.consume(new ValueFieldRecord(null, recordId, "value"));
+        }
+        dispatcherConsumer.flush();
+
+        assertEquals(500, recordIds.get(0).size());
+        assertEquals(500, recordIds.get(1).size());
+        assertTrue(recordIds.get(2).isEmpty());
+        for (List<Long> list : recordIds) {
+            for (int index = 1; index < list.size(); index++) {
+                assertTrue(list.get(index - 1) < list.get(index));
+            }
+        }
+        assertEquals(0L, dispatcherConsumer.droppedCount());
+
+        dispatcherConsumer.close();
+        assertThrows(UncheckedConsumerException.class,
+                () -> dispatcherConsumer.consume(new ValueFieldRecord(null, 0L, "value")));
+    }
+
+    /**
+     * Test method for {@link ConcurrentDispatcherConsumer#close()}.
+     */
+    @Test
+    void closeAfterFailure() {
+        ConcurrentDispatcherConsumer<TextRecord> dispatcherConsumer = DispatcherConsumer.<TextRecord>all(List.of(
+                record -> {
+                    throw new UncheckedConsumerException(new ConsumerException("failure", record));
+                })).concurrent(1, ConcurrentDispatcherConsumer.BackPressure.DROP);
+
+        dispatcherConsumer.consume(new ValueFieldRecord(null, 0L, "value"));
+        assertThrows(IOException.class, dispatcherConsumer::close);
+    }
+
+    /**
+     * Test method for {@link ConcurrentDispatcherConsumer#close()}.
+     */
+    @Test
+    void closeAfterError() {
+        ConcurrentDispatcherConsumer<TextRecord> dispatcherConsumer = DispatcherConsumer.<TextRecord>all(List.of(
+                record -> {
+                    throw new AssertionError("error");
+                })).concurrent(1, ConcurrentDispatcherConsumer.BackPressure.BLOCK);
+
+        assertThrows(UncheckedConsumerException.class, () -> {
+            for (long recordId = 0L; recordId < 1_000L; recordId++) {
+                dispatcherConsumer.consume(new ValueFieldRecord(null, recordId, "value"));
+            }
+        });
+        IOException exception = assertThrows(IOException.class, dispatcherConsumer::close);
+        assertInstanceOf(AssertionError.class, exception.getCause());
+    }
+
+}
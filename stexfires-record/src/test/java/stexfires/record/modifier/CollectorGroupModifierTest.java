@@ -0,0 +1,102 @@
+package stexfires.record.modifier;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.KeyValueCommentFieldsRecord;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CollectorGroupModifier}.
+ */
+final class CollectorGroupModifierTest {
+
+    private static final List<KeyValueCommentFieldsRecord> RECORDS = List.of(
+            new KeyValueCommentFieldsRecord("c1", 0L, "b", "1", null),
+            new KeyValueCommentFieldsRecord("c2", 1L, "a", "2", null),
+            new KeyValueCommentFieldsRecord("c3", 2L, "b", "3", null),
+            new KeyValueCommentFieldsRecord("c4", 3L, "c", "4", null),
+            new KeyValueCommentFieldsRecord("c5", 4L, "a", "5", null));
+
+    private static final List<KeyValueCommentFieldsRecord> SORTED_RECORDS = RECORDS.stream()
+                                                                                   .sorted(Comparator.comparing(KeyValueCommentFieldsRecord::key))
+                                                                                   .toList();
+
+    private static CollectorGroupModifier<KeyValueCommentFieldsRecord, TextRecord> newModifier(boolean sortedInput) {
+        return new CollectorGroupModifier<>(KeyValueCommentFieldsRecord::key,
+                GroupCollectors.toTexts(GroupCollectors.firstCategory(),
+                        List.of(GroupCollectors.firstTextAt(KeyValueCommentFieldsRecord.KEY_INDEX),
+                                GroupCollectors.count(),
+                                GroupCollectors.joinTextsAt(KeyValueCommentFieldsRecord.VALUE_INDEX, "+"))),
+                sortedInput);
+    }
+
+    private static List<String> modify(CollectorGroupModifier<KeyValueCommentFieldsRecord, TextRecord> modifier,
+                                       Stream<KeyValueCommentFieldsRecord> recordStream) {
+        try (Stream<TextRecord> stream = modifier.modify(recordStream)) {
+            return stream.map(record -> record.category() + "|" + record.streamOfTexts().toList()).toList();
+        }
+    }
+
+    /**
+     * Test method for {@link CollectorGroupModifier#modify(Stream)}.
+     * The groups are returned in the order of their first record.
+     */
+    @Test
+    void modify() {
+        List<String> expected = List.of("c1|[b, 2, 1+3]", "c2|[a, 2, 2+5]", "c4|[c, 1, 4]");
+        assertEquals(expected, modify(newModifier(false), RECORDS.stream()));
+        assertEquals(expected, modify(new CollectorGroupModifier<>(KeyValueCommentFieldsRecord::key,
+                GroupCollectors.toTexts(GroupCollectors.firstCategory(),
+                        List.of(GroupCollectors.firstTextAt(KeyValueCommentFieldsRecord.KEY_INDEX),
+                                GroupCollectors.count(),
+                                GroupCollectors.joinTextsAt(KeyValueCommentFieldsRecord.VALUE_INDEX, "+")))),
+                RECORDS.stream()));
+        assertEquals(List.of(), modify(newModifier(false), Stream.empty()));
+    }
+
+    /**
+     * Test method for {@link CollectorGroupModifier#modify(Stream)} with {@code sortedInput}.
+     */
+    @Test
+    void modifySortedInput() {
+        // Adjacent group keys result in the same groups as without sortedInput.
+        assertEquals(modify(newModifier(false), SORTED_RECORDS.stream()),
+                modify(newModifier(true), SORTED_RECORDS.stream()));
+        assertEquals(List.of("c2|[a, 2, 2+5]", "c1|[b, 2, 1+3]", "c4|[c, 1, 4]"),
+                modify(newModifier(true), SORTED_RECORDS.stream()));
+
+        // A group key, which appears again after another group key, starts a new group.
+        assertEquals(List.of("c1|[b, 1, 1]", "c2|[a, 1, 2]", "c3|[b, 1, 3]", "c4|[c, 1, 4]", "c5|[a, 1, 5]"),
+                modify(newModifier(true), RECORDS.stream()));
+
+        assertEquals(List.of(), modify(newModifier(true), Stream.empty()));
+    }
+
+    /**
+     * Test method for {@link CollectorGroupModifier#modify(Stream)} with {@code sortedInput}.
+     * The records are consumed lazily and the record stream is closed with the returned stream.
+     */
+    @Test
+    void modifySortedInputLazy() {
+        AtomicInteger consumedRecords = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<KeyValueCommentFieldsRecord> recordStream = SORTED_RECORDS.stream()
+                                                                         .peek(record -> consumedRecords.incrementAndGet())
+                                                                         .onClose(() -> closed.set(true));
+        try (Stream<TextRecord> stream = newModifier(true).modify(recordStream)) {
+            Optional<TextRecord> first = stream.findFirst();
+            assertTrue(first.isPresent());
+            assertEquals("a", first.get().textAt(0));
+            // The first group "a" is complete after the first record of the group "b".
+            assertEquals(3, consumedRecords.get());
+            assertFalse(closed.get());
+        }
+        assertTrue(closed.get());
+    }
+
+}
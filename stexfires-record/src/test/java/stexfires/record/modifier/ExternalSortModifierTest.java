@@ -0,0 +1,193 @@
+package stexfires.record.modifier;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.KeyRecord;
+import stexfires.record.TextField;
+import stexfires.record.TextRecord;
+import stexfires.record.comparator.RecordComparators;
+import stexfires.record.impl.KeyValueFieldsRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.util.SortNulls;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ExternalSortModifier}.
+ */
+final class ExternalSortModifierTest {
+
+    private static final int RECORD_COUNT = 1000;
+    private static final int KEY_COUNT = 7;
+
+    /**
+     * A record, which is neither a record of {@code stexfires.record.impl} nor {@link java.io.Serializable}.
+     */
+    private record UnserializableRecord(String text) implements TextRecord {
+
+        @Override
+        public TextField[] arrayOfFields() {
+            return new TextField[]{new TextField(0, 0, text)};
+        }
+
+        @Override
+        public String category() {
+            return null;
+        }
+
+        @Override
+        public Long recordId() {
+            return null;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public TextField fieldAt(int index) {
+            return (index == 0) ? new TextField(0, 0, text) : null;
+        }
+
+    }
+
+    private static List<KeyValueFieldsRecord> records() {
+        // The value is the position in the record stream.
+        return IntStream.range(0, RECORD_COUNT)
+                        .mapToObj(index -> new KeyValueFieldsRecord("key" + ((index * 5) % KEY_COUNT), String.valueOf(index)))
+                        .toList();
+    }
+
+    private static boolean isEmptyDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.findAny().isEmpty();
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalSortModifier#modify(Stream)}.
+     */
+    @Test
+    void modify() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("ExternalSortModifierTest");
+        try {
+            List<KeyValueFieldsRecord> records = records();
+            Comparator<KeyRecord> comparator = RecordComparators.key(Comparator.naturalOrder());
+            List<KeyValueFieldsRecord> expected = records.stream().sorted(comparator).toList();
+
+            // More runs than MAX_MERGE_FAN_IN result in a merge with several passes.
+            ExternalSortModifier<KeyValueFieldsRecord> modifier =
+                    new ExternalSortModifier<>(comparator, Long.MAX_VALUE, 2, tempDirectory);
+            assertTrue(RECORD_COUNT / 2 > ExternalSortModifier.MAX_MERGE_FAN_IN);
+            List<KeyValueFieldsRecord> sorted;
+            try (Stream<KeyValueFieldsRecord> stream = modifier.modify(records.stream())) {
+                sorted = stream.toList();
+            }
+            assertEquals(expected, sorted);
+            assertTrue(isEmptyDirectory(tempDirectory));
+
+            // A tiny memory budget results in runs with only one record.
+            try (Stream<KeyValueFieldsRecord> stream = new ExternalSortModifier<KeyValueFieldsRecord>(comparator, 1L, 1000, tempDirectory)
+                    .modify(records.stream())) {
+                assertEquals(expected, stream.toList());
+            }
+            assertTrue(isEmptyDirectory(tempDirectory));
+
+            // All records fit into the first run.
+            try (Stream<KeyValueFieldsRecord> stream = new ExternalSortModifier<KeyValueFieldsRecord>(comparator)
+                    .modify(records.stream())) {
+                assertEquals(expected, stream.toList());
+            }
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalSortModifier#modify(Stream)} with records of different classes.
+     */
+    @Test
+    void modifyKeepsRecordClass() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("ExternalSortModifierTest");
+        try {
+            List<TextRecord> records = List.of(
+                    new ManyFieldsRecord("c", 1L, "b", "x"),
+                    new KeyValueFieldsRecord("a", null),
+                    new ManyFieldsRecord("c", 3L, "c"),
+                    new KeyValueFieldsRecord(null, 4L, "a", "v"));
+            ExternalSortModifier<TextRecord> modifier = new ExternalSortModifier<>(
+                    RecordComparators.firstText(Comparator.naturalOrder(), SortNulls.FIRST),
+                    Long.MAX_VALUE, 1, tempDirectory);
+            List<TextRecord> sorted;
+            try (Stream<TextRecord> stream = modifier.modify(records.stream())) {
+                sorted = stream.toList();
+            }
+            assertEquals(List.of(KeyValueFieldsRecord.class, KeyValueFieldsRecord.class, ManyFieldsRecord.class, ManyFieldsRecord.class),
+                    sorted.stream().map(Object::getClass).toList());
+            assertEquals(records.get(1), sorted.get(0));
+            assertEquals(records.get(3), sorted.get(1));
+            assertEquals(List.of("b", "x"), sorted.get(2).streamOfTexts().toList());
+            assertEquals(Long.valueOf(1L), sorted.get(2).recordId());
+            assertEquals("c", sorted.get(2).category());
+            assertTrue(isEmptyDirectory(tempDirectory));
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalSortModifier#modify(Stream)} with records, which can not be written into a temporary file.
+     */
+    @Test
+    void modifyUnserializableRecords() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("ExternalSortModifierTest");
+        try {
+            List<UnserializableRecord> records = List.of(new UnserializableRecord("b"), new UnserializableRecord("a"));
+            Comparator<TextRecord> comparator = RecordComparators.firstText(Comparator.naturalOrder(), SortNulls.FIRST);
+
+            // The records are only checked, if they are written into a temporary file.
+            try (Stream<UnserializableRecord> stream = new ExternalSortModifier<UnserializableRecord>(comparator)
+                    .modify(records.stream())) {
+                assertEquals(List.of(records.get(1), records.get(0)), stream.toList());
+            }
+            assertThrows(IllegalArgumentException.class, () -> {
+                try (Stream<UnserializableRecord> stream = new ExternalSortModifier<UnserializableRecord>(comparator, Long.MAX_VALUE, 1, tempDirectory)
+                        .modify(records.stream())) {
+                    stream.toList();
+                }
+            });
+            assertTrue(isEmptyDirectory(tempDirectory));
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalSortModifier#modify(Stream)} with texts, which are not well-formed UTF-16.
+     */
+    @Test
+    void modifyUnpairedSurrogates() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("ExternalSortModifierTest");
+        try {
+            List<KeyValueFieldsRecord> records = List.of(
+                    new KeyValueFieldsRecord("c", "\uD800"),
+                    new KeyValueFieldsRecord("b", "?"),
+                    new KeyValueFieldsRecord("a", "x\uDE00\uD83D😀"));
+            Comparator<KeyRecord> comparator = RecordComparators.key(Comparator.naturalOrder());
+            try (Stream<KeyValueFieldsRecord> stream = new ExternalSortModifier<KeyValueFieldsRecord>(comparator, Long.MAX_VALUE, 1, tempDirectory)
+                    .modify(records.stream())) {
+                assertEquals(List.of(records.get(2), records.get(1), records.get(0)), stream.toList());
+            }
+            assertTrue(isEmptyDirectory(tempDirectory));
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+}
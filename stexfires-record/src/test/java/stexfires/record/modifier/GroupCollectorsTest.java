@@ -0,0 +1,93 @@
+package stexfires.record.modifier;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link GroupCollectors}.
+ */
+final class GroupCollectorsTest {
+
+    private static final List<TextRecord> RECORDS = List.of(
+            new ManyTextsRecord("first", null, Arrays.asList("b", "1.5")),
+            new ManyTextsRecord("second", null, Arrays.asList(null, null)),
+            new ManyTextsRecord("third", null, Arrays.asList("c", "2")),
+            new ManyTextsRecord("fourth", null, Arrays.asList("a", "-0.25")));
+
+    private static @Nullable BigDecimal parse(@Nullable String text) {
+        return (text == null) ? null : new BigDecimal(text);
+    }
+
+    private static @Nullable String collect(Collector<TextRecord, ?, @Nullable String> collector, List<TextRecord> records) {
+        return records.stream().collect(collector);
+    }
+
+    /**
+     * Test method for the text collectors of {@link GroupCollectors}.
+     */
+    @Test
+    void textCollectors() {
+        assertEquals("4", collect(GroupCollectors.count(), RECORDS));
+        assertEquals("first", collect(GroupCollectors.firstCategory(), RECORDS));
+        assertEquals("b", collect(GroupCollectors.firstTextAt(0), RECORDS));
+        assertEquals("a", collect(GroupCollectors.lastTextAt(0), RECORDS));
+        assertNull(collect(GroupCollectors.lastTextAt(2), RECORDS));
+        assertEquals("a", collect(GroupCollectors.minTextAt(0, Comparator.naturalOrder()), RECORDS));
+        assertEquals("c", collect(GroupCollectors.maxTextAt(0, Comparator.naturalOrder()), RECORDS));
+        assertEquals("b,c,a", collect(GroupCollectors.joinTextsAt(0, ","), RECORDS));
+        assertEquals("3.25", collect(GroupCollectors.sumTextsAt(1, GroupCollectorsTest::parse), RECORDS));
+    }
+
+    /**
+     * Test method for the text collectors of {@link GroupCollectors} without records or without texts.
+     */
+    @Test
+    void textCollectorsEmpty() {
+        assertEquals("0", collect(GroupCollectors.count(), List.of()));
+        assertNull(collect(GroupCollectors.firstCategory(), List.of()));
+        assertNull(collect(GroupCollectors.firstTextAt(0), List.of()));
+        assertNull(collect(GroupCollectors.lastTextAt(0), List.of()));
+        List<TextRecord> nullTexts = List.of(RECORDS.get(1));
+        assertNull(collect(GroupCollectors.minTextAt(0, Comparator.naturalOrder()), nullTexts));
+        assertNull(collect(GroupCollectors.maxTextAt(0, Comparator.naturalOrder()), nullTexts));
+        assertEquals("", collect(GroupCollectors.joinTextsAt(0, ","), nullTexts));
+        assertEquals("0", collect(GroupCollectors.sumTextsAt(1, GroupCollectorsTest::parse), nullTexts));
+    }
+
+    /**
+     * Test method for {@link GroupCollectors#toTexts(List)} and {@link GroupCollectors#toTexts(Collector, List)}.
+     */
+    @Test
+    void toTexts() {
+        TextRecord record = RECORDS.stream().collect(GroupCollectors.toTexts(
+                List.of(GroupCollectors.count(), GroupCollectors.lastTextAt(1), GroupCollectors.firstTextAt(2))));
+        assertNull(record.category());
+        assertEquals(Arrays.asList("4", "-0.25", null), record.streamOfTexts().toList());
+
+        TextRecord categoryRecord = RECORDS.stream().collect(GroupCollectors.toTexts(GroupCollectors.firstCategory(),
+                List.of(GroupCollectors.joinTextsAt(0, ""))));
+        assertEquals("first", categoryRecord.category());
+        assertEquals(List.of("bca"), categoryRecord.streamOfTexts().toList());
+
+        TextRecord emptyRecord = RECORDS.stream().collect(GroupCollectors.toTexts(List.of()));
+        assertEquals(0, emptyRecord.size());
+
+        // Parallel streams combine the states of the text collectors.
+        List<TextRecord> manyRecords = IntStream.range(0, 1000)
+                                                .mapToObj(index -> (TextRecord) new ManyTextsRecord(String.valueOf(index)))
+                                                .toList();
+        TextRecord parallelRecord = manyRecords.parallelStream().collect(GroupCollectors.toTexts(
+                List.of(GroupCollectors.count(), GroupCollectors.firstTextAt(0), GroupCollectors.lastTextAt(0),
+                        GroupCollectors.sumTextsAt(0, GroupCollectorsTest::parse))));
+        assertEquals(List.of("1000", "0", "999", "499500"), parallelRecord.streamOfTexts().toList());
+    }
+
+}
@@ -0,0 +1,98 @@
+package stexfires.record.modifier;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.impl.KeyValueCommentFieldsRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link HashDistinctModifier}.
+ */
+final class HashDistinctModifierTest {
+
+    private static final long SPILL_MEMORY_BUDGET = 1L;
+    private static final int RECORD_COUNT = 500;
+
+    private static List<KeyValueCommentFieldsRecord> records() {
+        // Keys k0 to k96 in a shuffled order, repeated, and texts with unpaired surrogates.
+        return IntStream.range(0, RECORD_COUNT)
+                        .mapToObj(index -> new KeyValueCommentFieldsRecord("c" + (index % 3), (long) index,
+                                "k" + ((index * 31) % 97), "v" + index, (index % 7 == 0) ? "\uD800" : null))
+                        .toList();
+    }
+
+    private static List<KeyValueCommentFieldsRecord> expected(List<KeyValueCommentFieldsRecord> records) {
+        Set<String> keys = new HashSet<>();
+        return records.stream()
+                      .filter(record -> keys.add(record.key()))
+                      .toList();
+    }
+
+    private static List<KeyValueCommentFieldsRecord> distinct(HashDistinctModifier<KeyValueCommentFieldsRecord> modifier,
+                                                              List<KeyValueCommentFieldsRecord> records) {
+        try (Stream<KeyValueCommentFieldsRecord> stream = modifier.modify(records.stream())) {
+            return stream.toList();
+        }
+    }
+
+    private static boolean isEmptyDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.findAny().isEmpty();
+        }
+    }
+
+    /**
+     * Test method for {@link HashDistinctModifier#modify(Stream)}.
+     */
+    @Test
+    void modify() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("HashDistinctModifierTest");
+        try {
+            List<KeyValueCommentFieldsRecord> records = records();
+            List<KeyValueCommentFieldsRecord> expected = expected(records);
+            for (long memoryBudget : new long[]{HashDistinctModifier.DEFAULT_MEMORY_BUDGET, SPILL_MEMORY_BUDGET}) {
+                for (boolean verifyExact : new boolean[]{false, true}) {
+                    HashDistinctModifier<KeyValueCommentFieldsRecord> modifier = new HashDistinctModifier<>(false, false,
+                            List.of(KeyValueCommentFieldsRecord.KEY_INDEX), memoryBudget, tempDirectory, verifyExact);
+                    List<KeyValueCommentFieldsRecord> result = distinct(modifier, records);
+                    // Same class, texts and order, also if the records are read back from temporary files.
+                    assertEquals(expected, result);
+                    for (KeyValueCommentFieldsRecord record : result) {
+                        assertInstanceOf(KeyValueCommentFieldsRecord.class, record);
+                    }
+                    assertTrue(isEmptyDirectory(tempDirectory));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link HashDistinctModifier#modify(Stream)} with all components.
+     */
+    @Test
+    void modifyAllComponents() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("HashDistinctModifierTest");
+        try {
+            List<KeyValueCommentFieldsRecord> records = new ArrayList<>(records());
+            records.addAll(records());
+            List<KeyValueCommentFieldsRecord> expected = records();
+            for (long memoryBudget : new long[]{HashDistinctModifier.DEFAULT_MEMORY_BUDGET, SPILL_MEMORY_BUDGET}) {
+                HashDistinctModifier<KeyValueCommentFieldsRecord> modifier = new HashDistinctModifier<>(true, true,
+                        List.of(0, 1, 2, 3), memoryBudget, tempDirectory, true);
+                assertEquals(expected, distinct(modifier, records));
+                assertTrue(isEmptyDirectory(tempDirectory));
+            }
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+}
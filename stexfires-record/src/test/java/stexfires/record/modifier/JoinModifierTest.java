@@ -0,0 +1,235 @@
+package stexfires.record.modifier;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.KeyValueRecord;
+import stexfires.record.TextField;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.KeyValueCommentFieldsRecord;
+import stexfires.record.impl.ManyFieldsRecord;
+import stexfires.record.message.TextMessage;
+import stexfires.record.producer.RecordProducer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JoinModifier}.
+ */
+final class JoinModifierTest {
+
+    private static final long GRACE_MEMORY_BUDGET = 1L;
+    private static final int PROBE_RECORD_COUNT = 300;
+
+    // Duplicate keys, a null key and a key without a probe record.
+    private static final List<TextRecord> BUILD_RECORDS = List.of(
+            new ManyFieldsRecord("k1", "b1"),
+            new ManyFieldsRecord("k2", "b2"),
+            new ManyFieldsRecord("k1", "b3"),
+            new ManyFieldsRecord(null, "b4"),
+            new ManyFieldsRecord("k9", "b5"));
+
+    /**
+     * A record, which is neither a record of {@code stexfires.record.impl} nor {@link java.io.Serializable}.
+     */
+    private record UnserializableRecord(String text) implements TextRecord {
+
+        @Override
+        public TextField[] arrayOfFields() {
+            return new TextField[]{new TextField(0, 0, text)};
+        }
+
+        @Override
+        public String category() {
+            return null;
+        }
+
+        @Override
+        public Long recordId() {
+            return null;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public TextField fieldAt(int index) {
+            return (index == 0) ? new TextField(0, 0, text) : null;
+        }
+
+    }
+
+    private static List<KeyValueCommentFieldsRecord> probeRecords() {
+        // Keys k0 to k3 and every fifth key null.
+        return IntStream.range(0, PROBE_RECORD_COUNT)
+                        .mapToObj(index -> new KeyValueCommentFieldsRecord(null, (long) index,
+                                "p" + index, (index % 5 == 0) ? null : "k" + (index % 4), null))
+                        .toList();
+    }
+
+    private static JoinModifier<KeyValueCommentFieldsRecord> joinModifier(JoinModifier.JoinType joinType,
+                                                                          long memoryBudget,
+                                                                          Path tempDirectory) {
+        return new JoinModifier<>(joinType, new TextMessage<KeyValueRecord>(KeyValueCommentFieldsRecord.VALUE_INDEX),
+                RecordProducer.ofSupplier(BUILD_RECORDS::stream), new TextMessage<>(0),
+                (KeyValueRecord probeRecord, TextRecord buildRecord) -> new ManyFieldsRecord(probeRecord.key(),
+                        (buildRecord == null) ? null : buildRecord.textAt(1)),
+                memoryBudget, tempDirectory);
+    }
+
+    private static List<String> expected(JoinModifier.JoinType joinType) {
+        List<String> expected = new ArrayList<>();
+        for (KeyValueCommentFieldsRecord probeRecord : probeRecords()) {
+            List<String> matches = BUILD_RECORDS.stream()
+                                                .filter(buildRecord -> buildRecord.textAt(0) != null
+                                                        && buildRecord.textAt(0).equals(probeRecord.value()))
+                                                .map(buildRecord -> probeRecord.key() + ":" + buildRecord.textAt(1))
+                                                .toList();
+            switch (joinType) {
+                case INNER -> expected.addAll(matches);
+                case LEFT_OUTER -> {
+                    if (matches.isEmpty()) {
+                        expected.add(probeRecord.key() + ":null");
+                    } else {
+                        expected.addAll(matches);
+                    }
+                }
+                case ANTI -> {
+                    if (matches.isEmpty()) {
+                        expected.add(probeRecord.key() + ":null");
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    private static List<String> join(JoinModifier<KeyValueCommentFieldsRecord> modifier, boolean parallel) {
+        Stream<KeyValueCommentFieldsRecord> recordStream = parallel ? probeRecords().parallelStream() : probeRecords().stream();
+        try (Stream<TextRecord> stream = modifier.modify(recordStream)) {
+            return stream.map(record -> record.textAt(0) + ":" + record.textAt(1)).toList();
+        }
+    }
+
+    private static boolean isEmptyDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.findAny().isEmpty();
+        }
+    }
+
+    /**
+     * Test method for {@link JoinModifier#modify(Stream)}.
+     */
+    @Test
+    void modify() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("JoinModifierTest");
+        try {
+            for (JoinModifier.JoinType joinType : JoinModifier.JoinType.values()) {
+                List<String> expected = expected(joinType);
+                for (long memoryBudget : new long[]{JoinModifier.DEFAULT_MEMORY_BUDGET, GRACE_MEMORY_BUDGET}) {
+                    JoinModifier<KeyValueCommentFieldsRecord> modifier = joinModifier(joinType, memoryBudget, tempDirectory);
+                    assertEquals(expected, join(modifier, false));
+                    assertEquals(expected, join(modifier, true));
+                    assertTrue(isEmptyDirectory(tempDirectory));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link JoinModifier#probeRecord()}.
+     */
+    @Test
+    void probeRecord() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("JoinModifierTest");
+        try {
+            for (long memoryBudget : new long[]{JoinModifier.DEFAULT_MEMORY_BUDGET, GRACE_MEMORY_BUDGET}) {
+                JoinModifier<KeyValueCommentFieldsRecord> modifier = new JoinModifier<>(JoinModifier.JoinType.ANTI,
+                        new TextMessage<>(KeyValueCommentFieldsRecord.VALUE_INDEX),
+                        RecordProducer.ofSupplier(BUILD_RECORDS::stream), new TextMessage<>(0),
+                        JoinModifier.probeRecord(), memoryBudget, tempDirectory);
+                List<TextRecord> records;
+                try (Stream<TextRecord> stream = modifier.modify(probeRecords().stream())) {
+                    records = stream.toList();
+                }
+                List<KeyValueCommentFieldsRecord> expected = probeRecords().stream()
+                                                                           .filter(record -> !"k1".equals(record.value())
+                                                                                   && !"k2".equals(record.value()))
+                                                                           .toList();
+                assertEquals(expected, records);
+                assertTrue(isEmptyDirectory(tempDirectory));
+            }
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link JoinModifier#modify(Stream)} with probe records, which can not be written into a temporary file.
+     */
+    @Test
+    void modifyUnserializableRecords() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("JoinModifierTest");
+        try {
+            List<UnserializableRecord> records = List.of(new UnserializableRecord("k1"), new UnserializableRecord("k3"));
+
+            // The records are only checked, if they are written into a temporary file.
+            JoinModifier<UnserializableRecord> modifier = new JoinModifier<>(JoinModifier.JoinType.ANTI,
+                    new TextMessage<>(0), RecordProducer.ofSupplier(BUILD_RECORDS::stream), new TextMessage<>(0),
+                    JoinModifier.probeRecord(), JoinModifier.DEFAULT_MEMORY_BUDGET, tempDirectory);
+            try (Stream<TextRecord> stream = modifier.modify(records.stream())) {
+                assertEquals(List.of(records.get(1)), stream.toList());
+            }
+
+            JoinModifier<UnserializableRecord> graceModifier = new JoinModifier<>(JoinModifier.JoinType.ANTI,
+                    new TextMessage<>(0), RecordProducer.ofSupplier(BUILD_RECORDS::stream), new TextMessage<>(0),
+                    JoinModifier.probeRecord(), GRACE_MEMORY_BUDGET, tempDirectory);
+            assertThrows(IllegalArgumentException.class, () -> {
+                try (Stream<TextRecord> stream = graceModifier.modify(records.stream())) {
+                    stream.toList();
+                }
+            });
+            assertTrue(isEmptyDirectory(tempDirectory));
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    /**
+     * Test method for {@link JoinModifier#modify(Stream)} with texts, which are not well-formed UTF-16.
+     */
+    @Test
+    void modifyUnpairedSurrogates() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("JoinModifierTest");
+        try {
+            List<TextRecord> buildRecords = List.of(new ManyFieldsRecord("\uD800", "b1"), new ManyFieldsRecord("?", "b2"));
+            List<TextRecord> probeRecords = List.of(
+                    new ManyFieldsRecord("?", "p1\uDC00"),
+                    new ManyFieldsRecord("\uD800", "p2"),
+                    new ManyFieldsRecord("\uDC00", "p3"));
+            for (long memoryBudget : new long[]{JoinModifier.DEFAULT_MEMORY_BUDGET, GRACE_MEMORY_BUDGET}) {
+                JoinModifier<TextRecord> modifier = new JoinModifier<>(JoinModifier.JoinType.LEFT_OUTER,
+                        new TextMessage<>(0), RecordProducer.ofSupplier(buildRecords::stream), new TextMessage<>(0),
+                        (TextRecord probeRecord, TextRecord buildRecord) -> new ManyFieldsRecord(probeRecord.textAt(1),
+                                (buildRecord == null) ? null : buildRecord.textAt(0) + buildRecord.textAt(1)),
+                        memoryBudget, tempDirectory);
+                try (Stream<TextRecord> stream = modifier.modify(probeRecords.stream())) {
+                    assertEquals(List.of("p1\uDC00:?b2", "p2:\uD800b1", "p3:null"),
+                            stream.map(record -> record.textAt(0) + ":" + record.textAt(1)).toList());
+                }
+                assertTrue(isEmptyDirectory(tempDirectory));
+            }
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+}
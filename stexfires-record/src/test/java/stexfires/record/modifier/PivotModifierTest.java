@@ -0,0 +1,125 @@
+package stexfires.record.modifier;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.TextRecord;
+import stexfires.record.impl.ManyTextsRecord;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PivotModifier}.
+ */
+final class PivotModifierTest {
+
+    private static final int KEY_INDEX = 0;
+    private static final int CLASSIFICATION_INDEX = 1;
+    private static final int TEXT_INDEX = 2;
+    private static final String NULL_TEXT = "-";
+
+    // The classification "a" occurs twice.
+    private static final List<String> CLASSIFICATIONS = List.of("a", "b", "c", "a");
+
+    private static final List<TextRecord> RECORDS = List.of(
+            new ManyTextsRecord("k1", "a", "1"),
+            new ManyTextsRecord("k2", "b", "2"),
+            new ManyTextsRecord("k1", "b", "3"),
+            new ManyTextsRecord("k1", "a", "4"),
+            new ManyTextsRecord("k2", "c", null),
+            new ManyTextsRecord("k3", "x", "5"));
+
+    private static final List<TextRecord> SORTED_RECORDS = RECORDS.stream()
+                                                                  .sorted(Comparator.comparing(record -> record.textAt(KEY_INDEX)))
+                                                                  .toList();
+
+    private static final List<List<String>> EXPECTED_WITH_CLASSIFICATIONS = List.of(
+            List.of("k1", "1", "3", NULL_TEXT, "1"),
+            List.of("k2", NULL_TEXT, "2", NULL_TEXT, NULL_TEXT),
+            List.of("k3", NULL_TEXT, NULL_TEXT, NULL_TEXT, NULL_TEXT));
+
+    private static final List<List<String>> EXPECTED_WITH_INDEXES = List.of(
+            List.of("k1", "a", "1", "b", "3"),
+            List.of("k2", "b", "2", "c", NULL_TEXT),
+            List.of("k3", "x", "5", NULL_TEXT, NULL_TEXT));
+
+    private static List<List<String>> modify(RecordStreamModifier<TextRecord, TextRecord> modifier, List<TextRecord> records) {
+        try (Stream<TextRecord> stream = modifier.modify(records.stream())) {
+            return stream.map(record -> record.streamOfTexts().toList()).toList();
+        }
+    }
+
+    /**
+     * Test method for {@link PivotModifier#pivotWithClassifications(int, int, String, int, List)}
+     * and {@link PivotModifier#pivotWithClassifications(int, int, String, int, List, boolean)}.
+     */
+    @Test
+    void pivotWithClassifications() {
+        assertEquals(EXPECTED_WITH_CLASSIFICATIONS, modify(PivotModifier.pivotWithClassifications(
+                KEY_INDEX, TEXT_INDEX, NULL_TEXT, CLASSIFICATION_INDEX, CLASSIFICATIONS), RECORDS));
+        assertEquals(EXPECTED_WITH_CLASSIFICATIONS, modify(PivotModifier.pivotWithClassifications(
+                KEY_INDEX, TEXT_INDEX, NULL_TEXT, CLASSIFICATION_INDEX, CLASSIFICATIONS, false), RECORDS));
+        assertEquals(EXPECTED_WITH_CLASSIFICATIONS, modify(PivotModifier.pivotWithClassifications(
+                KEY_INDEX, TEXT_INDEX, NULL_TEXT, CLASSIFICATION_INDEX, CLASSIFICATIONS, true), SORTED_RECORDS));
+        // Without classifications only the key remains.
+        assertEquals(List.of(List.of("k1"), List.of("k2"), List.of("k3")), modify(PivotModifier.pivotWithClassifications(
+                KEY_INDEX, TEXT_INDEX, NULL_TEXT, CLASSIFICATION_INDEX, List.of(), false), RECORDS));
+    }
+
+    /**
+     * Test method for {@link PivotModifier#pivotWithIndexes(int, int, String, List)}
+     * and {@link PivotModifier#pivotWithIndexes(int, int, String, List, boolean)}.
+     */
+    @Test
+    void pivotWithIndexes() {
+        List<Integer> textIndexes = List.of(CLASSIFICATION_INDEX, TEXT_INDEX);
+        assertEquals(EXPECTED_WITH_INDEXES, modify(PivotModifier.pivotWithIndexes(
+                KEY_INDEX, 2, NULL_TEXT, textIndexes), RECORDS));
+        assertEquals(EXPECTED_WITH_INDEXES, modify(PivotModifier.pivotWithIndexes(
+                KEY_INDEX, 2, NULL_TEXT, textIndexes, false), RECORDS));
+        assertEquals(EXPECTED_WITH_INDEXES, modify(PivotModifier.pivotWithIndexes(
+                KEY_INDEX, 2, NULL_TEXT, textIndexes, true), SORTED_RECORDS));
+        // More records per key than records in a group.
+        assertEquals(modify(PivotModifier.pivotWithIndexes(KEY_INDEX, 5, NULL_TEXT, textIndexes), RECORDS),
+                modify(PivotModifier.pivotWithIndexes(KEY_INDEX, 5, NULL_TEXT, textIndexes, false), RECORDS));
+    }
+
+    /**
+     * Test method for {@link PivotModifier#pivotCollectorWithClassifications(Function, Function, Function, String, Function, List)}.
+     * The states of a parallel stream are combined.
+     */
+    @Test
+    void pivotCollectorWithClassifications() {
+        Collector<TextRecord, ?, TextRecord> collector = PivotModifier.pivotCollectorWithClassifications(
+                record -> "category", record -> Stream.of("key"), record -> record.textAt(TEXT_INDEX),
+                NULL_TEXT, record -> record.textAt(CLASSIFICATION_INDEX), CLASSIFICATIONS);
+        for (int index = 0; index < 10; index++) {
+            TextRecord record = RECORDS.parallelStream().collect(collector);
+            assertEquals("category", record.category());
+            assertEquals(List.of("key", "1", "2", NULL_TEXT, "1"), record.streamOfTexts().toList());
+        }
+        TextRecord emptyRecord = Stream.<TextRecord>empty().collect(collector);
+        assertNull(emptyRecord.category());
+        assertEquals(List.of(NULL_TEXT, NULL_TEXT, NULL_TEXT, NULL_TEXT), emptyRecord.streamOfTexts().toList());
+    }
+
+    /**
+     * Test method for {@link PivotModifier#pivotCollectorWithIndexes(Function, Function, int, String, List)}.
+     * The states of a parallel stream are combined.
+     */
+    @Test
+    void pivotCollectorWithIndexes() {
+        Collector<TextRecord, ?, TextRecord> collector = PivotModifier.pivotCollectorWithIndexes(
+                record -> "category", record -> Stream.of("key"), 8, NULL_TEXT, List.of(TEXT_INDEX));
+        for (int index = 0; index < 10; index++) {
+            TextRecord record = RECORDS.parallelStream().collect(collector);
+            assertEquals("category", record.category());
+            assertEquals(List.of("key", "1", "2", "3", "4", NULL_TEXT, "5", NULL_TEXT), record.streamOfTexts().toList());
+        }
+        assertThrows(IllegalArgumentException.class, () -> PivotModifier.pivotCollectorWithIndexes(
+                record -> null, record -> Stream.empty(), -1, NULL_TEXT, List.of(TEXT_INDEX)));
+    }
+
+}
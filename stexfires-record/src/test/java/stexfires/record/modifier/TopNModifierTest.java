@@ -0,0 +1,79 @@
+package stexfires.record.modifier;
+
+import org.junit.jupiter.api.Test;
+import stexfires.record.impl.KeyValueCommentFieldsRecord;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TopNModifier}.
+ */
+final class TopNModifierTest {
+
+    private static final Comparator<KeyValueCommentFieldsRecord> VALUE_COMPARATOR =
+            Comparator.comparing(KeyValueCommentFieldsRecord::value);
+
+    private static List<KeyValueCommentFieldsRecord> records() {
+        // Values with many duplicates in a shuffled order and the keys k0 to k4.
+        return IntStream.range(0, 1000)
+                        .mapToObj(index -> new KeyValueCommentFieldsRecord(null, (long) index,
+                                "k" + (index % 5), "v" + ((index * 37) % 101), null))
+                        .toList();
+    }
+
+    private static List<KeyValueCommentFieldsRecord> modify(TopNModifier<KeyValueCommentFieldsRecord> modifier,
+                                                            Stream<KeyValueCommentFieldsRecord> recordStream) {
+        try (Stream<KeyValueCommentFieldsRecord> stream = modifier.modify(recordStream)) {
+            return stream.toList();
+        }
+    }
+
+    /**
+     * Test method for {@link TopNModifier#modify(Stream)}.
+     * The result must be the same as sorting the records stably and limiting them.
+     */
+    @Test
+    void modify() {
+        List<KeyValueCommentFieldsRecord> records = records();
+        for (int n : new int[]{0, 1, 2, 10, 999, 1000, 1001}) {
+            List<KeyValueCommentFieldsRecord> expected = records.stream().sorted(VALUE_COMPARATOR).limit(n).toList();
+            TopNModifier<KeyValueCommentFieldsRecord> modifier = new TopNModifier<>(VALUE_COMPARATOR, n);
+            assertEquals(expected, modify(modifier, records.stream()));
+            assertEquals(expected, modify(modifier, records.parallelStream()));
+        }
+        assertEquals(List.of(), modify(new TopNModifier<>(VALUE_COMPARATOR, 3), Stream.empty()));
+    }
+
+    /**
+     * Test method for {@link TopNModifier#modify(Stream)} with a group by function.
+     */
+    @Test
+    void modifyGroupBy() {
+        List<KeyValueCommentFieldsRecord> records = records();
+        for (int n : new int[]{0, 1, 3, 200, 201}) {
+            // The groups in the order of their first record.
+            List<KeyValueCommentFieldsRecord> expected = Stream.of("k0", "k1", "k2", "k3", "k4")
+                                                               .flatMap(key -> records.stream()
+                                                                                      .filter(record -> record.key().equals(key))
+                                                                                      .sorted(VALUE_COMPARATOR)
+                                                                                      .limit(n))
+                                                               .toList();
+            TopNModifier<KeyValueCommentFieldsRecord> modifier = new TopNModifier<>(KeyValueCommentFieldsRecord::key,
+                    VALUE_COMPARATOR, n);
+            assertEquals(expected, modify(modifier, records.stream()));
+            assertEquals(expected, modify(modifier, records.parallelStream()));
+        }
+    }
+
+    /**
+     * Test method for {@link TopNModifier#TopNModifier(Comparator, int)}.
+     */
+    @Test
+    void constructor() {
+        assertThrows(IllegalArgumentException.class, () -> new TopNModifier<>(VALUE_COMPARATOR, -1));
+    }
+
+}
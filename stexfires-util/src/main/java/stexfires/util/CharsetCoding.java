@@ -42,6 +42,8 @@ public record CharsetCoding(Charset charset,
      */
     public static final CharsetCoding UTF_8_REPORTING = reportingErrors(StandardCharsets.UTF_8);
 
+    private static final int ASCII_SIZE = 128;
+
     /**
      * Creates a new CharsetCoding object.
      *
@@ -248,6 +250,32 @@ public record CharsetCoding(Charset charset,
         return new BufferedWriter(newOutputStreamWriter(outputStream));
     }
 
+    /**
+     * Returns whether the {@link Charset} is ASCII-compatible.
+     * Every ASCII character must be encoded as the identical single byte
+     * and no other character may be encoded with a byte in the ASCII range.
+     * <p>
+     * This is true for {@code UTF-8}, {@code US-ASCII} and single-byte charsets like {@code ISO-8859-1} or {@code windows-1252}.
+     * The bytes of line separators and ASCII delimiters can be searched in the encoded data without decoding it.
+     *
+     * @return {@code true} if the {@link Charset} is ASCII-compatible, otherwise {@code false}
+     */
+    public boolean isAsciiCompatible() {
+        if (charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1)) {
+            return true;
+        }
+        if (!charset.canEncode() || (charset.newEncoder().maxBytesPerChar() != 1.0f)) {
+            return false;
+        }
+        byte[] asciiBytes = new byte[ASCII_SIZE];
+        for (int i = 0; i < ASCII_SIZE; i++) {
+            asciiBytes[i] = (byte) i;
+        }
+        return new String(asciiBytes, charset).equals(new String(asciiBytes, StandardCharsets.US_ASCII));
+    }
+
     /**
      * This enum contains the three possible {@link CodingErrorAction} values.
      * It determines how malformed-input and unmappable-character errors are handled.
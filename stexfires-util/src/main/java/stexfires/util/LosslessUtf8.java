@@ -0,0 +1,158 @@
+package stexfires.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * This class consists of {@code static} utility methods
+ * for encoding strings into UTF-8 bytes without loss.
+ * <p>
+ * {@link String#getBytes(java.nio.charset.Charset)} replaces an unpaired surrogate with {@code '?'}.
+ * Here an unpaired surrogate is encoded in three bytes like any other char of the Basic Multilingual Plane
+ * (as in WTF-8) and decoded back into the same char.
+ * A string without unpaired surrogates is encoded into the same bytes as by standard UTF-8.
+ *
+ * @see StandardCharsets#UTF_8
+ * @since 0.1
+ */
+public final class LosslessUtf8 {
+
+    private static final int ONE_BYTE_LIMIT = 0x80;
+    private static final int TWO_BYTES_LIMIT = 0x800;
+    private static final int THREE_BYTES_LIMIT = 0x10000;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    private static final int CONTINUATION_BITS = 6;
+    private static final int CONTINUATION_MASK = 0x3F;
+    private static final int CONTINUATION_PREFIX = 0x80;
+    private static final int TWO_BYTES_PREFIX = 0xC0;
+    private static final int THREE_BYTES_PREFIX = 0xE0;
+    private static final int FOUR_BYTES_PREFIX = 0xF0;
+
+    // The first byte and the minimum second byte of an encoded surrogate (U+D800 to U+DFFF).
+    private static final byte SURROGATE_FIRST_BYTE = (byte) 0xED;
+    private static final int SURROGATE_MIN_SECOND_BYTE = 0xA0;
+
+    private LosslessUtf8() {
+    }
+
+    /**
+     * Returns {@code true} if the string contains a high surrogate without a following low surrogate
+     * or a low surrogate without a preceding high surrogate.
+     */
+    public static boolean containsUnpairedSurrogate(String text) {
+        Objects.requireNonNull(text);
+        int length = text.length();
+        for (int index = 0; index < length; index++) {
+            char c = text.charAt(index);
+            if (Character.isHighSurrogate(c)) {
+                if (((index + 1) < length) && Character.isLowSurrogate(text.charAt(index + 1))) {
+                    index++;
+                } else {
+                    return true;
+                }
+            } else if (Character.isLowSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encodes the string into UTF-8 bytes. Unpaired surrogates are encoded in three bytes.
+     */
+    @SuppressWarnings("MagicNumber")
+    public static byte[] encode(String text) {
+        Objects.requireNonNull(text);
+        if (!containsUnpairedSurrogate(text)) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[text.length() * MAX_BYTES_PER_CHAR];
+        int position = 0;
+        int index = 0;
+        while (index < text.length()) {
+            // codePointAt returns the surrogate itself, if it is unpaired.
+            int codePoint = text.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (codePoint < ONE_BYTE_LIMIT) {
+                bytes[position++] = (byte) codePoint;
+            } else if (codePoint < TWO_BYTES_LIMIT) {
+                bytes[position++] = (byte) (TWO_BYTES_PREFIX | (codePoint >>> CONTINUATION_BITS));
+                bytes[position++] = (byte) (CONTINUATION_PREFIX | (codePoint & CONTINUATION_MASK));
+            } else if (codePoint < THREE_BYTES_LIMIT) {
+                bytes[position++] = (byte) (THREE_BYTES_PREFIX | (codePoint >>> (2 * CONTINUATION_BITS)));
+                bytes[position++] = (byte) (CONTINUATION_PREFIX | ((codePoint >>> CONTINUATION_BITS) & CONTINUATION_MASK));
+                bytes[position++] = (byte) (CONTINUATION_PREFIX | (codePoint & CONTINUATION_MASK));
+            } else {
+                bytes[position++] = (byte) (FOUR_BYTES_PREFIX | (codePoint >>> (3 * CONTINUATION_BITS)));
+                bytes[position++] = (byte) (CONTINUATION_PREFIX | ((codePoint >>> (2 * CONTINUATION_BITS)) & CONTINUATION_MASK));
+                bytes[position++] = (byte) (CONTINUATION_PREFIX | ((codePoint >>> CONTINUATION_BITS) & CONTINUATION_MASK));
+                bytes[position++] = (byte) (CONTINUATION_PREFIX | (codePoint & CONTINUATION_MASK));
+            }
+        }
+        return Arrays.copyOf(bytes, position);
+    }
+
+    /**
+     * Decodes bytes, which were encoded by {@link #encode(String)}.
+     *
+     * @throws IndexOutOfBoundsException if offset or length are out of the bounds of the bytes
+     * @throws IllegalArgumentException  if the bytes contain a truncated encoded surrogate
+     */
+    public static String decode(byte[] bytes, int offset, int length) {
+        Objects.requireNonNull(bytes);
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (!containsEncodedSurrogate(bytes, offset, length)) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        StringBuilder text = new StringBuilder(length);
+        int end = offset + length;
+        int start = offset;
+        int position = offset;
+        while (position < end) {
+            if (isEncodedSurrogate(bytes, position, end)) {
+                if ((position + MAX_BYTES_PER_CHAR) > end) {
+                    throw new IllegalArgumentException("Truncated encoded surrogate at " + position);
+                }
+                // The bytes before the surrogate are standard UTF-8.
+                text.append(new String(bytes, start, position - start, StandardCharsets.UTF_8));
+                text.append((char) (((bytes[position] & 0x0F) << (2 * CONTINUATION_BITS))
+                        | ((bytes[position + 1] & CONTINUATION_MASK) << CONTINUATION_BITS)
+                        | (bytes[position + 2] & CONTINUATION_MASK)));
+                position += MAX_BYTES_PER_CHAR;
+                start = position;
+            } else {
+                position++;
+            }
+        }
+        text.append(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+        return text.toString();
+    }
+
+    /**
+     * Decodes bytes, which were encoded by {@link #encode(String)}.
+     *
+     * @throws IllegalArgumentException if the bytes contain a truncated encoded surrogate
+     */
+    public static String decode(byte[] bytes) {
+        Objects.requireNonNull(bytes);
+        return decode(bytes, 0, bytes.length);
+    }
+
+    private static boolean containsEncodedSurrogate(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        for (int position = offset; position < end; position++) {
+            if (isEncodedSurrogate(bytes, position, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEncodedSurrogate(byte[] bytes, int position, int end) {
+        return (bytes[position] == SURROGATE_FIRST_BYTE)
+                && ((position + 1) < end)
+                && ((bytes[position + 1] & 0xFF) >= SURROGATE_MIN_SECOND_BYTE);
+    }
+
+}
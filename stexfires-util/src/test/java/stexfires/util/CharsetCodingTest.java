@@ -329,6 +329,20 @@ final class CharsetCodingTest {
         }
     }
 
+    /**
+     * Test method for {@link CharsetCoding#isAsciiCompatible()}.
+     */
+    @Test
+    void isAsciiCompatible() {
+        assertTrue(CharsetCoding.UTF_8_REPORTING.isAsciiCompatible());
+        assertTrue(CHARSET_CODING_US_ASCII_IGNORE.isAsciiCompatible());
+        assertTrue(CharsetCoding.reportingErrors(StandardCharsets.ISO_8859_1).isAsciiCompatible());
+        assertTrue(CharsetCoding.reportingErrors(CommonCharsetNames.WINDOWS_1252).isAsciiCompatible());
+        assertFalse(CharsetCoding.reportingErrors(StandardCharsets.UTF_16).isAsciiCompatible());
+        assertFalse(CharsetCoding.reportingErrors(StandardCharsets.UTF_16BE).isAsciiCompatible());
+        assertFalse(CharsetCoding.reportingErrors(CommonCharsetNames.UTF_32).isAsciiCompatible());
+    }
+
     /**
      * Test method for {@link CharsetCoding#charset()}.
      */
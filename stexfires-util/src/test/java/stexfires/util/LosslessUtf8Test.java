@@ -0,0 +1,65 @@
+package stexfires.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LosslessUtf8}.
+ */
+final class LosslessUtf8Test {
+
+    private static final List<String> WELL_FORMED = List.of(
+            "", "a", "abc 123", "\u0000\u007F", "\u0080߿", "ࠀ￿", "Ä€", "😀", "a😀b😀", "퟿");
+
+    private static final List<String> UNPAIRED = List.of(
+            "\uD800", "\uDFFF", "a\uD83D", "\uDE00b", "\uDE00\uD83D", "😀\uD83D", "\uD83D😀", "a\uD800b\uDC00c?", "\uD83D😀");
+
+    /**
+     * Test method for {@link LosslessUtf8#containsUnpairedSurrogate(String)}.
+     */
+    @Test
+    void containsUnpairedSurrogate() {
+        for (String text : WELL_FORMED) {
+            assertFalse(LosslessUtf8.containsUnpairedSurrogate(text));
+        }
+        for (String text : UNPAIRED) {
+            assertTrue(LosslessUtf8.containsUnpairedSurrogate(text));
+        }
+    }
+
+    /**
+     * Test method for {@link LosslessUtf8#encode(String)}.
+     */
+    @Test
+    void encode() {
+        for (String text : WELL_FORMED) {
+            assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), LosslessUtf8.encode(text));
+        }
+        assertArrayEquals(new byte[]{(byte) 0xED, (byte) 0xA0, (byte) 0x80}, LosslessUtf8.encode("\uD800"));
+        assertArrayEquals(new byte[]{'a', (byte) 0xED, (byte) 0xBF, (byte) 0xBF}, LosslessUtf8.encode("a\uDFFF"));
+        assertFalse(Arrays.equals(LosslessUtf8.encode("\uD800"), LosslessUtf8.encode("?")));
+    }
+
+    /**
+     * Test method for {@link LosslessUtf8#decode(byte[], int, int)}.
+     */
+    @Test
+    void decode() {
+        for (String text : WELL_FORMED) {
+            assertEquals(text, LosslessUtf8.decode(LosslessUtf8.encode(text)));
+        }
+        for (String text : UNPAIRED) {
+            assertEquals(text, LosslessUtf8.decode(LosslessUtf8.encode(text)));
+        }
+        byte[] bytes = LosslessUtf8.encode("xa\uD800by");
+        assertEquals("a\uD800b", LosslessUtf8.decode(bytes, 1, bytes.length - 2));
+
+        assertThrows(IllegalArgumentException.class, () -> LosslessUtf8.decode(new byte[]{(byte) 0xED, (byte) 0xA0}));
+        assertThrows(IndexOutOfBoundsException.class, () -> LosslessUtf8.decode(bytes, 2, bytes.length));
+    }
+
+}